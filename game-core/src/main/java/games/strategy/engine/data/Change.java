@@ -22,4 +22,25 @@ public abstract class Change implements Serializable {
   public boolean isEmpty() {
     return false;
   }
+
+  /**
+   * Returns a key that identifies the state of the game data that is set by this change, or null if this change cannot
+   * be merged with other changes, which is the default.
+   *
+   * <p>
+   * A change that returns a key must only affect the state identified by its key, so that changes with different keys
+   * can be performed in any order. {@link ChangeCompactor} relies on this to merge the changes with equal keys.
+   * </p>
+   */
+  protected Object getMergeKey() {
+    return null;
+  }
+
+  /**
+   * Returns a single change that has the same effect as performing this change followed by the specified change, whose
+   * merge key is equal to the one of this change, or null if there is no such change.
+   */
+  protected Change mergeWith(final Change next) {
+    return null;
+  }
 }
@@ -0,0 +1,70 @@
+package games.strategy.engine.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces a sequence of changes by a shorter sequence with the same effect.
+ *
+ * <p>
+ * Composite changes are flattened first. Between two changes that cannot be merged (see {@link Change#getMergeKey()}),
+ * consecutive changes with equal merge keys are merged into as few changes as possible, e.g. a unit that is moved
+ * through several territories results in one removal from the territory it started in and one addition to the
+ * territory it ended in, and a property that is set several times results in one change from its first old value to
+ * its last new value. The result can be inverted like the original changes.
+ * </p>
+ */
+public final class ChangeCompactor {
+  private final List<Change> compacted = new ArrayList<>();
+  private final Map<Object, List<Change>> mergeable = new LinkedHashMap<>();
+
+  private ChangeCompactor() {}
+
+  /**
+   * Returns a change that has the same effect as performing the specified changes in order.
+   */
+  public static Change compact(final Collection<? extends Change> changes) {
+    final ChangeCompactor compactor = new ChangeCompactor();
+    changes.forEach(compactor::add);
+    compactor.flush();
+    return new CompositeChange(compactor.compacted);
+  }
+
+  private void add(final Change change) {
+    if (change instanceof CompositeChange) {
+      ((CompositeChange) change).getChanges().forEach(this::add);
+      return;
+    }
+    final Object key = change.getMergeKey();
+    if (key == null) {
+      // the change may affect the state of any key, so it must stay between the changes before and after it
+      flush();
+      compacted.add(change);
+      return;
+    }
+    final List<Change> changesWithKey = mergeable.computeIfAbsent(key, k -> new ArrayList<>());
+    if (!changesWithKey.isEmpty()) {
+      final int last = changesWithKey.size() - 1;
+      final Change merged = changesWithKey.get(last).mergeWith(change);
+      if (merged != null) {
+        changesWithKey.set(last, merged);
+        return;
+      }
+    }
+    changesWithKey.add(change);
+  }
+
+  private void flush() {
+    for (final List<Change> changesWithKey : mergeable.values()) {
+      for (final Change change : changesWithKey) {
+        if (!change.isEmpty()) {
+          compacted.add(change);
+        }
+      }
+    }
+    mergeable.clear();
+  }
+}
@@ -0,0 +1,122 @@
+package games.strategy.engine.data;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import games.strategy.engine.ClientContext;
+import games.strategy.engine.GameEngineVersion;
+import games.strategy.triplea.Constants;
+import games.strategy.util.Version;
+
+/**
+ * The metadata of a game XML needed to list the game, without any of its map, units or rules.
+ *
+ * <p>
+ * Headers are read by {@link GameHeaderParser}, which is much faster than parsing the game with {@link GameParser}.
+ * </p>
+ */
+@Immutable
+public final class GameHeader {
+  private final String gameName;
+  private final String gameVersion;
+  private final @Nullable String minimumEngineVersion;
+  private final @Nullable String mapName;
+  private final @Nullable String notes;
+  private final List<String> playerNames;
+
+  public GameHeader(final String gameName, final String gameVersion, final @Nullable String minimumEngineVersion,
+      final @Nullable String mapName, final @Nullable String notes, final List<String> playerNames) {
+    this.gameName = checkNotNull(gameName);
+    this.gameVersion = checkNotNull(gameVersion);
+    this.minimumEngineVersion = minimumEngineVersion;
+    this.mapName = mapName;
+    this.notes = notes;
+    this.playerNames = Collections.unmodifiableList(new ArrayList<>(playerNames));
+  }
+
+  public String getGameName() {
+    return gameName;
+  }
+
+  public String getGameVersion() {
+    return gameVersion;
+  }
+
+  public @Nullable String getMinimumEngineVersion() {
+    return minimumEngineVersion;
+  }
+
+  public @Nullable String getMapName() {
+    return mapName;
+  }
+
+  public @Nullable String getNotes() {
+    return notes;
+  }
+
+  public List<String> getPlayerNames() {
+    return playerNames;
+  }
+
+  /**
+   * Indicates whether the game can be played with the running engine, i.e. whether {@link GameParser} would not throw
+   * an {@link EngineVersionException} for it.
+   */
+  public boolean isCompatibleWithEngine() {
+    return minimumEngineVersion == null || GameEngineVersion.of(ClientContext.engineVersion())
+        .isCompatibleWithMapMinimumEngineVersion(new Version(minimumEngineVersion));
+  }
+
+  /**
+   * Creates a game data containing only the game name and version, the map name and notes properties and the players
+   * of this header, suitable for listing the game.
+   */
+  public GameData newShallowGameData() {
+    final GameData data = new GameData();
+    data.setGameName(gameName);
+    data.setGameVersion(new Version(gameVersion));
+    if (mapName != null) {
+      data.getProperties().set(Constants.MAP_NAME, mapName);
+    }
+    if (notes != null) {
+      data.getProperties().set("notes", notes);
+    }
+    for (final String playerName : playerNames) {
+      data.getPlayerList().addPlayerId(new PlayerID(playerName, data));
+    }
+    return data;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (obj == this) {
+      return true;
+    } else if (!(obj instanceof GameHeader)) {
+      return false;
+    }
+    final GameHeader other = (GameHeader) obj;
+    return gameName.equals(other.gameName)
+        && gameVersion.equals(other.gameVersion)
+        && Objects.equals(minimumEngineVersion, other.minimumEngineVersion)
+        && Objects.equals(mapName, other.mapName)
+        && Objects.equals(notes, other.notes)
+        && playerNames.equals(other.playerNames);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(gameName, gameVersion, minimumEngineVersion, mapName, notes, playerNames);
+  }
+
+  @Override
+  public String toString() {
+    return "GameHeader[gameName=" + gameName + ", gameVersion=" + gameVersion + ", mapName=" + mapName + "]";
+  }
+}
@@ -0,0 +1,214 @@
+package games.strategy.engine.data;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import games.strategy.triplea.Constants;
+
+/**
+ * Reads the {@link GameHeader} of a game XML.
+ *
+ * <p>
+ * Unlike {@link GameParser}, the XML is streamed instead of being loaded as a document, neither the DTD nor any class
+ * of the game is loaded, and reading stops at the end of the property list, so reading a header only takes a fraction
+ * of the time of parsing the game. The XML is not validated.
+ * </p>
+ */
+public final class GameHeaderParser {
+  private static final XMLInputFactory inputFactory = newInputFactory();
+
+  private final String mapName;
+  private final XMLStreamReader reader;
+  private String gameName;
+  private String gameVersion;
+  private @Nullable String minimumEngineVersion;
+  private @Nullable String mapNameProperty;
+  private @Nullable String notes;
+  private final List<String> playerNames = new ArrayList<>();
+
+  private GameHeaderParser(final String mapName, final XMLStreamReader reader) {
+    this.mapName = mapName;
+    this.reader = reader;
+  }
+
+  private static XMLInputFactory newInputFactory() {
+    final XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    return factory;
+  }
+
+  /**
+   * Reads the header of the game XML in the specified stream.
+   *
+   * @param mapName The name of the map, only used in error messages.
+   *
+   * @throws GameParseException If the stream is not a game XML.
+   */
+  public static GameHeader parse(final String mapName, final InputStream stream) throws GameParseException {
+    checkNotNull(mapName);
+    checkNotNull(stream);
+
+    try {
+      final XMLStreamReader reader;
+      synchronized (inputFactory) {
+        reader = inputFactory.createXMLStreamReader(stream);
+      }
+      try {
+        return new GameHeaderParser(mapName, reader).parse();
+      } finally {
+        reader.close();
+      }
+    } catch (final XMLStreamException e) {
+      throw new GameParseException("map name: '" + mapName + "', failed to read XML document", e);
+    }
+  }
+
+  private GameHeader parse() throws GameParseException, XMLStreamException {
+    if (nextTag() != XMLStreamConstants.START_ELEMENT || !"game".equals(reader.getLocalName())) {
+      throw newGameParseException("root element must be 'game'");
+    }
+    while (nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (reader.getLocalName()) {
+        case "info":
+          gameName = getAttribute("name");
+          gameVersion = getAttribute("version");
+          skipElement();
+          break;
+        case "triplea":
+          minimumEngineVersion = getAttribute("minimumVersion");
+          skipElement();
+          break;
+        case "playerList":
+          parsePlayerList();
+          break;
+        case "propertyList":
+          parsePropertyList();
+          // the property list is the last part of a header
+          return newGameHeader();
+        default:
+          skipElement();
+          break;
+      }
+    }
+    return newGameHeader();
+  }
+
+  private GameHeader newGameHeader() throws GameParseException {
+    if (gameName == null) {
+      throw newGameParseException("missing info element");
+    }
+    return new GameHeader(gameName, gameVersion, minimumEngineVersion, mapNameProperty, notes, playerNames);
+  }
+
+  private void parsePlayerList() throws XMLStreamException {
+    while (nextTag() == XMLStreamConstants.START_ELEMENT) {
+      if ("player".equals(reader.getLocalName())) {
+        playerNames.add(getAttribute("name"));
+      }
+      skipElement();
+    }
+  }
+
+  private void parsePropertyList() throws XMLStreamException {
+    while (nextTag() == XMLStreamConstants.START_ELEMENT) {
+      final String name = "property".equals(reader.getLocalName()) ? getAttribute("name") : "";
+      if (Constants.MAP_NAME.equals(name)) {
+        mapNameProperty = parsePropertyValue();
+      } else if ("notes".equals(name)) {
+        notes = parsePropertyValue();
+      } else {
+        skipElement();
+      }
+    }
+  }
+
+  /**
+   * Returns the value attribute of the current property element, or, if it is empty, the text of its first value
+   * element, and moves to the end of the property element.
+   */
+  private String parsePropertyValue() throws XMLStreamException {
+    String value = getAttribute("value");
+    boolean valueElementRead = false;
+    while (nextTag() == XMLStreamConstants.START_ELEMENT) {
+      if (value.isEmpty() && !valueElementRead && "value".equals(reader.getLocalName())) {
+        value = readText();
+        valueElementRead = true;
+      } else {
+        skipElement();
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Returns the specified attribute of the current element, or an empty string if it is not set, as
+   * {@link org.w3c.dom.Element#getAttribute(String)} does.
+   */
+  private String getAttribute(final String name) {
+    final String value = reader.getAttributeValue(null, name);
+    return value == null ? "" : value;
+  }
+
+  /**
+   * Moves to the next start or end element, skipping everything else, such as the DTD or text. Unlike
+   * {@link XMLStreamReader#nextTag()}, this does not fail on anything else than whitespace.
+   */
+  private int nextTag() throws XMLStreamException {
+    while (reader.hasNext()) {
+      final int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT || event == XMLStreamConstants.END_ELEMENT) {
+        return event;
+      }
+    }
+    return XMLStreamConstants.END_DOCUMENT;
+  }
+
+  /**
+   * Returns the text of the current element and all its descendants, as {@link org.w3c.dom.Node#getTextContent()}
+   * does, and moves to the end of the element.
+   */
+  private String readText() throws XMLStreamException {
+    final StringBuilder text = new StringBuilder();
+    for (int depth = 1; depth > 0;) {
+      final int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        depth++;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        depth--;
+      } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+          || event == XMLStreamConstants.SPACE) {
+        text.append(reader.getText());
+      }
+    }
+    return text.toString();
+  }
+
+  /**
+   * Moves from the start of the current element to its end.
+   */
+  private void skipElement() throws XMLStreamException {
+    for (int depth = 1; depth > 0;) {
+      final int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        depth++;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        depth--;
+      }
+    }
+  }
+
+  private GameParseException newGameParseException(final String message) {
+    return new GameParseException("map name: '" + mapName + "', " + message);
+  }
+}
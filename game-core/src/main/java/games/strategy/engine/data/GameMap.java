@@ -1,5 +1,7 @@
 package games.strategy.engine.data;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -34,11 +36,34 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
   // otherwise, m_gridDimensions.length is the number of dimensions,
   // and each element is the size of a dimension
   private int[] m_gridDimensions = null;
+  // lazily built, indexed by DistanceIndexType ordinal; discarded whenever the territories or connections change
+  private transient volatile TerritoryDistanceIndex[] distanceIndexes = null;
+
+  /**
+   * The conditions for which routes and distances are precomputed, see {@link TerritoryDistanceIndex}.
+   */
+  private enum DistanceIndexType {
+    LAND_OR_WATER(t -> true), LAND(t -> !t.isWater()), WATER(Territory::isWater);
+
+    private final Predicate<Territory> condition;
+
+    DistanceIndexType(final Predicate<Territory> condition) {
+      this.condition = condition;
+    }
+  }
 
   GameMap(final GameData data) {
     super(data);
   }
 
+  private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    // saves from before ordinals existed have none, the list order gives the same numbering as when parsed
+    for (int i = 0; i < m_territories.size(); i++) {
+      m_territories.get(i).setOrdinal(i);
+    }
+  }
+
   public void setGridDimensions(final int... gridDimensions) {
     m_gridDimensions = gridDimensions;
   }
@@ -85,9 +110,11 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (m_territories.contains(t1)) {
       throw new IllegalArgumentException("Map already contains " + t1.getName());
     }
+    t1.setOrdinal(m_territories.size());
     m_territories.add(t1);
     m_connections.put(t1, Collections.emptySet());
     m_territoryLookup.put(t1.getName(), t1);
+    distanceIndexes = null;
   }
 
   /**
@@ -111,6 +138,22 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     final Set<Territory> modified = new HashSet<>(current);
     modified.add(to);
     m_connections.put(from, Collections.unmodifiableSet(modified));
+    distanceIndexes = null;
+  }
+
+  private TerritoryDistanceIndex getDistanceIndex(final DistanceIndexType type) {
+    TerritoryDistanceIndex[] indexes = distanceIndexes;
+    if (indexes == null) {
+      indexes = new TerritoryDistanceIndex[DistanceIndexType.values().length];
+      distanceIndexes = indexes;
+    }
+    TerritoryDistanceIndex index = indexes[type.ordinal()];
+    if (index == null) {
+      // racing threads may both build it, which is harmless; it is safely published since all its fields are final
+      index = new TerritoryDistanceIndex(m_territories, m_connections, type.condition);
+      indexes[type.ordinal()] = index;
+    }
+    return index;
   }
 
   /**
@@ -163,13 +206,10 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (distance == 0) {
       return Collections.emptySet();
     }
-    final Set<Territory> start = getNeighbors(territory);
     if (distance == 1) {
-      return start;
+      return getNeighbors(territory);
     }
-    final Set<Territory> neighbors = getNeighbors(start, new HashSet<>(start), --distance);
-    neighbors.remove(territory);
-    return neighbors;
+    return getDistanceIndex(DistanceIndexType.LAND_OR_WATER).getNeighbors(territory, distance);
   }
 
   /**
@@ -240,7 +280,14 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    * @return the shortest route between two territories or null if no route exists.
    */
   public Route getRoute(final Territory t1, final Territory t2) {
-    return getRoute(t1, t2, Matches.territoryIsLandOrWater());
+    return getRoute(t1, t2, DistanceIndexType.LAND_OR_WATER);
+  }
+
+  private Route getRoute(final Territory t1, final Territory t2, final DistanceIndexType type) {
+    if (t1 == t2) {
+      return new Route(t1);
+    }
+    return getDistanceIndex(type).getRoute(t1, t2);
   }
 
   /**
@@ -266,7 +313,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    * @return the shortest land route between two territories or null if no route exists.
    */
   public Route getLandRoute(final Territory t1, final Territory t2) {
-    return getRoute(t1, t2, Matches.territoryIsLand());
+    return getRoute(t1, t2, DistanceIndexType.LAND);
   }
 
   /**
@@ -275,7 +322,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    * @return the shortest water route between two territories or null if no route exists.
    */
   public Route getWaterRoute(final Territory t1, final Territory t2) {
-    return getRoute(t1, t2, Matches.territoryIsWater());
+    return getRoute(t1, t2, DistanceIndexType.WATER);
   }
 
   public Route getRoute_IgnoreEnd(final Territory t1, final Territory t2, final Predicate<Territory> match) {
@@ -322,7 +369,14 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    * @return the distance between two territories or -1 if they are not connected.
    */
   public int getDistance(final Territory t1, final Territory t2) {
-    return getDistance(t1, t2, Matches.territoryIsLandOrWater());
+    return getDistance(t1, t2, DistanceIndexType.LAND_OR_WATER);
+  }
+
+  private int getDistance(final Territory t1, final Territory t2, final DistanceIndexType type) {
+    if (t1.equals(t2)) {
+      return 0;
+    }
+    return getDistanceIndex(type).getDistance(t1, t2);
   }
 
   /**
@@ -383,7 +437,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    * @return the land distance between two territories or -1 if they are not connected.
    */
   public int getLandDistance(final Territory t1, final Territory t2) {
-    return getDistance(t1, t2, Matches.territoryIsLand());
+    return getDistance(t1, t2, DistanceIndexType.LAND);
   }
 
   /**
@@ -392,7 +446,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    * @return the water distance between two territories or -1 if they are not connected.
    */
   public int getWaterDistance(final Territory t1, final Territory t2) {
-    return getDistance(t1, t2, Matches.territoryIsWater());
+    return getDistance(t1, t2, DistanceIndexType.WATER);
   }
 
   /**
@@ -411,6 +465,13 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     return Collections.unmodifiableList(m_territories);
   }
 
+  /**
+   * Returns the territories indexed by their ordinal. This is the internal list, which must not be modified.
+   */
+  List<Territory> getTerritoriesByOrdinal() {
+    return m_territories;
+  }
+
   @Override
   public Iterator<Territory> iterator() {
     return m_territories.iterator();
@@ -443,6 +504,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    * If the actual territories in the map are deleted, or new ones added, call this.
    */
   public void notifyChanged() {
+    distanceIndexes = null;
     getData().notifyMapDataChanged();
   }
 }
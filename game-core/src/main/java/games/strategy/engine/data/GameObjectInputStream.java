@@ -42,6 +42,8 @@ public class GameObjectInputStream extends ObjectInputStream {
       return dataSource.getData();
     } else if ((obj instanceof GameObjectStreamData)) {
       return ((GameObjectStreamData) obj).getReference(getData());
+    } else if (obj instanceof GameObjectOrdinalStreamData) {
+      return ((GameObjectOrdinalStreamData) obj).getReference(getData());
     } else if (obj instanceof Unit) {
       return resolveUnit((Unit) obj);
     } else {
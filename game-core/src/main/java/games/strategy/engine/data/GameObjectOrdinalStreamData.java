@@ -0,0 +1,91 @@
+package games.strategy.engine.data;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import javax.annotation.Nullable;
+
+/**
+ * Like {@link GameObjectStreamData}, but refers to a territory, player or unit type of the game data by its ordinal
+ * instead of its name, see {@link NamedAttachable#getOrdinal()}. This takes three bytes, no matter how long the name
+ * is.
+ *
+ * <p>
+ * The ordinals are only the same in copies of the same game data, so this is only used for the messages exchanged
+ * while playing a game, and never for save games.
+ * </p>
+ */
+public final class GameObjectOrdinalStreamData implements Externalizable {
+  private static final long serialVersionUID = 4755072319939949336L;
+  private static final int MAX_ORDINAL = 0xFFFF;
+
+  enum GameType {
+    PLAYERID, UNITTYPE, TERRITORY
+  }
+
+  private GameType type;
+  private int ordinal;
+
+  public GameObjectOrdinalStreamData() {}
+
+  private GameObjectOrdinalStreamData(final GameType type, final int ordinal) {
+    this.type = type;
+    this.ordinal = ordinal;
+  }
+
+  /**
+   * Returns a reference to the specified object, or null if it cannot be referred to by its ordinal.
+   */
+  public static @Nullable GameObjectOrdinalStreamData of(final Object object) {
+    if (!(object instanceof NamedAttachable)) {
+      return null;
+    }
+    final int ordinal = ((NamedAttachable) object).getOrdinal();
+    if (ordinal < 0 || ordinal > MAX_ORDINAL) {
+      return null;
+    }
+    if (object instanceof Territory) {
+      return new GameObjectOrdinalStreamData(GameType.TERRITORY, ordinal);
+    } else if (object instanceof PlayerID) {
+      return new GameObjectOrdinalStreamData(GameType.PLAYERID, ordinal);
+    } else if (object instanceof UnitType) {
+      return new GameObjectOrdinalStreamData(GameType.UNITTYPE, ordinal);
+    }
+    return null;
+  }
+
+  Named getReference(final GameData data) {
+    if (data == null) {
+      throw new IllegalArgumentException("Data cant be null");
+    }
+    data.acquireReadLock();
+    try {
+      switch (type) {
+        case PLAYERID:
+          return data.getPlayerList().getPlayerIdByOrdinal(ordinal);
+        case TERRITORY:
+          return data.getMap().getTerritoriesByOrdinal().get(ordinal);
+        case UNITTYPE:
+          return data.getUnitTypeList().getUnitTypeByOrdinal(ordinal);
+        default:
+          throw new IllegalStateException("Unknown type: " + type);
+      }
+    } finally {
+      data.releaseReadLock();
+    }
+  }
+
+  @Override
+  public void readExternal(final ObjectInput in) throws IOException {
+    type = GameType.values()[in.readByte()];
+    ordinal = in.readUnsignedShort();
+  }
+
+  @Override
+  public void writeExternal(final ObjectOutput out) throws IOException {
+    out.writeByte(type.ordinal());
+    out.writeShort(ordinal);
+  }
+}
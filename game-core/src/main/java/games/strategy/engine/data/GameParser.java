@@ -5,18 +5,19 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 import javax.xml.parsers.DocumentBuilder;
@@ -31,6 +32,8 @@ import org.xml.sax.ErrorHandler;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
 
+import com.google.common.base.Throwables;
+
 import games.strategy.debug.ClientLogger;
 import games.strategy.engine.ClientContext;
 import games.strategy.engine.GameEngineVersion;
@@ -53,6 +56,7 @@ import games.strategy.triplea.attachments.UnitAttachment;
 import games.strategy.triplea.delegate.GenericTechAdvance;
 import games.strategy.triplea.delegate.TechAdvance;
 import games.strategy.triplea.formatter.MyFormatter;
+import games.strategy.util.PropertyUtil;
 import games.strategy.util.Tuple;
 import games.strategy.util.Version;
 
@@ -60,7 +64,6 @@ import games.strategy.util.Version;
  * Parses a game XML file into a {@link GameData} domain object.
  */
 public final class GameParser {
-  private static final Class<?>[] SETTER_ARGS = {String.class};
   private static final String RESOURCE_IS_DISPLAY_FOR_NONE = "NONE";
 
   private final GameData data = new GameData();
@@ -241,28 +244,16 @@ public final class GameParser {
   }
 
   private void validate() throws GameParseException {
+    final List<Attachable> attachables = new ArrayList<>();
     // validate unit attachments
-    for (final UnitType u : data.getUnitTypeList()) {
-      validateAttachments(u);
-    }
-    for (final Territory t : data.getMap()) {
-      validateAttachments(t);
-    }
-    for (final Resource r : data.getResourceList().getResources()) {
-      validateAttachments(r);
-    }
-    for (final PlayerID r : data.getPlayerList().getPlayers()) {
-      validateAttachments(r);
-    }
-    for (final RelationshipType r : data.getRelationshipTypeList().getAllRelationshipTypes()) {
-      validateAttachments(r);
-    }
-    for (final TerritoryEffect r : data.getTerritoryEffectList().values()) {
-      validateAttachments(r);
-    }
-    for (final TechAdvance r : data.getTechnologyFrontier().getTechs()) {
-      validateAttachments(r);
-    }
+    attachables.addAll(data.getUnitTypeList().getAllUnitTypes());
+    attachables.addAll(data.getMap().getTerritories());
+    attachables.addAll(data.getResourceList().getResources());
+    attachables.addAll(data.getPlayerList().getPlayers());
+    attachables.addAll(data.getRelationshipTypeList().getAllRelationshipTypes());
+    attachables.addAll(data.getTerritoryEffectList().values());
+    attachables.addAll(data.getTechnologyFrontier().getTechs());
+    validateAttachments(attachables);
     // if relationships are used, every player should have a relationship with every other player
     validateRelationships();
   }
@@ -281,9 +272,29 @@ public final class GameParser {
     }
   }
 
-  private void validateAttachments(final Attachable attachable) throws GameParseException {
-    for (final IAttachment a : attachable.getAttachments().values()) {
-      a.validate(data);
+  /**
+   * Validates the attachments of the specified attachables concurrently. Attachments only read the game data and their
+   * own state while being validated, so they are independent of each other. The failure of the first attachment, in
+   * the order of the attachables, is thrown, as if the attachments were validated one after the other.
+   */
+  private void validateAttachments(final List<Attachable> attachables) throws GameParseException {
+    final Optional<Exception> failure = attachables.stream()
+        .flatMap(attachable -> attachable.getAttachments().values().stream())
+        .collect(Collectors.toList())
+        .parallelStream()
+        .map(attachment -> {
+          try {
+            attachment.validate(data);
+            return null;
+          } catch (final GameParseException | RuntimeException e) {
+            return e;
+          }
+        })
+        .filter(Objects::nonNull)
+        .findFirst();
+    if (failure.isPresent()) {
+      Throwables.throwIfInstanceOf(failure.get(), GameParseException.class);
+      Throwables.throwIfUnchecked(failure.get());
     }
   }
 
@@ -291,6 +302,9 @@ public final class GameParser {
     try {
       final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
       factory.setValidating(true);
+      // the whitespace between elements and the comments are never read, so don't keep them in the document
+      factory.setIgnoringElementContentWhitespace(true);
+      factory.setIgnoringComments(true);
       // get the dtd location
       final String dtdFile = "/games/strategy/engine/xml/" + DTD_FILE_NAME;
       final URL url = GameParser.class.getResource(dtdFile);
@@ -1254,12 +1268,6 @@ public final class GameParser {
     return returnVal;
   }
 
-  private static String capitalizeFirstLetter(final String input) {
-    char first = input.charAt(0);
-    first = Character.toUpperCase(first);
-    return first + input.substring(1);
-  }
-
   private ArrayList<Tuple<String, String>> setValues(final IAttachment attachment, final List<Element> values)
       throws GameParseException {
     final ArrayList<Tuple<String, String>> options = new ArrayList<>();
@@ -1269,10 +1277,7 @@ public final class GameParser {
       if (name.length() == 0) {
         throw newGameParseException("Option name with 0 length");
       }
-      final Method setter;
-      try {
-        setter = attachment.getClass().getMethod("set" + capitalizeFirstLetter(name), SETTER_ARGS);
-      } catch (final NoSuchMethodException nsme) {
+      if (!PropertyUtil.hasSetter(name, String.class, attachment.getClass())) {
         throw newGameParseException(String.format(
             "The following option name of %s of class %s are either misspelled"
                 + " or exist only in a future version of TripleA. Setter: %s",
@@ -1289,12 +1294,9 @@ public final class GameParser {
       }
       // invoke
       try {
-        setter.invoke(attachment, itemValues);
-      } catch (final IllegalAccessException iae) {
-        throw newGameParseException(
-            "Setter not public. Setter:" + name + " Class:" + attachment.getClass().getName(), iae);
-      } catch (final InvocationTargetException ite) {
-        throw newGameParseException("Error setting property:" + name, ite);
+        PropertyUtil.set(name, itemValues, attachment);
+      } catch (final IllegalStateException e) {
+        throw newGameParseException("Error setting property:" + name, e);
       }
       options.add(Tuple.of(name, itemValues));
     }
@@ -42,6 +42,15 @@ public class GameSequence extends GameDataComponent implements Iterable<GameStep
     }
   }
 
+  /**
+   * Restores a round and step that were previously returned by {@link #getRound()} and {@link #getStepIndex()}, e.g.
+   * when replaying a save game journal.
+   */
+  public synchronized void setRoundAndStepIndex(final int round, final int stepIndex) {
+    setStepIndex(stepIndex);
+    m_round = round - m_roundOffset;
+  }
+
   public void addStep(final GameStep step) {
     m_steps.add(step);
   }
@@ -7,12 +7,32 @@ import java.util.Map;
 public class NamedAttachable extends DefaultNamed implements Attachable {
   private static final long serialVersionUID = 8597712929519099255L;
   private final Map<String, IAttachment> m_attachments = new HashMap<>();
+  // the ordinal plus one, so that the default value (also used by saves from before ordinals) means none is assigned
+  private int ordinalPlusOne = 0;
 
   /** Creates new NamedAttachable. */
   public NamedAttachable(final String name, final GameData data) {
     super(name, data);
   }
 
+  /**
+   * Returns the dense, zero-based position of this object in the list of its game data that it belongs to (e.g. the
+   * territories of the {@link GameMap} or the {@link UnitTypeList}), or -1 if it does not belong to such a list.
+   *
+   * <p>
+   * The ordinal is stable for the lifetime of the game data, is kept by copies of the game data and is intended to
+   * index arrays, see for example {@link TerritorySet} and {@link OrdinalIntegerMap}. It is assigned when the object
+   * is added to its list, and when loading a save game that was written before ordinals existed.
+   * </p>
+   */
+  public int getOrdinal() {
+    return ordinalPlusOne - 1;
+  }
+
+  void setOrdinal(final int ordinal) {
+    ordinalPlusOne = ordinal + 1;
+  }
+
   @Override
   public IAttachment getAttachment(final String key) {
     return m_attachments.get(key);
@@ -0,0 +1,232 @@
+package games.strategy.engine.data;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import games.strategy.util.IntegerMap;
+
+/**
+ * A mapping of game data objects to ints like {@link IntegerMap}, stored in an array indexed by
+ * {@link NamedAttachable#getOrdinal()}.
+ *
+ * <p>
+ * Reads and updates are plain array accesses, without hashing or boxing. This makes it an alternative to an
+ * {@code IntegerMap} in hot paths whose keys are territories, unit types, players or resources of one game data, e.g.
+ * resources being counted up while purchasing. The array grows with the largest ordinal that is stored.
+ * </p>
+ *
+ * <p>
+ * Keys without an ordinal, such as {@link PlayerID#NULL_PLAYERID}, share one extra slot, so at most one of them can be
+ * stored. Storing a key whose slot is taken by another key (i.e. a second key without an ordinal or a key of other
+ * game data) throws an {@link IllegalArgumentException}. Iteration over the keys is in ordinal order. Instances of
+ * this class are not thread safe.
+ * </p>
+ *
+ * @param <T> The type of the map key.
+ */
+public final class OrdinalIntegerMap<T extends NamedAttachable> {
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private Object[] keys;
+  private int[] values;
+  private int size = 0;
+
+  public OrdinalIntegerMap() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates an empty map that can hold the keys with ordinals less than the specified capacity without growing.
+   */
+  public OrdinalIntegerMap(final int capacity) {
+    keys = new Object[Math.max(capacity, 0) + 1];
+    values = new int[keys.length];
+  }
+
+  public OrdinalIntegerMap(final IntegerMap<T> integerMap) {
+    this();
+    add(integerMap);
+  }
+
+  public OrdinalIntegerMap(final OrdinalIntegerMap<T> ordinalIntegerMap) {
+    keys = ordinalIntegerMap.keys.clone();
+    values = ordinalIntegerMap.values.clone();
+    size = ordinalIntegerMap.size;
+  }
+
+  private static int slotOf(final NamedAttachable key) {
+    return Math.max(key.getOrdinal(), -1) + 1;
+  }
+
+  /**
+   * Returns the slot of the specified key, or -1 if it is not in the map.
+   */
+  private int find(final T key) {
+    final int slot = slotOf(key);
+    return slot < keys.length && key.equals(keys[slot]) ? slot : -1;
+  }
+
+  /**
+   * Returns the slot of the specified key, reserving it first if the key is not in the map.
+   */
+  private int reserve(final T key) {
+    final int slot = slotOf(key);
+    if (slot >= keys.length) {
+      final int length = Math.max(slot + 1, keys.length * 2);
+      keys = Arrays.copyOf(keys, length);
+      values = Arrays.copyOf(values, length);
+    }
+    if (keys[slot] == null) {
+      keys[slot] = key;
+      size++;
+    } else if (!key.equals(keys[slot])) {
+      throw new IllegalArgumentException("Key " + key + " has the same ordinal as " + keys[slot]);
+    }
+    return slot;
+  }
+
+  public void put(final T key, final int value) {
+    // reserve before accessing the array, since reserving may replace it
+    final int slot = reserve(key);
+    values[slot] = value;
+  }
+
+  /**
+   * Returns 0 if no key found.
+   */
+  public int getInt(final T key) {
+    final int slot = find(key);
+    return slot < 0 ? 0 : values[slot];
+  }
+
+  public void add(final T key, final int value) {
+    final int slot = reserve(key);
+    values[slot] += value;
+  }
+
+  public void add(final IntegerMap<T> map) {
+    for (final Map.Entry<T, Integer> entry : map.entrySet()) {
+      add(entry.getKey(), entry.getValue());
+    }
+  }
+
+  public void add(final OrdinalIntegerMap<T> map) {
+    forEachSlot(map, (slot, key) -> add(key, map.values[slot]));
+  }
+
+  public void subtract(final IntegerMap<T> map) {
+    for (final Map.Entry<T, Integer> entry : map.entrySet()) {
+      add(entry.getKey(), -entry.getValue());
+    }
+  }
+
+  public void subtract(final OrdinalIntegerMap<T> map) {
+    forEachSlot(map, (slot, key) -> add(key, -map.values[slot]));
+  }
+
+  /**
+   * Equivalent to {@link IntegerMap#greaterThanOrEqualTo(IntegerMap)}: true if, for every key of the specified map, the
+   * value in this map is at least as large.
+   */
+  public boolean greaterThanOrEqualTo(final IntegerMap<T> map) {
+    for (final Map.Entry<T, Integer> entry : map.entrySet()) {
+      if (getInt(entry.getKey()) < entry.getValue()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns true if all values are equal to the given integer.
+   */
+  public boolean allValuesEqual(final int integer) {
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != null && values[slot] != integer) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public int totalValues() {
+    int sum = 0;
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != null) {
+        sum += values[slot];
+      }
+    }
+    return sum;
+  }
+
+  public boolean containsKey(final T key) {
+    return find(key) >= 0;
+  }
+
+  public void removeKey(final T key) {
+    final int slot = find(key);
+    if (slot >= 0) {
+      keys[slot] = null;
+      values[slot] = 0;
+      size--;
+    }
+  }
+
+  public void clear() {
+    Arrays.fill(keys, null);
+    Arrays.fill(values, 0);
+    size = 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns a copy of the keys, in ordinal order.
+   */
+  public Set<T> keySet() {
+    final Set<T> keySet = new LinkedHashSet<>(size * 2);
+    forEachSlot(this, (slot, key) -> keySet.add(key));
+    return Collections.unmodifiableSet(keySet);
+  }
+
+  public IntegerMap<T> toIntegerMap() {
+    final IntegerMap<T> integerMap = new IntegerMap<>(size * 2);
+    forEachSlot(this, (slot, key) -> integerMap.put(key, values[slot]));
+    return integerMap;
+  }
+
+  @FunctionalInterface
+  private interface SlotConsumer<T> {
+    void accept(int slot, T key);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends NamedAttachable> void forEachSlot(final OrdinalIntegerMap<T> map,
+      final SlotConsumer<T> consumer) {
+    for (int slot = 0; slot < map.keys.length; slot++) {
+      if (map.keys[slot] != null) {
+        consumer.accept(slot, (T) map.keys[slot]);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder buf = new StringBuilder();
+    buf.append("OrdinalIntegerMap:\n");
+    if (size == 0) {
+      buf.append("empty\n");
+    }
+    forEachSlot(this, (slot, key) -> buf.append(key).append(" -> ").append(values[slot]).append("\n"));
+    return buf.toString();
+  }
+}
@@ -1,5 +1,7 @@
 package games.strategy.engine.data;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -15,6 +17,7 @@ public class PlayerList extends GameDataComponent implements Iterable<PlayerID>
   private static final long serialVersionUID = -3895068111754745446L;
   // maps String playerName -> PlayerID
   private final Map<String, PlayerID> m_players = new LinkedHashMap<>();
+  private transient List<PlayerID> playersByOrdinal = new ArrayList<>();
 
   /**
    * Creates new PlayerList.
@@ -27,9 +30,23 @@ public class PlayerList extends GameDataComponent implements Iterable<PlayerID>
   }
 
   void addPlayerId(final PlayerID player) {
+    if (!m_players.containsKey(player.getName())) {
+      player.setOrdinal(m_players.size());
+      playersByOrdinal.add(player);
+    }
     m_players.put(player.getName(), player);
   }
 
+  private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    // saves from before ordinals existed have none, the insertion order gives the same numbering as when parsed
+    int ordinal = 0;
+    for (final PlayerID player : m_players.values()) {
+      player.setOrdinal(ordinal++);
+    }
+    playersByOrdinal = new ArrayList<>(m_players.values());
+  }
+
   void addPlayerIds(final Collection<PlayerID> playerIds) {
     playerIds.forEach(this::addPlayerId);
   }
@@ -52,6 +69,13 @@ public class PlayerList extends GameDataComponent implements Iterable<PlayerID>
     return new ArrayList<>(m_players.values());
   }
 
+  /**
+   * Returns the player with the specified ordinal, or null if there is none.
+   */
+  PlayerID getPlayerIdByOrdinal(final int ordinal) {
+    return (ordinal >= 0 && ordinal < playersByOrdinal.size()) ? playersByOrdinal.get(ordinal) : null;
+  }
+
   /**
    * an iterator of a new arraylist copy of the players.
    */
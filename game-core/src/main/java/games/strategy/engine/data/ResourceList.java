@@ -1,5 +1,7 @@
 package games.strategy.engine.data;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -14,9 +16,21 @@ public class ResourceList extends GameDataComponent {
   }
 
   protected void addResource(final Resource resource) {
+    if (!m_resourceList.containsKey(resource.getName())) {
+      resource.setOrdinal(m_resourceList.size());
+    }
     m_resourceList.put(resource.getName(), resource);
   }
 
+  private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    // saves from before ordinals existed have none, the insertion order gives the same numbering as when parsed
+    int ordinal = 0;
+    for (final Resource resource : m_resourceList.values()) {
+      resource.setOrdinal(ordinal++);
+    }
+  }
+
   public int size() {
     return m_resourceList.size();
   }
@@ -0,0 +1,149 @@
+package games.strategy.engine.data;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * Precomputed shortest paths between the territories of a {@link GameMap}, for one fixed condition that all covered
+ * territories of a path (i.e. all but the start) must match.
+ *
+ * <p>
+ * Territories are numbered by their {@link Territory#getOrdinal() ordinal}, and the connections are stored as arrays
+ * of these numbers.
+ * The first query from a territory runs a single breadth-first search over the whole map and keeps both the distance
+ * to every territory and the tree of shortest paths, so all later distance queries from that territory take constant
+ * time and routes are read back from the tree. Rows are only computed for the territories that are actually queried
+ * from.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are thread safe. They must be discarded when the territories or connections of the map
+ * change.
+ * </p>
+ */
+final class TerritoryDistanceIndex {
+  // indexed by ordinal, only the first size elements are covered
+  private final List<Territory> territories;
+  private final int size;
+  private final int[][] neighbors;
+  private final boolean[] matches;
+  // per source territory: the distance to every territory, -1 if not connected
+  private final AtomicReferenceArray<int[]> distances;
+  // per source territory: the previous territory on the shortest path to every territory, -1 if none
+  private final AtomicReferenceArray<int[]> previous;
+
+  /**
+   * Creates an index for the specified territories, which must be indexed by their ordinals.
+   */
+  TerritoryDistanceIndex(final List<Territory> territories, final Map<Territory, Set<Territory>> connections,
+      final Predicate<Territory> condition) {
+    this.territories = territories;
+    size = territories.size();
+    neighbors = new int[size][];
+    matches = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      final Territory territory = territories.get(i);
+      matches[i] = condition.test(territory);
+      neighbors[i] = connections.getOrDefault(territory, Collections.emptySet()).stream()
+          .mapToInt(Territory::getOrdinal)
+          .toArray();
+    }
+    distances = new AtomicReferenceArray<>(size);
+    previous = new AtomicReferenceArray<>(size);
+  }
+
+  /**
+   * Returns the distance between the two territories, or -1 if they are not connected or not on the map.
+   */
+  int getDistance(final Territory from, final Territory to) {
+    final int source = indexOf(from);
+    final int target = indexOf(to);
+    if (source < 0 || target < 0) {
+      return -1;
+    }
+    return getDistances(source)[target];
+  }
+
+  /**
+   * Returns the shortest route between the two territories, or {@code null} if they are not connected or not on the
+   * map.
+   */
+  Route getRoute(final Territory from, final Territory to) {
+    final int source = indexOf(from);
+    final int target = indexOf(to);
+    if (source < 0 || target < 0) {
+      return null;
+    }
+    final int distance = getDistances(source)[target];
+    if (distance < 0) {
+      return null;
+    }
+    final int[] previousRow = previous.get(source);
+    final Territory[] route = new Territory[distance + 1];
+    for (int i = distance, current = target; i >= 0; i--, current = previousRow[current]) {
+      route[i] = territories.get(current);
+    }
+    return new Route(Arrays.asList(route));
+  }
+
+  /**
+   * Returns all territories within the specified distance of the territory, not including the territory itself. The
+   * returned set is a new {@link HashSet}, which callers may modify and add the territories of any map to.
+   */
+  Set<Territory> getNeighbors(final Territory territory, final int distance) {
+    final int source = indexOf(territory);
+    if (source < 0) {
+      throw new IllegalArgumentException("No neighbors for:" + territory);
+    }
+    final int[] row = getDistances(source);
+    final Set<Territory> result = new HashSet<>();
+    for (int i = 0; i < row.length; i++) {
+      if (row[i] > 0 && row[i] <= distance) {
+        result.add(territories.get(i));
+      }
+    }
+    return result;
+  }
+
+  private int indexOf(final Territory territory) {
+    final int ordinal = territory.getOrdinal();
+    return ordinal >= 0 && ordinal < size && territories.get(ordinal).equals(territory) ? ordinal : -1;
+  }
+
+  private int[] getDistances(final int source) {
+    final int[] row = distances.get(source);
+    if (row != null) {
+      return row;
+    }
+    // racing threads may both search, which is harmless since they get the same result
+    final int[] distanceRow = new int[size];
+    final int[] previousRow = new int[size];
+    Arrays.fill(distanceRow, -1);
+    Arrays.fill(previousRow, -1);
+    final int[] queue = new int[size];
+    int head = 0;
+    int tail = 0;
+    distanceRow[source] = 0;
+    queue[tail++] = source;
+    while (head < tail) {
+      final int current = queue[head++];
+      for (final int neighbor : neighbors[current]) {
+        if (distanceRow[neighbor] < 0 && matches[neighbor]) {
+          distanceRow[neighbor] = distanceRow[current] + 1;
+          previousRow[neighbor] = current;
+          queue[tail++] = neighbor;
+        }
+      }
+    }
+    // publish the previous row first, since getRoute() reads it after seeing the distance row
+    previous.set(source, previousRow);
+    distances.set(source, distanceRow);
+    return distanceRow;
+  }
+}
@@ -0,0 +1,184 @@
+package games.strategy.engine.data;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A set of the territories of one {@link GameMap}, stored as a bit set indexed by {@link Territory#getOrdinal()}.
+ *
+ * <p>
+ * Membership tests, insertions and removals take constant time without hashing or boxing, and bulk operations with
+ * another {@code TerritorySet} of the same map work on whole words of the bit sets. This makes it a drop-in
+ * replacement for a {@code HashSet<Territory>} in hot paths, e.g. for the collections passed to
+ * {@code Matches.territoryIsInList(Collection)}. Iteration is in map order.
+ * </p>
+ *
+ * <p>
+ * Only territories of the map can be added; {@link #contains(Object)} and {@link #remove(Object)} simply return
+ * {@code false} for anything else. Instances of this class are not thread safe.
+ * </p>
+ */
+public final class TerritorySet extends AbstractSet<Territory> {
+  private final List<Territory> territories;
+  private final BitSet bits;
+
+  /**
+   * Creates an empty set for the territories of the specified map.
+   */
+  public TerritorySet(final GameMap map) {
+    this(map.getTerritoriesByOrdinal());
+  }
+
+  /**
+   * Creates a set for the territories of the specified map that initially contains the specified territories.
+   */
+  public TerritorySet(final GameMap map, final Collection<Territory> territories) {
+    this(map);
+    addAll(territories);
+  }
+
+  /**
+   * Creates an empty set for the specified territories, which must be indexed by their ordinals. Sets only support
+   * their fast bulk operations with other sets that were created for the same list instance.
+   */
+  TerritorySet(final List<Territory> territories) {
+    checkNotNull(territories);
+
+    this.territories = territories;
+    bits = new BitSet(territories.size());
+  }
+
+  private int indexOf(final Object object) {
+    if (!(object instanceof Territory)) {
+      return -1;
+    }
+    final int ordinal = ((Territory) object).getOrdinal();
+    return ordinal >= 0 && ordinal < territories.size() && territories.get(ordinal).equals(object) ? ordinal : -1;
+  }
+
+  private boolean isSameMap(final Collection<?> collection) {
+    return collection instanceof TerritorySet && ((TerritorySet) collection).territories == territories;
+  }
+
+  @Override
+  public boolean contains(final Object object) {
+    final int index = indexOf(object);
+    return index >= 0 && bits.get(index);
+  }
+
+  @Override
+  public boolean add(final Territory territory) {
+    final int index = indexOf(territory);
+    if (index < 0) {
+      throw new IllegalArgumentException("Territory is not on the map: " + territory);
+    }
+    if (bits.get(index)) {
+      return false;
+    }
+    bits.set(index);
+    return true;
+  }
+
+  @Override
+  public boolean remove(final Object object) {
+    final int index = indexOf(object);
+    if (index < 0 || !bits.get(index)) {
+      return false;
+    }
+    bits.clear(index);
+    return true;
+  }
+
+  @Override
+  public boolean containsAll(final Collection<?> collection) {
+    if (isSameMap(collection)) {
+      final BitSet missing = (BitSet) ((TerritorySet) collection).bits.clone();
+      missing.andNot(bits);
+      return missing.isEmpty();
+    }
+    return super.containsAll(collection);
+  }
+
+  @Override
+  public boolean addAll(final Collection<? extends Territory> collection) {
+    if (isSameMap(collection)) {
+      final int size = size();
+      bits.or(((TerritorySet) collection).bits);
+      return size != size();
+    }
+    return super.addAll(collection);
+  }
+
+  @Override
+  public boolean removeAll(final Collection<?> collection) {
+    if (isSameMap(collection)) {
+      final int size = size();
+      bits.andNot(((TerritorySet) collection).bits);
+      return size != size();
+    }
+    return super.removeAll(collection);
+  }
+
+  @Override
+  public boolean retainAll(final Collection<?> collection) {
+    if (isSameMap(collection)) {
+      final int size = size();
+      bits.and(((TerritorySet) collection).bits);
+      return size != size();
+    }
+    return super.retainAll(collection);
+  }
+
+  @Override
+  public void clear() {
+    bits.clear();
+  }
+
+  @Override
+  public int size() {
+    return bits.cardinality();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return bits.isEmpty();
+  }
+
+  @Override
+  public Iterator<Territory> iterator() {
+    return new Iterator<Territory>() {
+      private int next = bits.nextSetBit(0);
+      private int last = -1;
+
+      @Override
+      public boolean hasNext() {
+        return next >= 0;
+      }
+
+      @Override
+      public Territory next() {
+        if (next < 0) {
+          throw new NoSuchElementException();
+        }
+        last = next;
+        next = bits.nextSetBit(next + 1);
+        return territories.get(last);
+      }
+
+      @Override
+      public void remove() {
+        if (last < 0) {
+          throw new IllegalStateException();
+        }
+        bits.clear(last);
+        last = -1;
+      }
+    };
+  }
+}
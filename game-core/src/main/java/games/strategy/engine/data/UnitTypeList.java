@@ -1,11 +1,17 @@
 package games.strategy.engine.data;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * A collection of unit types.
@@ -13,6 +19,7 @@ import java.util.Set;
 public class UnitTypeList extends GameDataComponent implements Iterable<UnitType> {
   private static final long serialVersionUID = 9002927658524651749L;
   private final Map<String, UnitType> m_unitTypes = new HashMap<>();
+  private transient List<UnitType> unitTypesByOrdinal = new ArrayList<>();
 
   /**
    * Creates new UnitTypeCollection.
@@ -25,13 +32,39 @@ public class UnitTypeList extends GameDataComponent implements Iterable<UnitType
   }
 
   protected void addUnitType(final UnitType type) {
+    if (!m_unitTypes.containsKey(type.getName())) {
+      type.setOrdinal(m_unitTypes.size());
+      unitTypesByOrdinal.add(type);
+    }
     m_unitTypes.put(type.getName(), type);
   }
 
+  private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    if (m_unitTypes.values().stream().anyMatch(type -> type.getOrdinal() < 0)) {
+      // saved before ordinals existed, the insertion order is lost so number them by name
+      int ordinal = 0;
+      for (final String name : new TreeSet<>(m_unitTypes.keySet())) {
+        m_unitTypes.get(name).setOrdinal(ordinal++);
+      }
+    }
+    unitTypesByOrdinal = new ArrayList<>(Collections.nCopies(m_unitTypes.size(), null));
+    for (final UnitType type : m_unitTypes.values()) {
+      unitTypesByOrdinal.set(type.getOrdinal(), type);
+    }
+  }
+
   public UnitType getUnitType(final String name) {
     return m_unitTypes.get(name);
   }
 
+  /**
+   * Returns the unit type with the specified ordinal, or null if there is none.
+   */
+  UnitType getUnitTypeByOrdinal(final int ordinal) {
+    return (ordinal >= 0 && ordinal < unitTypesByOrdinal.size()) ? unitTypesByOrdinal.get(ordinal) : null;
+  }
+
   /**
    * Will return null if even a single name is not on the unit list.
    */
@@ -1,7 +1,9 @@
 package games.strategy.engine.data.changefactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
@@ -35,6 +37,30 @@ class AddUnits extends Change {
     return new RemoveUnits(m_name, m_type, m_units);
   }
 
+  @Override
+  protected Object getMergeKey() {
+    return getMergeKey(m_name, m_type);
+  }
+
+  static Object getMergeKey(final String name, final String type) {
+    return Arrays.asList(UnitHolder.class, name, type);
+  }
+
+  @Override
+  protected Change mergeWith(final Change next) {
+    if (next instanceof AddUnits) {
+      final List<Unit> added = new ArrayList<>(m_units);
+      added.addAll(((AddUnits) next).m_units);
+      return new AddUnits(m_name, m_type, added);
+    }
+    // units that are added and then removed cancel out
+    return RemoveUnits.getNetChange(m_name, m_type, ((RemoveUnits) next).getUnits(), m_units);
+  }
+
+  Collection<Unit> getUnits() {
+    return m_units;
+  }
+
   @Override
   protected void perform(final GameData data) {
     final UnitHolder holder = data.getUnitHolder(m_name, m_type);
@@ -1,6 +1,9 @@
 package games.strategy.engine.data.changefactory;
 
+import java.util.Arrays;
+
 import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Resource;
@@ -32,6 +35,17 @@ class ChangeResourceChange extends Change {
     return new ChangeResourceChange(m_player, m_resource, -m_quantity);
   }
 
+  @Override
+  protected Object getMergeKey() {
+    return Arrays.asList(ChangeResourceChange.class, m_player, m_resource);
+  }
+
+  @Override
+  protected Change mergeWith(final Change next) {
+    final int quantity = m_quantity + ((ChangeResourceChange) next).m_quantity;
+    return quantity == 0 ? new CompositeChange() : new ChangeResourceChange(m_player, m_resource, quantity);
+  }
+
   @Override
   protected void perform(final GameData data) {
     final Resource resource = data.getResourceList().getResource(m_resource);
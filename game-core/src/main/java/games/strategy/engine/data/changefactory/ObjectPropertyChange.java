@@ -2,6 +2,7 @@ package games.strategy.engine.data.changefactory;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.util.Arrays;
 
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
@@ -41,6 +42,16 @@ public class ObjectPropertyChange extends Change {
     return new ObjectPropertyChange(m_object, m_property, m_oldValue, m_newValue);
   }
 
+  @Override
+  protected Object getMergeKey() {
+    return Arrays.asList(ObjectPropertyChange.class, m_object, m_property);
+  }
+
+  @Override
+  protected Change mergeWith(final Change next) {
+    return new ObjectPropertyChange(m_object, m_property, ((ObjectPropertyChange) next).m_newValue, m_oldValue);
+  }
+
   @Override
   protected void perform(final GameData data) {
     PropertyUtil.set(m_property, m_newValue, m_object);
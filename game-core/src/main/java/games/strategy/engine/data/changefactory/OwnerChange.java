@@ -1,5 +1,7 @@
 package games.strategy.engine.data.changefactory;
 
+import java.util.Arrays;
+
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
@@ -51,6 +53,16 @@ class OwnerChange extends Change {
     return new OwnerChange(m_territory, m_old, m_new);
   }
 
+  @Override
+  protected Object getMergeKey() {
+    return Arrays.asList(OwnerChange.class, m_territory);
+  }
+
+  @Override
+  protected Change mergeWith(final Change next) {
+    return new OwnerChange(m_territory, ((OwnerChange) next).m_new, m_old);
+  }
+
   @Override
   protected void perform(final GameData data) {
     // both names could be null
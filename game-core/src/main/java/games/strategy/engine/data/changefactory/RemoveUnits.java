@@ -2,8 +2,13 @@ package games.strategy.engine.data.changefactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.Unit;
 import games.strategy.engine.data.UnitCollection;
@@ -30,6 +35,46 @@ class RemoveUnits extends Change {
     return new AddUnits(m_name, m_type, m_units);
   }
 
+  @Override
+  protected Object getMergeKey() {
+    return AddUnits.getMergeKey(m_name, m_type);
+  }
+
+  @Override
+  protected Change mergeWith(final Change next) {
+    if (next instanceof RemoveUnits) {
+      final List<Unit> removed = new ArrayList<>(m_units);
+      removed.addAll(((RemoveUnits) next).m_units);
+      return new RemoveUnits(m_name, m_type, removed);
+    }
+    // units that are removed and then added again cancel out
+    return getNetChange(m_name, m_type, m_units, ((AddUnits) next).getUnits());
+  }
+
+  /**
+   * Returns a single change that removes the specified units that are not added and adds the specified units that are
+   * not removed, or null if both would be required. Returns an empty change if the units cancel out.
+   */
+  static Change getNetChange(final String name, final String type, final Collection<Unit> removed,
+      final Collection<Unit> added) {
+    final Set<Unit> removedSet = new HashSet<>(removed);
+    final Set<Unit> addedSet = new HashSet<>(added);
+    final List<Unit> netRemoved = removed.stream()
+        .filter(unit -> !addedSet.contains(unit))
+        .collect(Collectors.toList());
+    final List<Unit> netAdded = added.stream()
+        .filter(unit -> !removedSet.contains(unit))
+        .collect(Collectors.toList());
+    if (netRemoved.isEmpty()) {
+      return netAdded.isEmpty() ? new CompositeChange() : new AddUnits(name, type, netAdded);
+    }
+    return netAdded.isEmpty() ? new RemoveUnits(name, type, netRemoved) : null;
+  }
+
+  Collection<Unit> getUnits() {
+    return m_units;
+  }
+
   @Override
   protected void perform(final GameData data) {
     final UnitHolder holder = data.getUnitHolder(m_name, m_type);
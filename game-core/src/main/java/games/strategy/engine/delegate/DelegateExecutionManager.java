@@ -1,5 +1,6 @@
 package games.strategy.engine.delegate;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
 import java.lang.reflect.InvocationHandler;
@@ -37,6 +38,8 @@ public class DelegateExecutionManager {
   private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
   private final ThreadLocal<Boolean> currentThreadHasReadLock = ThreadLocal.withInitial(() -> Boolean.FALSE);
   private volatile boolean isGameOver = false;
+  private volatile Runnable leaveDelegateExecutionListener = () -> {
+  };
 
   public void setGameOver() {
     isGameOver = true;
@@ -69,6 +72,21 @@ public class DelegateExecutionManager {
     return currentThreadHasReadLock.get();
   }
 
+  /**
+   * Indicates the current thread is executing a delegate.
+   */
+  public boolean isCurrentThreadExecutingDelegate() {
+    return currentThreadHasReadLock();
+  }
+
+  /**
+   * Sets the action that is run by a thread each time it is about to leave delegate execution, i.e. when a delegate
+   * method returns or calls out to a player or the random source.
+   */
+  public void setLeaveDelegateExecutionListener(final Runnable listener) {
+    leaveDelegateExecutionListener = checkNotNull(listener);
+  }
+
   /**
    * Used to create an object the exits delegate execution.
    *
@@ -145,8 +163,12 @@ public class DelegateExecutionManager {
    * Invoke immediately after executing a delegate.
    */
   public void leaveDelegateExecution() {
-    readWriteLock.readLock().unlock();
-    currentThreadHasReadLock.set(Boolean.FALSE);
+    try {
+      leaveDelegateExecutionListener.run();
+    } finally {
+      readWriteLock.readLock().unlock();
+      currentThreadHasReadLock.set(Boolean.FALSE);
+    }
   }
 
   /**
@@ -8,6 +8,7 @@ import java.util.Set;
 
 import games.strategy.debug.ClientLogger;
 import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.gamePlayer.IGamePlayer;
@@ -36,6 +37,14 @@ public class ClientGame extends AbstractGame {
         gameData.getHistory().getHistoryWriter().addChange(change);
       }
 
+      @Override
+      public void gameDataChangesBatched(final CompositeChange changes) {
+        // one lock and one notification of the listeners for the whole batch
+        gameData.performChange(changes);
+        // the history gets the changes one by one, as the history of the server
+        changes.getChanges().forEach(gameData.getHistory().getHistoryWriter()::addChange);
+      }
+
       @Override
       public void startHistoryEvent(final String event, final Object renderingData) {
         startHistoryEvent(event);
@@ -0,0 +1,179 @@
+package games.strategy.engine.framework;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamField;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import games.strategy.engine.data.BombingUnitDamageChange;
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.ChangeAttachmentChange;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.GameDataComponent;
+import games.strategy.engine.data.GameObjectOrdinalStreamData;
+import games.strategy.engine.data.GameObjectStreamData;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitHitsChange;
+import games.strategy.engine.message.RemoteMethodCall;
+import games.strategy.engine.message.RemoteMethodCallResults;
+import games.strategy.net.GUID;
+import games.strategy.triplea.TripleAUnit;
+import games.strategy.util.IntegerMap;
+
+/**
+ * The classes whose descriptors are written as a one byte id by the streams of
+ * {@link CompactGameObjectStreamFactory}, instead of as a full class descriptor with the names and types of all
+ * fields.
+ *
+ * <p>
+ * These are the classes of the objects most often sent while playing a game, i.e. changes, units and the arguments of
+ * remote method calls. Both ends of a connection must use the same list with the same serialized form of every
+ * class, since the local class descriptors are used to read the objects. The {@link #getFingerprint() fingerprint} of
+ * the list is advertised while logging in, so that peers whose lists differ fall back to the regular stream format.
+ * {@link #VERSION} is the version of the stream format itself, written in the header of a compact stream.
+ * </p>
+ */
+final class CompactGameObjectStreamClasses {
+  static final int VERSION = 1;
+  // the change classes of the change factory are not visible here
+  private static final String CHANGE_FACTORY_PACKAGE = "games.strategy.engine.data.changefactory.";
+  private static final List<Class<?>> classes = Collections.unmodifiableList(Arrays.asList(
+      // engine messages and their common arguments
+      RemoteMethodCall.class,
+      RemoteMethodCallResults.class,
+      GUID.class,
+      java.rmi.dgc.VMID.class,
+      java.rmi.server.UID.class,
+      GameObjectStreamData.class,
+      GameObjectOrdinalStreamData.class,
+      GameDataComponent.class,
+      Unit.class,
+      TripleAUnit.class,
+      IntegerMap.class,
+      // changes
+      Change.class,
+      CompositeChange.class,
+      ChangeAttachmentChange.class,
+      UnitHitsChange.class,
+      BombingUnitDamageChange.class,
+      getChangeFactoryClass("AddAttachmentChange"),
+      getChangeFactoryClass("AddAvailableTech"),
+      getChangeFactoryClass("AddBattleRecordsChange"),
+      getChangeFactoryClass("AddProductionRule"),
+      getChangeFactoryClass("AddUnits"),
+      getChangeFactoryClass("AttachmentPropertyReset"),
+      getChangeFactoryClass("AttachmentPropertyResetUndo"),
+      getChangeFactoryClass("ChangeResourceChange"),
+      getChangeFactoryClass("GenericTechChange"),
+      getChangeFactoryClass("ObjectPropertyChange"),
+      getChangeFactoryClass("OwnerChange"),
+      getChangeFactoryClass("PlayerOwnerChange"),
+      getChangeFactoryClass("PlayerWhoAmIChange"),
+      getChangeFactoryClass("ProductionFrontierChange"),
+      getChangeFactoryClass("RelationshipChange"),
+      getChangeFactoryClass("RemoveAttachmentChange"),
+      getChangeFactoryClass("RemoveAvailableTech"),
+      getChangeFactoryClass("RemoveBattleRecordsChange"),
+      getChangeFactoryClass("RemoveProductionRule"),
+      getChangeFactoryClass("RemoveUnits"),
+      getChangeFactoryClass("SetPropertyChange"),
+      // common java classes
+      Object[].class,
+      byte[].class,
+      int[].class,
+      Number.class,
+      Integer.class,
+      Long.class,
+      Boolean.class,
+      ArrayList.class,
+      HashMap.class,
+      HashSet.class,
+      LinkedHashMap.class,
+      LinkedHashSet.class));
+  private static final Map<Class<?>, Integer> ids = new HashMap<>();
+  private static final String fingerprint = newFingerprint(classes);
+
+  static {
+    // id 0 marks a class that is not in the list
+    checkState(classes.size() < 0xFF, "too many classes for a one byte id");
+    for (int i = 0; i < classes.size(); i++) {
+      ids.put(classes.get(i), i + 1);
+    }
+  }
+
+  private CompactGameObjectStreamClasses() {}
+
+  private static Class<?> getChangeFactoryClass(final String simpleName) {
+    try {
+      return Class.forName(CHANGE_FACTORY_PACKAGE + simpleName);
+    } catch (final ClassNotFoundException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @VisibleForTesting
+  static String newFingerprint(final List<Class<?>> types) {
+    final Hasher hasher = Hashing.sha256().newHasher();
+    for (final Class<?> type : types) {
+      final ObjectStreamClass desc = ObjectStreamClass.lookup(type);
+      putString(hasher, desc.getName());
+      hasher.putLong(desc.getSerialVersionUID());
+      final ObjectStreamField[] fields = desc.getFields();
+      hasher.putInt(fields.length);
+      for (final ObjectStreamField field : fields) {
+        putString(hasher, field.getName());
+        hasher.putChar(field.getTypeCode());
+        putString(hasher, Strings.nullToEmpty(field.getTypeString()));
+      }
+    }
+    return hasher.hash().toString();
+  }
+
+  private static void putString(final Hasher hasher, final String value) {
+    // the length keeps consecutive strings from hashing like their concatenation
+    hasher.putInt(value.length()).putString(value, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Returns a hash of the names, serial version UIDs and serializable fields of the classes in the list, in order.
+   */
+  static String getFingerprint() {
+    return fingerprint;
+  }
+
+  /**
+   * Returns the id of the specified class, or 0 if it is not in the list.
+   */
+  static int getId(final @Nullable Class<?> type) {
+    final Integer id = ids.get(type);
+    return id == null ? 0 : id;
+  }
+
+  /**
+   * Returns the descriptor of the class with the specified id, or null if there is none.
+   */
+  static @Nullable ObjectStreamClass getDescriptor(final int id) {
+    return id > 0 && id <= classes.size() ? ObjectStreamClass.lookup(classes.get(id - 1)) : null;
+  }
+
+  static List<Class<?>> getClasses() {
+    return classes;
+  }
+}
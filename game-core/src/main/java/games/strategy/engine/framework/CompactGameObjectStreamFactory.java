@@ -0,0 +1,140 @@
+package games.strategy.engine.framework;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamConstants;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+
+import com.google.common.io.ByteStreams;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameObjectInputStream;
+import games.strategy.engine.data.GameObjectOrdinalStreamData;
+import games.strategy.engine.data.GameObjectOutputStream;
+
+/**
+ * A {@link GameObjectStreamFactory} for the messages exchanged between the server and the clients of a network game,
+ * whose streams are more compact than those of its super class.
+ *
+ * <p>
+ * The descriptors of the classes most often sent, see {@link CompactGameObjectStreamClasses}, are written as a one
+ * byte id instead of with the names and types of all their fields. Territories, players and unit types are written by
+ * their ordinal instead of their name, see {@link GameObjectOrdinalStreamData}. Every other object is written as by
+ * {@link GameObjectOutputStream}.
+ * </p>
+ *
+ * <p>
+ * A peer running an older engine cannot read these streams, so they are only written to the peers that advertised
+ * {@link #getNegotiatedStreamFormat()} while logging in, see {@link #createNegotiated(OutputStream)}; the other streams
+ * are written as by the super class. The advertised format contains a fingerprint of the class list, so peers whose
+ * classes are serialized differently do not exchange compact streams. The input streams read both formats. The stream
+ * header of a compact stream contains the version of the format, and reading a compact stream written with another
+ * version fails.
+ * </p>
+ *
+ * <p>
+ * The streams must not be used for save games, since the class list and the ordinals are only known to be the same
+ * for the server and its clients.
+ * </p>
+ */
+public class CompactGameObjectStreamFactory extends GameObjectStreamFactory {
+  // the magic number and version of the stream header written by ObjectOutputStream
+  private static final int STREAM_HEADER_LENGTH = 4;
+
+  public CompactGameObjectStreamFactory(final GameData data) {
+    super(data);
+  }
+
+  @Override
+  public ObjectInputStream create(final InputStream stream) throws IOException {
+    final InputStream input = stream.markSupported() ? stream : new BufferedInputStream(stream);
+    return isCompact(input) ? new CompactGameObjectInputStream(this, input) : super.create(input);
+  }
+
+  /**
+   * Returns whether the stream header is followed by the version of a compact stream, rather than by the type code
+   * that starts the content of every other stream.
+   */
+  private static boolean isCompact(final InputStream input) throws IOException {
+    final byte[] header = new byte[STREAM_HEADER_LENGTH + 1];
+    input.mark(header.length);
+    try {
+      return ByteStreams.read(input, header, 0, header.length) == header.length
+          && (header[STREAM_HEADER_LENGTH] & 0xFF) < ObjectStreamConstants.TC_BASE;
+    } finally {
+      input.reset();
+    }
+  }
+
+  @Override
+  public String getNegotiatedStreamFormat() {
+    return "Compact " + CompactGameObjectStreamClasses.VERSION + " " + CompactGameObjectStreamClasses.getFingerprint();
+  }
+
+  @Override
+  public ObjectOutputStream createNegotiated(final OutputStream stream) throws IOException {
+    return new CompactGameObjectOutputStream(stream);
+  }
+
+  private static final class CompactGameObjectOutputStream extends GameObjectOutputStream {
+    CompactGameObjectOutputStream(final OutputStream output) throws IOException {
+      super(output);
+    }
+
+    @Override
+    protected void writeStreamHeader() throws IOException {
+      super.writeStreamHeader();
+      writeByte(CompactGameObjectStreamClasses.VERSION);
+    }
+
+    @Override
+    protected void writeClassDescriptor(final ObjectStreamClass desc) throws IOException {
+      final int id = CompactGameObjectStreamClasses.getId(desc.forClass());
+      writeByte(id);
+      if (id == 0) {
+        super.writeClassDescriptor(desc);
+      }
+    }
+
+    @Override
+    protected Object replaceObject(final Object obj) {
+      final GameObjectOrdinalStreamData reference = GameObjectOrdinalStreamData.of(obj);
+      return reference != null ? reference : super.replaceObject(obj);
+    }
+  }
+
+  private static final class CompactGameObjectInputStream extends GameObjectInputStream {
+    CompactGameObjectInputStream(final GameObjectStreamFactory dataSource, final InputStream input)
+        throws IOException {
+      super(dataSource, input);
+    }
+
+    @Override
+    protected void readStreamHeader() throws IOException {
+      super.readStreamHeader();
+      final int version = readUnsignedByte();
+      if (version != CompactGameObjectStreamClasses.VERSION) {
+        throw new StreamCorruptedException("Unsupported compact stream version: " + version + ", expected: "
+            + CompactGameObjectStreamClasses.VERSION);
+      }
+    }
+
+    @Override
+    protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+      final int id = readUnsignedByte();
+      if (id == 0) {
+        return super.readClassDescriptor();
+      }
+      final ObjectStreamClass desc = CompactGameObjectStreamClasses.getDescriptor(id);
+      if (desc == null) {
+        throw new StreamCorruptedException("Unknown class id: " + id);
+      }
+      return desc;
+    }
+  }
+}
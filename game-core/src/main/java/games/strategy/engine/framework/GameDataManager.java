@@ -3,6 +3,9 @@ package games.strategy.engine.framework;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -11,32 +14,58 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 import javax.swing.JOptionPane;
 
+import org.apache.commons.io.input.CloseShieldInputStream;
+
+import com.google.common.io.ByteStreams;
+
 import games.strategy.engine.ClientContext;
 import games.strategy.engine.GameEngineVersion;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.delegate.IDelegate;
 import games.strategy.engine.framework.headlessGameServer.HeadlessGameServer;
+import games.strategy.engine.history.HistoryRecords;
 import games.strategy.io.IoUtils;
 import games.strategy.triplea.UrlConstants;
 import games.strategy.util.Version;
 
 /**
  * Responsible for loading saved games, new games from xml, and saving games.
+ *
+ * <p>
+ * Save games are written in the following format:
+ * </p>
+ * <ol>
+ * <li>An uncompressed header: the {@link #MAGIC} bytes, the format version as an int, the id of the
+ * {@link SaveGameCompression} of the body as a byte and the engine version as a UTF string. The engine version can thus
+ * be checked without reading any further.</li>
+ * <li>The compressed body, one object stream containing the game data without its history, then the number of
+ * delegates as an int followed by the name, display name, class name and state of each delegate, and finally the
+ * records of the history as written by {@link HistoryRecords}.</li>
+ * </ol>
+ *
+ * <p>
+ * The body is written to and read from the stream as it goes, without first buffering the whole save game in memory,
+ * and the history is replayed record by record while reading. Save games of the previous format, which is the engine
+ * version and the game data serialized as a whole into a GZIP stream, can still be loaded.
+ * </p>
  */
 public final class GameDataManager {
-  private static final String DELEGATE_START = "<DelegateStart>";
+  private static final byte[] MAGIC = {'T', 'A', 'S', 'G'};
+  private static final int FORMAT_VERSION = 1;
+
   private static final String DELEGATE_DATA_NEXT = "<DelegateData>";
   private static final String DELEGATE_LIST_END = "<EndDelegateList>";
 
   private GameDataManager() {}
 
   /**
-   * Loads game data from the specified file.
+   * Loads game data from the specified file. If the file is the checkpoint of a {@link SaveGameJournal}, the journal is
+   * replayed as well.
    *
    * @param file The file from which the game data will be loaded.
    *
@@ -47,10 +76,15 @@ public final class GameDataManager {
   public static GameData loadGame(final File file) throws IOException {
     checkNotNull(file);
 
+    final GameData data;
     try (InputStream fis = new FileInputStream(file);
         InputStream is = new BufferedInputStream(fis)) {
-      return loadGame(is);
+      data = loadGame(is);
+    }
+    if (data != null) {
+      SaveGameJournal.replay(file, data);
     }
+    return data;
   }
 
   /**
@@ -66,47 +100,44 @@ public final class GameDataManager {
   public static GameData loadGame(final InputStream is) throws IOException {
     checkNotNull(is);
 
+    final InputStream input = is.markSupported() ? is : new BufferedInputStream(is);
+    input.mark(MAGIC.length);
+    final byte[] magic = new byte[MAGIC.length];
+    final int magicLength = ByteStreams.read(input, magic, 0, magic.length);
+    input.reset();
+    if (magicLength == MAGIC.length && Arrays.equals(magic, MAGIC)) {
+      return loadStreamedGame(new DataInputStream(new CloseShieldInputStream(input)));
+    }
+    return loadLegacyGame(input);
+  }
+
+  private static GameData loadStreamedGame(final DataInputStream header) throws IOException {
+    header.readFully(new byte[MAGIC.length]);
+    final int formatVersion = header.readInt();
+    if (formatVersion > FORMAT_VERSION) {
+      throw new IOException("Save game format version " + formatVersion + " is newer than the supported version "
+          + FORMAT_VERSION + "\nTo download the latest version of TripleA, Please visit "
+          + UrlConstants.LATEST_GAME_DOWNLOAD_WEBSITE);
+    }
+    final SaveGameCompression compression = SaveGameCompression.fromId(header.readByte());
+    if (!isCompatible(new Version(header.readUTF()))) {
+      return null;
+    }
+    try (InputStream body = compression.decompress(header)) {
+      return readGameData(body);
+    } catch (final ClassNotFoundException e) {
+      throw new IOException(e.getMessage());
+    }
+  }
+
+  private static GameData loadLegacyGame(final InputStream is) throws IOException {
     final ObjectInputStream input = new ObjectInputStream(new GZIPInputStream(is));
     try {
-      final Version readVersion = (Version) input.readObject();
-      final boolean headless = HeadlessGameServer.headless();
-      if (!GameEngineVersion.of(ClientContext.engineVersion()).isCompatibleWithEngineVersion(readVersion)) {
-        // a hack for now, but a headless server should not try to open any savegame that is not its version
-        if (headless) {
-          final String message = "Incompatible game save, we are: " + ClientContext.engineVersion()
-              + "  Trying to load game created with: " + readVersion;
-          HeadlessGameServer.sendChat(message);
-          System.out.println(message);
-          return null;
-        }
-        final String error = "Incompatible engine versions. We are: "
-            + ClientContext.engineVersion() + " . Trying to load game created with: " + readVersion
-            + "\nTo download the latest version of TripleA, Please visit "
-            + UrlConstants.LATEST_GAME_DOWNLOAD_WEBSITE;
-        throw new IOException(error);
-      } else if (!headless && readVersion.isGreaterThan(ClientContext.engineVersion())) {
-        // we can still load it because our engine is compatible, however this save was made by a
-        // newer engine, so prompt the user to upgrade
-        final String messageString =
-            "Your TripleA engine is OUT OF DATE.  This save was made by a newer version of TripleA."
-                + "\nHowever, because the first 3 version numbers are the same as your current version, we can "
-                + "still open the savegame."
-                + "\n\nThis TripleA engine is version "
-                + ClientContext.engineVersion().toStringFull()
-                + " and you are trying to open a savegame made with version " + readVersion.toStringFull()
-                + "\n\nTo download the latest version of TripleA, Please visit "
-                + UrlConstants.LATEST_GAME_DOWNLOAD_WEBSITE
-                + "\n\nIt is recommended that you upgrade to the latest version of TripleA before playing this "
-                + "savegame."
-                + "\n\nDo you wish to continue and open this save with your current 'old' version?";
-        final int answer =
-            JOptionPane.showConfirmDialog(null, messageString, "Open Newer Save Game?", JOptionPane.YES_NO_OPTION);
-        if (answer != JOptionPane.YES_OPTION) {
-          return null;
-        }
+      if (!isCompatible((Version) input.readObject())) {
+        return null;
       }
       final GameData data = (GameData) input.readObject();
-      loadDelegates(input, data);
+      loadLegacyDelegates(input, data);
       data.postDeSerialize();
       return data;
     } catch (final ClassNotFoundException cnfe) {
@@ -114,20 +145,72 @@ public final class GameDataManager {
     }
   }
 
-  private static void loadDelegates(final ObjectInputStream input, final GameData data)
+  /**
+   * Checks whether a save game of the specified engine version can be loaded, asking the user if it is newer than this
+   * engine. Throws if it is incompatible, except on a headless server, where false is returned.
+   */
+  private static boolean isCompatible(final Version readVersion) throws IOException {
+    final boolean headless = HeadlessGameServer.headless();
+    if (!GameEngineVersion.of(ClientContext.engineVersion()).isCompatibleWithEngineVersion(readVersion)) {
+      // a hack for now, but a headless server should not try to open any savegame that is not its version
+      if (headless) {
+        final String message = "Incompatible game save, we are: " + ClientContext.engineVersion()
+            + "  Trying to load game created with: " + readVersion;
+        HeadlessGameServer.sendChat(message);
+        System.out.println(message);
+        return false;
+      }
+      final String error = "Incompatible engine versions. We are: "
+          + ClientContext.engineVersion() + " . Trying to load game created with: " + readVersion
+          + "\nTo download the latest version of TripleA, Please visit "
+          + UrlConstants.LATEST_GAME_DOWNLOAD_WEBSITE;
+      throw new IOException(error);
+    } else if (!headless && readVersion.isGreaterThan(ClientContext.engineVersion())) {
+      // we can still load it because our engine is compatible, however this save was made by a
+      // newer engine, so prompt the user to upgrade
+      final String messageString =
+          "Your TripleA engine is OUT OF DATE.  This save was made by a newer version of TripleA."
+              + "\nHowever, because the first 3 version numbers are the same as your current version, we can "
+              + "still open the savegame."
+              + "\n\nThis TripleA engine is version "
+              + ClientContext.engineVersion().toStringFull()
+              + " and you are trying to open a savegame made with version " + readVersion.toStringFull()
+              + "\n\nTo download the latest version of TripleA, Please visit "
+              + UrlConstants.LATEST_GAME_DOWNLOAD_WEBSITE
+              + "\n\nIt is recommended that you upgrade to the latest version of TripleA before playing this "
+              + "savegame."
+              + "\n\nDo you wish to continue and open this save with your current 'old' version?";
+      final int answer =
+          JOptionPane.showConfirmDialog(null, messageString, "Open Newer Save Game?", JOptionPane.YES_NO_OPTION);
+      return answer == JOptionPane.YES_OPTION;
+    }
+    return true;
+  }
+
+  /**
+   * Reads the game data, its delegates and its history from the specified stream, i.e. the body of a save game without
+   * any header or compression. The stream is not closed.
+   */
+  static GameData readGameData(final InputStream is) throws ClassNotFoundException, IOException {
+    final ObjectInputStream input = new ObjectInputStream(is);
+    final GameData data = (GameData) input.readObject();
+    for (int delegateCount = input.readInt(); delegateCount > 0; delegateCount--) {
+      final IDelegate delegate = addDelegate(data, input.readUTF(), input.readUTF(), input.readUTF());
+      final Object state = input.readObject();
+      if (state != null) {
+        delegate.loadState((Serializable) state);
+      }
+    }
+    HistoryRecords.read(data.getHistory(), input);
+    data.postDeSerialize();
+    return data;
+  }
+
+  private static void loadLegacyDelegates(final ObjectInputStream input, final GameData data)
       throws ClassNotFoundException, IOException {
     for (Object endMarker = input.readObject(); !endMarker.equals(DELEGATE_LIST_END); endMarker = input.readObject()) {
-      final String name = (String) input.readObject();
-      final String displayName = (String) input.readObject();
-      final String className = (String) input.readObject();
-      final IDelegate instance;
-      try {
-        instance = (IDelegate) Class.forName(className).getDeclaredConstructor().newInstance();
-        instance.initialize(name, displayName);
-        data.getDelegateList().addDelegate(instance);
-      } catch (final Exception e) {
-        throw new IOException(e);
-      }
+      final IDelegate instance =
+          addDelegate(data, (String) input.readObject(), (String) input.readObject(), (String) input.readObject());
       final String next = (String) input.readObject();
       if (next.equals(DELEGATE_DATA_NEXT)) {
         instance.loadState((Serializable) input.readObject());
@@ -135,6 +218,18 @@ public final class GameDataManager {
     }
   }
 
+  private static IDelegate addDelegate(final GameData data, final String name, final String displayName,
+      final String className) throws IOException {
+    try {
+      final IDelegate instance = (IDelegate) Class.forName(className).getDeclaredConstructor().newInstance();
+      instance.initialize(name, displayName);
+      data.getDelegateList().addDelegate(instance);
+      return instance;
+    } catch (final Exception e) {
+      throw new IOException(e);
+    }
+  }
+
   /**
    * Saves the specified game data to the specified stream.
    *
@@ -148,49 +243,89 @@ public final class GameDataManager {
     checkNotNull(os);
     checkNotNull(gameData);
 
-    saveGame(os, gameData, true);
+    saveGame(os, gameData, true, getDefaultCompression());
+  }
+
+  /**
+   * Saves the specified game data to the specified file. The save game is written to a temporary file first, which
+   * then replaces the specified file, so the file is left unchanged if saving fails.
+   *
+   * @param file The file to which the game data will be saved.
+   * @param gameData The game data to save.
+   *
+   * @throws IOException If an error occurs while saving the game.
+   */
+  public static void saveGame(final File file, final GameData gameData) throws IOException {
+    checkNotNull(file);
+    checkNotNull(gameData);
+
+    IoUtils.writeToFile(file, os -> saveGame(os, gameData));
   }
 
   static void saveGame(
       final OutputStream sink,
       final GameData data,
-      final boolean saveDelegateInfo)
+      final boolean saveDelegateInfo,
+      final SaveGameCompression compression)
       throws IOException {
-    // write internally first in case of error
-    final byte[] bytes = IoUtils.writeToMemory(os -> {
-      try (ObjectOutputStream outStream = new ObjectOutputStream(os)) {
-        outStream.writeObject(ClientContext.engineVersion());
-        data.acquireReadLock();
-        try {
-          outStream.writeObject(data);
-          if (saveDelegateInfo) {
-            writeDelegates(data, outStream);
-          } else {
-            outStream.writeObject(DELEGATE_LIST_END);
-          }
-        } finally {
-          data.releaseReadLock();
-        }
+    try (DataOutputStream header = new DataOutputStream(new BufferedOutputStream(sink))) {
+      header.write(MAGIC);
+      header.writeInt(FORMAT_VERSION);
+      header.writeByte(compression.getId());
+      header.writeUTF(ClientContext.engineVersion().toStringFull());
+      header.flush();
+      try (OutputStream body = compression.compress(header)) {
+        writeGameData(body, data, saveDelegateInfo);
       }
-    });
+    }
+  }
+
+  private static SaveGameCompression getDefaultCompression() {
+    // headless servers autosave after every step or write journal checkpoints, so they prefer speed over size
+    return HeadlessGameServer.headless() ? SaveGameCompression.DEFLATE_FAST : SaveGameCompression.DEFLATE;
+  }
 
-    // now write to file
-    try (OutputStream zippedOut = new GZIPOutputStream(sink)) {
-      zippedOut.write(bytes);
+  /**
+   * Writes the game data, optionally its delegates, and its history to the specified stream, i.e. the body of a save
+   * game without any header or compression. The stream is flushed but not closed. The game data's read lock is held
+   * while writing.
+   */
+  static void writeGameData(final OutputStream os, final GameData data, final boolean saveDelegateInfo)
+      throws IOException {
+    final ObjectOutputStream out = new GameDataOutputStream(os);
+    data.acquireReadLock();
+    try {
+      out.writeObject(data);
+      if (saveDelegateInfo) {
+        out.writeInt(data.getDelegateList().size());
+        for (final IDelegate delegate : data.getDelegateList()) {
+          out.writeUTF(delegate.getName());
+          out.writeUTF(delegate.getDisplayName());
+          out.writeUTF(delegate.getClass().getName());
+          out.writeObject(delegate.saveState());
+        }
+      } else {
+        out.writeInt(0);
+      }
+      HistoryRecords.write(data.getHistory(), out);
+      out.flush();
+    } finally {
+      data.releaseReadLock();
     }
   }
 
-  private static void writeDelegates(final GameData data, final ObjectOutputStream out) throws IOException {
-    for (final IDelegate delegate : data.getDelegateList()) {
-      out.writeObject(DELEGATE_START);
-      // write out the delegate info
-      out.writeObject(delegate.getName());
-      out.writeObject(delegate.getDisplayName());
-      out.writeObject(delegate.getClass().getName());
-      out.writeObject(DELEGATE_DATA_NEXT);
-      out.writeObject(delegate.saveState());
+  /**
+   * Writes the game data without its history, which is written separately as records.
+   */
+  private static final class GameDataOutputStream extends ObjectOutputStream {
+    GameDataOutputStream(final OutputStream os) throws IOException {
+      super(os);
+      enableReplaceObject(true);
+    }
+
+    @Override
+    protected Object replaceObject(final Object obj) {
+      return HistoryRecords.omitHistory(obj);
     }
-    // mark end of delegate section
-    out.writeObject(DELEGATE_LIST_END);
   }
 }
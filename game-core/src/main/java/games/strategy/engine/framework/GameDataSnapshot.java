@@ -0,0 +1,71 @@
+package games.strategy.engine.framework;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.io.IoUtils;
+
+/**
+ * An immutable, point-in-time image of a {@link GameData} from which any number of independent copies can be forked.
+ *
+ * <p>
+ * The source game data is serialized exactly once, while its read lock is held. Each call to {@link #fork()} then
+ * rebuilds a new copy from the in-memory image without touching (or locking) the source game data again. Unlike a
+ * save game, the image is neither compressed nor prefixed with an engine version, since it never leaves this process.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are thread safe, so several threads may fork copies from the same snapshot concurrently.
+ * </p>
+ */
+public final class GameDataSnapshot {
+  private final byte[] bytes;
+
+  private GameDataSnapshot(final byte[] bytes) {
+    this.bytes = bytes;
+  }
+
+  /**
+   * Takes a snapshot of the specified game data.
+   *
+   * @param data The game data to snapshot.
+   * @param includeDelegates {@code true} if the state of the game data's delegates should be included in the
+   *        snapshot; otherwise {@code false}.
+   *
+   * @return The snapshot.
+   *
+   * @throws IOException If an error occurs while taking the snapshot.
+   */
+  public static GameDataSnapshot of(final GameData data, final boolean includeDelegates) throws IOException {
+    checkNotNull(data);
+
+    return new GameDataSnapshot(
+        IoUtils.writeToMemory(os -> GameDataManager.writeGameData(os, data, includeDelegates)));
+  }
+
+  /**
+   * Creates a new, independent copy of the game data captured by this snapshot.
+   *
+   * @return The new game data copy.
+   *
+   * @throws IOException If an error occurs while creating the copy.
+   */
+  public GameData fork() throws IOException {
+    return IoUtils.readFromMemory(bytes, is -> {
+      try {
+        return GameDataManager.readGameData(is);
+      } catch (final ClassNotFoundException e) {
+        throw new IOException(e);
+      }
+    });
+  }
+
+  /**
+   * Returns the size of this snapshot in bytes.
+   */
+  public int size() {
+    return bytes.length;
+  }
+}
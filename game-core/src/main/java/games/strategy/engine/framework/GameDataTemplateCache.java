@@ -0,0 +1,103 @@
+package games.strategy.engine.framework;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+
+import games.strategy.engine.data.EngineVersionException;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameParseException;
+import games.strategy.engine.data.GameParser;
+
+/**
+ * A cache of the most recently parsed game XMLs, so that starting the same game again does not parse its XML again.
+ *
+ * <p>
+ * The cache keeps a {@link GameDataSnapshot} of each parsed and validated game data, keyed by the checksum of its XML.
+ * Each call to {@link #parse(String, InputStream)} returns a new, independent game data, forked from the snapshot if
+ * the same XML was parsed before, which takes a fraction of the time of parsing it. A changed XML has another checksum
+ * and is always parsed again. The snapshots are only softly referenced, so the cache never causes the VM to run out of
+ * memory.
+ * </p>
+ */
+@ThreadSafe
+public final class GameDataTemplateCache {
+  private static final GameDataTemplateCache instance = new GameDataTemplateCache(4);
+
+  private final Map<HashCode, SoftReference<GameDataSnapshot>> templatesByChecksum;
+
+  @VisibleForTesting
+  GameDataTemplateCache(final int maximumSize) {
+    checkArgument(maximumSize > 0, "maximum size must be positive");
+
+    templatesByChecksum = new LinkedHashMap<HashCode, SoftReference<GameDataSnapshot>>(16, 0.75f, true) {
+      private static final long serialVersionUID = -2935718416262476583L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<HashCode, SoftReference<GameDataSnapshot>> eldest) {
+        return size() > maximumSize;
+      }
+    };
+  }
+
+  public static GameDataTemplateCache getInstance() {
+    return instance;
+  }
+
+  /**
+   * Returns a new game data for the game XML in the specified stream, as {@link GameParser#parse(String, InputStream)}
+   * does.
+   *
+   * @param mapName The name of the map, only used in error messages.
+   *
+   * @throws IOException If the stream cannot be read or the cached game data cannot be copied.
+   */
+  public GameData parse(final String mapName, final InputStream stream)
+      throws GameParseException, EngineVersionException, IOException {
+    checkNotNull(mapName);
+    checkNotNull(stream);
+
+    final byte[] xml = ByteStreams.toByteArray(stream);
+    final HashCode checksum = Hashing.sha256().hashBytes(xml);
+    final @Nullable GameDataSnapshot template = getTemplate(checksum);
+    if (template != null) {
+      return template.fork();
+    }
+
+    final GameData data = GameParser.parse(mapName, new ByteArrayInputStream(xml));
+    putTemplate(checksum, GameDataSnapshot.of(data, true));
+    return data;
+  }
+
+  private synchronized @Nullable GameDataSnapshot getTemplate(final HashCode checksum) {
+    final @Nullable SoftReference<GameDataSnapshot> reference = templatesByChecksum.get(checksum);
+    final @Nullable GameDataSnapshot template = (reference != null) ? reference.get() : null;
+    if (reference != null && template == null) {
+      templatesByChecksum.remove(checksum);
+    }
+    return template;
+  }
+
+  private synchronized void putTemplate(final HashCode checksum, final GameDataSnapshot template) {
+    templatesByChecksum.put(checksum, new SoftReference<>(template));
+  }
+
+  @VisibleForTesting
+  synchronized int size() {
+    return templatesByChecksum.size();
+  }
+}
@@ -22,11 +22,15 @@ public final class GameDataUtils {
   /**
    * Create a deep copy of GameData.
    * <strong>You should have the game data's read or write lock before calling this method</strong>
+   *
+   * <p>
+   * If more than one copy of the same game data is needed, prefer taking a single {@link GameDataSnapshot} and forking
+   * each copy from it.
+   * </p>
    */
   public static GameData cloneGameData(final GameData data, final boolean copyDelegates) {
     try {
-      final byte[] bytes = IoUtils.writeToMemory(os -> GameDataManager.saveGame(os, data, copyDelegates));
-      return IoUtils.readFromMemory(bytes, GameDataManager::loadGame);
+      return GameDataSnapshot.of(data, copyDelegates).fork();
     } catch (final IOException e) {
       ClientLogger.logQuietly("Failed to clone game data", e);
       return null;
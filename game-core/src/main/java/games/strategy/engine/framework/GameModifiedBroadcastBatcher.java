@@ -0,0 +1,117 @@
+package games.strategy.engine.framework;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.PlayerID;
+
+/**
+ * Broadcasts the modifications of a server game to its clients, batching the changes made while a delegate is
+ * executing.
+ *
+ * <p>
+ * A change made while the current thread is executing a delegate is performed on the game data of the server right
+ * away, so the delegate sees its own changes, but it is only broadcast with the other pending changes as one
+ * {@link IGameModifiedChannel#gameDataChangesBatched(CompositeChange)} call. Pending changes are broadcast before
+ * anything else is broadcast, when the batch is full and when {@link #flush()} is called, which should happen whenever
+ * a thread leaves delegate execution. Clients thus see the changes in the same order and at the same points of the
+ * history as the server, and never get a request from a delegate before the changes the delegate made before it. A
+ * change made outside of delegate execution is broadcast right away, as before.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are thread safe; changes from several threads are broadcast in the order in which they were
+ * performed.
+ * </p>
+ */
+final class GameModifiedBroadcastBatcher implements IGameModifiedChannel {
+  static final int MAX_BATCH_SIZE = 256;
+
+  private final IGameModifiedChannel broadcaster;
+  private final Consumer<Change> localPerformer;
+  private final BooleanSupplier batching;
+  private List<Change> pendingChanges = new ArrayList<>();
+
+  /**
+   * @param broadcaster The channel broadcaster, which invokes both the local and the remote subscribers.
+   * @param localPerformer Performs a change on the game data of the server and adds it to its history.
+   * @param batching Indicates whether changes of the current thread are to be batched.
+   */
+  GameModifiedBroadcastBatcher(final IGameModifiedChannel broadcaster, final Consumer<Change> localPerformer,
+      final BooleanSupplier batching) {
+    this.broadcaster = broadcaster;
+    this.localPerformer = localPerformer;
+    this.batching = batching;
+  }
+
+  /**
+   * Broadcasts the pending changes, if any.
+   */
+  synchronized void flush() {
+    if (pendingChanges.isEmpty()) {
+      return;
+    }
+    final CompositeChange changes = new CompositeChange(pendingChanges);
+    pendingChanges = new ArrayList<>();
+    broadcaster.gameDataChangesBatched(changes);
+  }
+
+  synchronized int getPendingChangeCount() {
+    return pendingChanges.size();
+  }
+
+  @Override
+  public synchronized void gameDataChanged(final Change change) {
+    if (!batching.getAsBoolean()) {
+      flush();
+      broadcaster.gameDataChanged(change);
+      return;
+    }
+    localPerformer.accept(change);
+    pendingChanges.add(change);
+    if (pendingChanges.size() >= MAX_BATCH_SIZE) {
+      flush();
+    }
+  }
+
+  @Override
+  public synchronized void gameDataChangesBatched(final CompositeChange changes) {
+    flush();
+    broadcaster.gameDataChangesBatched(changes);
+  }
+
+  @Override
+  public synchronized void startHistoryEvent(final String event, final Object renderingData) {
+    flush();
+    broadcaster.startHistoryEvent(event, renderingData);
+  }
+
+  @Override
+  public synchronized void startHistoryEvent(final String event) {
+    flush();
+    broadcaster.startHistoryEvent(event);
+  }
+
+  @Override
+  public synchronized void addChildToEvent(final String text, final Object renderingData) {
+    flush();
+    broadcaster.addChildToEvent(text, renderingData);
+  }
+
+  @Override
+  public synchronized void stepChanged(final String stepName, final String delegateName, final PlayerID player,
+      final int round, final String displayName, final boolean loadedFromSavedGame) {
+    flush();
+    broadcaster.stepChanged(stepName, delegateName, player, round, displayName, loadedFromSavedGame);
+  }
+
+  @Override
+  public synchronized void shutDown() {
+    flush();
+    broadcaster.shutDown();
+  }
+}
@@ -3,6 +3,7 @@ package games.strategy.engine.framework;
 import javax.swing.SwingUtilities;
 
 import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.history.EventChild;
@@ -51,6 +52,14 @@ public class HistorySynchronizer {
       });
     }
 
+    @Override
+    public void gameDataChangesBatched(final CompositeChange changes) {
+      SwingUtilities.invokeLater(() -> {
+        final CompositeChange localizedChanges = (CompositeChange) translateIntoMyData(changes);
+        localizedChanges.getChanges().forEach(gameData.getHistory().getHistoryWriter()::addChange);
+      });
+    }
+
     @Override
     public void startHistoryEvent(final String event, final Object renderingData) {
       startHistoryEvent(event);
@@ -1,6 +1,7 @@
 package games.strategy.engine.framework;
 
 import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.message.IChannelSubscribor;
 
@@ -10,6 +11,13 @@ import games.strategy.engine.message.IChannelSubscribor;
 public interface IGameModifiedChannel extends IChannelSubscribor {
   void gameDataChanged(final Change change);
 
+  /**
+   * Called with changes that the server has already performed on its own game data, in the order in which they were
+   * made. While a delegate is executing, the server sends its changes in such batches instead of calling
+   * {@link #gameDataChanged(Change)} for each of them, so receivers should perform the whole batch at once.
+   */
+  void gameDataChangesBatched(final CompositeChange changes);
+
   void startHistoryEvent(final String event, final Object renderingData);
 
   void startHistoryEvent(final String event);
@@ -0,0 +1,82 @@
+package games.strategy.engine.framework;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The compression of the body of a save game written by {@link GameDataManager}. The id of the compression is stored
+ * in the save game header, so any of them can be read back regardless of the one that is currently used for writing.
+ */
+public enum SaveGameCompression {
+  /** The best compression, used for save games that are kept. */
+  DEFLATE(1, Deflater.DEFAULT_COMPRESSION),
+
+  /**
+   * Several times faster than {@link #DEFLATE} for slightly larger files, used for the frequent autosaves of headless
+   * servers.
+   */
+  DEFLATE_FAST(2, Deflater.BEST_SPEED);
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final int id;
+  private final int level;
+
+  SaveGameCompression(final int id, final int level) {
+    this.id = id;
+    this.level = level;
+  }
+
+  int getId() {
+    return id;
+  }
+
+  static SaveGameCompression fromId(final int id) throws IOException {
+    return Arrays.stream(values())
+        .filter(compression -> compression.id == id)
+        .findAny()
+        .orElseThrow(() -> new IOException("Unknown save game compression: " + id));
+  }
+
+  /**
+   * Returns a stream that compresses into the specified stream. Closing the returned stream finishes the compressed
+   * data and closes the specified stream.
+   */
+  OutputStream compress(final OutputStream os) {
+    final Deflater deflater = new Deflater(level);
+    return new DeflaterOutputStream(os, deflater, BUFFER_SIZE) {
+      @Override
+      public void close() throws IOException {
+        try {
+          super.close();
+        } finally {
+          // a deflater that is passed to the stream is not ended by it
+          deflater.end();
+        }
+      }
+    };
+  }
+
+  /**
+   * Returns a stream that decompresses the specified stream. Closing the returned stream closes the specified stream.
+   */
+  InputStream decompress(final InputStream is) {
+    final Inflater inflater = new Inflater();
+    return new InflaterInputStream(is, inflater, BUFFER_SIZE) {
+      @Override
+      public void close() throws IOException {
+        try {
+          super.close();
+        } finally {
+          inflater.end();
+        }
+      }
+    };
+  }
+}
@@ -0,0 +1,305 @@
+package games.strategy.engine.framework;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import com.google.common.io.ByteStreams;
+
+import games.strategy.debug.ClientLogger;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameObjectOutputStream;
+import games.strategy.engine.data.GameSequence;
+import games.strategy.engine.data.GameStep;
+import games.strategy.engine.delegate.IDelegate;
+import games.strategy.engine.history.HistoryRecords;
+import games.strategy.io.IoUtils;
+
+/**
+ * Saves a running game as a full checkpoint followed by an append-only journal of what happened since.
+ *
+ * <p>
+ * {@link #checkpoint()} writes a regular save game to the checkpoint file and starts a new journal next to it, see
+ * {@link #getJournalFile(File)}. Each {@link #commit()} then appends one entry to the journal, containing the history
+ * records (and thus the changes) recorded since the previous commit, the current round and step, the run count of
+ * each step and the state of each delegate. Committing is therefore proportional to what happened since the last
+ * commit instead of to the size of the game. A new checkpoint is written after a number of commits, which bounds the
+ * size of the journal and the time needed to replay it.
+ * </p>
+ *
+ * <p>
+ * {@link GameDataManager#loadGame(File)} replays the journal of a checkpoint file, if there is one, so loading the
+ * checkpoint file restores the game as of the last commit. The journal header holds the checksum of its checkpoint
+ * file, so a journal that does not belong to the checkpoint is ignored. An incomplete or corrupt entry at the end of
+ * the journal, e.g. after a crash while appending, is ignored along with anything after it.
+ * </p>
+ *
+ * <p>
+ * Callers must make sure that the game data and its history are not modified while checkpointing or committing, e.g.
+ * by blocking delegate execution. Instances of this class are not thread safe.
+ * </p>
+ */
+public final class SaveGameJournal {
+  private static final Logger logger = Logger.getLogger(SaveGameJournal.class.getName());
+  private static final String JOURNAL_EXTENSION = ".journal";
+  private static final byte[] MAGIC = {'T', 'A', 'J', 'N'};
+  private static final int FORMAT_VERSION = 1;
+
+  private final GameData data;
+  private final File checkpointFile;
+  private final File journalFile;
+  private final int checkpointInterval;
+  private HistoryRecords.Recorder recorder;
+  private int commitCount = 0;
+  private boolean checkpointRequired = true;
+
+  /**
+   * Creates a journal for the specified game data.
+   *
+   * @param data The game data to save.
+   * @param checkpointFile The file to which checkpoints are saved.
+   * @param checkpointInterval The number of commits after which a new checkpoint is written.
+   */
+  public SaveGameJournal(final GameData data, final File checkpointFile, final int checkpointInterval) {
+    checkNotNull(data);
+    checkNotNull(checkpointFile);
+    checkArgument(checkpointInterval > 0, "checkpoint interval must be positive");
+
+    this.data = data;
+    this.checkpointFile = checkpointFile;
+    this.journalFile = getJournalFile(checkpointFile);
+    this.checkpointInterval = checkpointInterval;
+  }
+
+  /**
+   * Returns the journal file of the specified checkpoint file.
+   */
+  public static File getJournalFile(final File checkpointFile) {
+    return new File(checkpointFile.getPath() + JOURNAL_EXTENSION);
+  }
+
+  public File getCheckpointFile() {
+    return checkpointFile;
+  }
+
+  /**
+   * Saves the game data to the checkpoint file and starts a new, empty journal.
+   *
+   * @throws IOException If an error occurs while saving; the next commit then retries the checkpoint.
+   */
+  public void checkpoint() throws IOException {
+    checkpointRequired = true;
+    final CRC32 checksum = new CRC32();
+    data.acquireReadLock();
+    try {
+      // records from now on are relative to the checkpoint
+      if (recorder == null) {
+        recorder = HistoryRecords.record(data.getHistory());
+      }
+      recorder.clear();
+      IoUtils.writeToFile(checkpointFile, os -> GameDataManager.saveGame(new CheckedOutputStream(os, checksum), data));
+    } finally {
+      data.releaseReadLock();
+    }
+    try (DataOutputStream out = new DataOutputStream(new FileOutputStream(journalFile))) {
+      out.write(MAGIC);
+      out.writeInt(FORMAT_VERSION);
+      out.writeLong(checksum.getValue());
+    }
+    commitCount = 0;
+    checkpointRequired = false;
+  }
+
+  /**
+   * Appends everything that happened since the previous commit to the journal, or writes a new checkpoint instead if
+   * there is none yet or the checkpoint interval has been reached.
+   *
+   * @throws IOException If an error occurs while saving; the next commit then writes a new checkpoint.
+   */
+  public void commit() throws IOException {
+    if (checkpointRequired || commitCount >= checkpointInterval) {
+      checkpoint();
+      return;
+    }
+    final byte[] entry = writeEntry(data, recorder);
+    final CRC32 checksum = new CRC32();
+    checksum.update(entry);
+    // a partially appended entry would hide all later ones, so the next commit starts over if this one fails
+    checkpointRequired = true;
+    try (FileOutputStream fos = new FileOutputStream(journalFile, true);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos))) {
+      out.writeInt(entry.length);
+      out.writeLong(checksum.getValue());
+      out.write(entry);
+      out.flush();
+      fos.getFD().sync();
+    }
+    recorder.clear();
+    commitCount++;
+    checkpointRequired = false;
+  }
+
+  /**
+   * Returns an entry with the records of the specified recorder of the specified game data, along with its current
+   * round, step and delegate states. The entry can be replayed onto a copy of the game data as it was when the recorder
+   * was started or last cleared, see {@link #replayEntry(byte[], GameData)}.
+   *
+   * <p>
+   * The caller must make sure that no delegate is executing.
+   * </p>
+   */
+  public static byte[] writeEntry(final GameData data, final HistoryRecords.Recorder recorder) throws IOException {
+    data.acquireReadLock();
+    try {
+      return IoUtils.writeToMemory(os -> {
+        try (ObjectOutputStream out = new GameObjectOutputStream(os)) {
+          writeEntry(data, recorder, out);
+        }
+      });
+    } finally {
+      data.releaseReadLock();
+    }
+  }
+
+  private static void writeEntry(final GameData data, final HistoryRecords.Recorder recorder,
+      final ObjectOutputStream out) throws IOException {
+    recorder.write(out);
+    final GameSequence sequence = data.getSequence();
+    out.writeInt(sequence.getRound());
+    out.writeInt(sequence.getStepIndex());
+    out.writeInt(sequence.size());
+    for (final GameStep step : sequence) {
+      out.writeInt(step.getRunCount());
+    }
+    out.writeInt(data.getDelegateList().size());
+    for (final IDelegate delegate : data.getDelegateList()) {
+      out.writeUTF(delegate.getName());
+      out.writeObject(delegate.saveState());
+    }
+  }
+
+  /**
+   * Stops recording the history of the game data. The checkpoint and journal files are left as they are.
+   */
+  public void close() {
+    if (recorder != null) {
+      HistoryRecords.stopRecording(data.getHistory(), recorder);
+      recorder = null;
+    }
+    checkpointRequired = true;
+  }
+
+  /**
+   * Replays the journal of the specified checkpoint file onto the specified game data, which was just loaded from the
+   * checkpoint file. Does nothing if there is no journal or if it does not belong to the checkpoint file.
+   */
+  static void replay(final File checkpointFile, final GameData data) throws IOException {
+    final File journalFile = getJournalFile(checkpointFile);
+    if (!journalFile.isFile()) {
+      return;
+    }
+    try (InputStream fis = new FileInputStream(journalFile);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(fis))) {
+      if (!isJournalOf(checkpointFile, in)) {
+        ClientLogger.logQuietly("Ignoring save game journal that does not belong to its checkpoint: " + journalFile);
+        return;
+      }
+      int entryCount = 0;
+      for (byte[] entry = readEntry(in); entry != null; entry = readEntry(in)) {
+        replayEntry(entry, data);
+        entryCount++;
+      }
+      logger.info("Replayed " + entryCount + " save game journal entries from " + journalFile);
+    } catch (final ClassNotFoundException e) {
+      throw new IOException(e);
+    }
+  }
+
+  private static boolean isJournalOf(final File checkpointFile, final DataInputStream in) throws IOException {
+    final byte[] magic = new byte[MAGIC.length];
+    if (ByteStreams.read(in, magic, 0, magic.length) != magic.length || !Arrays.equals(magic, MAGIC)) {
+      return false;
+    }
+    try {
+      if (in.readInt() > FORMAT_VERSION) {
+        return false;
+      }
+      return in.readLong() == getChecksum(checkpointFile);
+    } catch (final EOFException e) {
+      return false;
+    }
+  }
+
+  private static long getChecksum(final File file) throws IOException {
+    final CRC32 checksum = new CRC32();
+    try (InputStream is = new CheckedInputStream(new FileInputStream(file), checksum)) {
+      ByteStreams.exhaust(is);
+    }
+    return checksum.getValue();
+  }
+
+  /**
+   * Returns the next complete and intact entry of the journal, or null if there is none.
+   */
+  private static byte[] readEntry(final DataInputStream in) throws IOException {
+    try {
+      final int length = in.readInt();
+      final long expectedChecksum = in.readLong();
+      if (length < 0) {
+        return null;
+      }
+      final byte[] entry = new byte[length];
+      in.readFully(entry);
+      final CRC32 checksum = new CRC32();
+      checksum.update(entry);
+      return checksum.getValue() == expectedChecksum ? entry : null;
+    } catch (final EOFException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Replays an entry written by {@link #writeEntry(GameData, HistoryRecords.Recorder)} onto the specified game data.
+   */
+  public static void replayEntry(final byte[] entry, final GameData data) throws IOException, ClassNotFoundException {
+    try (ObjectInputStream in = new GameObjectStreamFactory(data).create(new ByteArrayInputStream(entry))) {
+      HistoryRecords.replay(data.getHistory(), in);
+      final GameSequence sequence = data.getSequence();
+      final int round = in.readInt();
+      final int stepIndex = in.readInt();
+      if (in.readInt() != sequence.size()) {
+        throw new IOException("Save game journal does not match the game sequence");
+      }
+      sequence.setRoundAndStepIndex(round, stepIndex);
+      for (final GameStep step : sequence) {
+        step.setRunCount(in.readInt());
+      }
+      for (int delegateCount = in.readInt(); delegateCount > 0; delegateCount--) {
+        final IDelegate delegate = data.getDelegateList().getDelegate(in.readUTF());
+        final Object state = in.readObject();
+        if (delegate != null && state != null) {
+          delegate.loadState((Serializable) state);
+        }
+      }
+    }
+  }
+}
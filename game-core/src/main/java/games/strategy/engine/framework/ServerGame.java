@@ -1,15 +1,16 @@
 package games.strategy.engine.framework;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
 
 import games.strategy.debug.ClientLogger;
 import games.strategy.debug.ErrorConsole;
@@ -36,6 +37,7 @@ import games.strategy.engine.history.DelegateHistoryWriter;
 import games.strategy.engine.history.Event;
 import games.strategy.engine.history.EventChild;
 import games.strategy.engine.history.HistoryNode;
+import games.strategy.engine.history.HistoryRecords;
 import games.strategy.engine.history.Step;
 import games.strategy.engine.message.ConnectionLostException;
 import games.strategy.engine.message.IRemote;
@@ -56,12 +58,21 @@ import games.strategy.triplea.settings.ClientSetting;
  * Lookups to get a GamePlayer from PlayerId and the current Delegate.
  */
 public class ServerGame extends AbstractGame {
+  private static final Logger logger = Logger.getLogger(ServerGame.class.getName());
+
   static final RemoteName SERVER_REMOTE =
       new RemoteName("games.strategy.engine.framework.ServerGame.SERVER_REMOTE", IServerRemote.class);
 
   public static final String GAME_HAS_BEEN_SAVED_PROPERTY =
       "games.strategy.engine.framework.ServerGame.GameHasBeenSaved";
 
+  /**
+   * The number of autosave journal entries after which a new checkpoint is written.
+   */
+  private static final int AUTOSAVE_JOURNAL_CHECKPOINT_INTERVAL = 25;
+  // also keeps the messages well below the maximum message size for huge games
+  private static final int OBSERVER_JOIN_CHUNK_SIZE = 1 << 20;
+
   private final RandomStats randomStats;
   private IRandomSource randomSource = new PlainRandomSource();
   private IRandomSource delegateRandomSource;
@@ -77,6 +88,15 @@ public class ServerGame extends AbstractGame {
    * Has the delegate signaled that delegate execution should stop.
    */
   private volatile boolean delegateExecutionStopped = false;
+  /**
+   * Replaces the autosaves before and after each step on headless servers in autosave journal mode, null otherwise.
+   */
+  private final SaveGameJournal autoSaveJournal;
+  /**
+   * Broadcasts the changes made while a delegate is executing in batches.
+   */
+  private final GameModifiedBroadcastBatcher gameModifiedBroadcaster;
+  private volatile boolean autoSaveEnabled = true;
 
   /**
    * @param data
@@ -91,12 +111,21 @@ public class ServerGame extends AbstractGame {
   public ServerGame(final GameData data, final Set<IGamePlayer> localPlayers,
       final Map<String, INode> remotePlayerMapping, final Messengers messengers) {
     super(data, localPlayers, remotePlayerMapping, messengers);
+    autoSaveJournal = HeadlessGameServer.autoSaveJournal()
+        ? new SaveGameJournal(gameData, new File(getAutoSaveDir(), SaveGameFileChooser.getAutoSaveJournalFileName()),
+            AUTOSAVE_JOURNAL_CHECKPOINT_INTERVAL)
+        : null;
     gameModifiedChannel = new IGameModifiedChannel() {
       @Override
       public void gameDataChanged(final Change change) {
         assertCorrectCaller();
-        gameData.performChange(change);
-        gameData.getHistory().getHistoryWriter().addChange(change);
+        performChange(change);
+      }
+
+      @Override
+      public void gameDataChangesBatched(final CompositeChange changes) {
+        assertCorrectCaller();
+        // nothing to do, the changes were performed when they were batched
       }
 
       private void assertCorrectCaller() {
@@ -145,6 +174,11 @@ public class ServerGame extends AbstractGame {
       public void shutDown() {}
     };
     channelMessenger.registerChannelSubscriber(gameModifiedChannel, IGame.GAME_MODIFICATION_CHANNEL);
+    gameModifiedBroadcaster = new GameModifiedBroadcastBatcher(
+        (IGameModifiedChannel) channelMessenger.getChannelBroadcastor(IGame.GAME_MODIFICATION_CHANNEL),
+        this::performChange, delegateExecutionManager::isCurrentThreadExecutingDelegate);
+    // delegates must not call out to players before the players have seen their changes
+    delegateExecutionManager.setLeaveDelegateExecutionListener(gameModifiedBroadcaster::flush);
     setupDelegateMessaging(data);
     randomStats = new RandomStats(remoteMessenger);
     final IServerRemote serverRemote = () -> {
@@ -157,8 +191,19 @@ public class ServerGame extends AbstractGame {
     remoteMessenger.registerRemote(serverRemote, SERVER_REMOTE);
   }
 
+  /**
+   * Adds the specified node as an observer of the game in progress.
+   *
+   * <p>
+   * Delegate execution is only blocked while the save game is taken and, once the observer has loaded it, while the
+   * game modifications made in the meantime are sent and the observer starts the game. The save game itself is sent in
+   * chunks while the game goes on.
+   * </p>
+   */
   public void addObserver(final IObserverWaitingToJoin blockingObserver,
       final IObserverWaitingToJoin nonBlockingObserver, final INode newNode) {
+    final HistoryRecords.Recorder recorder;
+    final byte[] bytes;
     try {
       if (!delegateExecutionManager.blockDelegateExecution(2000)) {
         nonBlockingObserver.cannotJoinGame("Could not block delegate execution");
@@ -169,17 +214,54 @@ public class ServerGame extends AbstractGame {
       nonBlockingObserver.cannotJoinGame(e.getMessage());
       return;
     }
+    try {
+      bytes = IoUtils.writeToMemory(this::saveGame);
+      recorder = HistoryRecords.record(gameData.getHistory());
+    } catch (final Exception e) {
+      ClientLogger.logQuietly("Failed to join game", e);
+      nonBlockingObserver.cannotJoinGame(e.getMessage());
+      return;
+    } finally {
+      delegateExecutionManager.resumeDelegateExecution();
+    }
+    try {
+      for (int offset = 0; offset < bytes.length; offset += OBSERVER_JOIN_CHUNK_SIZE) {
+        blockingObserver.addGameDataChunk(
+            Arrays.copyOfRange(bytes, offset, Math.min(bytes.length, offset + OBSERVER_JOIN_CHUNK_SIZE)));
+      }
+      blockingObserver.loadGameData();
+      if (!delegateExecutionManager.blockDelegateExecution(2000)) {
+        nonBlockingObserver.cannotJoinGame("Could not block delegate execution");
+        return;
+      }
+    } catch (final ConnectionLostException e) {
+      logger.info("Connection lost to observer while joining: " + newNode.getName());
+      return;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      nonBlockingObserver.cannotJoinGame(e.getMessage());
+      return;
+    } catch (final Exception e) {
+      ClientLogger.logQuietly("Failed to join game", e);
+      nonBlockingObserver.cannotJoinGame(e.getMessage());
+      return;
+    } finally {
+      HistoryRecords.stopRecording(gameData.getHistory(), recorder);
+    }
     try {
       final CountDownLatch waitOnObserver = new CountDownLatch(1);
-      final byte[] bytes = IoUtils.writeToMemory(this::saveGame);
+      final byte[] modifications = SaveGameJournal.writeEntry(gameData, recorder);
       new Thread(() -> {
         try {
-          blockingObserver.joinGame(bytes, playerManager.getPlayerMapping());
-          waitOnObserver.countDown();
+          blockingObserver.joinGame(modifications, playerManager.getPlayerMapping());
         } catch (final ConnectionLostException cle) {
-          System.out.println("Connection lost to observer while joining: " + newNode.getName());
+          logger.info("Connection lost to observer while joining: " + newNode.getName());
         } catch (final Exception e) {
           ClientLogger.logQuietly("Failed to join game", e);
+          nonBlockingObserver.cannotJoinGame(e.getMessage());
+        } finally {
+          // resume the game without waiting for a join that can no longer succeed
+          waitOnObserver.countDown();
         }
       }, "Waiting on observer to finish joining: " + newNode.getName()).start();
       try {
@@ -331,23 +413,58 @@ public class ServerGame extends AbstractGame {
     } finally {
       delegateExecutionManager.resumeDelegateExecution();
     }
+    if (autoSaveJournal != null) {
+      autoSaveJournal.close();
+    }
     gameData.getGameLoader().shutDown();
     if (HeadlessGameServer.headless()) {
       System.out.println("StopGame successful.");
     }
   }
 
-  private void autoSave(final String fileName) {
+  private static File getAutoSaveDir() {
     final File autoSaveDir = new File(ClientSetting.SAVE_GAMES_FOLDER_PATH.value(), "autoSave");
     // Above creates an autoSave subdirectorty pathname below the game games path
     if (!autoSaveDir.exists()) {
       autoSaveDir.mkdirs();
     }
-    saveGame(new File(autoSaveDir, fileName));
+    return autoSaveDir;
+  }
+
+  /**
+   * Enables or disables the autosaves of this game, e.g. to not write save games for games played in batch.
+   */
+  public void setAutoSaveEnabled(final boolean autoSaveEnabled) {
+    this.autoSaveEnabled = autoSaveEnabled;
+  }
+
+  private void autoSave(final String fileName) {
+    if (!autoSaveEnabled) {
+      return;
+    }
+    saveGame(new File(getAutoSaveDir(), fileName));
+  }
+
+  /**
+   * Autosaves before or after a step, which only commits to the autosave journal if there is one.
+   */
+  private void autoSaveStep(final String fileName) {
+    if (!autoSaveEnabled) {
+      return;
+    }
+    if (autoSaveJournal == null) {
+      autoSave(fileName);
+      return;
+    }
+    try {
+      runWithDelegateExecutionBlocked(autoSaveJournal::commit);
+    } catch (final IOException e) {
+      ClientLogger.logQuietly("Failed to write autosave journal: " + autoSaveJournal.getCheckpointFile(), e);
+    }
   }
 
   private void autoSaveBefore(final IDelegate currentDelegate) {
-    autoSave(getAutoSaveBeforeFileName(currentDelegate.getName()));
+    autoSaveStep(getAutoSaveBeforeFileName(currentDelegate.getName()));
   }
 
   private static String getAutoSaveBeforeFileName(final String stepName) {
@@ -357,14 +474,23 @@ public class ServerGame extends AbstractGame {
 
   @Override
   public void saveGame(final File f) {
-    try (FileOutputStream fout = new FileOutputStream(f)) {
-      saveGame(fout);
+    try {
+      IoUtils.writeToFile(f, this::saveGame);
     } catch (final IOException e) {
       ClientLogger.logQuietly("Failed to save game to file: " + f.getAbsolutePath(), e);
     }
   }
 
   private void saveGame(final OutputStream out) throws IOException {
+    runWithDelegateExecutionBlocked(() -> GameDataManager.saveGame(out, gameData));
+  }
+
+  @FunctionalInterface
+  private interface SaveAction {
+    void run() throws IOException;
+  }
+
+  private void runWithDelegateExecutionBlocked(final SaveAction action) throws IOException {
     try {
       if (!delegateExecutionManager.blockDelegateExecution(6000)) {
         throw new IOException("Could not lock delegate execution");
@@ -374,7 +500,7 @@ public class ServerGame extends AbstractGame {
       throw new IOException(ie.getMessage());
     }
     try {
-      GameDataManager.saveGame(out, gameData);
+      action.run();
     } finally {
       delegateExecutionManager.resumeDelegateExecution();
     }
@@ -413,7 +539,7 @@ public class ServerGame extends AbstractGame {
     final boolean autoSaveThisDelegate = currentDelegate.getClass().isAnnotationPresent(AutoSave.class)
         && currentDelegate.getClass().getAnnotation(AutoSave.class).afterStepEnd();
     if (autoSaveThisDelegate && currentStep.getName().endsWith("Move")) {
-      autoSave(getAutoSaveAfterFileNameForGameStep(currentStep));
+      autoSaveStep(getAutoSaveAfterFileNameForGameStep(currentStep));
     }
     endStep();
     if (isGameOver) {
@@ -426,7 +552,7 @@ public class ServerGame extends AbstractGame {
           : SaveGameFileChooser.getAutoSaveOddFileName());
     }
     if (autoSaveThisDelegate && !currentStep.getName().endsWith("Move")) {
-      autoSave(getAutoSaveAfterFileNameForDelegate(currentDelegate));
+      autoSaveStep(getAutoSaveAfterFileNameForDelegate(currentDelegate));
     }
   }
 
@@ -464,7 +590,7 @@ public class ServerGame extends AbstractGame {
         continue;
       }
       final DefaultDelegateBridge bridge = new DefaultDelegateBridge(gameData, this,
-          new DelegateHistoryWriter(channelMessenger), randomStats, delegateExecutionManager);
+          new DelegateHistoryWriter(gameModifiedBroadcaster), randomStats, delegateExecutionManager);
       if (delegateRandomSource == null) {
         delegateRandomSource = (IRandomSource) delegateExecutionManager.createOutboundImplementation(randomSource,
             new Class<?>[] {IRandomSource.class});
@@ -483,7 +609,7 @@ public class ServerGame extends AbstractGame {
   private void startStep(final boolean stepIsRestoredFromSavedGame) {
     // dont save if we just loaded
     final DefaultDelegateBridge bridge = new DefaultDelegateBridge(gameData, this,
-        new DelegateHistoryWriter(channelMessenger), randomStats, delegateExecutionManager);
+        new DelegateHistoryWriter(gameModifiedBroadcaster), randomStats, delegateExecutionManager);
     if (delegateRandomSource == null) {
       delegateRandomSource = (IRandomSource) delegateExecutionManager.createOutboundImplementation(randomSource,
           new Class<?>[] {IRandomSource.class});
@@ -595,7 +721,12 @@ public class ServerGame extends AbstractGame {
   }
 
   private IGameModifiedChannel getGameModifiedBroadcaster() {
-    return (IGameModifiedChannel) channelMessenger.getChannelBroadcastor(IGame.GAME_MODIFICATION_CHANNEL);
+    return gameModifiedBroadcaster;
+  }
+
+  private void performChange(final Change change) {
+    gameData.performChange(change);
+    gameData.getHistory().getHistoryWriter().addChange(change);
   }
 
   @Override
@@ -9,6 +9,7 @@ import static games.strategy.engine.framework.ArgParser.CliProperties.LOBBY_GAME
 import static games.strategy.engine.framework.ArgParser.CliProperties.LOBBY_HOST;
 import static games.strategy.engine.framework.ArgParser.CliProperties.LOBBY_PORT;
 import static games.strategy.engine.framework.ArgParser.CliProperties.MAP_FOLDER;
+import static games.strategy.engine.framework.ArgParser.CliProperties.TRIPLEA_AUTOSAVE_JOURNAL;
 import static games.strategy.engine.framework.ArgParser.CliProperties.TRIPLEA_GAME;
 import static games.strategy.engine.framework.ArgParser.CliProperties.TRIPLEA_NAME;
 import static games.strategy.engine.framework.ArgParser.CliProperties.TRIPLEA_PORT;
@@ -129,6 +130,15 @@ public class HeadlessGameServer {
     return Boolean.parseBoolean(System.getProperty(GameRunner.TRIPLEA_HEADLESS, "false"));
   }
 
+  /**
+   * Returns true if this is a headless server that autosaves to a
+   * {@link games.strategy.engine.framework.SaveGameJournal} instead of writing a full save game at every autosave
+   * point.
+   */
+  public static boolean autoSaveJournal() {
+    return headless() && Boolean.parseBoolean(System.getProperty(TRIPLEA_AUTOSAVE_JOURNAL, "false"));
+  }
+
   public Set<String> getAvailableGames() {
     return availableGames.getGameNames();
   }
@@ -502,7 +512,7 @@ public class HeadlessGameServer {
         LOBBY_GAME_COMMENTS, LOBBY_GAME_HOSTED_BY, LOBBY_GAME_SUPPORT_EMAIL,
         LOBBY_GAME_SUPPORT_PASSWORD, LOBBY_GAME_RECONNECTION,
         TRIPLEA_SERVER_START_GAME_SYNC_WAIT_TIME, TRIPLEA_SERVER_OBSERVER_JOIN_WAIT_TIME,
-        MAP_FOLDER));
+        TRIPLEA_AUTOSAVE_JOURNAL, MAP_FOLDER));
   }
 
   String getStatus() {
@@ -712,6 +722,7 @@ public class HeadlessGameServer {
         + "=<seconds to wait for all clients to start the game>\n"
         + "   " + TRIPLEA_SERVER_OBSERVER_JOIN_WAIT_TIME
         + "=<seconds to wait for an observer joining the game>\n"
+        + "   " + TRIPLEA_AUTOSAVE_JOURNAL + "=<true/false, autosave to a checkpoint and journal>\n"
         + "   " + MAP_FOLDER + "=mapFolder"
         + "\n"
         + "   You must start the Name and HostedBy with \"Bot\".\n"
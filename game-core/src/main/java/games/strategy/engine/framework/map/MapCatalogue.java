@@ -0,0 +1,375 @@
+package games.strategy.engine.framework.map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import games.strategy.debug.ClientLogger;
+import games.strategy.engine.ClientFileSystemHelper;
+import games.strategy.engine.data.GameHeader;
+import games.strategy.engine.data.GameHeaderParser;
+import games.strategy.engine.data.GameParseException;
+import games.strategy.io.FileUtils;
+
+/**
+ * The games of the maps installed in a maps folder, backed by an index file that survives restarts.
+ *
+ * <p>
+ * A map is a folder or a zip file with game XMLs in its {@code games} folder. The index holds the {@link GameHeader}
+ * of each game, keyed by the path, the size and the last modified time of its map, so only maps that were added or
+ * changed since the last listing are read again. Changed maps are read in parallel, and only the headers of their
+ * game XMLs are read, see {@link GameHeaderParser}.
+ * </p>
+ */
+@ThreadSafe
+public final class MapCatalogue {
+  private static final String INDEX_FILE_NAME = "mapCatalogue.idx";
+  private static final int INDEX_VERSION = 1;
+  private static final String ZIP_EXTENSION = ".zip";
+  private static final Object indexFileLock = new Object();
+
+  private final File indexFile;
+
+  @VisibleForTesting
+  MapCatalogue(final File indexFile) {
+    this.indexFile = checkNotNull(indexFile);
+  }
+
+  /**
+   * Creates a catalogue whose index file is in the user's root folder.
+   */
+  public static MapCatalogue newInstance() {
+    return new MapCatalogue(new File(ClientFileSystemHelper.getUserRootFolder(), INDEX_FILE_NAME));
+  }
+
+  /**
+   * Lists the games of all maps in the specified folder that can be played with the running engine. This method will
+   * block until all changed maps are read and should not be called from the EDT.
+   *
+   * @param unreadableMapHandler Called with every map zip file that could not be read, from any thread.
+   */
+  public List<Entry> listGames(final File mapsFolder, final BiConsumer<File, IOException> unreadableMapHandler) {
+    checkNotNull(mapsFolder);
+    checkNotNull(unreadableMapHandler);
+
+    final Map<String, IndexedMap> index = readIndex();
+    final Map<String, IndexedMap> updatedIndex = new ConcurrentHashMap<>();
+    final AtomicBoolean indexChanged = new AtomicBoolean(false);
+    final List<File> maps = FileUtils.listFiles(mapsFolder).stream()
+        .filter(MapCatalogue::isMap)
+        .collect(Collectors.toList());
+    final List<Entry> entries = maps.parallelStream()
+        .flatMap(map -> {
+          final long size = getSize(map);
+          final long lastModified = getLastModified(map);
+          final IndexedMap indexedMap = index.get(map.getAbsolutePath());
+          if (indexedMap != null && indexedMap.size == size && indexedMap.lastModified == lastModified) {
+            updatedIndex.put(map.getAbsolutePath(), indexedMap);
+            return indexedMap.entries.stream();
+          }
+          indexChanged.set(true);
+          final List<Entry> mapEntries = new ArrayList<>();
+          try {
+            if (readMap(map, mapEntries)) {
+              updatedIndex.put(map.getAbsolutePath(), new IndexedMap(size, lastModified, mapEntries));
+            }
+          } catch (final IOException e) {
+            unreadableMapHandler.accept(map, e);
+          }
+          return mapEntries.stream();
+        })
+        .filter(MapCatalogue::isCompatibleWithEngine)
+        .collect(Collectors.toList());
+    // keep the maps of other maps folders
+    index.forEach((path, indexedMap) -> {
+      if (!mapsFolder.getAbsoluteFile().equals(new File(path).getParentFile())) {
+        updatedIndex.putIfAbsent(path, indexedMap);
+      }
+    });
+    if (indexChanged.get() || !updatedIndex.keySet().equals(index.keySet())) {
+      writeIndex(updatedIndex);
+    }
+    return entries;
+  }
+
+  private static boolean isMap(final File file) {
+    return file.isDirectory() || (file.isFile() && file.getName().toLowerCase().endsWith(ZIP_EXTENSION));
+  }
+
+  private static boolean isCompatibleWithEngine(final Entry entry) {
+    if (!entry.getHeader().isCompatibleWithEngine()) {
+      ClientLogger.logQuietly("Engine version problem: " + entry.getUri() + " requires engine version "
+          + entry.getHeader().getMinimumEngineVersion());
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Returns the folder containing the game XMLs of the specified map folder. The contents of a "map" sub folder are
+   * used if present, otherwise the contents of the map folder itself.
+   */
+  private static File getGamesFolder(final File mapFolder) {
+    final File subFolder = new File(mapFolder, "map");
+    return new File(subFolder.exists() ? subFolder : mapFolder, "games");
+  }
+
+  private static List<File> getGameFiles(final File mapFolder) {
+    return FileUtils.listFiles(getGamesFolder(mapFolder)).stream()
+        .filter(file -> file.isFile() && file.getName().toLowerCase().endsWith("xml"))
+        .collect(Collectors.toList());
+  }
+
+  private static long getSize(final File map) {
+    if (map.isFile()) {
+      return map.length();
+    }
+    return getGameFiles(map).stream().mapToLong(File::length).sum();
+  }
+
+  private static long getLastModified(final File map) {
+    if (map.isFile()) {
+      return map.lastModified();
+    }
+    // the games folder is modified when a game file is added or removed
+    final long gamesFolderLastModified = getGamesFolder(map).lastModified();
+    return getGameFiles(map).stream().mapToLong(File::lastModified).reduce(gamesFolderLastModified, Math::max);
+  }
+
+  /**
+   * Reads the headers of the games of the specified map into the specified list.
+   *
+   * @return {@code false} if the header of a game could not be read, in which case the map should be read again next
+   *         time.
+   *
+   * @throws IOException If the map is a zip file that could not be read.
+   */
+  private static boolean readMap(final File map, final List<Entry> entries) throws IOException {
+    return map.isDirectory() ? readMapFolder(map, entries) : readMapZip(map, entries);
+  }
+
+  private static boolean readMapFolder(final File map, final List<Entry> entries) {
+    boolean allRead = true;
+    for (final File gameFile : getGameFiles(map)) {
+      final URI uri = gameFile.toURI();
+      try (InputStream input = new BufferedInputStream(new FileInputStream(gameFile))) {
+        allRead &= addEntry(map, uri, input, entries);
+      } catch (final IOException e) {
+        ClientLogger.logQuietly("Could not read: " + uri, e);
+        allRead = false;
+      }
+    }
+    return allRead;
+  }
+
+  private static boolean readMapZip(final File map, final List<Entry> entries) throws IOException {
+    boolean allRead = true;
+    try (ZipFile zipFile = new ZipFile(map);
+        URLClassLoader loader = new URLClassLoader(new URL[] {map.toURI().toURL()})) {
+      final Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+      while (zipEntries.hasMoreElements()) {
+        final ZipEntry zipEntry = zipEntries.nextElement();
+        if (zipEntry.getName().contains("games/") && zipEntry.getName().toLowerCase().endsWith(".xml")) {
+          final URL url = loader.getResource(zipEntry.getName());
+          if (url == null) {
+            // not loading the URL means the XML is truncated or otherwise in bad shape
+            throw new IOException("Could not load: " + zipEntry.getName());
+          }
+          try (InputStream input = new BufferedInputStream(zipFile.getInputStream(zipEntry))) {
+            allRead &= addEntry(map, URI.create(url.toString().replace(" ", "%20")), input, entries);
+          }
+        }
+      }
+    }
+    return allRead;
+  }
+
+  private static boolean addEntry(final File map, final URI uri, final InputStream input, final List<Entry> entries) {
+    try {
+      entries.add(new Entry(map, uri, GameHeaderParser.parse(uri.toString(), input)));
+      return true;
+    } catch (final GameParseException e) {
+      ClientLogger.logQuietly("Could not parse: " + uri, e);
+      return false;
+    }
+  }
+
+  private Map<String, IndexedMap> readIndex() {
+    synchronized (indexFileLock) {
+      if (!indexFile.isFile()) {
+        return Collections.emptyMap();
+      }
+      try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+        if (in.readInt() != INDEX_VERSION) {
+          return Collections.emptyMap();
+        }
+        final Map<String, IndexedMap> index = new HashMap<>();
+        for (int mapCount = in.readInt(); mapCount > 0; mapCount--) {
+          final String path = readString(in);
+          final long size = in.readLong();
+          final long lastModified = in.readLong();
+          final List<Entry> entries = new ArrayList<>();
+          for (int entryCount = in.readInt(); entryCount > 0; entryCount--) {
+            final URI uri = URI.create(readString(in));
+            final String gameName = readString(in);
+            final String gameVersion = readString(in);
+            final String minimumEngineVersion = readNullableString(in);
+            final String mapName = readNullableString(in);
+            final String notes = readNullableString(in);
+            final List<String> playerNames = new ArrayList<>();
+            for (int playerCount = in.readInt(); playerCount > 0; playerCount--) {
+              playerNames.add(readString(in));
+            }
+            entries.add(new Entry(new File(path), uri,
+                new GameHeader(gameName, gameVersion, minimumEngineVersion, mapName, notes, playerNames)));
+          }
+          index.put(path, new IndexedMap(size, lastModified, entries));
+        }
+        return index;
+      } catch (final IOException | RuntimeException e) {
+        // the index is only a cache
+        ClientLogger.logQuietly("Could not read map catalogue index: " + indexFile, e);
+        return Collections.emptyMap();
+      }
+    }
+  }
+
+  private void writeIndex(final Map<String, IndexedMap> index) {
+    synchronized (indexFileLock) {
+      final File tempFile = new File(indexFile.getPath() + ".tmp");
+      try {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+          out.writeInt(INDEX_VERSION);
+          out.writeInt(index.size());
+          for (final Map.Entry<String, IndexedMap> indexEntry : index.entrySet()) {
+            final IndexedMap indexedMap = indexEntry.getValue();
+            writeString(out, indexEntry.getKey());
+            out.writeLong(indexedMap.size);
+            out.writeLong(indexedMap.lastModified);
+            out.writeInt(indexedMap.entries.size());
+            for (final Entry entry : indexedMap.entries) {
+              final GameHeader header = entry.getHeader();
+              writeString(out, entry.getUri().toString());
+              writeString(out, header.getGameName());
+              writeString(out, header.getGameVersion());
+              writeNullableString(out, header.getMinimumEngineVersion());
+              writeNullableString(out, header.getMapName());
+              writeNullableString(out, header.getNotes());
+              out.writeInt(header.getPlayerNames().size());
+              for (final String playerName : header.getPlayerNames()) {
+                writeString(out, playerName);
+              }
+            }
+          }
+        }
+        Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      } catch (final IOException e) {
+        ClientLogger.logQuietly("Could not write map catalogue index: " + indexFile, e);
+      }
+    }
+  }
+
+  // DataOutput.writeUTF() is limited to 64KB, which the notes of a game may exceed
+  private static void writeString(final DataOutputStream out, final String value) throws IOException {
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static void writeNullableString(final DataOutputStream out, final @Nullable String value)
+      throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      writeString(out, value);
+    }
+  }
+
+  private static String readString(final DataInputStream in) throws IOException {
+    final byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static @Nullable String readNullableString(final DataInputStream in) throws IOException {
+    return in.readBoolean() ? readString(in) : null;
+  }
+
+  @Immutable
+  private static final class IndexedMap {
+    final long size;
+    final long lastModified;
+    final List<Entry> entries;
+
+    IndexedMap(final long size, final long lastModified, final List<Entry> entries) {
+      this.size = size;
+      this.lastModified = lastModified;
+      this.entries = Collections.unmodifiableList(entries);
+    }
+  }
+
+  /**
+   * A game of a map in the catalogue.
+   */
+  @Immutable
+  public static final class Entry {
+    private final File map;
+    private final URI uri;
+    private final GameHeader header;
+
+    Entry(final File map, final URI uri, final GameHeader header) {
+      this.map = map;
+      this.uri = uri;
+      this.header = header;
+    }
+
+    /**
+     * Returns the map folder or zip file containing the game.
+     */
+    public File getMap() {
+      return map;
+    }
+
+    /**
+     * Returns the URI of the game XML.
+     */
+    public URI getUri() {
+      return uri;
+    }
+
+    public GameHeader getHeader() {
+      return header;
+    }
+  }
+}
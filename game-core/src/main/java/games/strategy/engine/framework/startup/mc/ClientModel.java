@@ -1,5 +1,6 @@
 package games.strategy.engine.framework.startup.mc;
 
+import static com.google.common.base.Preconditions.checkState;
 import static games.strategy.engine.framework.ArgParser.CliProperties.TRIPLEA_CLIENT;
 import static games.strategy.engine.framework.ArgParser.CliProperties.TRIPLEA_HOST;
 import static games.strategy.engine.framework.ArgParser.CliProperties.TRIPLEA_NAME;
@@ -7,6 +8,7 @@ import static games.strategy.engine.framework.ArgParser.CliProperties.TRIPLEA_PO
 import static games.strategy.engine.framework.ArgParser.CliProperties.TRIPLEA_STARTED;
 
 import java.awt.Component;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -22,6 +24,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.swing.Action;
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
@@ -34,10 +37,12 @@ import games.strategy.engine.chat.ChatPanel;
 import games.strategy.engine.chat.IChatPanel;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.framework.ClientGame;
+import games.strategy.engine.framework.CompactGameObjectStreamFactory;
 import games.strategy.engine.framework.GameDataManager;
 import games.strategy.engine.framework.GameObjectStreamFactory;
 import games.strategy.engine.framework.GameRunner;
 import games.strategy.engine.framework.IGameLoader;
+import games.strategy.engine.framework.SaveGameJournal;
 import games.strategy.engine.framework.message.PlayerListing;
 import games.strategy.engine.framework.network.ui.ChangeGameOptionsClientAction;
 import games.strategy.engine.framework.network.ui.ChangeGameToSaveGameClientAction;
@@ -48,6 +53,7 @@ import games.strategy.engine.framework.startup.launcher.IServerReady;
 import games.strategy.engine.framework.startup.login.ClientLogin;
 import games.strategy.engine.framework.startup.ui.ClientOptions;
 import games.strategy.engine.framework.ui.SaveGameFileChooser;
+import games.strategy.engine.framework.ui.background.BackgroundTaskRunner.ThrowingSupplier;
 import games.strategy.engine.framework.ui.background.WaitWindow;
 import games.strategy.engine.gamePlayer.IGamePlayer;
 import games.strategy.engine.message.ChannelMessenger;
@@ -78,7 +84,7 @@ public class ClientModel implements IMessengerErrorListener {
   public static final RemoteName CLIENT_READY_CHANNEL =
       new RemoteName("games.strategy.engine.framework.startup.mc.ClientModel.CLIENT_READY_CHANNEL", IServerReady.class);
   private static final Logger logger = Logger.getLogger(ClientModel.class.getName());
-  private final GameObjectStreamFactory objectStreamFactory = new GameObjectStreamFactory(null);
+  private final GameObjectStreamFactory objectStreamFactory = new CompactGameObjectStreamFactory(null);
   private final GameSelectorModel gameSelectorModel;
   private final SetupPanelModel typePanelModel;
   private final WaitWindow gameLoadingWindow = new WaitWindow();
@@ -96,11 +102,46 @@ public class ClientModel implements IMessengerErrorListener {
   private GameData gameDataOnStartup;
   private Map<String, String> playersToNodes = new HashMap<>();
   private final IObserverWaitingToJoin observerWaitingToJoin = new IObserverWaitingToJoin() {
+    private ByteArrayOutputStream gameDataChunks = new ByteArrayOutputStream();
+    private @Nullable GameData gameData;
+
+    @Override
+    public synchronized void addGameDataChunk(final byte[] chunk) {
+      gameDataChunks.write(chunk, 0, chunk.length);
+    }
+
     @Override
-    public void joinGame(final byte[] gameData, final Map<String, INode> players) {
+    public synchronized void loadGameData() {
+      final byte[] bytes = gameDataChunks.toByteArray();
+      gameDataChunks = new ByteArrayOutputStream();
+      try {
+        // this normally takes a couple seconds, but can take
+        // up to 60 seconds for a freaking huge game
+        gameData = IoUtils.readFromMemory(bytes, GameDataManager::loadGame);
+      } catch (final IOException e) {
+        throw new IllegalStateException("Failed to load game", e);
+      }
+      checkState(gameData != null, "Failed to load game");
+    }
+
+    @Override
+    public void joinGame(final byte[] modifications, final Map<String, INode> players) {
       remoteMessenger.unregisterRemote(ServerModel.getObserverWaitingToStartName(messenger.getLocalNode()));
+      final GameData data;
+      synchronized (this) {
+        data = gameData;
+        gameData = null;
+      }
+      checkState(data != null, "Game data not loaded");
       final CountDownLatch latch = new CountDownLatch(1);
-      startGame(gameData, players, latch, true);
+      startGame(() -> {
+        try {
+          SaveGameJournal.replayEntry(modifications, data);
+        } catch (final ClassNotFoundException e) {
+          throw new IOException(e);
+        }
+        return data;
+      }, players, latch, true);
       try {
         latch.await(GameRunner.MINIMUM_CLIENT_GAMEDATA_LOAD_GRACE_TIME, TimeUnit.SECONDS);
       } catch (final InterruptedException e) {
@@ -134,7 +175,7 @@ public class ClientModel implements IMessengerErrorListener {
     @Override
     public void doneSelectingPlayers(final byte[] gameData, final Map<String, INode> players) {
       final CountDownLatch latch = new CountDownLatch(1);
-      startGame(gameData, players, latch, false);
+      startGame(() -> IoUtils.readFromMemory(gameData, GameDataManager::loadGame), players, latch, false);
       try {
         latch.await(GameRunner.MINIMUM_CLIENT_GAMEDATA_LOAD_GRACE_TIME, TimeUnit.SECONDS);
       } catch (final InterruptedException e) {
@@ -289,15 +330,15 @@ public class ClientModel implements IMessengerErrorListener {
     messenger.removeErrorListener(this);
   }
 
-  private void startGame(final byte[] gameData, final Map<String, INode> players, final CountDownLatch onDone,
-      final boolean gameRunning) {
+  private void startGame(final ThrowingSupplier<GameData, IOException> gameDataLoader,
+      final Map<String, INode> players, final CountDownLatch onDone, final boolean gameRunning) {
     SwingUtilities.invokeLater(() -> {
       gameLoadingWindow.setVisible(true);
       gameLoadingWindow.setLocationRelativeTo(JOptionPane.getFrameForComponent(ui));
       gameLoadingWindow.showWait();
     });
     try {
-      startGameInNewThread(gameData, players, gameRunning);
+      startGameInNewThread(gameDataLoader, players, gameRunning);
     } catch (final RuntimeException e) {
       gameLoadingWindow.doneWait();
       throw e;
@@ -308,13 +349,13 @@ public class ClientModel implements IMessengerErrorListener {
     }
   }
 
-  private void startGameInNewThread(final byte[] gameData, final Map<String, INode> players,
-      final boolean gameRunning) {
+  private void startGameInNewThread(final ThrowingSupplier<GameData, IOException> gameDataLoader,
+      final Map<String, INode> players, final boolean gameRunning) {
     final GameData data;
     try {
       // this normally takes a couple seconds, but can take
       // up to 60 seconds for a freaking huge game
-      data = IoUtils.readFromMemory(gameData, GameDataManager::loadGame);
+      data = gameDataLoader.get();
     } catch (final IOException ex) {
       ClientLogger.logQuietly("Failed to load game", ex);
       return;
@@ -8,13 +8,34 @@ import games.strategy.net.INode;
 /**
  * A callback remote.
  * Allows the server to add the player as an observer when the game is in progress.
+ *
+ * <p>
+ * The server sends a save game of the game in chunks with {@link #addGameDataChunk(byte[])} while the game goes on,
+ * then has it loaded with {@link #loadGameData()}, and finally sends what happened to the game since the save game
+ * was taken with {@link #joinGame(byte[], Map)}.
+ * </p>
  */
 public interface IObserverWaitingToJoin extends IRemote {
   /**
-   * This method should not return until the client is ready to start the game.
-   * This includes the display running, with all remote and channel listeners set up.
+   * Appends the specified chunk to the save game of the game to join.
    */
-  void joinGame(byte[] gameData, Map<String, INode> players);
+  void addGameDataChunk(byte[] chunk);
+
+  /**
+   * Loads the game data from the chunks of the save game received so far. This method should not return until the
+   * game data has been loaded.
+   */
+  void loadGameData();
+
+  /**
+   * Replays the specified modifications onto the loaded game data and starts the game. This method should not return
+   * until the client is ready to start the game. This includes the display running, with all remote and channel
+   * listeners set up.
+   *
+   * @param modifications The game modifications since the save game was taken, see
+   *        {@link games.strategy.engine.framework.SaveGameJournal#writeEntry}.
+   */
+  void joinGame(byte[] modifications, Map<String, INode> players);
 
   /**
    * You could not join the game, usually this is due to an error.
@@ -41,6 +41,7 @@ import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.properties.GameProperties;
 import games.strategy.engine.data.properties.IEditableProperty;
+import games.strategy.engine.framework.CompactGameObjectStreamFactory;
 import games.strategy.engine.framework.GameDataManager;
 import games.strategy.engine.framework.GameObjectStreamFactory;
 import games.strategy.engine.framework.GameRunner;
@@ -88,10 +89,11 @@ public class ServerModel extends Observable implements IMessengerErrorListener,
   }
 
   private static final Logger logger = Logger.getLogger(ServerModel.class.getName());
-  private final GameObjectStreamFactory objectStreamFactory = new GameObjectStreamFactory(null);
+  private final GameObjectStreamFactory objectStreamFactory = new CompactGameObjectStreamFactory(null);
   private final SetupPanelModel typePanelModel;
   private final boolean headless;
   private IServerMessenger serverMessenger;
+  private UnifiedMessenger unifiedMessenger;
   private IRemoteMessenger remoteMessenger;
   private IChannelMessenger channelMessenger;
   private GameData data;
@@ -267,7 +269,7 @@ public class ServerModel extends Observable implements IMessengerErrorListener,
       serverMessenger.setLoginValidator(clientLoginValidator);
       serverMessenger.addErrorListener(this);
       serverMessenger.addConnectionChangeListener(this);
-      final UnifiedMessenger unifiedMessenger = new UnifiedMessenger(serverMessenger);
+      unifiedMessenger = new UnifiedMessenger(serverMessenger);
       remoteMessenger = new RemoteMessenger(unifiedMessenger);
       remoteMessenger.registerRemote(serverStartupRemote, SERVER_REMOTE_NAME);
       channelMessenger = new ChannelMessenger(unifiedMessenger);
@@ -699,6 +701,10 @@ public class ServerModel extends Observable implements IMessengerErrorListener,
     sb.append(remoteMessenger);
     sb.append("\n");
     sb.append(channelMessenger);
+    if (unifiedMessenger != null) {
+      sb.append("\nEnd points:");
+      unifiedMessenger.getEndPointStatistics().values().forEach(statistics -> sb.append("\n").append(statistics));
+    }
     return sb.toString();
   }
 }
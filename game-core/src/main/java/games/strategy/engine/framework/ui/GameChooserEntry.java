@@ -9,8 +9,10 @@ import java.util.Optional;
 import games.strategy.debug.ClientLogger;
 import games.strategy.engine.data.EngineVersionException;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameHeader;
 import games.strategy.engine.data.GameParseException;
 import games.strategy.engine.data.GameParser;
+import games.strategy.engine.framework.GameDataTemplateCache;
 import games.strategy.triplea.Constants;
 import games.strategy.triplea.settings.ClientSetting;
 import games.strategy.util.UrlStreams;
@@ -49,6 +51,16 @@ public class GameChooserEntry implements Comparable<GameChooserEntry> {
     }
   }
 
+  /**
+   * Creates an entry for the game with the specified header, whose game data is only the game data created by
+   * {@link GameHeader#newShallowGameData()} until it is fully parsed.
+   */
+  GameChooserEntry(final URI uri, final GameHeader header) {
+    url = uri;
+    gameData = header.newShallowGameData();
+    gameNameAndMapNameProperty = getGameName() + ":" + getMapNameProperty();
+  }
+
   public GameData fullyParseGameData() throws GameParseException {
     // TODO: We should be setting this in the the constructor. At this point, you have to call methods in the
     // correct order for things to work, and that is bads.
@@ -60,7 +72,7 @@ public class GameChooserEntry implements Comparable<GameChooserEntry> {
     }
 
     try (InputStream input = inputStream.get()) {
-      gameData = GameParser.parse(url.toString(), input);
+      gameData = GameDataTemplateCache.getInstance().parse(url.toString(), input);
       gameDataFullyLoaded = true;
     } catch (final EngineVersionException e) {
       ClientLogger.logQuietly("Game engine not compatible with: " + url, e);
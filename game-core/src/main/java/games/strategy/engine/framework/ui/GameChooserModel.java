@@ -1,27 +1,18 @@
 package games.strategy.engine.framework.ui;
 
 import java.io.File;
-import java.io.IOException;
-import java.net.URI;
-import java.net.URL;
-import java.net.URLClassLoader;
-import java.util.Enumeration;
-import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
 
 import javax.swing.DefaultListModel;
 import javax.swing.JOptionPane;
 
 import games.strategy.debug.ClientLogger;
 import games.strategy.engine.ClientFileSystemHelper;
-import games.strategy.engine.data.EngineVersionException;
-import games.strategy.engine.data.GameParseException;
 import games.strategy.engine.framework.GameRunner;
-import games.strategy.io.FileUtils;
+import games.strategy.engine.framework.map.MapCatalogue;
 import games.strategy.ui.SwingAction;
 import games.strategy.util.Interruptibles;
 
@@ -31,10 +22,6 @@ import games.strategy.util.Interruptibles;
 public final class GameChooserModel extends DefaultListModel<GameChooserEntry> {
   private static final long serialVersionUID = -2044689419834812524L;
 
-  private enum ZipProcessingResult {
-    SUCCESS, ERROR
-  }
-
   /**
    * Initializes a new {@code GameChooserModel} using all available maps installed in the user's maps folder. This
    * method will block until all maps are parsed and should not be called from the EDT.
@@ -53,56 +40,23 @@ public final class GameChooserModel extends DefaultListModel<GameChooserEntry> {
   }
 
   static Set<GameChooserEntry> parseMapFiles() {
-    final Set<GameChooserEntry> parsedMapSet = new HashSet<>();
-    FileUtils.listFiles(ClientFileSystemHelper.getUserMapsFolder()).parallelStream()
-        .forEach(map -> {
-          if (map.isDirectory()) {
-            parsedMapSet.addAll(populateFromDirectory(map));
-          } else if (map.isFile() && map.getName().toLowerCase().endsWith(".zip")) {
-            parsedMapSet.addAll(populateFromZip(map));
-          }
-        });
-    return parsedMapSet;
+    return MapCatalogue.newInstance()
+        .listGames(ClientFileSystemHelper.getUserMapsFolder(),
+            (map, e) -> confirmWithUserAndThenDeleteCorruptZipFile(map, Optional.ofNullable(e.getMessage())))
+        .stream()
+        .map(GameChooserModel::createGameChooserEntry)
+        .filter(Optional::isPresent)
+        .map(Optional::get)
+        .collect(Collectors.toSet());
   }
 
-  private static Set<GameChooserEntry> populateFromZip(final File map) {
-    boolean badMapZip = false;
-    final Set<GameChooserEntry> entries = new HashSet<>();
-
-    try (ZipFile zipFile = new ZipFile(map);
-        final URLClassLoader loader = new URLClassLoader(new URL[] {map.toURI().toURL()})) {
-      final Enumeration<? extends ZipEntry> zipEntryEnumeration = zipFile.entries();
-      while (zipEntryEnumeration.hasMoreElements()) {
-        final ZipEntry entry = zipEntryEnumeration.nextElement();
-        if (entry.getName().contains("games/") && entry.getName().toLowerCase().endsWith(".xml")) {
-          final ZipProcessingResult result = processZipEntry(loader, entry, entries);
-          if (result == ZipProcessingResult.ERROR) {
-            badMapZip = true;
-            break;
-          }
-        }
-      }
-    } catch (final IOException e) {
-      confirmWithUserAndThenDeleteCorruptZipFile(map, Optional.of(e.getMessage()));
-    }
-
-    if (badMapZip) {
-      confirmWithUserAndThenDeleteCorruptZipFile(map, Optional.empty());
-    }
-    return entries;
-  }
-
-  private static ZipProcessingResult processZipEntry(final URLClassLoader loader, final ZipEntry entry,
-      final Set<GameChooserEntry> entries) {
-    final URL url = loader.getResource(entry.getName());
-    if (url == null) {
-      // not loading the URL means the XML is truncated or otherwise in bad shape
-      return ZipProcessingResult.ERROR;
+  private static Optional<GameChooserEntry> createGameChooserEntry(final MapCatalogue.Entry entry) {
+    try {
+      return Optional.of(new GameChooserEntry(entry.getUri(), entry.getHeader()));
+    } catch (final RuntimeException e) {
+      ClientLogger.logQuietly("Could not parse: " + entry.getUri(), e);
+      return Optional.empty();
     }
-
-    createGameChooserEntry(URI.create(url.toString().replace(" ", "%20")))
-        .ifPresent(entries::add);
-    return ZipProcessingResult.SUCCESS;
   }
 
   /*
@@ -135,23 +89,6 @@ public final class GameChooserModel extends DefaultListModel<GameChooserEntry> {
     }));
   }
 
-  /**
-   * From a given URI, creates a GameChooserEntry and adds to the given entries list.
-   *
-   * @param uri
-   *        URI of the new entry
-   */
-  private static Optional<GameChooserEntry> createGameChooserEntry(final URI uri) {
-    try {
-      return Optional.of(createEntry(uri));
-    } catch (final EngineVersionException e) {
-      ClientLogger.logQuietly("Engine version problem:" + uri, e);
-    } catch (final Exception e) {
-      ClientLogger.logQuietly("Could not parse: " + uri, e);
-    }
-    return Optional.empty();
-  }
-
   /**
    * Searches for a GameChooserEntry whose gameName matches the input parameter.
    */
@@ -162,27 +99,6 @@ public final class GameChooserModel extends DefaultListModel<GameChooserEntry> {
         .findAny();
   }
 
-  private static GameChooserEntry createEntry(final URI uri)
-      throws IOException, GameParseException, EngineVersionException {
-    return new GameChooserEntry(uri);
-  }
-
-  private static Set<GameChooserEntry> populateFromDirectory(final File mapDir) {
-    final Set<GameChooserEntry> entries = new HashSet<>();
-
-    // use contents under a "mapDir/map" folder if present, otherwise use the "mapDir/" contents directly
-    final File mapFolder = new File(mapDir, "map");
-
-    final File parentFolder = mapFolder.exists() ? mapFolder : mapDir;
-    final File games = new File(parentFolder, "games");
-    for (final File game : FileUtils.listFiles(games)) {
-      if (game.isFile() && game.getName().toLowerCase().endsWith("xml")) {
-        createGameChooserEntry(game.toURI()).ifPresent(entries::add);
-      }
-    }
-    return entries;
-  }
-
   /**
    * Removes the given entry from this model.
    *
@@ -17,6 +17,7 @@ public class SaveGameFileChooser extends JFileChooser {
   private static final String AUTOSAVE_FILE_NAME = GameDataFileUtils.addExtension("autosave");
   private static final String AUTOSAVE_ODD_ROUND_FILE_NAME = GameDataFileUtils.addExtension("autosave_round_odd");
   private static final String AUTOSAVE_EVEN_ROUND_FILE_NAME = GameDataFileUtils.addExtension("autosave_round_even");
+  private static final String AUTOSAVE_JOURNAL_FILE_NAME = GameDataFileUtils.addExtension("autosave_journal");
   private static SaveGameFileChooser instance;
 
   public enum AUTOSAVE_TYPE {
@@ -72,6 +73,18 @@ public class SaveGameFileChooser extends JFileChooser {
     return AUTOSAVE_EVEN_ROUND_FILE_NAME;
   }
 
+  /**
+   * Returns the name of the checkpoint file of the autosave journal of a headless server.
+   */
+  public static String getAutoSaveJournalFileName() {
+    final String saveSuffix = System.getProperty(TRIPLEA_NAME,
+        System.getProperty(LOBBY_GAME_HOSTED_BY, ""));
+    if (saveSuffix.length() > 0) {
+      return saveSuffix + "_" + AUTOSAVE_JOURNAL_FILE_NAME;
+    }
+    return AUTOSAVE_JOURNAL_FILE_NAME;
+  }
+
   public static SaveGameFileChooser getInstance() {
     if (instance == null) {
       instance = new SaveGameFileChooser();
@@ -1,14 +1,17 @@
 package games.strategy.engine.history;
 
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.swing.SwingUtilities;
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeModel;
 
 import games.strategy.engine.data.Change;
+import games.strategy.engine.data.ChangeCompactor;
 import games.strategy.engine.data.CompositeChange;
 import games.strategy.engine.data.GameData;
 import games.strategy.triplea.ui.history.HistoryPanel;
@@ -24,15 +27,25 @@ import games.strategy.triplea.ui.history.HistoryPanel;
  * Round - the current round in the game, eg 1, 2, 3
  * Step - the current step, eg Britian Combat Move
  * Event - an event that happened in the game, eg Russia buys 8 inf.
+ *
+ * <p>
+ * Going to a node performs the changes between the current node and that node. To keep jumps across many rounds fast,
+ * every {@link #CHECKPOINT_INTERVAL} changes are also compacted into a checkpoint (see {@link ChangeCompactor}),
+ * which then stands in for them whenever a jump spans the whole interval. Checkpoints are computed when first needed
+ * and only softly referenced, so they are recomputed if memory ran low in the meantime.
+ * </p>
  */
 public class History extends DefaultTreeModel {
   private static final long serialVersionUID = -1769876896869L;
+  static final int CHECKPOINT_INTERVAL = 256;
 
   private final HistoryWriter writer = new HistoryWriter(this);
   private final List<Change> changes = new ArrayList<>();
+  private final transient List<SoftReference<Change>> checkpoints = new ArrayList<>();
   private final GameData gameData;
   private HistoryNode currentNode;
   private HistoryPanel panel = null;
+  private final transient List<HistoryRecords.Recorder> recorders = new CopyOnWriteArrayList<>();
 
   private void assertCorrectThread() {
     if (gameData.areChangesOnlyInSwingEventThread() && !SwingUtilities.isEventDispatchThread()) {
@@ -98,11 +111,43 @@ public class History extends DefaultTreeModel {
       return null;
     }
     final List<Change> deltaChanges =
-        changes.subList(Math.min(firstChange, lastChange), Math.max(firstChange, lastChange));
+        getDeltaChanges(Math.min(firstChange, lastChange), Math.max(firstChange, lastChange));
     final Change compositeChange = new CompositeChange(deltaChanges);
     return (lastChange >= firstChange) ? compositeChange : compositeChange.invert();
   }
 
+  /**
+   * Returns changes that have the same effect as the changes from the start index (inclusive) to the end index
+   * (exclusive), using the checkpoints of all checkpoint intervals within that range.
+   */
+  private synchronized List<Change> getDeltaChanges(final int start, final int end) {
+    final List<Change> result = new ArrayList<>();
+    int index = start;
+    while (index < end) {
+      if (index % CHECKPOINT_INTERVAL == 0 && index + CHECKPOINT_INTERVAL <= end) {
+        result.add(getCheckpoint(index / CHECKPOINT_INTERVAL));
+        index += CHECKPOINT_INTERVAL;
+      } else {
+        result.add(changes.get(index));
+        index++;
+      }
+    }
+    return result;
+  }
+
+  private Change getCheckpoint(final int interval) {
+    while (checkpoints.size() <= interval) {
+      checkpoints.add(new SoftReference<>(null));
+    }
+    Change checkpoint = checkpoints.get(interval).get();
+    if (checkpoint == null) {
+      final int start = interval * CHECKPOINT_INTERVAL;
+      checkpoint = ChangeCompactor.compact(changes.subList(start, start + CHECKPOINT_INTERVAL));
+      checkpoints.set(interval, new SoftReference<>(checkpoint));
+    }
+    return checkpoint;
+  }
+
   public synchronized void gotoNode(final HistoryNode node) {
     assertCorrectThread();
     getGameData().acquireWriteLock();
@@ -129,6 +174,10 @@ public class History extends DefaultTreeModel {
       while (changes.size() > lastChange) {
         changes.remove(lastChange);
       }
+      // only checkpoints of intervals that are still complete remain valid
+      while (checkpoints.size() > changes.size() / CHECKPOINT_INTERVAL) {
+        checkpoints.remove(checkpoints.size() - 1);
+      }
       final List<HistoryNode> nodesToRemove = new ArrayList<>();
       final Enumeration<?> enumeration = ((DefaultMutableTreeNode) this.getRoot()).preorderEnumeration();
       enumeration.nextElement();
@@ -167,6 +216,10 @@ public class History extends DefaultTreeModel {
     return new SerializedHistory(this, gameData, changes);
   }
 
+  List<HistoryRecords.Recorder> getRecorders() {
+    return recorders;
+  }
+
   List<Change> getChanges() {
     return changes;
   }
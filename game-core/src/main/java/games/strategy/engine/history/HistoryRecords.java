@@ -0,0 +1,287 @@
+package games.strategy.engine.history;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+import javax.swing.tree.DefaultMutableTreeNode;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+
+/**
+ * Writes a {@link History} as a flat sequence of records and replays them into a new history, as an alternative to
+ * serializing the history as part of its game data.
+ *
+ * <p>
+ * Each round, step, event, event child and change is written as a one byte record type followed by its fields, in the
+ * order in which they were originally added to the history. When reading, every record is replayed into the
+ * {@link HistoryWriter} as soon as it has been read, so no intermediate copy of the whole history is built. The
+ * records must be written to the same object stream as their game data, so that the players, territories, units etc.
+ * they refer to are shared with the game data instead of being copied.
+ * </p>
+ *
+ * <p>
+ * The game data itself must then be written without its history, see {@link #omitHistory(Object)}.
+ * </p>
+ *
+ * <p>
+ * A {@link Recorder} collects the same records while they are being added to a history, so that they can be appended
+ * to a journal and later be replayed on top of the game data that was saved when recording started.
+ * </p>
+ */
+public final class HistoryRecords {
+  private static final byte END = 0;
+  private static final byte ROUND = 1;
+  private static final byte STEP = 2;
+  private static final byte EVENT = 3;
+  private static final byte EVENT_CHILD = 4;
+  private static final byte CHANGE = 5;
+  private static final byte RENDERING_DATA = 6;
+
+  private HistoryRecords() {}
+
+  /**
+   * Intended to be called from {@link java.io.ObjectOutputStream#replaceObject(Object)}: replaces the serialized form
+   * of a history by a placeholder that is read back as an empty history, and leaves all other objects unchanged.
+   */
+  public static Object omitHistory(final Object object) {
+    return object instanceof SerializedHistory
+        ? new OmittedHistory(((SerializedHistory) object).getGameData())
+        : object;
+  }
+
+  /**
+   * Writes all records of the specified history to the specified stream.
+   */
+  public static void write(final History history, final ObjectOutput out) throws IOException {
+    final List<Change> changes = history.getChanges();
+    int changeIndex = 0;
+    final Enumeration<?> enumeration = ((DefaultMutableTreeNode) history.getRoot()).preorderEnumeration();
+    enumeration.nextElement();
+    while (enumeration.hasMoreElements()) {
+      final HistoryNode node = (HistoryNode) enumeration.nextElement();
+      // write the changes to the start of the node
+      if (node instanceof IndexedHistoryNode) {
+        for (; changeIndex < ((IndexedHistoryNode) node).getChangeStartIndex(); changeIndex++) {
+          writeChange(changes.get(changeIndex), out);
+        }
+      }
+      writeNode(node, out);
+    }
+    for (; changeIndex < changes.size(); changeIndex++) {
+      writeChange(changes.get(changeIndex), out);
+    }
+    out.writeByte(END);
+  }
+
+  private static void writeChange(final Change change, final ObjectOutput out) throws IOException {
+    out.writeByte(CHANGE);
+    out.writeObject(change);
+  }
+
+  private static void writeNode(final HistoryNode node, final ObjectOutput out) throws IOException {
+    if (node instanceof Round) {
+      out.writeByte(ROUND);
+      out.writeInt(((Round) node).getRoundNo());
+    } else if (node instanceof Step) {
+      final Step step = (Step) node;
+      out.writeByte(STEP);
+      out.writeObject(step.getStepName());
+      out.writeObject(step.getDelegateName());
+      out.writeObject(step.getPlayerId());
+      out.writeObject(step.getTitle());
+    } else if (node instanceof Event) {
+      final Event event = (Event) node;
+      out.writeByte(EVENT);
+      out.writeObject(event.getDescription());
+      out.writeObject(event.getRenderingData());
+    } else if (node instanceof EventChild) {
+      final EventChild eventChild = (EventChild) node;
+      out.writeByte(EVENT_CHILD);
+      out.writeObject(eventChild.m_text);
+      out.writeObject(eventChild.m_renderingData);
+    } else {
+      throw new IllegalStateException("Unknown history node: " + node.getClass().getName());
+    }
+  }
+
+  /**
+   * Reads records written by {@link #write(History, ObjectOutput)} and adds them to the specified history, which is
+   * expected to be empty.
+   */
+  public static void read(final History history, final ObjectInput in) throws IOException, ClassNotFoundException {
+    read(history, in, false);
+  }
+
+  private static void read(final History history, final ObjectInput in, final boolean performChanges)
+      throws IOException, ClassNotFoundException {
+    final HistoryWriter writer = history.getHistoryWriter();
+    for (byte type = in.readByte(); type != END; type = in.readByte()) {
+      switch (type) {
+        case ROUND:
+          writer.startNextRound(in.readInt());
+          break;
+        case STEP:
+          writer.startNextStep((String) in.readObject(), (String) in.readObject(), (PlayerID) in.readObject(),
+              (String) in.readObject());
+          break;
+        case EVENT:
+          writer.startEvent((String) in.readObject());
+          final Object renderingData = in.readObject();
+          if (renderingData != null) {
+            writer.setRenderingData(renderingData);
+          }
+          break;
+        case RENDERING_DATA:
+          writer.setRenderingData(in.readObject());
+          break;
+        case EVENT_CHILD:
+          writer.addChildToEvent(new EventChild((String) in.readObject(), in.readObject()));
+          break;
+        case CHANGE:
+          final Change change = (Change) in.readObject();
+          if (performChanges) {
+            history.getGameData().performChange(change);
+          }
+          writer.addChange(change);
+          break;
+        default:
+          throw new IOException("Unknown history record type: " + type);
+      }
+    }
+  }
+
+  /**
+   * Reads records written by {@link Recorder#write(ObjectOutput)} and adds them to the specified history. Unlike
+   * {@link #read(History, ObjectInput)}, each change is also performed on the game data of the history, which must be
+   * in the state it was in when the records were recorded.
+   */
+  public static void replay(final History history, final ObjectInput in) throws IOException, ClassNotFoundException {
+    read(history, in, true);
+  }
+
+  /**
+   * Starts recording everything that is added to the specified history from now on. A history may have several
+   * recorders at the same time, each of which records independently.
+   *
+   * @return The new recorder of the history.
+   */
+  public static Recorder record(final History history) {
+    final Recorder recorder = new Recorder();
+    history.getRecorders().add(recorder);
+    return recorder;
+  }
+
+  /**
+   * Stops the specified recorder of the specified history.
+   */
+  public static void stopRecording(final History history, final Recorder recorder) {
+    history.getRecorders().remove(recorder);
+  }
+
+  @FunctionalInterface
+  private interface RecordWriter {
+    void write(ObjectOutput out) throws IOException;
+  }
+
+  /**
+   * Collects the records of everything added to a history by its {@link HistoryWriter}, see
+   * {@link HistoryRecords#record(History)}.
+   *
+   * <p>
+   * The recorded changes, players, rendering data etc. are kept by reference and only serialized when the records are
+   * written. Instances of this class are thread safe.
+   * </p>
+   */
+  public static final class Recorder {
+    private final List<RecordWriter> records = new ArrayList<>();
+
+    private Recorder() {}
+
+    synchronized void round(final int roundNo) {
+      records.add(out -> {
+        out.writeByte(ROUND);
+        out.writeInt(roundNo);
+      });
+    }
+
+    synchronized void step(final String stepName, final String delegateName, final PlayerID player,
+        final String title) {
+      records.add(out -> {
+        out.writeByte(STEP);
+        out.writeObject(stepName);
+        out.writeObject(delegateName);
+        out.writeObject(player);
+        out.writeObject(title);
+      });
+    }
+
+    synchronized void event(final String description) {
+      records.add(out -> {
+        out.writeByte(EVENT);
+        out.writeObject(description);
+        out.writeObject(null);
+      });
+    }
+
+    synchronized void renderingData(final Object renderingData) {
+      records.add(out -> {
+        out.writeByte(RENDERING_DATA);
+        out.writeObject(renderingData);
+      });
+    }
+
+    synchronized void eventChild(final EventChild eventChild) {
+      records.add(out -> {
+        out.writeByte(EVENT_CHILD);
+        out.writeObject(eventChild.m_text);
+        out.writeObject(eventChild.m_renderingData);
+      });
+    }
+
+    synchronized void change(final Change change) {
+      records.add(out -> writeChange(change, out));
+    }
+
+    public synchronized boolean isEmpty() {
+      return records.isEmpty();
+    }
+
+    /**
+     * Writes the records collected since the last call to {@link #clear()} to the specified stream, to be read by
+     * {@link HistoryRecords#replay(History, ObjectInput)}.
+     */
+    public synchronized void write(final ObjectOutput out) throws IOException {
+      for (final RecordWriter record : records) {
+        record.write(out);
+      }
+      out.writeByte(END);
+    }
+
+    public synchronized void clear() {
+      records.clear();
+    }
+  }
+
+  /**
+   * Stands in for a history that is written separately by {@link #write(History, ObjectOutput)}.
+   */
+  private static final class OmittedHistory implements Serializable {
+    private static final long serialVersionUID = 2795204880411917326L;
+    private final GameData data;
+
+    OmittedHistory(final GameData data) {
+      this.data = data;
+    }
+
+    private Object readResolve() {
+      return new History(data);
+    }
+  }
+}
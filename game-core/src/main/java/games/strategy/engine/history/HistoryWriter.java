@@ -1,6 +1,7 @@
 package games.strategy.engine.history;
 
 import java.io.Serializable;
+import java.util.function.Consumer;
 
 import javax.swing.SwingUtilities;
 
@@ -26,6 +27,10 @@ public class HistoryWriter implements Serializable {
     }
   }
 
+  private void record(final Consumer<HistoryRecords.Recorder> action) {
+    m_history.getRecorders().forEach(action);
+  }
+
   /**
    * Can only be called if we are currently in a round or a step.
    */
@@ -48,6 +53,7 @@ public class HistoryWriter implements Serializable {
     }
     final Step currentStep = new Step(stepName, delegateName, player, m_history.getChanges().size(), stepDisplayName);
     addToAndSetCurrent(currentStep);
+    record(recorder -> recorder.step(stepName, delegateName, player, stepDisplayName));
   }
 
   public void startNextRound(final int round) {
@@ -64,6 +70,7 @@ public class HistoryWriter implements Serializable {
     final Round currentRound = new Round(round, m_history.getChanges().size());
     m_current = (HistoryNode) m_history.getRoot();
     addToAndSetCurrent(currentRound);
+    record(recorder -> recorder.round(round));
   }
 
   private void closeCurrent() {
@@ -115,6 +122,7 @@ public class HistoryWriter implements Serializable {
     }
     final Event event = new Event(eventName, m_history.getChanges().size());
     addToAndSetCurrent(event);
+    record(recorder -> recorder.event(eventName));
   }
 
   private boolean isCurrentEvent() {
@@ -140,6 +148,7 @@ public class HistoryWriter implements Serializable {
       startEvent("???");
     }
     addToCurrent(node);
+    record(recorder -> recorder.eventChild(node));
   }
 
   /**
@@ -153,6 +162,7 @@ public class HistoryWriter implements Serializable {
       startEvent("Bad Event for change: \n" + change.toString());
     }
     m_history.changeAdded(change);
+    record(recorder -> recorder.change(change));
   }
 
   public void setRenderingData(final Object details) {
@@ -169,5 +179,6 @@ public class HistoryWriter implements Serializable {
       m_history.getGameData().releaseWriteLock();
     }
     m_history.goToEnd();
+    record(recorder -> recorder.renderingData(details));
   }
 }
@@ -1,5 +1,7 @@
 package games.strategy.engine.history;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Enumeration;
@@ -18,9 +20,22 @@ class SerializedHistory implements Serializable {
   private static final long serialVersionUID = -5808427923253751651L;
   private final List<SerializationWriter> m_Writers = new ArrayList<>();
   private final GameData m_data;
+  // only set while writing, the writers are created in writeObject() so that a replaced instance costs nothing
+  private final transient History history;
+  private final transient List<Change> changes;
 
   public SerializedHistory(final History history, final GameData data, final List<Change> changes) {
     m_data = data;
+    this.history = history;
+    this.changes = changes;
+  }
+
+  GameData getGameData() {
+    return m_data;
+  }
+
+  private void writeObject(final ObjectOutputStream out) throws IOException {
+    m_Writers.clear();
     int changeIndex = 0;
     final Enumeration<?> enumeration = ((DefaultMutableTreeNode) history.getRoot()).preorderEnumeration();
     enumeration.nextElement();
@@ -41,6 +56,7 @@ class SerializedHistory implements Serializable {
       m_Writers.add(new ChangeSerializationWriter(changes.get(changeIndex)));
       changeIndex++;
     }
+    out.defaultWriteObject();
   }
 
   public Object readResolve() {
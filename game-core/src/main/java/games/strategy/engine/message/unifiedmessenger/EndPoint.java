@@ -2,9 +2,20 @@ package games.strategy.engine.message.unifiedmessenger;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import com.google.common.util.concurrent.Uninterruptibles;
 
 import games.strategy.debug.ClientLogger;
 import games.strategy.engine.message.MessageContext;
@@ -17,18 +28,28 @@ import games.strategy.net.INode;
  * An endpoint contains the implementors for a given name that are local to this
  * node.
  * You can invoke the method and get the results for all the implementors.
+ *
+ * <p>
+ * A single threaded end point runs one invocation at a time, in the order in which they were made. The invocations
+ * waiting for their turn are kept in a mailbox, and each one is only started, or its thread woken up, once the
+ * invocation before it has finished.
+ * </p>
  */
 class EndPoint {
-  // the next number we are going to give
-  private final AtomicLong nextGivenNumber = new AtomicLong();
-  // the next number we can run
-  private long currentRunnableNumber = 0;
-  private final Object numberMutex = new Object();
   private final Object implementorsMutex = new Object();
   private final String name;
   private final Class<?> remoteClass;
   private final List<Object> implementors = new ArrayList<>();
   private final boolean singleThreaded;
+  // if we are single threaded, starts the invocations waiting for the running one to finish, in order
+  // access should be synchronized on mailbox
+  private final Queue<BooleanSupplier> mailbox = new ArrayDeque<>();
+  private boolean running = false;
+  private int maxQueueDepth = 0;
+  private final LongAdder invocationCount = new LongAdder();
+  private final LongAdder totalQueueNanos = new LongAdder();
+  private final LongAdder totalRunNanos = new LongAdder();
+  private final AtomicLong maxQueueNanos = new AtomicLong();
 
   public EndPoint(final String name, final Class<?> remoteClass, final boolean singleThreaded) {
     this.name = name;
@@ -45,26 +66,41 @@ class EndPoint {
     }
   }
 
-  public long takeANumber() {
-    return nextGivenNumber.getAndIncrement();
-  }
-
-  private void waitTillCanBeRun(final long number) {
-    synchronized (numberMutex) {
-      while (number > currentRunnableNumber) {
-        try {
-          numberMutex.wait();
-        } catch (final InterruptedException e) {
-          Thread.currentThread().interrupt();
-        }
+  /**
+   * Starts the specified invocation right away, or, if we are single threaded and another invocation is running, once
+   * all invocations queued before it have finished. Only the invocation whose turn it is gets started, so waiting
+   * invocations neither hold a thread nor get woken up needlessly.
+   *
+   * @param start Starts the invocation, and returns false if it could not be started, in which case the next
+   *        invocation is started instead.
+   */
+  private void enqueue(final BooleanSupplier start) {
+    synchronized (mailbox) {
+      if (running) {
+        mailbox.add(start);
+        maxQueueDepth = Math.max(maxQueueDepth, mailbox.size());
+        return;
       }
+      running = true;
+    }
+    if (!start.getAsBoolean()) {
+      startNext();
     }
   }
 
-  private void releaseNumber() {
-    synchronized (numberMutex) {
-      currentRunnableNumber++;
-      numberMutex.notifyAll();
+  private void startNext() {
+    while (true) {
+      final BooleanSupplier next;
+      synchronized (mailbox) {
+        next = mailbox.poll();
+        if (next == null) {
+          running = false;
+          return;
+        }
+      }
+      if (next.getAsBoolean()) {
+        return;
+      }
     }
   }
 
@@ -112,20 +148,80 @@ class EndPoint {
     return remoteClass;
   }
 
-  /*
-   * @param number - like the number you get in a bank line, if we are single
-   * threaded, then the method will not run until the number comes up. Acquire
-   * with getNumber() @return a List of RemoteMethodCallResults
+  /**
+   * Invokes the call on all implementors in the calling thread. If we are single threaded, the call does not run until
+   * all invocations queued before it have finished.
+   *
+   * @return a List of RemoteMethodCallResults
    */
-  public List<RemoteMethodCallResults> invokeLocal(final RemoteMethodCall call, final long number,
-      final INode messageOriginator) {
+  public List<RemoteMethodCallResults> invokeLocal(final RemoteMethodCall call, final INode messageOriginator) {
+    final long queuedNanos = System.nanoTime();
+    if (!singleThreaded) {
+      return invokeMeasured(call, messageOriginator, queuedNanos);
+    }
+    final CountDownLatch turn = new CountDownLatch(1);
+    enqueue(() -> {
+      turn.countDown();
+      return true;
+    });
+    Uninterruptibles.awaitUninterruptibly(turn);
     try {
-      if (singleThreaded) {
-        waitTillCanBeRun(number);
+      return invokeMeasured(call, messageOriginator, queuedNanos);
+    } finally {
+      startNext();
+    }
+  }
+
+  /**
+   * Invokes the call on all implementors using the specified executor, and passes the results to the specified
+   * consumer. If we are single threaded, the call does not run until all invocations queued before it, locally or
+   * remotely, have finished, so calls run in the order in which this method is called.
+   */
+  void invokeLocalAsync(final RemoteMethodCall call, final INode messageOriginator, final Executor executor,
+      final Consumer<List<RemoteMethodCallResults>> resultsConsumer) {
+    final long queuedNanos = System.nanoTime();
+    if (!singleThreaded) {
+      execute(executor, () -> resultsConsumer.accept(invokeMeasured(call, messageOriginator, queuedNanos)),
+          resultsConsumer);
+      return;
+    }
+    enqueue(() -> execute(executor, () -> {
+      final List<RemoteMethodCallResults> results;
+      try {
+        results = invokeMeasured(call, messageOriginator, queuedNanos);
+      } finally {
+        startNext();
       }
+      resultsConsumer.accept(results);
+    }, resultsConsumer));
+  }
+
+  /**
+   * Runs the specified invocation with the specified executor, and returns whether it did. If the executor rejects the
+   * invocation, e.g. because it was shut down, the rejection is passed to the results consumer instead.
+   */
+  private static boolean execute(final Executor executor, final Runnable invocation,
+      final Consumer<List<RemoteMethodCallResults>> resultsConsumer) {
+    try {
+      executor.execute(invocation);
+      return true;
+    } catch (final RejectedExecutionException e) {
+      resultsConsumer.accept(Collections.singletonList(new RemoteMethodCallResults(e)));
+      return false;
+    }
+  }
+
+  private List<RemoteMethodCallResults> invokeMeasured(final RemoteMethodCall call, final INode messageOriginator,
+      final long queuedNanos) {
+    final long startNanos = System.nanoTime();
+    try {
       return invokeMultiple(call, messageOriginator);
     } finally {
-      releaseNumber();
+      final long queueNanos = startNanos - queuedNanos;
+      invocationCount.increment();
+      totalQueueNanos.add(queueNanos);
+      totalRunNanos.add(System.nanoTime() - startNanos);
+      maxQueueNanos.accumulateAndGet(queueNanos, Math::max);
     }
   }
 
@@ -169,6 +265,20 @@ class EndPoint {
     }
   }
 
+  /**
+   * Returns the queue depth and latency statistics of this end point.
+   */
+  public EndPointStatistics getStatistics() {
+    final int queueDepth;
+    final int maxQueueDepth;
+    synchronized (mailbox) {
+      queueDepth = mailbox.size();
+      maxQueueDepth = this.maxQueueDepth;
+    }
+    return new EndPointStatistics(name, queueDepth, maxQueueDepth, invocationCount.sum(), totalQueueNanos.sum(),
+        maxQueueNanos.get(), totalRunNanos.sum());
+  }
+
   @Override
   public String toString() {
     return "Name:" + name + " singleThreaded:" + singleThreaded + " implementors:" + implementors;
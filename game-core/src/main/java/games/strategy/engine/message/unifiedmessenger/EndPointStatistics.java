@@ -0,0 +1,78 @@
+package games.strategy.engine.message.unifiedmessenger;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A snapshot of the queue depth and latency statistics of a local end point, see
+ * {@link UnifiedMessenger#getEndPointStatistics()}.
+ *
+ * <p>
+ * Only single threaded end points queue invocations; the queue latency of an invocation is the time between it being
+ * made and it starting to run, and its run time is the time all implementors took to run it.
+ * </p>
+ */
+public final class EndPointStatistics {
+  private final String name;
+  private final int queueDepth;
+  private final int maxQueueDepth;
+  private final long invocationCount;
+  private final long totalQueueNanos;
+  private final long maxQueueNanos;
+  private final long totalRunNanos;
+
+  EndPointStatistics(final String name, final int queueDepth, final int maxQueueDepth, final long invocationCount,
+      final long totalQueueNanos, final long maxQueueNanos, final long totalRunNanos) {
+    this.name = name;
+    this.queueDepth = queueDepth;
+    this.maxQueueDepth = maxQueueDepth;
+    this.invocationCount = invocationCount;
+    this.totalQueueNanos = totalQueueNanos;
+    this.maxQueueNanos = maxQueueNanos;
+    this.totalRunNanos = totalRunNanos;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the number of invocations waiting for their turn.
+   */
+  public int getQueueDepth() {
+    return queueDepth;
+  }
+
+  public int getMaxQueueDepth() {
+    return maxQueueDepth;
+  }
+
+  /**
+   * Returns the number of invocations that have finished running.
+   */
+  public long getInvocationCount() {
+    return invocationCount;
+  }
+
+  public long getAverageQueueLatency(final TimeUnit unit) {
+    return unit.convert(invocationCount == 0 ? 0 : totalQueueNanos / invocationCount, TimeUnit.NANOSECONDS);
+  }
+
+  public long getMaxQueueLatency(final TimeUnit unit) {
+    return unit.convert(maxQueueNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public long getAverageRunTime(final TimeUnit unit) {
+    return unit.convert(invocationCount == 0 ? 0 : totalRunNanos / invocationCount, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public String toString() {
+    return "Name:" + name
+        + " queueDepth:" + queueDepth
+        + " maxQueueDepth:" + maxQueueDepth
+        + " invocations:" + invocationCount
+        + " averageQueueLatencyMicros:" + getAverageQueueLatency(TimeUnit.MICROSECONDS)
+        + " maxQueueLatencyMicros:" + getMaxQueueLatency(TimeUnit.MICROSECONDS)
+        + " averageRunTimeMicros:" + getAverageRunTime(TimeUnit.MICROSECONDS);
+  }
+}
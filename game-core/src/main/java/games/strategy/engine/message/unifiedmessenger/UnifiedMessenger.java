@@ -4,7 +4,9 @@ import java.io.Serializable;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.logging.Level;
@@ -36,9 +38,13 @@ import games.strategy.net.INode;
 public class UnifiedMessenger {
   private static final Logger logger = Logger.getLogger(UnifiedMessenger.class.getName());
 
-  private static final ExecutorService threadPool = Executors.newFixedThreadPool(15);
+  // queued invocations of single threaded end points do not hold a thread, so this only bounds the invocations
+  // running at the same time
+  private static final ExecutorService defaultDispatchExecutor = Executors.newFixedThreadPool(15);
   // the messenger we are based on
   private final IMessenger messenger;
+  // runs the invocations received from remote nodes
+  private final Executor dispatchExecutor;
   // lock on this for modifications to create or remove local end points
   private final Object endPointMutex = new Object();
   // maps String -> EndPoint
@@ -58,10 +64,25 @@ public class UnifiedMessenger {
   private UnifiedMessengerHub hub;
 
   /**
-   * Creates a new instance of UnifiedMessanger.
+   * Creates a new instance of UnifiedMessanger, which runs the invocations received from remote nodes on a thread pool
+   * shared by all instances.
    */
   public UnifiedMessenger(final IMessenger messenger) {
+    this(messenger, defaultDispatchExecutor);
+  }
+
+  /**
+   * Creates a new instance of UnifiedMessanger, which runs the invocations received from remote nodes with the
+   * specified executor.
+   *
+   * <p>
+   * The invocations of single threaded end points still run one at a time and in the order in which they were received,
+   * so the executor does not need to keep tasks in order.
+   * </p>
+   */
+  public UnifiedMessenger(final IMessenger messenger, final Executor dispatchExecutor) {
     this.messenger = messenger;
+    this.dispatchExecutor = Preconditions.checkNotNull(dispatchExecutor);
     final IMessageListener messageListener = (msg, from) -> UnifiedMessenger.this.messageReceived(msg, from);
     this.messenger.addMessageListener(messageListener);
     final IMessengerErrorListener messengerErrorListener =
@@ -100,8 +121,7 @@ public class UnifiedMessenger {
       // we have the implementor here, just invoke it
     }
 
-    final long number = local.takeANumber();
-    final List<RemoteMethodCallResults> results = local.invokeLocal(remoteCall, number, getLocalNode());
+    final List<RemoteMethodCallResults> results = local.invokeLocal(remoteCall, getLocalNode());
     if (results.size() == 0) {
       throw new RemoteNotFoundException("Not found:" + endPointName);
     }
@@ -151,8 +171,7 @@ public class UnifiedMessenger {
       endPoint = localEndPoints.get(endPointName);
     }
     if (endPoint != null) {
-      final long number = endPoint.takeANumber();
-      final List<RemoteMethodCallResults> results = endPoint.invokeLocal(call, number, getLocalNode());
+      final List<RemoteMethodCallResults> results = endPoint.invokeLocal(call, getLocalNode());
       for (final RemoteMethodCallResults r : results) {
         if (r.getException() != null) {
           // don't swallow errors
@@ -266,24 +285,20 @@ public class UnifiedMessenger {
       // very important
       // we are guaranteed that here messages will be
       // read in the same order that they are sent from the client
-      // however, once we delegate to the thread pool, there is no
-      // guarantee that the thread pool task will run before
+      // however, once we delegate to the executor, there is no
+      // guarantee that the task will run before
       // we get the next message notification
-      // get the number for the invocation here
-      final long methodRunNumber = local.takeANumber();
+      // so queue the invocation on the end point here
       // we don't want to block the message thread, only one thread is
-      // reading messages per connection, so run with out thread pool
-      final EndPoint localFinal = local;
-      threadPool.execute(() -> {
-        final List<RemoteMethodCallResults> results =
-            localFinal.invokeLocal(invoke.call, methodRunNumber, invoke.getInvoker());
+      // reading messages per connection, so run with the executor
+      local.invokeLocalAsync(invoke.call, invoke.getInvoker(), dispatchExecutor, results -> {
         if (invoke.needReturnValues) {
           final RemoteMethodCallResults result;
           if (results.size() == 1) {
             result = results.get(0);
           } else {
             result = new RemoteMethodCallResults(
-                new IllegalStateException("Invalid result count" + results.size()) + " for end point:" + localFinal);
+                new IllegalStateException("Invalid result count" + results.size()) + " for end point:" + local);
           }
           send(new HubInvocationResults(result, invoke.methodCallId), from);
         }
@@ -308,6 +323,19 @@ public class UnifiedMessenger {
     }
   }
 
+  /**
+   * Returns the queue depth and latency statistics of the end points with local implementors, by end point name.
+   */
+  public Map<String, EndPointStatistics> getEndPointStatistics() {
+    final Map<String, EndPointStatistics> statistics = new TreeMap<>();
+    synchronized (endPointMutex) {
+      for (final EndPoint endPoint : localEndPoints.values()) {
+        statistics.put(endPoint.getName(), endPoint.getStatistics());
+      }
+    }
+    return statistics;
+  }
+
   private void assertIsServer(final INode from) {
     Preconditions.checkState(
         from.equals(messenger.getServerNode()), "Not from server!  Instead from:" + from);
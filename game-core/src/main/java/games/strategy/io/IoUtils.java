@@ -2,11 +2,17 @@ package games.strategy.io;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 
 /**
  * A collection of useful methods related to I/O.
@@ -69,6 +75,32 @@ public final class IoUtils {
     return os.toByteArray();
   }
 
+  /**
+   * Invokes the specified consumer with an output stream to a temporary file in the same directory as the specified
+   * file, and then replaces the specified file with the temporary file. Thus the specified file is either completely
+   * written or, if the consumer fails, left unchanged.
+   *
+   * @param file The file to write.
+   * @param consumer The consumer whose output will be written to the file.
+   *
+   * @throws IOException If {@code consumer} encounters an error while writing to the output stream, or if the file
+   *         cannot be replaced.
+   */
+  public static void writeToFile(final File file, final OutputStreamConsumer consumer) throws IOException {
+    checkNotNull(file);
+    checkNotNull(consumer);
+
+    final Path tempFile = Paths.get(file.getAbsolutePath() + ".tmp");
+    try {
+      try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+        consumer.accept(os);
+      }
+      Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
   /**
    * An operation that accepts an {@link InputStream} and returns no result.
    */
@@ -6,8 +6,34 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 
+import javax.annotation.Nullable;
+
+/**
+ * Creates the object streams of the messages exchanged by a messenger.
+ *
+ * <p>
+ * A factory may also write a stream format that only some peers can read. Such a format is advertised while a peer
+ * logs in, and only used for the peers that advertised the same format, so that peers running an older engine can
+ * still read the messages telling them that they cannot log in. The input streams must read both formats.
+ * </p>
+ */
 public interface IObjectStreamFactory {
   ObjectInputStream create(InputStream stream) throws IOException;
 
   ObjectOutputStream create(OutputStream stream) throws IOException;
+
+  /**
+   * Returns the name of the stream format advertised to the peers, or {@code null} if this factory only writes the
+   * format created by {@link #create(OutputStream)}.
+   */
+  default @Nullable String getNegotiatedStreamFormat() {
+    return null;
+  }
+
+  /**
+   * Creates an output stream for a peer that advertised the format returned by {@link #getNegotiatedStreamFormat()}.
+   */
+  default ObjectOutputStream createNegotiated(final OutputStream stream) throws IOException {
+    return create(stream);
+  }
 }
@@ -456,11 +456,9 @@ public class ServerMessenger implements IServerMessenger, NioSocketListener {
     if (logger.isLoggable(Level.FINEST)) {
       logger.log(Level.FINEST, "broadcasting to" + nodes);
     }
-    for (final SocketChannel channel : nodes) {
-      if (channel != fromChannel) {
-        nioSocket.send(channel, msg);
-      }
-    }
+    nodes.remove(fromChannel);
+    // serialized once for all nodes
+    nioSocket.send(nodes, msg);
   }
 
   private boolean isNameTaken(final String nodeName) {
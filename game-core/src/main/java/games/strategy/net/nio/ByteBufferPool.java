@@ -0,0 +1,86 @@
+package games.strategy.net.nio;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of direct byte buffers for the packets that are read from and written to sockets.
+ *
+ * <p>
+ * Buffers are pooled in power of two size classes from {@link #MIN_POOLED_CAPACITY} to {@link #MAX_POOLED_CAPACITY}.
+ * Larger buffers are allocated on the heap and never pooled, since messages of that size are rare. Each size class
+ * keeps at most {@link #MAX_IDLE_BYTES_PER_SIZE_CLASS} bytes of idle buffers; buffers that are released beyond that are
+ * left to the garbage collector. A buffer that is not released, e.g. because its socket was closed, is simply garbage
+ * collected as well.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are thread safe.
+ * </p>
+ */
+final class ByteBufferPool {
+  static final int MIN_POOLED_CAPACITY = 1 << 10;
+  static final int MAX_POOLED_CAPACITY = 1 << 20;
+  private static final int MAX_IDLE_BYTES_PER_SIZE_CLASS = 4 * MAX_POOLED_CAPACITY;
+  private static final int MIN_SIZE_CLASS = Integer.numberOfTrailingZeros(MIN_POOLED_CAPACITY);
+  private static final int MAX_SIZE_CLASS = Integer.numberOfTrailingZeros(MAX_POOLED_CAPACITY);
+
+  private final List<Queue<ByteBuffer>> idleBuffers = new ArrayList<>();
+  private final List<AtomicInteger> idleCounts = new ArrayList<>();
+
+  ByteBufferPool() {
+    for (int sizeClass = MIN_SIZE_CLASS; sizeClass <= MAX_SIZE_CLASS; sizeClass++) {
+      idleBuffers.add(new ConcurrentLinkedQueue<>());
+      idleCounts.add(new AtomicInteger());
+    }
+  }
+
+  private static int getSizeClass(final int capacity) {
+    return Math.max(MIN_SIZE_CLASS, Integer.SIZE - Integer.numberOfLeadingZeros(capacity - 1));
+  }
+
+  /**
+   * Returns a buffer with a position of 0 and a limit of the specified capacity. Its actual capacity may be larger.
+   */
+  ByteBuffer acquire(final int capacity) {
+    final int sizeClass = getSizeClass(capacity);
+    if (sizeClass > MAX_SIZE_CLASS) {
+      return ByteBuffer.allocate(capacity);
+    }
+    final int index = sizeClass - MIN_SIZE_CLASS;
+    ByteBuffer buffer = idleBuffers.get(index).poll();
+    if (buffer == null) {
+      buffer = ByteBuffer.allocateDirect(1 << sizeClass);
+    } else {
+      idleCounts.get(index).decrementAndGet();
+      buffer.clear();
+    }
+    buffer.limit(capacity);
+    return buffer;
+  }
+
+  /**
+   * Returns the specified buffer, which was acquired from this pool, to this pool. The buffer must not be used anymore
+   * by the caller.
+   */
+  void release(final ByteBuffer buffer) {
+    if (!buffer.isDirect() || buffer.capacity() > MAX_POOLED_CAPACITY) {
+      return;
+    }
+    final int index = getSizeClass(buffer.capacity()) - MIN_SIZE_CLASS;
+    final AtomicInteger idleCount = idleCounts.get(index);
+    if ((idleCount.get() + 1) * buffer.capacity() > MAX_IDLE_BYTES_PER_SIZE_CLASS) {
+      return;
+    }
+    idleCount.incrementAndGet();
+    idleBuffers.get(index).offer(buffer);
+  }
+
+  int getIdleCount() {
+    return idleCounts.stream().mapToInt(AtomicInteger::get).sum();
+  }
+}
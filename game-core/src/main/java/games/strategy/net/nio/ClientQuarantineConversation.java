@@ -3,6 +3,7 @@ package games.strategy.net.nio;
 import java.io.Serializable;
 import java.net.InetSocketAddress;
 import java.nio.channels.SocketChannel;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.logging.Level;
@@ -114,7 +115,17 @@ public class ClientQuarantineConversation extends QuarantineConversation {
             if (isClosed) {
               return Action.NONE;
             }
+            final String streamFormat = socket.getNegotiatedStreamFormat();
+            final boolean streamFormatNegotiated = challengeResponse != null && streamFormat != null
+                && streamFormat.equals(challenge.get(STREAM_FORMAT_PROPERTY));
+            if (streamFormatNegotiated) {
+              challengeResponse = new HashMap<>(challengeResponse);
+              challengeResponse.put(STREAM_FORMAT_PROPERTY, streamFormat);
+            }
             send((Serializable) challengeResponse);
+            if (streamFormatNegotiated) {
+              socket.setStreamFormatNegotiated(channel);
+            }
           } else {
             showLatch.countDown();
             send(null);
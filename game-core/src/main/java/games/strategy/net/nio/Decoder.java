@@ -14,7 +14,6 @@ import games.strategy.engine.message.HubInvocationResults;
 import games.strategy.engine.message.HubInvoke;
 import games.strategy.engine.message.SpokeInvocationResults;
 import games.strategy.engine.message.SpokeInvoke;
-import games.strategy.io.IoUtils;
 import games.strategy.net.CouldNotLogInException;
 import games.strategy.net.INode;
 import games.strategy.net.IObjectStreamFactory;
@@ -64,13 +63,14 @@ class Decoder {
         }
 
         try {
-          final MessageHeader header = IoUtils.readFromMemory(data.getData(), is -> {
-            try {
-              return readMessageHeader(data.getChannel(), objectStreamFactory.create(is));
-            } catch (final ClassNotFoundException e) {
-              throw new IOException(e);
-            }
-          });
+          final MessageHeader header;
+          try {
+            header = readMessageHeader(data.getChannel(), objectStreamFactory.create(data.getInputStream()));
+          } catch (final ClassNotFoundException e) {
+            throw new IOException(e);
+          } finally {
+            data.release();
+          }
           // make sure we are still open
           final Socket s = data.getChannel().socket();
           if (!running || s == null || s.isInputShutdown()) {
@@ -1,30 +1,56 @@
 package games.strategy.net.nio;
 
+import java.io.ByteArrayOutputStream;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import games.strategy.io.IoUtils;
+import javax.annotation.Nullable;
+
 import games.strategy.net.IObjectStreamFactory;
 import games.strategy.net.MessageHeader;
 import games.strategy.net.Node;
 
 /**
  * Encodes data to be written by a writer.
+ *
+ * <p>
+ * Each message is serialized into a byte array that is reused by the encoding thread, and then copied once into a
+ * pooled packet buffer, so encoding a message does not allocate a new array for every message.
+ * </p>
+ *
+ * <p>
+ * The messages to the channels whose peer negotiated a stream format while logging in are written in that format, see
+ * {@link IObjectStreamFactory#createNegotiated(java.io.OutputStream)}.
+ * </p>
  */
 class Encoder {
   private static final Logger logger = Logger.getLogger(Encoder.class.getName());
+  // the reused array is dropped after encoding a message larger than this, so it does not hold on to a lot of memory
+  private static final int MAX_RETAINED_FRAME_SIZE = ByteBufferPool.MAX_POOLED_CAPACITY;
+  private static final ThreadLocal<FrameOutputStream> frameOutputStream =
+      ThreadLocal.withInitial(FrameOutputStream::new);
   private final NioWriter writer;
   private final IObjectStreamFactory objectStreamFactory;
   private final NioSocket nioSocket;
+  private final ByteBufferPool bufferPool;
+  private final Set<SocketChannel> negotiatedChannels = ConcurrentHashMap.newKeySet();
 
-  Encoder(final NioSocket nioSocket, final NioWriter writer, final IObjectStreamFactory objectStreamFactory) {
+  Encoder(final NioSocket nioSocket, final NioWriter writer, final IObjectStreamFactory objectStreamFactory,
+      final ByteBufferPool bufferPool) {
     this.nioSocket = nioSocket;
     this.writer = writer;
     this.objectStreamFactory = objectStreamFactory;
+    this.bufferPool = bufferPool;
   }
 
   void write(final SocketChannel to, final MessageHeader header) {
@@ -34,15 +60,9 @@ class Encoder {
     if (to == null) {
       throw new IllegalArgumentException("No to channel!");
     }
-    try {
-      final byte[] bytes = IoUtils.writeToMemory(os -> write(header, objectStreamFactory.create(os), to));
-      final SocketWriteData data = new SocketWriteData(bytes, bytes.length);
-      writer.enque(data, to);
-    } catch (final IOException e) {
-      // we arent doing any io, just writing in memory
-      // so something is very wrong
-      logger.log(Level.SEVERE, "Error writing object:" + header, e);
-      return;
+    final List<SocketWriteData> data = encode(header, to, 1, negotiatedChannels.contains(to));
+    if (data != null) {
+      writer.enque(data.get(0), to);
     }
   }
 
@@ -83,4 +103,89 @@ class Encoder {
     }
     out.reset();
   }
+
+  /**
+   * Writes the specified broadcast to each of the specified channels. The broadcast is serialized only once per
+   * stream format, and the packets of all channels using that format share one buffer, since the encoding of a
+   * broadcast does not depend on its recipient.
+   */
+  void writeBroadcast(final Collection<SocketChannel> to, final MessageHeader header) {
+    if (header.getFrom() == null) {
+      throw new IllegalArgumentException("No from node");
+    }
+    if (header.getFor() != null) {
+      throw new IllegalArgumentException("Not a broadcast:" + header);
+    }
+    if (to.isEmpty()) {
+      return;
+    }
+    final List<SocketChannel> negotiated = new ArrayList<>();
+    final List<SocketChannel> other = new ArrayList<>();
+    for (final SocketChannel channel : to) {
+      (negotiatedChannels.contains(channel) ? negotiated : other).add(channel);
+    }
+    writeBroadcast(negotiated, header, true);
+    writeBroadcast(other, header, false);
+  }
+
+  private void writeBroadcast(final List<SocketChannel> to, final MessageHeader header, final boolean negotiated) {
+    if (to.isEmpty()) {
+      return;
+    }
+    final List<SocketWriteData> data = encode(header, null, to.size(), negotiated);
+    if (data != null) {
+      final Iterator<SocketWriteData> packets = data.iterator();
+      for (final SocketChannel channel : to) {
+        writer.enque(packets.next(), channel);
+      }
+    }
+  }
+
+  /**
+   * Returns the specified number of packets sharing the encoded header, or null if it could not be encoded.
+   */
+  private @Nullable List<SocketWriteData> encode(final MessageHeader header, final @Nullable SocketChannel remote,
+      final int copies, final boolean negotiated) {
+    try {
+      final FrameOutputStream os = frameOutputStream.get();
+      os.reset();
+      try {
+        write(header, negotiated ? objectStreamFactory.createNegotiated(os) : objectStreamFactory.create(os), remote);
+        return os.toSocketWriteData(bufferPool, copies);
+      } finally {
+        if (os.size() > MAX_RETAINED_FRAME_SIZE) {
+          frameOutputStream.remove();
+        }
+      }
+    } catch (final IOException e) {
+      // we arent doing any io, just writing in memory
+      // so something is very wrong
+      logger.log(Level.SEVERE, "Error writing object:" + header, e);
+      return null;
+    }
+  }
+
+  /**
+   * Writes the next messages to the specified channel in the stream format negotiated with its peer.
+   */
+  void setStreamFormatNegotiated(final SocketChannel channel) {
+    negotiatedChannels.add(channel);
+  }
+
+  void closed(final SocketChannel channel) {
+    negotiatedChannels.remove(channel);
+  }
+
+  /**
+   * A byte array output stream whose contents can be copied into a packet without copying them to a new array first.
+   */
+  private static final class FrameOutputStream extends ByteArrayOutputStream {
+    FrameOutputStream() {
+      super(1024);
+    }
+
+    List<SocketWriteData> toSocketWriteData(final ByteBufferPool pool, final int copies) {
+      return SocketWriteData.newSharedPackets(buf, 0, count, pool, copies);
+    }
+  }
 }
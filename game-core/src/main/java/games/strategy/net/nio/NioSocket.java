@@ -3,9 +3,12 @@ package games.strategy.net.nio;
 import java.io.IOException;
 import java.net.Socket;
 import java.nio.channels.SocketChannel;
+import java.util.Collection;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.annotation.Nullable;
+
 import games.strategy.net.INode;
 import games.strategy.net.IObjectStreamFactory;
 import games.strategy.net.MessageHeader;
@@ -25,13 +28,16 @@ public class NioSocket implements ErrorReporter {
   private final NioWriter writer;
   private final NioReader reader;
   private final NioSocketListener listener;
+  private final IObjectStreamFactory objectStreamFactory;
 
   public NioSocket(final IObjectStreamFactory factory, final NioSocketListener listener, final String name) {
     this.listener = listener;
+    objectStreamFactory = factory;
+    final ByteBufferPool bufferPool = new ByteBufferPool();
     writer = new NioWriter(this, name);
-    reader = new NioReader(this, name);
+    reader = new NioReader(this, bufferPool, name);
     decoder = new Decoder(this, reader, this, factory, name);
-    encoder = new Encoder(this, writer, factory);
+    encoder = new Encoder(this, writer, factory, bufferPool);
   }
 
   INode getLocalNode() {
@@ -68,6 +74,23 @@ public class NioSocket implements ErrorReporter {
     encoder.write(to, header);
   }
 
+  /**
+   * Sends the specified broadcast message header through each of the specified channels. The message is serialized
+   * only once for all channels.
+   *
+   * @param to The destination channels.
+   * @param header The message header to send; it must not have a destination node.
+   */
+  public void send(final Collection<SocketChannel> to, final MessageHeader header) {
+    if (to == null) {
+      throw new IllegalArgumentException("to cant be null!");
+    }
+    if (header == null) {
+      throw new IllegalArgumentException("header cant be null");
+    }
+    encoder.writeBroadcast(to, header);
+  }
+
   /**
    * Add this channel.
    * The channel will either be unquarantined, or an error will be reported
@@ -81,6 +104,21 @@ public class NioSocket implements ErrorReporter {
     reader.add(channel);
   }
 
+  /**
+   * Returns the name of the stream format advertised to the peers while they log in, or {@code null} if none is.
+   */
+  @Nullable String getNegotiatedStreamFormat() {
+    return objectStreamFactory.getNegotiatedStreamFormat();
+  }
+
+  /**
+   * Writes the next messages to the specified channel in the format returned by {@link #getNegotiatedStreamFormat()},
+   * once its peer has advertised that it reads that format.
+   */
+  void setStreamFormatNegotiated(final SocketChannel channel) {
+    encoder.setStreamFormatNegotiated(channel);
+  }
+
   void unquarantine(final SocketChannel channel, final QuarantineConversation conversation) {
     listener.socketUnqaurantined(channel, conversation);
   }
@@ -111,6 +149,7 @@ public class NioSocket implements ErrorReporter {
       logger.log(Level.FINE, "error closing channel", e1);
     }
     decoder.closed(channel);
+    encoder.closed(channel);
     writer.closed(channel);
     reader.closed(channel);
   }
@@ -3,6 +3,7 @@ package games.strategy.net.nio;
 import java.io.IOException;
 import java.net.Socket;
 import java.net.SocketAddress;
+import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
@@ -20,9 +21,16 @@ import java.util.logging.Logger;
  * A thread that writes socket data using NIO .
  * Data is written in packets that are enqueued on our buffer.
  * Packets are sent to the sockets in the order that they are received.
+ *
+ * <p>
+ * Several queued packets for the same socket are written with one gathering write, and the buffer of each packet is
+ * returned to its pool once the packet has been written completely.
+ * </p>
  */
 class NioWriter {
   private static final Logger logger = Logger.getLogger(NioWriter.class.getName());
+  // the maximum number of queued packets that are written to a socket at once
+  private static final int MAX_PACKETS_PER_WRITE = 16;
   private final Selector selector;
   private final ErrorReporter errorReporter;
   // this is the data we are writing
@@ -100,30 +108,10 @@ class NioWriter {
           iter.remove();
           if (key.isValid() && key.isWritable()) {
             final SocketChannel channel = (SocketChannel) key.channel();
-            final SocketWriteData packet = getData(channel);
-            if (packet != null) {
+            final List<SocketWriteData> packets = getData(channel);
+            if (!packets.isEmpty()) {
               try {
-                if (logger.isLoggable(Level.FINEST)) {
-                  logger.finest("writing packet:" + packet + " to:" + channel.socket().getRemoteSocketAddress());
-                }
-                final boolean done = packet.write(channel);
-                if (done) {
-                  totalBytes += packet.size();
-                  if (logger.isLoggable(Level.FINE)) {
-                    String remote = "null";
-                    final Socket s = channel.socket();
-                    SocketAddress sa = null;
-                    if (s != null) {
-                      sa = s.getRemoteSocketAddress();
-                    }
-                    if (sa != null) {
-                      remote = sa.toString();
-                    }
-                    logger.log(Level.FINE, " done writing to:" + remote + " size:" + packet.size() + " writeCalls;"
-                        + packet.getWriteCalls() + " total:" + totalBytes);
-                  }
-                  removeLast(channel);
-                }
+                write(channel, packets);
               } catch (final Exception e) {
                 logger.log(Level.FINER, "exception writing", e);
                 errorReporter.error(channel, e);
@@ -145,8 +133,43 @@ class NioWriter {
     }
   }
 
+  private void write(final SocketChannel channel, final List<SocketWriteData> packets) throws IOException {
+    if (logger.isLoggable(Level.FINEST)) {
+      logger.finest("writing packets:" + packets + " to:" + channel.socket().getRemoteSocketAddress());
+    }
+    final ByteBuffer[] buffers = new ByteBuffer[packets.size()];
+    for (int i = 0; i < buffers.length; i++) {
+      buffers[i] = packets.get(i).getBuffer();
+    }
+    if (channel.write(buffers) == -1) {
+      throw new IOException("triplea: end of stream detected");
+    }
+    for (final SocketWriteData packet : packets) {
+      if (!packet.isDone()) {
+        break;
+      }
+      totalBytes += packet.size();
+      if (logger.isLoggable(Level.FINE)) {
+        String remote = "null";
+        final Socket s = channel.socket();
+        SocketAddress sa = null;
+        if (s != null) {
+          sa = s.getRemoteSocketAddress();
+        }
+        if (sa != null) {
+          remote = sa.toString();
+        }
+        logger.log(Level.FINE, " done writing to:" + remote + " size:" + packet.size() + " writeCalls;"
+            + packet.getWriteCalls() + " total:" + totalBytes);
+      }
+      removeLast(channel);
+      packet.release();
+    }
+  }
+
   /**
    * Remove the data for this channel.
+   * The buffers of its packets are not returned to their pool, since they may still be in use by the writing thread.
    */
   void closed(final SocketChannel channel) {
     removeAll(channel);
@@ -173,16 +196,13 @@ class NioWriter {
     }
   }
 
-  private SocketWriteData getData(final SocketChannel to) {
+  private List<SocketWriteData> getData(final SocketChannel to) {
     synchronized (mutex) {
-      if (!writing.containsKey(to)) {
-        return null;
-      }
       final List<SocketWriteData> values = writing.get(to);
-      if (values.isEmpty()) {
-        return null;
+      if (values == null) {
+        return new ArrayList<>();
       }
-      return values.get(0);
+      return new ArrayList<>(values.subList(0, Math.min(values.size(), MAX_PACKETS_PER_WRITE)));
     }
   }
 
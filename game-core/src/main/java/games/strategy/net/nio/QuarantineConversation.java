@@ -16,6 +16,12 @@ package games.strategy.net.nio;
  * </p>
  */
 public abstract class QuarantineConversation {
+  /**
+   * The property of the login challenge and response in which the server and the client advertise the stream format
+   * they can read in addition to the regular one, see {@link games.strategy.net.IObjectStreamFactory}.
+   */
+  static final String STREAM_FORMAT_PROPERTY = "Stream Format";
+
   /**
    * The action to be performed after reading a message.
    */
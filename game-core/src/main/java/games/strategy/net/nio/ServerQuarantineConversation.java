@@ -3,6 +3,7 @@ package games.strategy.net.nio;
 import java.io.Serializable;
 import java.net.InetSocketAddress;
 import java.nio.channels.SocketChannel;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -21,7 +22,8 @@ public class ServerQuarantineConversation extends QuarantineConversation {
    * 1) server reads client name
    * 2) server sends challenge (or null if no challenge is to be made)
    * 3) server reads response (or null if no challenge)
-   * 4) server send null then client name and node info on success, or an error message if there is an error
+   * 4) server send null then client name and node info on success, or an error message if there is an error; the name
+   * and node info are written in the stream format advertised in the challenge if the response advertised it too
    * 5) if the client reads an error message, the client sends an acknowledgment (we need to make sur the client gets
    * the message before
    * closing the socket).
@@ -72,6 +74,11 @@ public class ServerQuarantineConversation extends QuarantineConversation {
           if (validator != null) {
             challenge = validator.getChallengeProperties(remoteName, channel.socket().getRemoteSocketAddress());
           }
+          final String streamFormat = socket.getNegotiatedStreamFormat();
+          if (challenge != null && streamFormat != null) {
+            challenge = new HashMap<>(challenge);
+            challenge.put(STREAM_FORMAT_PROPERTY, streamFormat);
+          }
           send((Serializable) challenge);
           step = Step.CHALLENGE;
           return Action.NONE;
@@ -89,6 +96,11 @@ public class ServerQuarantineConversation extends QuarantineConversation {
           } else {
             send(null);
           }
+          // the client read our stream format in the challenge, so it can read the rest of the login in it
+          if (response != null && socket.getNegotiatedStreamFormat() != null
+              && socket.getNegotiatedStreamFormat().equals(response.get(STREAM_FORMAT_PROPERTY))) {
+            socket.setStreamFormatNegotiated(channel);
+          }
           // get a unique name
           remoteName = serverMessenger.getUniqueName(remoteName);
           // send the node its name and our name
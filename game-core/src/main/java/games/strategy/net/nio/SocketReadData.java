@@ -1,7 +1,9 @@
 package games.strategy.net.nio;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.SocketChannel;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
@@ -11,7 +13,8 @@ import java.util.logging.Logger;
  * A packet of data being read over the network.
  *
  * <p>
- * A Packet does not correspond to a network packet, rather it is the bytes for 1 serialized java object.
+ * A Packet does not correspond to a network packet, rather it is the bytes for 1 serialized java object. The bytes
+ * are read into a buffer from a {@link ByteBufferPool}, which is returned to the pool by {@link #release()}.
  * </p>
  */
 class SocketReadData {
@@ -30,11 +33,13 @@ class SocketReadData {
   // we read into here after knowing out size
   private ByteBuffer contentBuffer;
   private final SocketChannel channel;
+  private final ByteBufferPool pool;
   private final int number = counter.incrementAndGet();
   private int readCalls;
 
-  public SocketReadData(final SocketChannel channel) {
+  public SocketReadData(final SocketChannel channel, final ByteBufferPool pool) {
     this.channel = channel;
+    this.pool = pool;
   }
 
   /**
@@ -44,7 +49,7 @@ class SocketReadData {
    * If we detect the socket is closed, we will throw an IOExcpetion
    * </p>
    */
-  public boolean read(final SocketChannel channel) throws IOException {
+  public boolean read(final ReadableByteChannel channel) throws IOException {
     readCalls++;
     // we dont know our size, read it
     if (targetSize < 0) {
@@ -72,7 +77,7 @@ class SocketReadData {
         if (targetSize <= 0 || targetSize > MAX_MESSAGE_SIZE) {
           throw new IOException("Invalid triplea packet size:" + targetSize);
         }
-        contentBuffer = ByteBuffer.allocate(targetSize);
+        contentBuffer = pool.acquire(targetSize);
         sizeBuffer = null;
       } else {
         // we ddnt read all 4 bytes, return
@@ -95,15 +100,61 @@ class SocketReadData {
   }
 
   /**
-   * Get the data as a byte[].
+   * Returns a stream of the data of this packet, which is valid until {@link #release()} is called.
    * This method can only be called once.
    */
-  public byte[] getData() {
-    final byte[] data = new byte[contentBuffer.capacity()];
+  public InputStream getInputStream() {
     contentBuffer.flip();
-    contentBuffer.get(data);
-    contentBuffer = null;
-    return data;
+    final ByteBuffer data = contentBuffer;
+    return new InputStream() {
+      @Override
+      public int read() {
+        return data.hasRemaining() ? data.get() & 0xFF : -1;
+      }
+
+      @Override
+      public int read(final byte[] bytes, final int offset, final int length) {
+        if (length == 0) {
+          return 0;
+        }
+        if (!data.hasRemaining()) {
+          return -1;
+        }
+        final int count = Math.min(length, data.remaining());
+        data.get(bytes, offset, count);
+        return count;
+      }
+
+      @Override
+      public int available() {
+        return data.remaining();
+      }
+
+      @Override
+      public boolean markSupported() {
+        return true;
+      }
+
+      @Override
+      public void mark(final int readLimit) {
+        data.mark();
+      }
+
+      @Override
+      public void reset() {
+        data.reset();
+      }
+    };
+  }
+
+  /**
+   * Returns the buffer of this packet to its pool, after the data has been read.
+   */
+  public void release() {
+    if (contentBuffer != null) {
+      pool.release(contentBuffer);
+      contentBuffer = null;
+    }
   }
 
   public int size() {
@@ -1,8 +1,12 @@
 package games.strategy.net.nio;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -15,33 +19,69 @@ import java.util.logging.Logger;
  * </p>
  *
  * <p>
- * The packet is written over the network as 32 bits indicating the size in bytes, then the data itself.
+ * The packet is written over the network as 32 bits indicating the size in bytes, then the data itself. Both are
+ * held in one buffer from a {@link ByteBufferPool}, so that they can be written in one go, along with other packets.
+ * Packets with the same content for several sockets may share that buffer, see
+ * {@link #newSharedPackets(byte[], int, int, ByteBufferPool, int)}; it is returned to its pool once all of them have
+ * been released.
  * </p>
  */
 class SocketWriteData {
   private static final Logger logger = Logger.getLogger(SocketWriteData.class.getName());
   private static final AtomicInteger counter = new AtomicInteger();
-  private final ByteBuffer size;
-  private final ByteBuffer content;
+  // the buffer from the pool, possibly shared with other packets
+  private final ByteBuffer buffer;
+  // this packet's view of the buffer
+  private final ByteBuffer frame;
+  private final AtomicInteger references;
+  private final ByteBufferPool pool;
   private final int number = counter.incrementAndGet();
   // how many times we called write before we finished writing ourselves
   private int writeCalls = 0;
 
-  SocketWriteData(final byte[] data, int count) {
-    content = ByteBuffer.allocate(count);
-    content.put(data, 0, count);
-    size = ByteBuffer.allocate(4);
+  /**
+   * Creates a packet for the specified content, with the size written in front of it, in a buffer from the specified
+   * pool.
+   */
+  SocketWriteData(final byte[] data, final int offset, final int count, final ByteBufferPool pool) {
     if (count < 0 || count > SocketReadData.MAX_MESSAGE_SIZE) {
       throw new IllegalStateException("Invalid message size:" + count);
     }
-    count = count ^ SocketReadData.MAGIC;
-    size.putInt(count);
-    size.flip();
-    content.flip();
+    this.pool = pool;
+    buffer = pool.acquire(count + 4);
+    buffer.putInt(count ^ SocketReadData.MAGIC);
+    buffer.put(data, offset, count);
+    buffer.flip();
+    frame = buffer;
+    references = new AtomicInteger(1);
+  }
+
+  private SocketWriteData(final SocketWriteData shared) {
+    pool = shared.pool;
+    buffer = shared.buffer;
+    frame = shared.buffer.duplicate();
+    references = shared.references;
+    references.incrementAndGet();
+  }
+
+  /**
+   * Creates the specified number of packets with the same content, which share one buffer from the specified pool.
+   * Each packet keeps track of how much of it has been written on its own.
+   */
+  static List<SocketWriteData> newSharedPackets(final byte[] data, final int offset, final int count,
+      final ByteBufferPool pool, final int copies) {
+    checkArgument(copies > 0, "copies must be positive");
+    final List<SocketWriteData> packets = new ArrayList<>(copies);
+    final SocketWriteData packet = new SocketWriteData(data, offset, count, pool);
+    packets.add(packet);
+    while (packets.size() < copies) {
+      packets.add(new SocketWriteData(packet));
+    }
+    return packets;
   }
 
   int size() {
-    return size.capacity() + content.capacity();
+    return frame.limit();
   }
 
   int getWriteCalls() {
@@ -49,35 +89,44 @@ class SocketWriteData {
   }
 
   /**
-   * @return true if the write has written the entire message.
+   * Returns the remaining data to write, for writing several packets at once. The returned buffer is only valid until
+   * {@link #release()} is called.
    */
-  boolean write(final SocketChannel channel) throws IOException {
+  ByteBuffer getBuffer() {
     writeCalls++;
-    if (size.hasRemaining()) {
-      final int count = channel.write(size);
-      if (count == -1) {
-        throw new IOException("triplea: end of stream detected");
-      }
-      if (logger.isLoggable(Level.FINEST)) {
-        logger.finest("wrote size_buffer bytes:" + count);
-      }
-      // we could not write everything
-      if (size.hasRemaining()) {
-        return false;
-      }
+    return frame;
+  }
+
+  boolean isDone() {
+    return !frame.hasRemaining();
+  }
+
+  /**
+   * Returns the buffer of this packet to its pool once the entire packet has been written, or after the last packet
+   * sharing the buffer has been released.
+   */
+  void release() {
+    if (references.decrementAndGet() == 0) {
+      pool.release(buffer);
     }
-    final int count = channel.write(content);
+  }
+
+  /**
+   * @return true if the write has written the entire message.
+   */
+  boolean write(final WritableByteChannel channel) throws IOException {
+    final int count = channel.write(getBuffer());
     if (count == -1) {
       throw new IOException("triplea: end of stream detected");
     }
     if (logger.isLoggable(Level.FINEST)) {
-      logger.finest("wrote content bytes:" + count);
+      logger.finest("wrote bytes:" + count);
     }
-    return !content.hasRemaining();
+    return isDone();
   }
 
   @Override
   public String toString() {
-    return "<id:" + number + " size:" + content.capacity() + ">";
+    return "<id:" + number + " size:" + frame.limit() + ">";
   }
 }
@@ -15,6 +15,7 @@ import games.strategy.engine.data.Unit;
 import games.strategy.engine.data.UnitType;
 import games.strategy.engine.data.annotations.GameProperty;
 import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.net.GUID;
 import games.strategy.triplea.attachments.TechAbilityAttachment;
 import games.strategy.triplea.attachments.TerritoryAttachment;
 import games.strategy.triplea.attachments.UnitAttachment;
@@ -95,6 +96,10 @@ public class TripleAUnit extends Unit {
     super(type, owner, data);
   }
 
+  public TripleAUnit(final UnitType type, final PlayerID owner, final GameData data, final GUID id) {
+    super(type, owner, data, id);
+  }
+
   public Unit getTransportedBy() {
     return m_transportedBy;
   }
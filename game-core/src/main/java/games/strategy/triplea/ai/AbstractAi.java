@@ -73,6 +73,7 @@ import games.strategy.util.Tuple;
 public abstract class AbstractAi extends AbstractBasePlayer implements ITripleAPlayer {
 
   private static final Logger logger = Logger.getLogger(AbstractAi.class.getName());
+  private static volatile boolean pauseEnabled = true;
 
   public AbstractAi(final String name, final String type) {
     super(name, type);
@@ -662,6 +663,20 @@ public abstract class AbstractAi extends AbstractBasePlayer implements ITripleAP
    * Pause the game to allow the human player to see what is going on.
    */
   protected static void pause() {
-    Interruptibles.sleep(ClientSetting.AI_PAUSE_DURATION.intValue());
+    Interruptibles.sleep(getPauseDuration());
+  }
+
+  /**
+   * Returns the duration, in milliseconds, of the pauses of the AIs, which is zero when pausing is disabled.
+   */
+  public static long getPauseDuration() {
+    return pauseEnabled ? ClientSetting.AI_PAUSE_DURATION.intValue() : 0;
+  }
+
+  /**
+   * Enables or disables the pauses of all AIs, e.g. when no human watches the game.
+   */
+  public static void setPauseEnabled(final boolean pauseEnabled) {
+    AbstractAi.pauseEnabled = pauseEnabled;
   }
 }
@@ -7,7 +7,6 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.logging.Level;
 
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameStep;
@@ -15,7 +14,6 @@ import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.Unit;
 import games.strategy.engine.delegate.IDelegateBridge;
-import games.strategy.engine.framework.GameDataUtils;
 import games.strategy.net.GUID;
 import games.strategy.triplea.Properties;
 import games.strategy.triplea.ai.AbstractAi;
@@ -26,6 +24,7 @@ import games.strategy.triplea.ai.proAI.logging.ProLogUi;
 import games.strategy.triplea.ai.proAI.logging.ProLogger;
 import games.strategy.triplea.ai.proAI.simulate.ProDummyDelegateBridge;
 import games.strategy.triplea.ai.proAI.simulate.ProSimulateTurnUtils;
+import games.strategy.triplea.ai.proAI.simulate.ProSimulationSandbox;
 import games.strategy.triplea.ai.proAI.util.ProBattleUtils;
 import games.strategy.triplea.ai.proAI.util.ProMatches;
 import games.strategy.triplea.ai.proAI.util.ProOddsCalculator;
@@ -46,6 +45,7 @@ import games.strategy.triplea.delegate.remote.IAbstractPlaceDelegate;
 import games.strategy.triplea.delegate.remote.IMoveDelegate;
 import games.strategy.triplea.delegate.remote.IPurchaseDelegate;
 import games.strategy.triplea.delegate.remote.ITechDelegate;
+import games.strategy.triplea.oddsCalculator.ta.CachingOddsCalculator;
 import games.strategy.triplea.oddsCalculator.ta.ConcurrentOddsCalculator;
 import games.strategy.triplea.oddsCalculator.ta.IOddsCalculator;
 import games.strategy.triplea.ui.TripleAFrame;
@@ -58,8 +58,11 @@ import games.strategy.util.Tuple;
 public class ProAi extends AbstractAi {
 
   // Odds calculator
-  private static final IOddsCalculator concurrentCalc = new ConcurrentOddsCalculator("ProAi");
+  private static final IOddsCalculator concurrentCalc =
+      new CachingOddsCalculator(new ConcurrentOddsCalculator("ProAi"));
+  private final IOddsCalculator oddsCalculator;
   protected ProOddsCalculator calc;
+  private final ProData proData;
 
   // Phases
   private final ProCombatMoveAi combatMoveAi;
@@ -75,9 +78,20 @@ public class ProAi extends AbstractAi {
   private Map<Territory, ProPurchaseTerritory> storedPurchaseTerritories;
   private List<PoliticalActionAttachment> storedPoliticalActions;
   private List<Territory> storedStrafingTerritories;
+  private ProSimulationSandbox simulationSandbox;
 
   public ProAi(final String name, final String type) {
+    this(name, type, concurrentCalc);
+  }
+
+  /**
+   * Creates a Pro AI that uses the specified odds calculator instead of the one shared by all Pro AIs, e.g. so that
+   * AIs playing different games at the same time don't replace each other's game data in the calculator.
+   */
+  public ProAi(final String name, final String type, final IOddsCalculator oddsCalculator) {
     super(name, type);
+    this.oddsCalculator = oddsCalculator;
+    proData = new ProData();
     initializeCalc();
     combatMoveAi = new ProCombatMoveAi(this);
     nonCombatMoveAi = new ProNonCombatMoveAi(this);
@@ -93,13 +107,17 @@ public class ProAi extends AbstractAi {
   }
 
   protected void initializeCalc() {
-    calc = new ProOddsCalculator(concurrentCalc);
+    calc = new ProOddsCalculator(oddsCalculator, proData);
   }
 
   public ProOddsCalculator getCalc() {
     return calc;
   }
 
+  public ProData getProData() {
+    return proData;
+  }
+
   public static void initialize(final TripleAFrame frame) {
     ProLogUi.initialize(frame);
     ProLogger.info("Initialized Hard AI");
@@ -120,10 +138,18 @@ public class ProAi extends AbstractAi {
   public void stopGame() {
     super.stopGame(); // absolutely MUST call super.stopGame() first
     calc.cancelCalcs();
+    closeSimulationSandbox();
+  }
+
+  private void closeSimulationSandbox() {
+    if (simulationSandbox != null) {
+      simulationSandbox.close();
+      simulationSandbox = null;
+    }
   }
 
   private void initializeData() {
-    ProData.initialize(this);
+    proData.initialize(this);
   }
 
   public void setStoredStrafingTerritories(final List<Territory> strafingTerritories) {
@@ -172,7 +198,8 @@ public class ProAi extends AbstractAi {
       purchaseAi.repair(pusToSpend, purchaseDelegate, data, player);
 
       // Check if any place territories exist
-      final Map<Territory, ProPurchaseTerritory> purchaseTerritories = ProPurchaseUtils.findPurchaseTerritories(player);
+      final Map<Territory, ProPurchaseTerritory> purchaseTerritories = ProPurchaseUtils.findPurchaseTerritories(proData,
+          player);
       final List<Territory> possibleFactoryTerritories = CollectionUtils.getMatches(data.getMap().getTerritories(),
           ProMatches.territoryHasNoInfraFactoryAndIsNotConqueredOwnedLand(player, data));
       if (purchaseTerritories.isEmpty() && possibleFactoryTerritories.isEmpty()) {
@@ -181,68 +208,71 @@ public class ProAi extends AbstractAi {
       }
       ProLogger.info("Starting simulation for purchase phase");
 
-      // Setup data copy and delegates
-      GameData dataCopy;
-      try {
-        data.acquireReadLock();
-        dataCopy = GameDataUtils.cloneGameData(data, true);
-      } catch (final Throwable t) {
-        ProLogger.log(Level.WARNING, "Error trying to clone game data for simulating phases", t);
-        return;
-      } finally {
-        data.releaseReadLock();
+      // Check out the simulation sandbox, a copy of the data kept in sync with it
+      if (simulationSandbox == null || !simulationSandbox.isFor(data)) {
+        closeSimulationSandbox();
+        simulationSandbox = new ProSimulationSandbox(data);
       }
-      calc.setData(dataCopy);
-      final PlayerID playerCopy = dataCopy.getPlayerList().getPlayerId(player.getName());
-      final IMoveDelegate moveDel = DelegateFinder.moveDelegate(dataCopy);
-      final IDelegateBridge bridge = new ProDummyDelegateBridge(this, playerCopy, dataCopy);
-      moveDel.setDelegateBridgeAndPlayer(bridge);
-
-      // Determine turn sequence
-      final List<GameStep> gameSteps = new ArrayList<>();
-      for (final GameStep gameStep : dataCopy.getSequence()) {
-        gameSteps.add(gameStep);
+      final GameData dataCopy = simulationSandbox.checkout();
+      if (dataCopy == null) {
+        ProLogger.warn("Error trying to clone game data for simulating phases");
+        return;
       }
-
-      // Simulate the next phases until place/end of turn is reached then use simulated data for purchase
-      final int nextStepIndex = dataCopy.getSequence().getStepIndex() + 1;
-      for (int i = nextStepIndex; i < gameSteps.size(); i++) {
-        final GameStep step = gameSteps.get(i);
-        if (!playerCopy.equals(step.getPlayerId())) {
-          continue;
+      try {
+        calc.setData(dataCopy);
+        final PlayerID playerCopy = dataCopy.getPlayerList().getPlayerId(player.getName());
+        final IMoveDelegate moveDel = DelegateFinder.moveDelegate(dataCopy);
+        final IDelegateBridge bridge = new ProDummyDelegateBridge(this, playerCopy, dataCopy);
+        moveDel.setDelegateBridgeAndPlayer(bridge);
+
+        // Determine turn sequence
+        final List<GameStep> gameSteps = new ArrayList<>();
+        for (final GameStep gameStep : dataCopy.getSequence()) {
+          gameSteps.add(gameStep);
         }
-        dataCopy.getSequence().setRoundAndStep(dataCopy.getSequence().getRound(), step.getDisplayName(),
-            step.getPlayerId());
-        final String stepName = step.getName();
-        ProLogger.info("Simulating phase: " + stepName);
-        if (stepName.endsWith("NonCombatMove")) {
-          ProData.initializeSimulation(this, dataCopy, playerCopy);
-          final Map<Territory, ProTerritory> factoryMoveMap = nonCombatMoveAi.simulateNonCombatMove(moveDel);
-          if (storedFactoryMoveMap == null) {
-            storedFactoryMoveMap = ProSimulateTurnUtils.transferMoveMap(factoryMoveMap, data, player);
-          }
-        } else if (stepName.endsWith("CombatMove") && !stepName.endsWith("AirborneCombatMove")) {
-          ProData.initializeSimulation(this, dataCopy, playerCopy);
-          final Map<Territory, ProTerritory> moveMap = combatMoveAi.doCombatMove(moveDel);
-          if (storedCombatMoveMap == null) {
-            storedCombatMoveMap = ProSimulateTurnUtils.transferMoveMap(moveMap, data, player);
+
+        // Simulate the next phases until place/end of turn is reached then use simulated data for purchase
+        final int nextStepIndex = dataCopy.getSequence().getStepIndex() + 1;
+        for (int i = nextStepIndex; i < gameSteps.size(); i++) {
+          final GameStep step = gameSteps.get(i);
+          if (!playerCopy.equals(step.getPlayerId())) {
+            continue;
           }
-        } else if (stepName.endsWith("Battle")) {
-          ProData.initializeSimulation(this, dataCopy, playerCopy);
-          ProSimulateTurnUtils.simulateBattles(dataCopy, playerCopy, bridge, calc);
-        } else if (stepName.endsWith("Place") || stepName.endsWith("EndTurn")) {
-          ProData.initializeSimulation(this, dataCopy, player);
-          storedPurchaseTerritories = purchaseAi.purchase(purchaseDelegate, data);
-          break;
-        } else if (stepName.endsWith("Politics")) {
-          ProData.initializeSimulation(this, dataCopy, player);
-          final PoliticsDelegate politicsDelegate = DelegateFinder.politicsDelegate(dataCopy);
-          politicsDelegate.setDelegateBridgeAndPlayer(bridge);
-          final List<PoliticalActionAttachment> actions = politicsAi.politicalActions();
-          if (storedPoliticalActions == null) {
-            storedPoliticalActions = actions;
+          dataCopy.getSequence().setRoundAndStep(dataCopy.getSequence().getRound(), step.getDisplayName(),
+              step.getPlayerId());
+          final String stepName = step.getName();
+          ProLogger.info("Simulating phase: " + stepName);
+          if (stepName.endsWith("NonCombatMove")) {
+            proData.initializeSimulation(this, dataCopy, playerCopy);
+            final Map<Territory, ProTerritory> factoryMoveMap = nonCombatMoveAi.simulateNonCombatMove(moveDel);
+            if (storedFactoryMoveMap == null) {
+              storedFactoryMoveMap = ProSimulateTurnUtils.transferMoveMap(proData, factoryMoveMap, data, player);
+            }
+          } else if (stepName.endsWith("CombatMove") && !stepName.endsWith("AirborneCombatMove")) {
+            proData.initializeSimulation(this, dataCopy, playerCopy);
+            final Map<Territory, ProTerritory> moveMap = combatMoveAi.doCombatMove(moveDel);
+            if (storedCombatMoveMap == null) {
+              storedCombatMoveMap = ProSimulateTurnUtils.transferMoveMap(proData, moveMap, data, player);
+            }
+          } else if (stepName.endsWith("Battle")) {
+            proData.initializeSimulation(this, dataCopy, playerCopy);
+            ProSimulateTurnUtils.simulateBattles(dataCopy, playerCopy, bridge, calc);
+          } else if (stepName.endsWith("Place") || stepName.endsWith("EndTurn")) {
+            proData.initializeSimulation(this, dataCopy, player);
+            storedPurchaseTerritories = purchaseAi.purchase(purchaseDelegate, data);
+            break;
+          } else if (stepName.endsWith("Politics")) {
+            proData.initializeSimulation(this, dataCopy, player);
+            final PoliticsDelegate politicsDelegate = DelegateFinder.politicsDelegate(dataCopy);
+            politicsDelegate.setDelegateBridgeAndPlayer(bridge);
+            final List<PoliticalActionAttachment> actions = politicsAi.politicalActions();
+            if (storedPoliticalActions == null) {
+              storedPoliticalActions = actions;
+            }
           }
         }
+      } finally {
+        simulationSandbox.rollback();
       }
     }
     ProLogger.info(player.getName() + " time for purchase=" + (System.currentTimeMillis() - start));
@@ -285,7 +315,8 @@ public class ProAi extends AbstractAi {
     final boolean isAttacker = player.equals(battle.getAttacker());
     final List<Unit> attackers = (List<Unit>) battle.getAttackingUnits();
     final List<Unit> defenders = (List<Unit>) battle.getDefendingUnits();
-    final double strengthDifference = ProBattleUtils.estimateStrengthDifference(battleTerritory, attackers, defenders);
+    final double strengthDifference = ProBattleUtils.estimateStrengthDifference(proData, battleTerritory, attackers,
+        defenders);
     final boolean isStrafing = isAttacker && storedStrafingTerritories.contains(battleTerritory);
     ProLogger.info(player.getName() + " checking retreat from territory " + battleTerritory + ", attackers="
         + attackers.size() + ", defenders=" + defenders.size() + ", submerge=" + submerge + ", attacker=" + isAttacker
@@ -332,7 +363,7 @@ public class ProAi extends AbstractAi {
     myCasualties.addToDamaged(defaultCasualties.getDamaged());
     final List<Unit> selectFromSorted = new ArrayList<>(selectFrom);
     if (enemyUnits.isEmpty()) {
-      Collections.sort(selectFromSorted, ProPurchaseUtils.getCostComparator());
+      Collections.sort(selectFromSorted, ProPurchaseUtils.getCostComparator(proData));
     } else {
 
       // Get battle data
@@ -348,7 +379,8 @@ public class ProAi extends AbstractAi {
         final List<Unit> attackers = (List<Unit>) battle.getAttackingUnits();
         final List<Unit> defenders = (List<Unit>) battle.getDefendingUnits();
         defenders.removeAll(defaultCasualties.getKilled());
-        final double strengthDifference = ProBattleUtils.estimateStrengthDifference(battlesite, attackers, defenders);
+        final double strengthDifference = ProBattleUtils.estimateStrengthDifference(proData, battlesite, attackers,
+            defenders);
         int minStrengthDifference = 60;
         if (!Properties.getLowLuck(data)) {
           minStrengthDifference = 55;
@@ -364,8 +396,8 @@ public class ProAi extends AbstractAi {
         for (int i = 0; i < selectFromSorted.size() - 1; i++) {
           final Unit unit1 = selectFromSorted.get(i);
           final Unit unit2 = selectFromSorted.get(i + 1);
-          final double unitCost1 = ProPurchaseUtils.getCost(unit1);
-          final double unitCost2 = ProPurchaseUtils.getCost(unit2);
+          final double unitCost1 = ProPurchaseUtils.getCost(proData, unit1);
+          final double unitCost2 = ProPurchaseUtils.getCost(proData, unit2);
           if (unitCost1 > 1.5 * unitCost2) {
             selectFromSorted.set(i, unit2);
             selectFromSorted.set(i + 1, unit1);
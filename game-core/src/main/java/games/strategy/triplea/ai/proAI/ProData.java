@@ -13,6 +13,7 @@ import games.strategy.engine.data.UnitType;
 import games.strategy.triplea.Properties;
 import games.strategy.triplea.ai.proAI.data.ProPurchaseOption;
 import games.strategy.triplea.ai.proAI.data.ProPurchaseOptionMap;
+import games.strategy.triplea.ai.proAI.util.ProTerritoryValueCache;
 import games.strategy.triplea.ai.proAI.util.ProUtils;
 import games.strategy.triplea.attachments.TerritoryAttachment;
 import games.strategy.triplea.delegate.Matches;
@@ -22,39 +23,49 @@ import games.strategy.util.IntegerMap;
 
 /**
  * Pro AI data.
+ *
+ * <p>
+ * Each {@link ProAi} owns one instance, which is initialized at the start of each of its phases, or for a simulation
+ * of its turn, and passed to everything that needs it. Since no state is shared between instances, several Pro AIs
+ * can compute their moves concurrently.
+ * </p>
  */
-public class ProData {
+public final class ProData {
 
-  private static ProAi proAi;
-  private static GameData data;
-  private static PlayerID player;
+  private ProAi proAi;
+  private GameData data;
+  private PlayerID player;
 
   // Default values
-  public static boolean isSimulation = false;
-  public static double winPercentage = 95;
-  public static double minWinPercentage = 75;
-  public static boolean areNeutralsPassableByAir = false;
-  public static Territory myCapital = null;
-  public static List<Territory> myUnitTerritories = new ArrayList<>();
-  public static Map<Unit, Territory> unitTerritoryMap = new HashMap<>();
-  public static IntegerMap<UnitType> unitValueMap = new IntegerMap<>();
-  public static ProPurchaseOptionMap purchaseOptions = null;
-  public static double minCostPerHitPoint = Double.MAX_VALUE;
-
-  public static void initialize(final ProAi proAi) {
+  private boolean isSimulation = false;
+  private double winPercentage = 95;
+  private double minWinPercentage = 75;
+  private boolean areNeutralsPassableByAir = false;
+  private Territory myCapital = null;
+  private List<Territory> myUnitTerritories = new ArrayList<>();
+  private Map<Unit, Territory> unitTerritoryMap = new HashMap<>();
+  private IntegerMap<UnitType> unitValueMap = new IntegerMap<>();
+  private ProPurchaseOptionMap purchaseOptions = null;
+  private double minCostPerHitPoint = Double.MAX_VALUE;
+
+  // Kept across phases, one for the game data and one for the data copy of the current simulation
+  private ProTerritoryValueCache territoryValueCache = null;
+  private ProTerritoryValueCache simulationTerritoryValueCache = null;
+
+  public void initialize(final ProAi proAi) {
     hiddenInitialize(proAi, proAi.getGameData(), proAi.getPlayerId(), false);
   }
 
-  public static void initializeSimulation(final ProAi proAi, final GameData data, final PlayerID player) {
+  public void initializeSimulation(final ProAi proAi, final GameData data, final PlayerID player) {
     hiddenInitialize(proAi, data, player, true);
   }
 
-  private static void hiddenInitialize(final ProAi proAi, final GameData data, final PlayerID player,
+  private void hiddenInitialize(final ProAi proAi, final GameData data, final PlayerID player,
       final boolean isSimulation) {
-    ProData.proAi = proAi;
-    ProData.data = data;
-    ProData.player = player;
-    ProData.isSimulation = isSimulation;
+    this.proAi = proAi;
+    this.data = data;
+    this.player = player;
+    this.isSimulation = isSimulation;
 
     if (!Properties.getLowLuck(data)) {
       winPercentage = 90;
@@ -64,24 +75,83 @@ public class ProData {
     myCapital = TerritoryAttachment.getFirstOwnedCapitalOrFirstUnownedCapital(player, data);
     myUnitTerritories =
         CollectionUtils.getMatches(data.getMap().getTerritories(), Matches.territoryHasUnitsOwnedBy(player));
-    unitTerritoryMap = ProUtils.createUnitTerritoryMap();
+    unitTerritoryMap = ProUtils.createUnitTerritoryMap(data);
     unitValueMap = TuvUtils.getCostsForTuv(player, data);
     purchaseOptions = new ProPurchaseOptionMap(player, data);
     minCostPerHitPoint = getMinCostPerHitPoint(purchaseOptions.getLandOptions());
+    if (isSimulation) {
+      if (simulationTerritoryValueCache == null || !simulationTerritoryValueCache.isFor(data)) {
+        simulationTerritoryValueCache = new ProTerritoryValueCache(data);
+      }
+    } else if (territoryValueCache == null || !territoryValueCache.isFor(data)) {
+      territoryValueCache = new ProTerritoryValueCache(data);
+    }
   }
 
-  public static ProAi getProAi() {
+  public ProAi getProAi() {
     return proAi;
   }
 
-  public static GameData getData() {
+  public GameData getData() {
     return data;
   }
 
-  public static PlayerID getPlayer() {
+  public PlayerID getPlayer() {
     return player;
   }
 
+  public boolean isSimulation() {
+    return isSimulation;
+  }
+
+  public double getWinPercentage() {
+    return winPercentage;
+  }
+
+  public double getMinWinPercentage() {
+    return minWinPercentage;
+  }
+
+  public boolean areNeutralsPassableByAir() {
+    return areNeutralsPassableByAir;
+  }
+
+  public Territory getMyCapital() {
+    return myCapital;
+  }
+
+  public List<Territory> getMyUnitTerritories() {
+    return myUnitTerritories;
+  }
+
+  public Map<Unit, Territory> getUnitTerritoryMap() {
+    return unitTerritoryMap;
+  }
+
+  public Territory getUnitTerritory(final Unit unit) {
+    return unitTerritoryMap.get(unit);
+  }
+
+  public IntegerMap<UnitType> getUnitValueMap() {
+    return unitValueMap;
+  }
+
+  public int getUnitValue(final UnitType type) {
+    return unitValueMap.getInt(type);
+  }
+
+  public ProPurchaseOptionMap getPurchaseOptions() {
+    return purchaseOptions;
+  }
+
+  public ProTerritoryValueCache getTerritoryValueCache() {
+    return isSimulation ? simulationTerritoryValueCache : territoryValueCache;
+  }
+
+  public double getMinCostPerHitPoint() {
+    return minCostPerHitPoint;
+  }
+
   private static double getMinCostPerHitPoint(final List<ProPurchaseOption> landPurchaseOptions) {
     double minCostPerHitPoint = Double.MAX_VALUE;
     for (final ProPurchaseOption ppo : landPurchaseOptions) {
@@ -91,5 +161,4 @@ public class ProData {
     }
     return minCostPerHitPoint;
   }
-
 }
@@ -31,17 +31,19 @@ import games.strategy.util.Tuple;
 class ProScrambleAi {
 
   private final ProOddsCalculator calc;
+  private final ProData proData;
 
   ProScrambleAi(final ProAi ai) {
     calc = ai.getCalc();
+    proData = ai.getProData();
   }
 
   HashMap<Territory, Collection<Unit>> scrambleUnitsQuery(final Territory scrambleTo,
       final Map<Territory, Tuple<Collection<Unit>, Collection<Unit>>> possibleScramblers) {
 
     // Get battle data
-    final GameData data = ProData.getData();
-    final PlayerID player = ProData.getPlayer();
+    final GameData data = proData.getData();
+    final PlayerID player = proData.getPlayer();
     final BattleDelegate delegate = DelegateFinder.battleDelegate(data);
     final IBattle battle = delegate.getBattleTracker().getPendingBattle(scrambleTo, false, BattleType.NORMAL);
 
@@ -52,7 +54,7 @@ class ProScrambleAi {
     final ProBattleResult minResult = calc.calculateBattleResults(scrambleTo, attackers, defenders, bombardingUnits);
     ProLogger
         .debug(scrambleTo + ", minTUVSwing=" + minResult.getTuvSwing() + ", minWin%=" + minResult.getWinPercentage());
-    if (minResult.getTuvSwing() <= 0 && minResult.getWinPercentage() < (100 - ProData.minWinPercentage)) {
+    if (minResult.getTuvSwing() <= 0 && minResult.getWinPercentage() < (100 - proData.getMinWinPercentage())) {
       return null;
     }
 
@@ -65,9 +67,11 @@ class ProScrambleAi {
       if (maxCanScramble < canScrambleAir.size()) {
         Collections.sort(canScrambleAir, (o1, o2) -> {
           final double strength1 =
-              ProBattleUtils.estimateStrength(scrambleTo, Collections.singletonList(o1), new ArrayList<>(), false);
+              ProBattleUtils.estimateStrength(proData, scrambleTo, Collections.singletonList(o1), new ArrayList<>(),
+                  false);
           final double strength2 =
-              ProBattleUtils.estimateStrength(scrambleTo, Collections.singletonList(o2), new ArrayList<>(), false);
+              ProBattleUtils.estimateStrength(proData, scrambleTo, Collections.singletonList(o2), new ArrayList<>(),
+                  false);
           return Double.compare(strength2, strength1);
         });
         canScrambleAir = canScrambleAir.subList(0, maxCanScramble);
@@ -104,7 +108,7 @@ class ProScrambleAi {
 
     // Sort units by number of defend options and cost
     final Map<Unit, Set<Territory>> sortedUnitDefendOptions =
-        ProSortMoveOptionsUtils.sortUnitMoveOptions(unitDefendOptions);
+        ProSortMoveOptionsUtils.sortUnitMoveOptions(proData, unitDefendOptions);
 
     // Add one scramble unit at a time and check if final result is better than min result
     final List<Unit> unitsToScramble = new ArrayList<>();
@@ -116,7 +120,7 @@ class ProScrambleAi {
       result = calc.calculateBattleResults(scrambleTo, attackers, currentDefenders, bombardingUnits);
       ProLogger.debug(scrambleTo + ", TUVSwing=" + result.getTuvSwing() + ", Win%=" + result.getWinPercentage()
           + ", addedUnit=" + u);
-      if (result.getTuvSwing() <= 0 && result.getWinPercentage() < (100 - ProData.minWinPercentage)) {
+      if (result.getTuvSwing() <= 0 && result.getWinPercentage() < (100 - proData.getMinWinPercentage())) {
         break;
       }
     }
@@ -25,9 +25,9 @@ public class ProOtherMoveOptions {
     moveMaps = new HashMap<>();
   }
 
-  public ProOtherMoveOptions(final List<Map<Territory, ProTerritory>> moveMapList, final PlayerID player,
-      final boolean isAttacker) {
-    maxMoveMap = createMaxMoveMap(moveMapList, player, isAttacker);
+  public ProOtherMoveOptions(final ProData proData, final List<Map<Territory, ProTerritory>> moveMapList,
+      final PlayerID player, final boolean isAttacker) {
+    maxMoveMap = createMaxMoveMap(proData, moveMapList, player, isAttacker);
     moveMaps = createMoveMaps(moveMapList);
   }
 
@@ -48,12 +48,12 @@ public class ProOtherMoveOptions {
     return maxMoveMap.toString();
   }
 
-  private static Map<Territory, ProTerritory> createMaxMoveMap(final List<Map<Territory, ProTerritory>> moveMaps,
-      final PlayerID player, final boolean isAttacker) {
+  private static Map<Territory, ProTerritory> createMaxMoveMap(final ProData proData,
+      final List<Map<Territory, ProTerritory>> moveMaps, final PlayerID player, final boolean isAttacker) {
 
 
     final Map<Territory, ProTerritory> result = new HashMap<>();
-    final List<PlayerID> players = ProUtils.getOtherPlayersInTurnOrder(player);
+    final List<PlayerID> players = ProUtils.getOtherPlayersInTurnOrder(proData, player);
     for (final Map<Territory, ProTerritory> moveMap : moveMaps) {
       for (final Territory t : moveMap.keySet()) {
 
@@ -68,7 +68,7 @@ public class ProOtherMoveOptions {
         }
 
         // Skip if checking allied moves and their turn doesn't come before territory owner's
-        if (ProData.getData().getRelationshipTracker().isAllied(player, movePlayer)
+        if (proData.getData().getRelationshipTracker().isAllied(player, movePlayer)
             && !ProUtils.isPlayersTurnFirst(players, movePlayer, t.getOwner())) {
           continue;
         }
@@ -81,10 +81,11 @@ public class ProOtherMoveOptions {
           maxUnits.addAll(result.get(t).getMaxAmphibUnits());
           double maxStrength = 0;
           if (!maxUnits.isEmpty()) {
-            maxStrength = ProBattleUtils.estimateStrength(t, new ArrayList<>(maxUnits), new ArrayList<>(), isAttacker);
+            maxStrength = ProBattleUtils.estimateStrength(proData, t, new ArrayList<>(maxUnits), new ArrayList<>(),
+                isAttacker);
           }
           final double currentStrength =
-              ProBattleUtils.estimateStrength(t, new ArrayList<>(currentUnits), new ArrayList<>(), isAttacker);
+              ProBattleUtils.estimateStrength(proData, t, new ArrayList<>(currentUnits), new ArrayList<>(), isAttacker);
           final boolean currentHasLandUnits = currentUnits.stream().anyMatch(Matches.unitIsLand());
           final boolean maxHasLandUnits = maxUnits.stream().anyMatch(Matches.unitIsLand());
           if ((currentHasLandUnits && ((!maxHasLandUnits && !t.isWater()) || currentStrength > maxStrength))
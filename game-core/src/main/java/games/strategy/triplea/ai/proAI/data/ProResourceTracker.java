@@ -1,27 +1,36 @@
 package games.strategy.triplea.ai.proAI.data;
 
+import java.util.Map;
+
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.OrdinalIntegerMap;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Resource;
 import games.strategy.triplea.Constants;
-import games.strategy.util.IntegerMap;
 
 public class ProResourceTracker {
 
-  private final IntegerMap<Resource> resources;
-  private IntegerMap<Resource> tempPurchases = new IntegerMap<>();
+  // indexed by resource ordinal, since these are updated and compared for every purchase option that is considered
+  private final OrdinalIntegerMap<Resource> resources;
+  private final OrdinalIntegerMap<Resource> tempPurchases = new OrdinalIntegerMap<>();
 
   public ProResourceTracker(final PlayerID player) {
-    resources = player.getResources().getResourcesCopy();
+    resources = new OrdinalIntegerMap<>(player.getResources().getResourcesCopy());
   }
 
   public ProResourceTracker(final int pus, final GameData data) {
-    resources = new IntegerMap<>();
+    resources = new OrdinalIntegerMap<>();
     resources.add(data.getResourceList().getResource(Constants.PUS), pus);
   }
 
   public boolean hasEnough(final ProPurchaseOption ppo) {
-    return getRemaining().greaterThanOrEqualTo(ppo.getCosts());
+    for (final Map.Entry<Resource, Integer> cost : ppo.getCosts().entrySet()) {
+      final Resource resource = cost.getKey();
+      if (resources.getInt(resource) - tempPurchases.getInt(resource) < cost.getValue()) {
+        return false;
+      }
+    }
+    return true;
   }
 
   public void purchase(final ProPurchaseOption ppo) {
@@ -50,7 +59,7 @@ public class ProResourceTracker {
   }
 
   public void clearTempPurchases() {
-    tempPurchases = new IntegerMap<>();
+    tempPurchases.clear();
   }
 
   public boolean isEmpty() {
@@ -67,8 +76,8 @@ public class ProResourceTracker {
     return getRemaining().toString();
   }
 
-  private IntegerMap<Resource> getRemaining() {
-    final IntegerMap<Resource> combinedResources = new IntegerMap<>(resources);
+  private OrdinalIntegerMap<Resource> getRemaining() {
+    final OrdinalIntegerMap<Resource> combinedResources = new OrdinalIntegerMap<>(resources);
     combinedResources.subtract(tempPurchases);
     return combinedResources;
   }
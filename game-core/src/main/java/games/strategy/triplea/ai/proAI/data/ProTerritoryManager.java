@@ -8,13 +8,16 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Route;
 import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritorySet;
 import games.strategy.engine.data.Unit;
 import games.strategy.triplea.Properties;
 import games.strategy.triplea.TripleAUnit;
@@ -40,6 +43,7 @@ import games.strategy.util.PredicateBuilder;
 public class ProTerritoryManager {
 
   private final ProOddsCalculator calc;
+  private final ProData proData;
   private final PlayerID player;
 
   private ProMyMoveOptions attackOptions;
@@ -49,9 +53,10 @@ public class ProTerritoryManager {
   private ProOtherMoveOptions enemyDefendOptions;
   private ProOtherMoveOptions enemyAttackOptions;
 
-  public ProTerritoryManager(final ProOddsCalculator calc) {
+  public ProTerritoryManager(final ProOddsCalculator calc, final ProData proData) {
     this.calc = calc;
-    player = ProData.getPlayer();
+    this.proData = proData;
+    player = proData.getPlayer();
     attackOptions = new ProMyMoveOptions();
     potentialAttackOptions = new ProMyMoveOptions();
     defendOptions = new ProMyMoveOptions();
@@ -60,8 +65,9 @@ public class ProTerritoryManager {
     enemyAttackOptions = new ProOtherMoveOptions();
   }
 
-  public ProTerritoryManager(final ProOddsCalculator calc, final ProTerritoryManager territoryManager) {
-    this(calc);
+  public ProTerritoryManager(final ProOddsCalculator calc, final ProData proData,
+      final ProTerritoryManager territoryManager) {
+    this(calc, proData);
     attackOptions = new ProMyMoveOptions(territoryManager.attackOptions);
     potentialAttackOptions = new ProMyMoveOptions(territoryManager.potentialAttackOptions);
     defendOptions = new ProMyMoveOptions(territoryManager.defendOptions);
@@ -71,33 +77,34 @@ public class ProTerritoryManager {
   }
 
   public void populateAttackOptions() {
-    findAttackOptions(player, ProData.myUnitTerritories, attackOptions.getTerritoryMap(),
+    findAttackOptions(proData, player, proData.getMyUnitTerritories(), attackOptions.getTerritoryMap(),
         attackOptions.getUnitMoveMap(), attackOptions.getTransportMoveMap(), attackOptions.getBombardMap(),
         attackOptions.getTransportList(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), false, false);
     findBombingOptions();
-    alliedAttackOptions = findAlliedAttackOptions(player);
+    alliedAttackOptions = findAlliedAttackOptions(proData, player);
   }
 
   public void populatePotentialAttackOptions() {
-    findPotentialAttackOptions(player, ProData.myUnitTerritories, potentialAttackOptions.getTerritoryMap(),
+    findPotentialAttackOptions(proData, player, proData.getMyUnitTerritories(),
+        potentialAttackOptions.getTerritoryMap(),
         potentialAttackOptions.getUnitMoveMap(), potentialAttackOptions.getTransportMoveMap(),
         potentialAttackOptions.getBombardMap(), potentialAttackOptions.getTransportList());
   }
 
   public void populateDefenseOptions(final List<Territory> clearedTerritories) {
-    findDefendOptions(player, ProData.myUnitTerritories, defendOptions.getTerritoryMap(),
+    findDefendOptions(proData, player, proData.getMyUnitTerritories(), defendOptions.getTerritoryMap(),
         defendOptions.getUnitMoveMap(), defendOptions.getTransportMoveMap(), defendOptions.getTransportList(),
         clearedTerritories, false);
   }
 
   public void populateEnemyAttackOptions(final List<Territory> clearedTerritories,
       final List<Territory> territoriesToCheck) {
-    enemyAttackOptions = findEnemyAttackOptions(player, clearedTerritories, territoriesToCheck);
+    enemyAttackOptions = findEnemyAttackOptions(proData, player, clearedTerritories, territoriesToCheck);
   }
 
   public void populateEnemyDefenseOptions() {
-    findScrambleOptions(player, attackOptions.getTerritoryMap());
-    enemyDefendOptions = findEnemyDefendOptions(player);
+    findScrambleOptions(proData, player, attackOptions.getTerritoryMap());
+    enemyDefendOptions = findEnemyDefendOptions(proData, player);
   }
 
   public List<ProTerritory> removeTerritoriesThatCantBeConquered() {
@@ -111,7 +118,7 @@ public class ProTerritoryManager {
       final ProOtherMoveOptions enemyDefendOptions, final boolean isIgnoringRelationships) {
 
     ProLogger.info("Removing territories that can't be conquered");
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
 
     // Determine if territory can be successfully attacked with max possible attackers
     final List<Territory> territoriesToRemove = new ArrayList<>();
@@ -127,7 +134,8 @@ public class ProTerritoryManager {
       patd.setMaxBattleResult(calc.estimateAttackBattleResults(t, patd.getMaxUnits(), defenders, new HashSet<>()));
 
       // Add in amphib units if I can't win without them
-      if (patd.getMaxBattleResult().getWinPercentage() < ProData.winPercentage && !patd.getMaxAmphibUnits().isEmpty()) {
+      if (patd.getMaxBattleResult().getWinPercentage() < proData.getWinPercentage()
+          && !patd.getMaxAmphibUnits().isEmpty()) {
         final Set<Unit> combinedUnits = new HashSet<>(patd.getMaxUnits());
         combinedUnits.addAll(patd.getMaxAmphibUnits());
         patd.setMaxBattleResult(calc.estimateAttackBattleResults(t, new ArrayList<>(combinedUnits), defenders,
@@ -142,7 +150,7 @@ public class ProTerritoryManager {
           && ((ta != null && ta.isCapital()) || ProMatches.territoryHasInfraFactoryAndIsLand().test(t))) {
         isEnemyCapitalOrFactory = true;
       }
-      if (patd.getMaxBattleResult().getWinPercentage() < ProData.minWinPercentage && isEnemyCapitalOrFactory
+      if (patd.getMaxBattleResult().getWinPercentage() < proData.getMinWinPercentage() && isEnemyCapitalOrFactory
           && alliedAttackOptions.getMax(t) != null) {
 
         // Check for allied attackers
@@ -158,7 +166,7 @@ public class ProTerritoryManager {
 
             // Get max enemy defenders
             final Set<Unit> additionalEnemyDefenders = new HashSet<>();
-            final List<PlayerID> players = ProUtils.getOtherPlayersInTurnOrder(player);
+            final List<PlayerID> players = ProUtils.getOtherPlayersInTurnOrder(proData, player);
             for (final ProTerritory enemyDefendOption : enemyDefendOptions.getAll(t)) {
               final Set<Unit> enemyUnits = new HashSet<>(enemyDefendOption.getMaxUnits());
               enemyUnits.addAll(enemyDefendOption.getMaxAmphibUnits());
@@ -176,7 +184,7 @@ public class ProTerritoryManager {
             final ProBattleResult result =
                 calc.estimateAttackBattleResults(t, new ArrayList<>(alliedUnits),
                     new ArrayList<>(enemyDefendersBeforeStrafe), alliedAttack.getMaxBombardUnits());
-            if (result.getWinPercentage() < ProData.winPercentage) {
+            if (result.getWinPercentage() < proData.getWinPercentage()) {
               patd.setStrafing(true);
 
               // Try to strafe to allow allies to conquer territory
@@ -200,8 +208,8 @@ public class ProTerritoryManager {
         }
       }
 
-      if (patd.getMaxBattleResult().getWinPercentage() < ProData.minWinPercentage
-          || (patd.isStrafing() && (patd.getMaxBattleResult().getWinPercentage() < ProData.winPercentage
+      if (patd.getMaxBattleResult().getWinPercentage() < proData.getMinWinPercentage()
+          || (patd.isStrafing() && (patd.getMaxBattleResult().getWinPercentage() < proData.getWinPercentage()
               || !patd.getMaxBattleResult().isHasLandUnitRemaining()))) {
         territoriesToRemove.add(t);
       }
@@ -290,8 +298,9 @@ public class ProTerritoryManager {
     return movedTransports.size() >= attackOptions.getTransportList().size();
   }
 
-  private static void findScrambleOptions(final PlayerID player, final Map<Territory, ProTerritory> moveMap) {
-    final GameData data = ProData.getData();
+  private static void findScrambleOptions(final ProData proData, final PlayerID player, final Map<Territory,
+      ProTerritory> moveMap) {
+    final GameData data = proData.getData();
 
     if (!Properties.getScrambleRulesInEffect(data)) {
       return;
@@ -353,9 +362,9 @@ public class ProTerritoryManager {
           if (maxCanScramble < canScrambleAir.size()) {
             Collections.sort(canScrambleAir, (o1, o2) -> {
               final double strength1 =
-                  ProBattleUtils.estimateStrength(to, Collections.singletonList(o1), new ArrayList<>(), false);
+                  ProBattleUtils.estimateStrength(proData, to, Collections.singletonList(o1), new ArrayList<>(), false);
               final double strength2 =
-                  ProBattleUtils.estimateStrength(to, Collections.singletonList(o2), new ArrayList<>(), false);
+                  ProBattleUtils.estimateStrength(proData, to, Collections.singletonList(o2), new ArrayList<>(), false);
               return Double.compare(strength2, strength1);
             });
             canScrambleAir = canScrambleAir.subList(0, maxCanScramble);
@@ -384,30 +393,32 @@ public class ProTerritoryManager {
     return maxScrambled;
   }
 
-  private static void findAttackOptions(final PlayerID player, final List<Territory> myUnitTerritories,
+  private static void findAttackOptions(final ProData proData, final PlayerID player,
+      final List<Territory> myUnitTerritories,
       final Map<Territory, ProTerritory> moveMap, final Map<Unit, Set<Territory>> unitMoveMap,
       final Map<Unit, Set<Territory>> transportMoveMap, final Map<Unit, Set<Territory>> bombardMap,
       final List<ProTransport> transportMapList, final List<Territory> enemyTerritories,
       final List<Territory> alliedTerritories, final List<Territory> territoriesToCheck,
       final boolean isCheckingEnemyAttacks, final boolean isIgnoringRelationships) {
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
 
     final Map<Territory, Set<Territory>> landRoutesMap = new HashMap<>();
     final List<Territory> territoriesThatCantBeHeld = new ArrayList<>(enemyTerritories);
     territoriesThatCantBeHeld.addAll(territoriesToCheck);
-    findNavalMoveOptions(player, myUnitTerritories, moveMap, unitMoveMap, transportMoveMap,
+    findNavalMoveOptions(proData, player, myUnitTerritories, moveMap, unitMoveMap, transportMoveMap,
         ProMatches.territoryIsEnemyOrHasEnemyUnitsOrCantBeHeld(player, data, territoriesThatCantBeHeld),
         enemyTerritories, true, isCheckingEnemyAttacks);
-    findLandMoveOptions(player, myUnitTerritories, moveMap, unitMoveMap, landRoutesMap,
+    findLandMoveOptions(proData, player, myUnitTerritories, moveMap, unitMoveMap, landRoutesMap,
         ProMatches.territoryIsEnemyOrCantBeHeld(player, data, territoriesThatCantBeHeld), enemyTerritories,
         alliedTerritories, true, isCheckingEnemyAttacks, isIgnoringRelationships);
-    findAirMoveOptions(player, myUnitTerritories, moveMap, unitMoveMap,
+    findAirMoveOptions(proData, player, myUnitTerritories, moveMap, unitMoveMap,
         ProMatches.territoryHasEnemyUnitsOrCantBeHeld(player, data, territoriesThatCantBeHeld), enemyTerritories,
         alliedTerritories, true, isCheckingEnemyAttacks, isIgnoringRelationships);
-    findAmphibMoveOptions(player, myUnitTerritories, moveMap, transportMapList, landRoutesMap,
+    findAmphibMoveOptions(proData, player, myUnitTerritories, moveMap, transportMapList, landRoutesMap,
         ProMatches.territoryIsEnemyOrCantBeHeld(player, data, territoriesThatCantBeHeld), true,
         isCheckingEnemyAttacks, isIgnoringRelationships);
-    findBombardOptions(player, myUnitTerritories, moveMap, bombardMap, transportMapList, isCheckingEnemyAttacks);
+    findBombardOptions(proData, player, myUnitTerritories, moveMap, bombardMap, transportMapList,
+        isCheckingEnemyAttacks);
   }
 
   private void findBombingOptions() {
@@ -418,11 +429,11 @@ public class ProTerritoryManager {
     }
   }
 
-  private static ProOtherMoveOptions findAlliedAttackOptions(final PlayerID player) {
-    final GameData data = ProData.getData();
+  private static ProOtherMoveOptions findAlliedAttackOptions(final ProData proData, final PlayerID player) {
+    final GameData data = proData.getData();
 
     // Get enemy players in order of turn
-    final List<PlayerID> alliedPlayers = ProUtils.getAlliedPlayersInTurnOrder(player);
+    final List<PlayerID> alliedPlayers = ProUtils.getAlliedPlayersInTurnOrder(proData, player);
     final List<Map<Territory, ProTerritory>> alliedAttackMaps = new ArrayList<>();
 
     // Loop through each enemy to determine the maximum number of enemy units that can attack each territory
@@ -435,18 +446,19 @@ public class ProTerritoryManager {
       final Map<Unit, Set<Territory>> bombardMap = new HashMap<>();
       final List<ProTransport> transportMapList = new ArrayList<>();
       alliedAttackMaps.add(attackMap);
-      findAttackOptions(alliedPlayer, alliedUnitTerritories, attackMap, unitAttackMap, transportAttackMap, bombardMap,
+      findAttackOptions(proData, alliedPlayer, alliedUnitTerritories, attackMap, unitAttackMap, transportAttackMap,
+          bombardMap,
           transportMapList, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), false, false);
     }
-    return new ProOtherMoveOptions(alliedAttackMaps, player, true);
+    return new ProOtherMoveOptions(proData, alliedAttackMaps, player, true);
   }
 
-  private static ProOtherMoveOptions findEnemyAttackOptions(final PlayerID player,
+  private static ProOtherMoveOptions findEnemyAttackOptions(final ProData proData, final PlayerID player,
       final List<Territory> clearedTerritories, final List<Territory> territoriesToCheck) {
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
 
     // Get enemy players in order of turn
-    final List<PlayerID> enemyPlayers = ProUtils.getEnemyPlayersInTurnOrder(player);
+    final List<PlayerID> enemyPlayers = ProUtils.getEnemyPlayersInTurnOrder(proData, player);
     final List<Map<Territory, ProTerritory>> enemyAttackMaps = new ArrayList<>();
     final Set<Territory> alliedTerritories = new HashSet<>();
     final List<Territory> enemyTerritories = new ArrayList<>(clearedTerritories);
@@ -462,61 +474,64 @@ public class ProTerritoryManager {
       final Map<Unit, Set<Territory>> bombardMap = new HashMap<>();
       final List<ProTransport> transportMapList = new ArrayList<>();
       enemyAttackMaps.add(attackMap);
-      findAttackOptions(enemyPlayer, enemyUnitTerritories, attackMap, unitAttackMap, transportAttackMap, bombardMap,
+      findAttackOptions(proData, enemyPlayer, enemyUnitTerritories, attackMap, unitAttackMap, transportAttackMap,
+          bombardMap,
           transportMapList, enemyTerritories, new ArrayList<>(alliedTerritories), territoriesToCheck, true, true);
       alliedTerritories.addAll(CollectionUtils.getMatches(attackMap.keySet(), Matches.territoryIsLand()));
       enemyTerritories.removeAll(alliedTerritories);
     }
-    return new ProOtherMoveOptions(enemyAttackMaps, player, true);
+    return new ProOtherMoveOptions(proData, enemyAttackMaps, player, true);
   }
 
-  private static void findPotentialAttackOptions(final PlayerID player, final List<Territory> myUnitTerritories,
+  private static void findPotentialAttackOptions(final ProData proData, final PlayerID player,
+      final List<Territory> myUnitTerritories,
       final Map<Territory, ProTerritory> moveMap, final Map<Unit, Set<Territory>> unitMoveMap,
       final Map<Unit, Set<Territory>> transportMoveMap, final Map<Unit, Set<Territory>> bombardMap,
       final List<ProTransport> transportMapList) {
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
 
     final Map<Territory, Set<Territory>> landRoutesMap = new HashMap<>();
-    final List<PlayerID> otherPlayers = ProUtils.getPotentialEnemyPlayers(player);
-    findNavalMoveOptions(player, myUnitTerritories, moveMap, unitMoveMap, transportMoveMap,
+    final List<PlayerID> otherPlayers = ProUtils.getPotentialEnemyPlayers(proData, player);
+    findNavalMoveOptions(proData, player, myUnitTerritories, moveMap, unitMoveMap, transportMoveMap,
         ProMatches.territoryIsPotentialEnemyOrHasPotentialEnemyUnits(player, data, otherPlayers), new ArrayList<>(),
         true, false);
-    findLandMoveOptions(player, myUnitTerritories, moveMap, unitMoveMap, landRoutesMap,
+    findLandMoveOptions(proData, player, myUnitTerritories, moveMap, unitMoveMap, landRoutesMap,
         ProMatches.territoryIsPotentialEnemy(player, data, otherPlayers), new ArrayList<>(), new ArrayList<>(), true,
         false, true);
-    findAirMoveOptions(player, myUnitTerritories, moveMap, unitMoveMap,
+    findAirMoveOptions(proData, player, myUnitTerritories, moveMap, unitMoveMap,
         ProMatches.territoryHasPotentialEnemyUnits(player, data, otherPlayers), new ArrayList<>(), new ArrayList<>(),
         true, false, true);
-    findAmphibMoveOptions(player, myUnitTerritories, moveMap, transportMapList, landRoutesMap,
+    findAmphibMoveOptions(proData, player, myUnitTerritories, moveMap, transportMapList, landRoutesMap,
         ProMatches.territoryIsPotentialEnemy(player, data, otherPlayers), true, false, true);
-    findBombardOptions(player, myUnitTerritories, moveMap, bombardMap, transportMapList, false);
+    findBombardOptions(proData, player, myUnitTerritories, moveMap, bombardMap, transportMapList, false);
   }
 
-  private static void findDefendOptions(final PlayerID player, final List<Territory> myUnitTerritories,
+  private static void findDefendOptions(final ProData proData, final PlayerID player,
+      final List<Territory> myUnitTerritories,
       final Map<Territory, ProTerritory> moveMap, final Map<Unit, Set<Territory>> unitMoveMap,
       final Map<Unit, Set<Territory>> transportMoveMap, final List<ProTransport> transportMapList,
       final List<Territory> clearedTerritories, final boolean isCheckingEnemyAttacks) {
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
 
     final Map<Territory, Set<Territory>> landRoutesMap = new HashMap<>();
-    findNavalMoveOptions(player, myUnitTerritories, moveMap, unitMoveMap, transportMoveMap,
+    findNavalMoveOptions(proData, player, myUnitTerritories, moveMap, unitMoveMap, transportMoveMap,
         ProMatches.territoryHasNoEnemyUnitsOrCleared(player, data, clearedTerritories), clearedTerritories, false,
         isCheckingEnemyAttacks);
-    findLandMoveOptions(player, myUnitTerritories, moveMap, unitMoveMap, landRoutesMap,
+    findLandMoveOptions(proData, player, myUnitTerritories, moveMap, unitMoveMap, landRoutesMap,
         Matches.isTerritoryAllied(player, data), new ArrayList<>(), clearedTerritories, false, isCheckingEnemyAttacks,
         false);
-    findAirMoveOptions(player, myUnitTerritories, moveMap, unitMoveMap,
+    findAirMoveOptions(proData, player, myUnitTerritories, moveMap, unitMoveMap,
         ProMatches.territoryIsNotConqueredAlliedLand(player, data), new ArrayList<>(), new ArrayList<>(), false,
         isCheckingEnemyAttacks, false);
-    findAmphibMoveOptions(player, myUnitTerritories, moveMap, transportMapList, landRoutesMap,
+    findAmphibMoveOptions(proData, player, myUnitTerritories, moveMap, transportMapList, landRoutesMap,
         Matches.isTerritoryAllied(player, data), false, isCheckingEnemyAttacks, false);
   }
 
-  private static ProOtherMoveOptions findEnemyDefendOptions(final PlayerID player) {
-    final GameData data = ProData.getData();
+  private static ProOtherMoveOptions findEnemyDefendOptions(final ProData proData, final PlayerID player) {
+    final GameData data = proData.getData();
 
     // Get enemy players in order of turn
-    final List<PlayerID> enemyPlayers = ProUtils.getEnemyPlayersInTurnOrder(player);
+    final List<PlayerID> enemyPlayers = ProUtils.getEnemyPlayersInTurnOrder(proData, player);
     final List<Map<Territory, ProTerritory>> enemyMoveMaps = new ArrayList<>();
     final List<Territory> clearedTerritories =
         CollectionUtils.getMatches(data.getMap().getTerritories(), Matches.isTerritoryAllied(player, data));
@@ -530,220 +545,256 @@ public class ProTerritoryManager {
       final Map<Unit, Set<Territory>> transportMoveMap = new HashMap<>();
       final List<ProTransport> transportMapList = new ArrayList<>();
       enemyMoveMaps.add(moveMap);
-      findDefendOptions(enemyPlayer, enemyUnitTerritories, moveMap, unitMoveMap, transportMoveMap, transportMapList,
+      findDefendOptions(proData, enemyPlayer, enemyUnitTerritories, moveMap, unitMoveMap, transportMoveMap,
+          transportMapList,
           clearedTerritories, true);
     }
 
-    return new ProOtherMoveOptions(enemyMoveMaps, player, false);
+    return new ProOtherMoveOptions(proData, enemyMoveMaps, player, false);
   }
 
-  private static void findNavalMoveOptions(final PlayerID player, final List<Territory> myUnitTerritories,
+  private static void findNavalMoveOptions(final ProData proData, final PlayerID player,
+      final List<Territory> myUnitTerritories,
       final Map<Territory, ProTerritory> moveMap, final Map<Unit, Set<Territory>> unitMoveMap,
       final Map<Unit, Set<Territory>> transportMoveMap, final Predicate<Territory> moveToTerritoryMatch,
       final List<Territory> clearedTerritories, final boolean isCombatMove, final boolean isCheckingEnemyAttacks) {
-    final GameData data = ProData.getData();
-
-    for (final Territory myUnitTerritory : myUnitTerritories) {
-
-      // Find my naval units that have movement left
-      final List<Unit> mySeaUnits =
-          myUnitTerritory.getUnits().getMatches(ProMatches.unitCanBeMovedAndIsOwnedSea(player, isCombatMove));
-
-      // Check each sea unit individually since they can have different ranges
-      for (final Unit mySeaUnit : mySeaUnits) {
-
-        // If my combat move and carrier has dependent allied fighters then skip it
-        if (isCombatMove && !isCheckingEnemyAttacks) {
-          final Map<Unit, Collection<Unit>> carrierMustMoveWith =
-              MoveValidator.carrierMustMoveWith(myUnitTerritory.getUnits().getUnits(), myUnitTerritory, data, player);
-          if (carrierMustMoveWith.containsKey(mySeaUnit) && !carrierMustMoveWith.get(mySeaUnit).isEmpty()) {
-            continue;
-          }
-        }
-
-        // Find range
-        int range = TripleAUnit.get(mySeaUnit).getMovementLeft();
-        if (isCheckingEnemyAttacks) {
-          range = UnitAttachment.get(mySeaUnit.getType()).getMovement(player);
-          if (Matches.unitCanBeGivenBonusMovementByFacilitiesInItsTerritory(myUnitTerritory, player, data)
-              .test(mySeaUnit)) {
-            range++; // assumes bonus of +1 for now
-          }
-        }
-
-        // Find list of potential territories to move to
-        final Set<Territory> possibleMoveTerritories = data.getMap().getNeighbors(myUnitTerritory, range,
-            ProMatches.territoryCanMoveSeaUnits(player, data, isCombatMove));
-        possibleMoveTerritories.add(myUnitTerritory);
-        final Set<Territory> potentialTerritories =
-            new HashSet<>(CollectionUtils.getMatches(possibleMoveTerritories, moveToTerritoryMatch));
-        if (!isCombatMove) {
-          potentialTerritories.add(myUnitTerritory);
+    final List<List<UnitMoveOption>> optionsByTerritory = findInParallel(myUnitTerritories,
+        myUnitTerritory -> findNavalMoveOptionsFrom(proData, player, myUnitTerritory, moveToTerritoryMatch,
+            clearedTerritories, isCombatMove, isCheckingEnemyAttacks));
+    for (final List<UnitMoveOption> options : optionsByTerritory) {
+      for (final UnitMoveOption option : options) {
+        final Unit mySeaUnit = option.unit;
+        final Territory potentialTerritory = option.territory;
+
+        // Populate territories with sea unit
+        if (moveMap.containsKey(potentialTerritory)) {
+          moveMap.get(potentialTerritory).addMaxUnit(mySeaUnit);
+        } else {
+          final ProTerritory moveTerritoryData = new ProTerritory(potentialTerritory, proData);
+          moveTerritoryData.addMaxUnit(mySeaUnit);
+          moveMap.put(potentialTerritory, moveTerritoryData);
         }
-        for (final Territory potentialTerritory : potentialTerritories) {
-
-          // Find route over water
-          boolean hasNoRoute = true;
-          final List<Territory> eliminatedTerritories = new ArrayList<>();
-          while (true) { // Need a loop to consider different route combinations to avoid canals
-            Route myRoute = data.getMap().getRoute_IgnoreEnd(myUnitTerritory, potentialTerritory,
-                ProMatches.territoryCanMoveSeaUnitsThroughOrClearedAndNotInList(player, data, isCombatMove,
-                    clearedTerritories, eliminatedTerritories));
-            if (isCheckingEnemyAttacks) {
-              myRoute = data.getMap().getRoute_IgnoreEnd(myUnitTerritory, potentialTerritory,
-                  ProMatches.territoryCanMoveSeaUnitsAndNotInList(player, data, isCombatMove, eliminatedTerritories));
-            }
-            if (myRoute == null) {
-              break;
-            }
-            if (MoveValidator.validateCanal(myRoute, Collections.singletonList(mySeaUnit), player, data) != null) {
-              if (!myRoute.getMiddleSteps().isEmpty()) {
-                eliminatedTerritories.addAll(myRoute.getMiddleSteps()); // Add failed canal territories to list
-                continue;
-              }
-              break;
-            }
-            final int myRouteLength = myRoute.numberOfSteps();
-            if (myRouteLength > range) {
-              break;
-            }
-            hasNoRoute = false;
-            break;
-          }
-          if (hasNoRoute) {
-            continue;
-          }
 
-          // Populate territories with sea unit
-          if (moveMap.containsKey(potentialTerritory)) {
-            moveMap.get(potentialTerritory).addMaxUnit(mySeaUnit);
+        // Populate appropriate unit move options map
+        if (Matches.unitIsTransport().test(mySeaUnit)) {
+          if (transportMoveMap.containsKey(mySeaUnit)) {
+            transportMoveMap.get(mySeaUnit).add(potentialTerritory);
           } else {
-            final ProTerritory moveTerritoryData = new ProTerritory(potentialTerritory);
-            moveTerritoryData.addMaxUnit(mySeaUnit);
-            moveMap.put(potentialTerritory, moveTerritoryData);
+            final Set<Territory> unitMoveTerritories = new HashSet<>();
+            unitMoveTerritories.add(potentialTerritory);
+            transportMoveMap.put(mySeaUnit, unitMoveTerritories);
           }
-
-          // Populate appropriate unit move options map
-          if (Matches.unitIsTransport().test(mySeaUnit)) {
-            if (transportMoveMap.containsKey(mySeaUnit)) {
-              transportMoveMap.get(mySeaUnit).add(potentialTerritory);
-            } else {
-              final Set<Territory> unitMoveTerritories = new HashSet<>();
-              unitMoveTerritories.add(potentialTerritory);
-              transportMoveMap.put(mySeaUnit, unitMoveTerritories);
-            }
+        } else {
+          if (unitMoveMap.containsKey(mySeaUnit)) {
+            unitMoveMap.get(mySeaUnit).add(potentialTerritory);
           } else {
-            if (unitMoveMap.containsKey(mySeaUnit)) {
-              unitMoveMap.get(mySeaUnit).add(potentialTerritory);
-            } else {
-              final Set<Territory> unitMoveTerritories = new HashSet<>();
-              unitMoveTerritories.add(potentialTerritory);
-              unitMoveMap.put(mySeaUnit, unitMoveTerritories);
-            }
+            final Set<Territory> unitMoveTerritories = new HashSet<>();
+            unitMoveTerritories.add(potentialTerritory);
+            unitMoveMap.put(mySeaUnit, unitMoveTerritories);
           }
         }
       }
     }
   }
 
-  private static void findLandMoveOptions(final PlayerID player, final List<Territory> myUnitTerritories,
-      final Map<Territory, ProTerritory> moveMap, final Map<Unit, Set<Territory>> unitMoveMap,
-      final Map<Territory, Set<Territory>> landRoutesMap, final Predicate<Territory> moveToTerritoryMatch,
-      final List<Territory> enemyTerritories, final List<Territory> clearedTerritories, final boolean isCombatMove,
-      final boolean isCheckingEnemyAttacks, final boolean isIgnoringRelationships) {
-    final GameData data = ProData.getData();
-
-    for (final Territory myUnitTerritory : myUnitTerritories) {
-
-      // Find my land units that have movement left
-      final List<Unit> myLandUnits =
-          myUnitTerritory.getUnits().getMatches(ProMatches.unitCanBeMovedAndIsOwnedLand(player, isCombatMove));
-
-      // Check each land unit individually since they can have different ranges
-      for (final Unit myLandUnit : myLandUnits) {
-        final Territory startTerritory = ProData.unitTerritoryMap.get(myLandUnit);
-        final int range = TripleAUnit.get(myLandUnit).getMovementLeft();
-        Set<Territory> possibleMoveTerritories = data.getMap().getNeighbors(myUnitTerritory, range,
-            ProMatches.territoryCanMoveSpecificLandUnit(player, data, isCombatMove, myLandUnit));
-        if (isIgnoringRelationships) {
-          possibleMoveTerritories = data.getMap().getNeighbors(myUnitTerritory, range,
-              ProMatches.territoryCanPotentiallyMoveSpecificLandUnit(player, data, myLandUnit));
+  private static List<UnitMoveOption> findNavalMoveOptionsFrom(final ProData proData, final PlayerID player,
+      final Territory myUnitTerritory, final Predicate<Territory> moveToTerritoryMatch,
+      final List<Territory> clearedTerritories, final boolean isCombatMove, final boolean isCheckingEnemyAttacks) {
+    final GameData data = proData.getData();
+    final List<UnitMoveOption> options = new ArrayList<>();
+
+    // Find my naval units that have movement left
+    final List<Unit> mySeaUnits =
+        myUnitTerritory.getUnits().getMatches(ProMatches.unitCanBeMovedAndIsOwnedSea(player, isCombatMove));
+
+    // Check each sea unit individually since they can have different ranges
+    for (final Unit mySeaUnit : mySeaUnits) {
+
+      // If my combat move and carrier has dependent allied fighters then skip it
+      if (isCombatMove && !isCheckingEnemyAttacks) {
+        final Map<Unit, Collection<Unit>> carrierMustMoveWith =
+            MoveValidator.carrierMustMoveWith(myUnitTerritory.getUnits().getUnits(), myUnitTerritory, data, player);
+        if (carrierMustMoveWith.containsKey(mySeaUnit) && !carrierMustMoveWith.get(mySeaUnit).isEmpty()) {
+          continue;
         }
-        possibleMoveTerritories.add(myUnitTerritory);
-        final Set<Territory> potentialTerritories =
-            new HashSet<>(CollectionUtils.getMatches(possibleMoveTerritories, moveToTerritoryMatch));
-        if (!isCombatMove) {
-          potentialTerritories.add(myUnitTerritory);
+      }
+
+      // Find range
+      int range = TripleAUnit.get(mySeaUnit).getMovementLeft();
+      if (isCheckingEnemyAttacks) {
+        range = UnitAttachment.get(mySeaUnit.getType()).getMovement(player);
+        if (Matches.unitCanBeGivenBonusMovementByFacilitiesInItsTerritory(myUnitTerritory, player, data)
+            .test(mySeaUnit)) {
+          range++; // assumes bonus of +1 for now
         }
-        for (final Territory potentialTerritory : potentialTerritories) {
+      }
 
-          // Find route over land checking whether unit can blitz
+      // Find list of potential territories to move to
+      final Set<Territory> possibleMoveTerritories = data.getMap().getNeighbors(myUnitTerritory, range,
+          ProMatches.territoryCanMoveSeaUnits(player, data, isCombatMove));
+      possibleMoveTerritories.add(myUnitTerritory);
+      final Set<Territory> potentialTerritories =
+          new HashSet<>(CollectionUtils.getMatches(possibleMoveTerritories, moveToTerritoryMatch));
+      if (!isCombatMove) {
+        potentialTerritories.add(myUnitTerritory);
+      }
+      for (final Territory potentialTerritory : potentialTerritories) {
+
+        // Find route over water
+        boolean hasNoRoute = true;
+        final Set<Territory> eliminatedTerritories = new TerritorySet(data.getMap());
+        while (true) { // Need a loop to consider different route combinations to avoid canals
           Route myRoute = data.getMap().getRoute_IgnoreEnd(myUnitTerritory, potentialTerritory,
-              ProMatches.territoryCanMoveLandUnitsThrough(player, data, myLandUnit, startTerritory, isCombatMove,
-                  enemyTerritories));
+              ProMatches.territoryCanMoveSeaUnitsThroughOrClearedAndNotInList(player, data, isCombatMove,
+                  clearedTerritories, eliminatedTerritories));
           if (isCheckingEnemyAttacks) {
             myRoute = data.getMap().getRoute_IgnoreEnd(myUnitTerritory, potentialTerritory,
-                ProMatches.territoryCanMoveLandUnitsThroughIgnoreEnemyUnits(player, data, myLandUnit, startTerritory,
-                    isCombatMove, enemyTerritories, clearedTerritories));
+                ProMatches.territoryCanMoveSeaUnitsAndNotInList(player, data, isCombatMove, eliminatedTerritories));
           }
           if (myRoute == null) {
-            continue;
+            break;
           }
-          if (myRoute.hasMoreThenOneStep()
-              && myRoute.getMiddleSteps().stream().anyMatch(Matches.isTerritoryEnemy(player, data))
-              && Matches.unitIsOfTypes(TerritoryEffectHelper.getUnitTypesThatLostBlitz(myRoute.getAllTerritories()))
-                  .test(myLandUnit)) {
-            continue; // If blitzing then make sure none of the territories cause blitz ability to be lost
+          if (MoveValidator.validateCanal(myRoute, Collections.singletonList(mySeaUnit), player, data) != null) {
+            if (!myRoute.getMiddleSteps().isEmpty()) {
+              eliminatedTerritories.addAll(myRoute.getMiddleSteps()); // Add failed canal territories to list
+              continue;
+            }
+            break;
           }
           final int myRouteLength = myRoute.numberOfSteps();
           if (myRouteLength > range) {
-            continue;
+            break;
           }
+          hasNoRoute = false;
+          break;
+        }
+        if (hasNoRoute) {
+          continue;
+        }
 
-          // Add to route map
-          if (landRoutesMap.containsKey(potentialTerritory)) {
-            landRoutesMap.get(potentialTerritory).add(myUnitTerritory);
-          } else {
-            final Set<Territory> territories = new HashSet<>();
-            territories.add(myUnitTerritory);
-            landRoutesMap.put(potentialTerritory, territories);
-          }
+        options.add(new UnitMoveOption(mySeaUnit, potentialTerritory));
+      }
+    }
+    return options;
+  }
 
-          // Populate territories with land units
-          if (moveMap.containsKey(potentialTerritory)) {
-            moveMap.get(potentialTerritory).addMaxUnit(myLandUnit);
-          } else {
-            final ProTerritory moveTerritoryData = new ProTerritory(potentialTerritory);
-            moveTerritoryData.addMaxUnit(myLandUnit);
-            moveMap.put(potentialTerritory, moveTerritoryData);
-          }
+  private static void findLandMoveOptions(final ProData proData, final PlayerID player,
+      final List<Territory> myUnitTerritories,
+      final Map<Territory, ProTerritory> moveMap, final Map<Unit, Set<Territory>> unitMoveMap,
+      final Map<Territory, Set<Territory>> landRoutesMap, final Predicate<Territory> moveToTerritoryMatch,
+      final List<Territory> enemyTerritories, final List<Territory> clearedTerritories, final boolean isCombatMove,
+      final boolean isCheckingEnemyAttacks, final boolean isIgnoringRelationships) {
+    final List<List<UnitMoveOption>> optionsByTerritory = findInParallel(myUnitTerritories,
+        myUnitTerritory -> findLandMoveOptionsFrom(proData, player, myUnitTerritory, moveToTerritoryMatch,
+            enemyTerritories, clearedTerritories, isCombatMove, isCheckingEnemyAttacks, isIgnoringRelationships));
+    for (int i = 0; i < myUnitTerritories.size(); i++) {
+      final Territory myUnitTerritory = myUnitTerritories.get(i);
+      for (final UnitMoveOption option : optionsByTerritory.get(i)) {
+        final Unit myLandUnit = option.unit;
+        final Territory potentialTerritory = option.territory;
+
+        // Add to route map
+        if (landRoutesMap.containsKey(potentialTerritory)) {
+          landRoutesMap.get(potentialTerritory).add(myUnitTerritory);
+        } else {
+          final Set<Territory> territories = new HashSet<>();
+          territories.add(myUnitTerritory);
+          landRoutesMap.put(potentialTerritory, territories);
+        }
 
-          // Populate unit move options map
-          if (unitMoveMap.containsKey(myLandUnit)) {
-            unitMoveMap.get(myLandUnit).add(potentialTerritory);
-          } else {
-            final Set<Territory> unitMoveTerritories = new HashSet<>();
-            unitMoveTerritories.add(potentialTerritory);
-            unitMoveMap.put(myLandUnit, unitMoveTerritories);
-          }
+        // Populate territories with land units
+        if (moveMap.containsKey(potentialTerritory)) {
+          moveMap.get(potentialTerritory).addMaxUnit(myLandUnit);
+        } else {
+          final ProTerritory moveTerritoryData = new ProTerritory(potentialTerritory, proData);
+          moveTerritoryData.addMaxUnit(myLandUnit);
+          moveMap.put(potentialTerritory, moveTerritoryData);
+        }
+
+        // Populate unit move options map
+        if (unitMoveMap.containsKey(myLandUnit)) {
+          unitMoveMap.get(myLandUnit).add(potentialTerritory);
+        } else {
+          final Set<Territory> unitMoveTerritories = new HashSet<>();
+          unitMoveTerritories.add(potentialTerritory);
+          unitMoveMap.put(myLandUnit, unitMoveTerritories);
         }
       }
     }
   }
 
-  private static void findAirMoveOptions(final PlayerID player, final List<Territory> myUnitTerritories,
+  private static List<UnitMoveOption> findLandMoveOptionsFrom(final ProData proData, final PlayerID player,
+      final Territory myUnitTerritory, final Predicate<Territory> moveToTerritoryMatch,
+      final List<Territory> enemyTerritories, final List<Territory> clearedTerritories, final boolean isCombatMove,
+      final boolean isCheckingEnemyAttacks, final boolean isIgnoringRelationships) {
+    final GameData data = proData.getData();
+    final List<UnitMoveOption> options = new ArrayList<>();
+
+    // Find my land units that have movement left
+    final List<Unit> myLandUnits =
+        myUnitTerritory.getUnits().getMatches(ProMatches.unitCanBeMovedAndIsOwnedLand(player, isCombatMove));
+
+    // Check each land unit individually since they can have different ranges
+    for (final Unit myLandUnit : myLandUnits) {
+      final Territory startTerritory = proData.getUnitTerritory(myLandUnit);
+      final int range = TripleAUnit.get(myLandUnit).getMovementLeft();
+      Set<Territory> possibleMoveTerritories = data.getMap().getNeighbors(myUnitTerritory, range,
+          ProMatches.territoryCanMoveSpecificLandUnit(player, data, isCombatMove, myLandUnit));
+      if (isIgnoringRelationships) {
+        possibleMoveTerritories = data.getMap().getNeighbors(myUnitTerritory, range,
+            ProMatches.territoryCanPotentiallyMoveSpecificLandUnit(player, data, myLandUnit));
+      }
+      possibleMoveTerritories.add(myUnitTerritory);
+      final Set<Territory> potentialTerritories =
+          new HashSet<>(CollectionUtils.getMatches(possibleMoveTerritories, moveToTerritoryMatch));
+      if (!isCombatMove) {
+        potentialTerritories.add(myUnitTerritory);
+      }
+      for (final Territory potentialTerritory : potentialTerritories) {
+
+        // Find route over land checking whether unit can blitz
+        Route myRoute = data.getMap().getRoute_IgnoreEnd(myUnitTerritory, potentialTerritory,
+            ProMatches.territoryCanMoveLandUnitsThrough(player, data, myLandUnit, startTerritory, isCombatMove,
+                enemyTerritories));
+        if (isCheckingEnemyAttacks) {
+          myRoute = data.getMap().getRoute_IgnoreEnd(myUnitTerritory, potentialTerritory,
+              ProMatches.territoryCanMoveLandUnitsThroughIgnoreEnemyUnits(player, data, myLandUnit, startTerritory,
+                  isCombatMove, enemyTerritories, clearedTerritories));
+        }
+        if (myRoute == null) {
+          continue;
+        }
+        if (myRoute.hasMoreThenOneStep()
+            && myRoute.getMiddleSteps().stream().anyMatch(Matches.isTerritoryEnemy(player, data))
+            && Matches.unitIsOfTypes(TerritoryEffectHelper.getUnitTypesThatLostBlitz(myRoute.getAllTerritories()))
+                .test(myLandUnit)) {
+          continue; // If blitzing then make sure none of the territories cause blitz ability to be lost
+        }
+        final int myRouteLength = myRoute.numberOfSteps();
+        if (myRouteLength > range) {
+          continue;
+        }
+
+        options.add(new UnitMoveOption(myLandUnit, potentialTerritory));
+      }
+    }
+    return options;
+  }
+
+  private static void findAirMoveOptions(final ProData proData, final PlayerID player,
+      final List<Territory> myUnitTerritories,
       final Map<Territory, ProTerritory> moveMap, final Map<Unit, Set<Territory>> unitMoveMap,
       final Predicate<Territory> moveToTerritoryMatch, final List<Territory> enemyTerritories,
       final List<Territory> alliedTerritories, final boolean isCombatMove, final boolean isCheckingEnemyAttacks,
       final boolean isIgnoringRelationships) {
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
 
     // TODO: add carriers to landing possibilities for non-enemy attacks
     // Find possible carrier landing territories
     final Set<Territory> possibleCarrierTerritories = new HashSet<>();
     if (isCheckingEnemyAttacks || !isCombatMove) {
       final Map<Unit, Set<Territory>> unitMoveMap2 = new HashMap<>();
-      findNavalMoveOptions(player, myUnitTerritories, new HashMap<>(), unitMoveMap2, new HashMap<>(),
+      findNavalMoveOptions(proData, player, myUnitTerritories, new HashMap<>(), unitMoveMap2, new HashMap<>(),
           Matches.territoryIsWater(), enemyTerritories, false, true);
       for (final Unit u : unitMoveMap2.keySet()) {
         if (Matches.unitIsCarrier().test(u)) {
@@ -757,213 +808,126 @@ public class ProTerritoryManager {
       }
     }
 
-    for (final Territory myUnitTerritory : myUnitTerritories) {
-
-      // Find my air units that have movement left
-      final List<Unit> myAirUnits =
-          myUnitTerritory.getUnits().getMatches(ProMatches.unitCanBeMovedAndIsOwnedAir(player, isCombatMove));
-
-      // Check each air unit individually since they can have different ranges
-      for (final Unit myAirUnit : myAirUnits) {
-
-        // Find range
-        int range = TripleAUnit.get(myAirUnit).getMovementLeft();
-        if (isCheckingEnemyAttacks) {
-          range = UnitAttachment.get(myAirUnit.getType()).getMovement(player);
-          if (Matches.unitCanBeGivenBonusMovementByFacilitiesInItsTerritory(myUnitTerritory, player, data)
-              .test(myAirUnit)) {
-            range++; // assumes bonus of +1 for now
-          }
+    final List<List<UnitMoveOption>> optionsByTerritory = findInParallel(myUnitTerritories,
+        myUnitTerritory -> findAirMoveOptionsFrom(proData, player, myUnitTerritory, moveToTerritoryMatch,
+            enemyTerritories, alliedTerritories, possibleCarrierTerritories, isCombatMove, isCheckingEnemyAttacks,
+            isIgnoringRelationships));
+    for (final List<UnitMoveOption> options : optionsByTerritory) {
+      for (final UnitMoveOption option : options) {
+        final Unit myAirUnit = option.unit;
+        final Territory potentialTerritory = option.territory;
+
+        // Populate enemy territories with air unit
+        if (moveMap.containsKey(potentialTerritory)) {
+          moveMap.get(potentialTerritory).addMaxUnit(myAirUnit);
+        } else {
+          final ProTerritory moveTerritoryData = new ProTerritory(potentialTerritory, proData);
+          moveTerritoryData.addMaxUnit(myAirUnit);
+          moveMap.put(potentialTerritory, moveTerritoryData);
         }
 
-        // Find potential territories to move to
-        Set<Territory> possibleMoveTerritories = data.getMap().getNeighbors(myUnitTerritory, range,
-            ProMatches.territoryCanMoveAirUnits(player, data, isCombatMove));
-        if (isIgnoringRelationships) {
-          possibleMoveTerritories = data.getMap().getNeighbors(myUnitTerritory, range,
-              ProMatches.territoryCanPotentiallyMoveAirUnits(player, data));
+        // Populate unit attack options map
+        if (unitMoveMap.containsKey(myAirUnit)) {
+          unitMoveMap.get(myAirUnit).add(potentialTerritory);
+        } else {
+          final Set<Territory> unitMoveTerritories = new HashSet<>();
+          unitMoveTerritories.add(potentialTerritory);
+          unitMoveMap.put(myAirUnit, unitMoveTerritories);
         }
-        possibleMoveTerritories.add(myUnitTerritory);
-        final Set<Territory> potentialTerritories =
-            new HashSet<>(CollectionUtils.getMatches(possibleMoveTerritories, moveToTerritoryMatch));
-        if (!isCombatMove && Matches.unitCanLandOnCarrier().test(myAirUnit)) {
-          potentialTerritories.addAll(CollectionUtils.getMatches(possibleMoveTerritories,
-              Matches.territoryIsInList(possibleCarrierTerritories)));
+      }
+    }
+  }
+
+  private static List<UnitMoveOption> findAirMoveOptionsFrom(final ProData proData, final PlayerID player,
+      final Territory myUnitTerritory, final Predicate<Territory> moveToTerritoryMatch,
+      final List<Territory> enemyTerritories, final List<Territory> alliedTerritories,
+      final Set<Territory> possibleCarrierTerritories, final boolean isCombatMove,
+      final boolean isCheckingEnemyAttacks, final boolean isIgnoringRelationships) {
+    final GameData data = proData.getData();
+    final List<UnitMoveOption> options = new ArrayList<>();
+
+    // Find my air units that have movement left
+    final List<Unit> myAirUnits =
+        myUnitTerritory.getUnits().getMatches(ProMatches.unitCanBeMovedAndIsOwnedAir(player, isCombatMove));
+
+    // Check each air unit individually since they can have different ranges
+    for (final Unit myAirUnit : myAirUnits) {
+
+      // Find range
+      int range = TripleAUnit.get(myAirUnit).getMovementLeft();
+      if (isCheckingEnemyAttacks) {
+        range = UnitAttachment.get(myAirUnit.getType()).getMovement(player);
+        if (Matches.unitCanBeGivenBonusMovementByFacilitiesInItsTerritory(myUnitTerritory, player, data)
+            .test(myAirUnit)) {
+          range++; // assumes bonus of +1 for now
         }
+      }
 
+      // Find potential territories to move to
+      Set<Territory> possibleMoveTerritories = data.getMap().getNeighbors(myUnitTerritory, range,
+          ProMatches.territoryCanMoveAirUnits(player, data, isCombatMove));
+      if (isIgnoringRelationships) {
+        possibleMoveTerritories = data.getMap().getNeighbors(myUnitTerritory, range,
+            ProMatches.territoryCanPotentiallyMoveAirUnits(player, data));
+      }
+      possibleMoveTerritories.add(myUnitTerritory);
+      final Set<Territory> potentialTerritories =
+          new HashSet<>(CollectionUtils.getMatches(possibleMoveTerritories, moveToTerritoryMatch));
+      if (!isCombatMove && Matches.unitCanLandOnCarrier().test(myAirUnit)) {
+        potentialTerritories.addAll(CollectionUtils.getMatches(possibleMoveTerritories,
+            Matches.territoryIsInList(possibleCarrierTerritories)));
+      }
 
-        for (final Territory potentialTerritory : potentialTerritories) {
 
-          // Find route ignoring impassable and territories with AA
-          Predicate<Territory> canFlyOverMatch = ProMatches.territoryCanMoveAirUnitsAndNoAa(player, data, isCombatMove);
-          if (isCheckingEnemyAttacks) {
-            canFlyOverMatch = ProMatches.territoryCanMoveAirUnits(player, data, isCombatMove);
-          }
-          final Route myRoute = data.getMap().getRoute_IgnoreEnd(myUnitTerritory, potentialTerritory, canFlyOverMatch);
-          if (myRoute == null) {
-            continue;
-          }
-          final int myRouteLength = myRoute.numberOfSteps();
-          final int remainingMoves = range - myRouteLength;
-          if (remainingMoves < 0) {
-            continue;
-          }
+      for (final Territory potentialTerritory : potentialTerritories) {
 
-          // Check if unit can land
-          if (isCombatMove && (remainingMoves < myRouteLength || myUnitTerritory.isWater())) {
-            final Set<Territory> possibleLandingTerritories =
-                data.getMap().getNeighbors(potentialTerritory, remainingMoves, canFlyOverMatch);
-            final List<Territory> landingTerritories = CollectionUtils.getMatches(possibleLandingTerritories,
-                ProMatches.territoryCanLandAirUnits(player, data, isCombatMove, enemyTerritories, alliedTerritories));
-            List<Territory> carrierTerritories = new ArrayList<>();
-            if (Matches.unitCanLandOnCarrier().test(myAirUnit)) {
-              carrierTerritories = CollectionUtils.getMatches(possibleLandingTerritories,
-                  Matches.territoryIsInList(possibleCarrierTerritories));
-            }
-            if (landingTerritories.isEmpty() && carrierTerritories.isEmpty()) {
-              continue;
-            }
-          }
+        // Find route ignoring impassable and territories with AA
+        Predicate<Territory> canFlyOverMatch = ProMatches.territoryCanMoveAirUnitsAndNoAa(player, data, isCombatMove);
+        if (isCheckingEnemyAttacks) {
+          canFlyOverMatch = ProMatches.territoryCanMoveAirUnits(player, data, isCombatMove);
+        }
+        final Route myRoute = data.getMap().getRoute_IgnoreEnd(myUnitTerritory, potentialTerritory, canFlyOverMatch);
+        if (myRoute == null) {
+          continue;
+        }
+        final int myRouteLength = myRoute.numberOfSteps();
+        final int remainingMoves = range - myRouteLength;
+        if (remainingMoves < 0) {
+          continue;
+        }
 
-          // Populate enemy territories with air unit
-          if (moveMap.containsKey(potentialTerritory)) {
-            moveMap.get(potentialTerritory).addMaxUnit(myAirUnit);
-          } else {
-            final ProTerritory moveTerritoryData = new ProTerritory(potentialTerritory);
-            moveTerritoryData.addMaxUnit(myAirUnit);
-            moveMap.put(potentialTerritory, moveTerritoryData);
+        // Check if unit can land
+        if (isCombatMove && (remainingMoves < myRouteLength || myUnitTerritory.isWater())) {
+          final Set<Territory> possibleLandingTerritories =
+              data.getMap().getNeighbors(potentialTerritory, remainingMoves, canFlyOverMatch);
+          final List<Territory> landingTerritories = CollectionUtils.getMatches(possibleLandingTerritories,
+              ProMatches.territoryCanLandAirUnits(player, data, isCombatMove, enemyTerritories, alliedTerritories));
+          List<Territory> carrierTerritories = new ArrayList<>();
+          if (Matches.unitCanLandOnCarrier().test(myAirUnit)) {
+            carrierTerritories = CollectionUtils.getMatches(possibleLandingTerritories,
+                Matches.territoryIsInList(possibleCarrierTerritories));
           }
-
-          // Populate unit attack options map
-          if (unitMoveMap.containsKey(myAirUnit)) {
-            unitMoveMap.get(myAirUnit).add(potentialTerritory);
-          } else {
-            final Set<Territory> unitMoveTerritories = new HashSet<>();
-            unitMoveTerritories.add(potentialTerritory);
-            unitMoveMap.put(myAirUnit, unitMoveTerritories);
+          if (landingTerritories.isEmpty() && carrierTerritories.isEmpty()) {
+            continue;
           }
         }
+
+        options.add(new UnitMoveOption(myAirUnit, potentialTerritory));
       }
     }
+    return options;
   }
 
-  private static void findAmphibMoveOptions(final PlayerID player, final List<Territory> myUnitTerritories,
+  private static void findAmphibMoveOptions(final ProData proData, final PlayerID player,
+      final List<Territory> myUnitTerritories,
       final Map<Territory, ProTerritory> moveMap, final List<ProTransport> transportMapList,
       final Map<Territory, Set<Territory>> landRoutesMap, final Predicate<Territory> moveAmphibToTerritoryMatch,
       final boolean isCombatMove, final boolean isCheckingEnemyAttacks, final boolean isIgnoringRelationships) {
-    final GameData data = ProData.getData();
-
-    for (final Territory myUnitTerritory : myUnitTerritories) {
-
-      // Find my transports and amphibious units that have movement left
-      final List<Unit> myTransportUnits =
-          myUnitTerritory.getUnits().getMatches(ProMatches.unitCanBeMovedAndIsOwnedTransport(player, isCombatMove));
-      Predicate<Territory> unloadAmphibTerritoryMatch = ProMatches.territoryCanMoveLandUnits(player, data, isCombatMove)
-          .and(moveAmphibToTerritoryMatch);
-      if (isIgnoringRelationships) {
-        unloadAmphibTerritoryMatch = ProMatches.territoryCanPotentiallyMoveLandUnits(player, data)
-            .and(moveAmphibToTerritoryMatch);
-      }
-
-      // Check each transport unit individually since they can have different ranges
-      for (final Unit myTransportUnit : myTransportUnits) {
-
-        // Get remaining moves
-        int movesLeft = TripleAUnit.get(myTransportUnit).getMovementLeft();
-        if (isCheckingEnemyAttacks) {
-          movesLeft = UnitAttachment.get(myTransportUnit.getType()).getMovement(player);
-          if (Matches.unitCanBeGivenBonusMovementByFacilitiesInItsTerritory(myUnitTerritory, player, data)
-              .test(myTransportUnit)) {
-            movesLeft++; // assumes bonus of +1 for now
-          }
-        }
-
-        // Find units to load and territories to unload
-        final ProTransport proTransportData = new ProTransport(myTransportUnit);
-        transportMapList.add(proTransportData);
-        final Set<Territory> currentTerritories = new HashSet<>();
-        currentTerritories.add(myUnitTerritory);
-        while (movesLeft >= 0) {
-          final Set<Territory> nextTerritories = new HashSet<>();
-          for (final Territory currentTerritory : currentTerritories) {
-
-            // Find neighbors I can move to
-            final Set<Territory> possibleNeighborTerritories = data.getMap().getNeighbors(currentTerritory,
-                ProMatches.territoryCanMoveSeaUnitsThrough(player, data, isCombatMove));
-            for (final Territory possibleNeighborTerritory : possibleNeighborTerritories) {
-              if (MoveValidator.validateCanal(new Route(currentTerritory, possibleNeighborTerritory),
-                  Collections.singletonList(myTransportUnit), player, data) == null) {
-                nextTerritories.add(possibleNeighborTerritory);
-              }
-            }
-
-            // Get loaded units or get units that can be loaded into current territory if no enemies present
-            final List<Unit> units = new ArrayList<>();
-            final Set<Territory> myUnitsToLoadTerritories = new HashSet<>();
-            if (TransportTracker.isTransporting(myTransportUnit)) {
-              units.addAll(TransportTracker.transporting(myTransportUnit));
-            } else if (Matches.territoryHasEnemySeaUnits(player, data).negate().test(currentTerritory)) {
-              final Set<Territory> possibleLoadTerritories = data.getMap().getNeighbors(currentTerritory);
-              for (final Territory possibleLoadTerritory : possibleLoadTerritories) {
-                List<Unit> possibleUnits = possibleLoadTerritory.getUnits().getMatches(
-                    ProMatches.unitIsOwnedTransportableUnitAndCanBeLoaded(player, myTransportUnit, isCombatMove));
-                if (isCheckingEnemyAttacks) {
-                  possibleUnits = possibleLoadTerritory.getUnits()
-                      .getMatches(ProMatches.unitIsOwnedCombatTransportableUnit(player));
-                }
-                for (final Unit possibleUnit : possibleUnits) {
-                  if (UnitAttachment.get(possibleUnit.getType()).getTransportCost() <= UnitAttachment
-                      .get(myTransportUnit.getType()).getTransportCapacity()) {
-                    units.add(possibleUnit);
-                    myUnitsToLoadTerritories.add(possibleLoadTerritory);
-                  }
-                }
-              }
-            }
-
-            // If there are any units to be transported
-            if (!units.isEmpty()) {
-
-              // Find all water territories I can move to
-              final Set<Territory> seaMoveTerritories = new HashSet<>();
-              seaMoveTerritories.add(currentTerritory);
-              if (movesLeft > 0) {
-                Set<Territory> neighborTerritories = data.getMap().getNeighbors(currentTerritory, movesLeft,
-                    ProMatches.territoryCanMoveSeaUnitsThrough(player, data, isCombatMove));
-                if (isCheckingEnemyAttacks) {
-                  neighborTerritories = data.getMap().getNeighbors(currentTerritory, movesLeft,
-                      ProMatches.territoryCanMoveSeaUnits(player, data, isCombatMove));
-                }
-                for (final Territory neighborTerritory : neighborTerritories) {
-                  final Route myRoute = data.getMap().getRoute_IgnoreEnd(currentTerritory, neighborTerritory,
-                      ProMatches.territoryCanMoveSeaUnitsThrough(player, data, isCombatMove));
-                  if (myRoute == null) {
-                    continue;
-                  }
-                  if (MoveValidator.validateCanal(myRoute, Collections.singletonList(myTransportUnit), player,
-                      data) != null) {
-                    continue;
-                  }
-                  seaMoveTerritories.add(neighborTerritory);
-                }
-              }
-
-              // Find possible unload territories
-              final Set<Territory> amphibTerritories = new HashSet<>();
-              for (final Territory seaMoveTerritory : seaMoveTerritories) {
-                amphibTerritories.addAll(data.getMap().getNeighbors(seaMoveTerritory, unloadAmphibTerritoryMatch));
-              }
-
-              // Add to transport map
-              proTransportData.addTerritories(amphibTerritories, myUnitsToLoadTerritories);
-              proTransportData.addSeaTerritories(seaMoveTerritories, myUnitsToLoadTerritories);
-            }
-          }
-          currentTerritories.clear();
-          currentTerritories.addAll(nextTerritories);
-          movesLeft--;
-        }
-      }
+    final List<List<ProTransport>> transportsByTerritory = findInParallel(myUnitTerritories,
+        myUnitTerritory -> findAmphibMoveOptionsFrom(proData, player, myUnitTerritory, moveAmphibToTerritoryMatch,
+            isCombatMove, isCheckingEnemyAttacks, isIgnoringRelationships));
+    for (final List<ProTransport> transports : transportsByTerritory) {
+      transportMapList.addAll(transports);
     }
 
     // Remove any territories from transport map that I can move to on land and transports with no amphib options
@@ -1008,7 +972,7 @@ public class ProTerritoryManager {
         if (moveMap.containsKey(moveTerritory)) {
           moveMap.get(moveTerritory).addMaxAmphibUnits(amphibUnits);
         } else {
-          final ProTerritory moveTerritoryData = new ProTerritory(moveTerritory);
+          final ProTerritory moveTerritoryData = new ProTerritory(moveTerritory, proData);
           moveTerritoryData.addMaxAmphibUnits(amphibUnits);
           moveMap.put(moveTerritory, moveTerritoryData);
         }
@@ -1016,10 +980,129 @@ public class ProTerritoryManager {
     }
   }
 
-  private static void findBombardOptions(final PlayerID player, final List<Territory> myUnitTerritories,
+  private static List<ProTransport> findAmphibMoveOptionsFrom(final ProData proData, final PlayerID player,
+      final Territory myUnitTerritory, final Predicate<Territory> moveAmphibToTerritoryMatch,
+      final boolean isCombatMove, final boolean isCheckingEnemyAttacks, final boolean isIgnoringRelationships) {
+    final GameData data = proData.getData();
+    final List<ProTransport> transports = new ArrayList<>();
+
+    // Find my transports and amphibious units that have movement left
+    final List<Unit> myTransportUnits =
+        myUnitTerritory.getUnits().getMatches(ProMatches.unitCanBeMovedAndIsOwnedTransport(player, isCombatMove));
+    Predicate<Territory> unloadAmphibTerritoryMatch = ProMatches.territoryCanMoveLandUnits(player, data, isCombatMove)
+        .and(moveAmphibToTerritoryMatch);
+    if (isIgnoringRelationships) {
+      unloadAmphibTerritoryMatch = ProMatches.territoryCanPotentiallyMoveLandUnits(player, data)
+          .and(moveAmphibToTerritoryMatch);
+    }
+
+    // Check each transport unit individually since they can have different ranges
+    for (final Unit myTransportUnit : myTransportUnits) {
+
+      // Get remaining moves
+      int movesLeft = TripleAUnit.get(myTransportUnit).getMovementLeft();
+      if (isCheckingEnemyAttacks) {
+        movesLeft = UnitAttachment.get(myTransportUnit.getType()).getMovement(player);
+        if (Matches.unitCanBeGivenBonusMovementByFacilitiesInItsTerritory(myUnitTerritory, player, data)
+            .test(myTransportUnit)) {
+          movesLeft++; // assumes bonus of +1 for now
+        }
+      }
+
+      // Find units to load and territories to unload
+      final ProTransport proTransportData = new ProTransport(myTransportUnit);
+      transports.add(proTransportData);
+      final Set<Territory> currentTerritories = new HashSet<>();
+      currentTerritories.add(myUnitTerritory);
+      while (movesLeft >= 0) {
+        final Set<Territory> nextTerritories = new HashSet<>();
+        for (final Territory currentTerritory : currentTerritories) {
+
+          // Find neighbors I can move to
+          final Set<Territory> possibleNeighborTerritories = data.getMap().getNeighbors(currentTerritory,
+              ProMatches.territoryCanMoveSeaUnitsThrough(player, data, isCombatMove));
+          for (final Territory possibleNeighborTerritory : possibleNeighborTerritories) {
+            if (MoveValidator.validateCanal(new Route(currentTerritory, possibleNeighborTerritory),
+                Collections.singletonList(myTransportUnit), player, data) == null) {
+              nextTerritories.add(possibleNeighborTerritory);
+            }
+          }
+
+          // Get loaded units or get units that can be loaded into current territory if no enemies present
+          final List<Unit> units = new ArrayList<>();
+          final Set<Territory> myUnitsToLoadTerritories = new HashSet<>();
+          if (TransportTracker.isTransporting(myTransportUnit)) {
+            units.addAll(TransportTracker.transporting(myTransportUnit));
+          } else if (Matches.territoryHasEnemySeaUnits(player, data).negate().test(currentTerritory)) {
+            final Set<Territory> possibleLoadTerritories = data.getMap().getNeighbors(currentTerritory);
+            for (final Territory possibleLoadTerritory : possibleLoadTerritories) {
+              List<Unit> possibleUnits = possibleLoadTerritory.getUnits().getMatches(
+                  ProMatches.unitIsOwnedTransportableUnitAndCanBeLoaded(player, myTransportUnit, isCombatMove));
+              if (isCheckingEnemyAttacks) {
+                possibleUnits = possibleLoadTerritory.getUnits()
+                    .getMatches(ProMatches.unitIsOwnedCombatTransportableUnit(player));
+              }
+              for (final Unit possibleUnit : possibleUnits) {
+                if (UnitAttachment.get(possibleUnit.getType()).getTransportCost() <= UnitAttachment
+                    .get(myTransportUnit.getType()).getTransportCapacity()) {
+                  units.add(possibleUnit);
+                  myUnitsToLoadTerritories.add(possibleLoadTerritory);
+                }
+              }
+            }
+          }
+
+          // If there are any units to be transported
+          if (!units.isEmpty()) {
+
+            // Find all water territories I can move to
+            final Set<Territory> seaMoveTerritories = new HashSet<>();
+            seaMoveTerritories.add(currentTerritory);
+            if (movesLeft > 0) {
+              Set<Territory> neighborTerritories = data.getMap().getNeighbors(currentTerritory, movesLeft,
+                  ProMatches.territoryCanMoveSeaUnitsThrough(player, data, isCombatMove));
+              if (isCheckingEnemyAttacks) {
+                neighborTerritories = data.getMap().getNeighbors(currentTerritory, movesLeft,
+                    ProMatches.territoryCanMoveSeaUnits(player, data, isCombatMove));
+              }
+              for (final Territory neighborTerritory : neighborTerritories) {
+                final Route myRoute = data.getMap().getRoute_IgnoreEnd(currentTerritory, neighborTerritory,
+                    ProMatches.territoryCanMoveSeaUnitsThrough(player, data, isCombatMove));
+                if (myRoute == null) {
+                  continue;
+                }
+                if (MoveValidator.validateCanal(myRoute, Collections.singletonList(myTransportUnit), player,
+                    data) != null) {
+                  continue;
+                }
+                seaMoveTerritories.add(neighborTerritory);
+              }
+            }
+
+            // Find possible unload territories
+            final Set<Territory> amphibTerritories = new HashSet<>();
+            for (final Territory seaMoveTerritory : seaMoveTerritories) {
+              amphibTerritories.addAll(data.getMap().getNeighbors(seaMoveTerritory, unloadAmphibTerritoryMatch));
+            }
+
+            // Add to transport map
+            proTransportData.addTerritories(amphibTerritories, myUnitsToLoadTerritories);
+            proTransportData.addSeaTerritories(seaMoveTerritories, myUnitsToLoadTerritories);
+          }
+        }
+        currentTerritories.clear();
+        currentTerritories.addAll(nextTerritories);
+        movesLeft--;
+      }
+    }
+    return transports;
+  }
+
+  private static void findBombardOptions(final ProData proData, final PlayerID player,
+      final List<Territory> myUnitTerritories,
       final Map<Territory, ProTerritory> moveMap, final Map<Unit, Set<Territory>> bombardMap,
       final List<ProTransport> transportMapList, final boolean isCheckingEnemyAttacks) {
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
 
     // Find all transport unload from and to territories
     final Set<Territory> unloadFromTerritories = new HashSet<>();
@@ -1096,4 +1179,33 @@ public class ProTerritoryManager {
       }
     }
   }
+
+  /**
+   * Applies the specified search to each of the specified territories and returns the results in the order of the
+   * territories.
+   *
+   * <p>
+   * The territories are searched concurrently as fork-join tasks, so the search must only read the game data and must
+   * not share any mutable state between territories. Merging the results in the order of the territories afterwards
+   * builds exactly the same move options as searching the territories one after another.
+   * </p>
+   */
+  private static <T> List<T> findInParallel(final List<Territory> territories, final Function<Territory, T> search) {
+    return territories.parallelStream()
+        .map(search)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * A territory a unit can move to.
+   */
+  private static final class UnitMoveOption {
+    final Unit unit;
+    final Territory territory;
+
+    UnitMoveOption(final Unit unit, final Territory territory) {
+      this.unit = unit;
+      this.territory = territory;
+    }
+  }
 }
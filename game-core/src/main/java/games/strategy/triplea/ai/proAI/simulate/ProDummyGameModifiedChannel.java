@@ -1,6 +1,7 @@
 package games.strategy.triplea.ai.proAI.simulate;
 
 import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.framework.IGameModifiedChannel;
 
@@ -11,6 +12,9 @@ public class ProDummyGameModifiedChannel implements IGameModifiedChannel {
   @Override
   public void gameDataChanged(final Change change) {}
 
+  @Override
+  public void gameDataChangesBatched(final CompositeChange changes) {}
+
   @Override
   public void shutDown() {}
 
@@ -0,0 +1,245 @@
+package games.strategy.triplea.ai.proAI.simulate;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameObjectOutputStream;
+import games.strategy.engine.data.GameSequence;
+import games.strategy.engine.data.events.GameDataChangeListener;
+import games.strategy.engine.delegate.IDelegate;
+import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.engine.framework.GameObjectStreamFactory;
+import games.strategy.io.IoUtils;
+import games.strategy.triplea.ai.proAI.logging.ProLogger;
+
+/**
+ * A copy of a game data, kept in sync with it, on which the Pro AI simulates the rest of its turn.
+ *
+ * <p>
+ * The game data is cloned once, the first time the copy is checked out. Afterwards, each change performed on the game
+ * data is serialized when it is performed and replayed on the copy at the next checkout. The round, the step and the
+ * state of the delegates, which are not changed through {@link Change}s, are copied over at each checkout.
+ * </p>
+ *
+ * <p>
+ * The changes performed on the copy while it is checked out are recorded, and {@link #rollback()} undoes them by
+ * performing their inverses in reverse order. Each simulation thus starts from the current state of the game data
+ * without paying for a deep copy of it. If a change can't be replayed or undone, the copy is discarded and the game
+ * data is cloned again at the next checkout.
+ * </p>
+ *
+ * <p>
+ * The serialized changes are kept until the next checkout. If they grow past a limit, e.g. because the AI no longer
+ * purchases, they are dropped, the changes to the game data are no longer tracked, and the game data is cloned again at
+ * the next checkout.
+ * </p>
+ *
+ * <p>
+ * The copy must be checked out while no changes are being performed on the game data, e.g. during a step of the AI.
+ * </p>
+ */
+public final class ProSimulationSandbox {
+  private static final int DEFAULT_MAX_PENDING_BYTES = 16 * 1024 * 1024;
+
+  private final GameData data;
+  private final int maxPendingBytes;
+  private final GameDataChangeListener gameChangeListener = this::gameDataChanged;
+  @GuardedBy("pendingChanges")
+  private final List<byte[]> pendingChanges = new ArrayList<>();
+  @GuardedBy("pendingChanges")
+  private int pendingBytes = 0;
+  private volatile boolean isOutOfSync = false;
+  private @Nullable GameData sandboxData = null;
+  private final List<Change> simulationChanges = new ArrayList<>();
+  private final GameDataChangeListener simulationChangeListener = simulationChanges::add;
+  private boolean isCheckedOut = false;
+
+  public ProSimulationSandbox(final GameData data) {
+    this(data, DEFAULT_MAX_PENDING_BYTES);
+  }
+
+  @VisibleForTesting
+  ProSimulationSandbox(final GameData data, final int maxPendingBytes) {
+    this.data = checkNotNull(data);
+    this.maxPendingBytes = maxPendingBytes;
+  }
+
+  public boolean isFor(final GameData data) {
+    return this.data == data;
+  }
+
+  /**
+   * Returns the copy of the game data, in the same state as the game data, or {@code null} if the game data could not
+   * be cloned. The changes performed on the copy are undone by the next call to {@link #rollback()}.
+   */
+  public @Nullable GameData checkout() {
+    checkState(!isCheckedOut, "Simulation sandbox is already checked out");
+    data.acquireReadLock();
+    try {
+      if (sandboxData != null && !update(sandboxData)) {
+        discard();
+      }
+      if (sandboxData == null) {
+        sandboxData = newSandboxData();
+      }
+    } finally {
+      data.releaseReadLock();
+    }
+    if (sandboxData == null) {
+      return null;
+    }
+    simulationChanges.clear();
+    sandboxData.addDataChangeListener(simulationChangeListener);
+    isCheckedOut = true;
+    return sandboxData;
+  }
+
+  /**
+   * Undoes the changes performed on the copy of the game data since it was checked out.
+   */
+  public void rollback() {
+    checkState(isCheckedOut, "Simulation sandbox is not checked out");
+    isCheckedOut = false;
+    final GameData sandboxData = checkNotNull(this.sandboxData);
+    sandboxData.removeDataChangeListener(simulationChangeListener);
+    try {
+      for (int i = simulationChanges.size() - 1; i >= 0; i--) {
+        sandboxData.performChange(simulationChanges.get(i).invert());
+      }
+    } catch (final RuntimeException e) {
+      ProLogger.log(Level.WARNING, "Failed to undo the simulated changes, the game data will be cloned again", e);
+      discard();
+    } finally {
+      simulationChanges.clear();
+    }
+  }
+
+  /**
+   * Stops tracking the changes performed on the game data and releases the copy.
+   */
+  public void close() {
+    discard();
+  }
+
+  private @Nullable GameData newSandboxData() {
+    final GameData sandboxData = GameDataUtils.cloneGameData(data, true);
+    if (sandboxData != null) {
+      clearPendingChanges();
+      isOutOfSync = false;
+      data.addDataChangeListener(gameChangeListener);
+    }
+    return sandboxData;
+  }
+
+  private void discard() {
+    data.removeDataChangeListener(gameChangeListener);
+    clearPendingChanges();
+    sandboxData = null;
+  }
+
+  private void clearPendingChanges() {
+    synchronized (pendingChanges) {
+      pendingChanges.clear();
+      pendingBytes = 0;
+    }
+  }
+
+  @VisibleForTesting
+  int getPendingBytes() {
+    synchronized (pendingChanges) {
+      return pendingBytes;
+    }
+  }
+
+  private void gameDataChanged(final Change change) {
+    if (isOutOfSync) {
+      return;
+    }
+    try {
+      final byte[] bytes = IoUtils.writeToMemory(os -> {
+        try (ObjectOutputStream out = new GameObjectOutputStream(os)) {
+          out.writeObject(change);
+        }
+      });
+      synchronized (pendingChanges) {
+        if (pendingBytes + bytes.length <= maxPendingBytes) {
+          pendingChanges.add(bytes);
+          pendingBytes += bytes.length;
+          return;
+        }
+      }
+      stopTracking();
+    } catch (final IOException e) {
+      ProLogger.log(Level.WARNING, "Failed to serialize change, the game data will be cloned again", e);
+      stopTracking();
+    }
+  }
+
+  /**
+   * Drops the pending changes and stops tracking the changes to the game data, which is cloned again at the next
+   * checkout.
+   */
+  private void stopTracking() {
+    isOutOfSync = true;
+    data.removeDataChangeListener(gameChangeListener);
+    clearPendingChanges();
+  }
+
+  /**
+   * Replays the pending changes on the specified copy and copies the round, the step and the delegate states to it.
+   *
+   * @return {@code false} if the copy could not be brought in sync with the game data.
+   */
+  private boolean update(final GameData sandboxData) {
+    if (isOutOfSync) {
+      return false;
+    }
+    final List<byte[]> changes;
+    synchronized (pendingChanges) {
+      changes = new ArrayList<>(pendingChanges);
+      pendingChanges.clear();
+      pendingBytes = 0;
+    }
+    try {
+      final GameObjectStreamFactory factory = new GameObjectStreamFactory(sandboxData);
+      for (final byte[] bytes : changes) {
+        sandboxData.performChange(IoUtils.readFromMemory(bytes, is -> {
+          try (ObjectInputStream in = factory.create(is)) {
+            return (Change) in.readObject();
+          } catch (final ClassNotFoundException e) {
+            throw new IOException(e);
+          }
+        }));
+      }
+
+      final GameSequence sequence = data.getSequence();
+      sandboxData.getSequence().setRoundAndStepIndex(sequence.getRound(), sequence.getStepIndex());
+      for (final IDelegate delegate : data.getDelegateList()) {
+        final Serializable state = delegate.saveState();
+        if (state != null) {
+          sandboxData.getDelegateList().getDelegate(delegate.getName())
+              .loadState(GameDataUtils.translateIntoOtherGameData(state, sandboxData));
+        }
+      }
+      return true;
+    } catch (final IOException | RuntimeException e) {
+      ProLogger.log(Level.WARNING, "Failed to replay the game changes, the game data will be cloned again", e);
+      return false;
+    }
+  }
+}
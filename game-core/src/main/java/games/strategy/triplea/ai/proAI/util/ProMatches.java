@@ -151,13 +151,13 @@ public class ProMatches {
   }
 
   public static Predicate<Territory> territoryCanMoveSeaUnitsAndNotInList(final PlayerID player, final GameData data,
-      final boolean isCombatMove, final List<Territory> notTerritories) {
+      final boolean isCombatMove, final Collection<Territory> notTerritories) {
     return territoryCanMoveSeaUnits(player, data, isCombatMove).and(Matches.territoryIsNotInList(notTerritories));
   }
 
   public static Predicate<Territory> territoryCanMoveSeaUnitsThroughOrClearedAndNotInList(final PlayerID player,
       final GameData data, final boolean isCombatMove, final List<Territory> clearedTerritories,
-      final List<Territory> notTerritories) {
+      final Collection<Territory> notTerritories) {
     final Predicate<Territory> onlyIgnoredOrClearedMatch = territoryHasOnlyIgnoredUnits(player, data)
         .or(Matches.territoryIsInList(clearedTerritories));
     return territoryCanMoveSeaUnits(player, data, isCombatMove)
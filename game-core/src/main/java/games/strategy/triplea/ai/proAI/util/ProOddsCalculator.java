@@ -3,6 +3,9 @@ package games.strategy.triplea.ai.proAI.util;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
@@ -11,9 +14,11 @@ import games.strategy.engine.data.Unit;
 import games.strategy.triplea.Properties;
 import games.strategy.triplea.ai.proAI.ProData;
 import games.strategy.triplea.ai.proAI.data.ProBattleResult;
+import games.strategy.triplea.ai.proAI.data.ProTerritory;
 import games.strategy.triplea.delegate.Matches;
 import games.strategy.triplea.delegate.TerritoryEffectHelper;
 import games.strategy.triplea.oddsCalculator.ta.AggregateResults;
+import games.strategy.triplea.oddsCalculator.ta.BattleSpec;
 import games.strategy.triplea.oddsCalculator.ta.IOddsCalculator;
 import games.strategy.triplea.util.TuvUtils;
 import games.strategy.util.CollectionUtils;
@@ -23,11 +28,16 @@ import games.strategy.util.CollectionUtils;
  */
 public class ProOddsCalculator {
 
+  // attacker win percent precision at which a battle of a batch may stop before its full run count
+  private static final double BATCH_WIN_PERCENT_TOLERANCE = 0.03;
+
   private final IOddsCalculator calc;
+  private final ProData proData;
   private boolean isCanceled = false;
 
-  public ProOddsCalculator(final IOddsCalculator calc) {
+  public ProOddsCalculator(final IOddsCalculator calc, final ProData proData) {
     this.calc = calc;
+    this.proData = proData;
   }
 
   public void setData(final GameData data) {
@@ -42,29 +52,89 @@ public class ProOddsCalculator {
   public ProBattleResult estimateAttackBattleResults(final Territory t,
       final List<Unit> attackingUnits, final List<Unit> defendingUnits, final Set<Unit> bombardingUnits) {
 
-    final ProBattleResult result = checkIfNoAttackersOrDefenders(t, attackingUnits, defendingUnits);
+    final ProBattleResult result = estimateAttackBattleResultsWithoutCalculator(proData, t, attackingUnits,
+        defendingUnits);
+    if (result != null) {
+      return result;
+    }
+    return callBattleCalculator(t, attackingUnits, defendingUnits, bombardingUnits);
+  }
+
+  /**
+   * Sets the estimated attack battle result of each of the specified territories that doesn't have one yet. All the
+   * battles that need the battle calculator are submitted to it as one batch, so they are calculated concurrently.
+   */
+  public void estimateAttackBattleResults(final List<ProTerritory> attackTerritories, final PlayerID player) {
+    final GameData data = proData.getData();
+
+    final List<ProTerritory> territoriesToCalculate = new ArrayList<>();
+    final List<BattleSpec> battles = new ArrayList<>();
+    for (final ProTerritory patd : attackTerritories) {
+      if (patd.getBattleResult() != null) {
+        continue;
+      }
+      final Territory t = patd.getTerritory();
+      final List<Unit> defendingUnits = patd.getMaxEnemyDefenders(player, data);
+      final ProBattleResult result =
+          estimateAttackBattleResultsWithoutCalculator(proData, t, patd.getUnits(), defendingUnits);
+      if (result != null) {
+        patd.setBattleResult(result);
+      } else if (isCanceled || defendingUnits.isEmpty()) {
+        patd.setBattleResult(new ProBattleResult());
+      } else {
+        territoriesToCalculate.add(patd);
+        battles.add(newBattleSpec(t, patd.getUnits(), defendingUnits, patd.getBombardTerritoryMap().keySet()));
+      }
+    }
+    if (battles.isEmpty()) {
+      return;
+    }
+
+    final List<CompletableFuture<AggregateResults>> results =
+        calc.calculateAll(battles, BATCH_WIN_PERCENT_TOLERANCE);
+    for (int i = 0; i < battles.size(); i++) {
+      final BattleSpec battle = battles.get(i);
+      ProBattleResult result;
+      try {
+        result = newProBattleResult(proData, battle.getLocation(), battle.getAttacking(), battle.getDefending(),
+            results.get(i).join());
+      } catch (final CancellationException e) {
+        result = new ProBattleResult();
+      } catch (final CompletionException e) {
+        throw new IllegalStateException(e.getCause());
+      }
+      territoriesToCalculate.get(i).setBattleResult(result);
+    }
+  }
+
+  private static ProBattleResult estimateAttackBattleResultsWithoutCalculator(final ProData proData, final Territory t,
+      final List<Unit> attackingUnits, final List<Unit> defendingUnits) {
+
+    final ProBattleResult result = checkIfNoAttackersOrDefenders(proData, t, attackingUnits, defendingUnits);
     if (result != null) {
       return result;
     }
 
     // Determine if attackers have no chance
-    final double strengthDifference = ProBattleUtils.estimateStrengthDifference(t, attackingUnits, defendingUnits);
+    final double strengthDifference = ProBattleUtils.estimateStrengthDifference(proData, t, attackingUnits,
+        defendingUnits);
     if (strengthDifference < 45) {
       return new ProBattleResult(0, -999, false, new ArrayList<>(), defendingUnits, 1);
     }
-    return callBattleCalculator(t, attackingUnits, defendingUnits, bombardingUnits);
+    return null;
   }
 
   public ProBattleResult estimateDefendBattleResults(final Territory t,
       final List<Unit> attackingUnits, final List<Unit> defendingUnits, final Set<Unit> bombardingUnits) {
 
-    final ProBattleResult result = checkIfNoAttackersOrDefenders(t, attackingUnits, defendingUnits);
+    final ProBattleResult result = checkIfNoAttackersOrDefenders(proData, t, attackingUnits, defendingUnits);
     if (result != null) {
       return result;
     }
 
     // Determine if defenders have no chance
-    final double strengthDifference = ProBattleUtils.estimateStrengthDifference(t, attackingUnits, defendingUnits);
+    final double strengthDifference = ProBattleUtils.estimateStrengthDifference(proData, t, attackingUnits,
+        defendingUnits);
     if (strengthDifference > 55) {
       final boolean isLandAndCanOnlyBeAttackedByAir =
           !t.isWater() && !attackingUnits.isEmpty() && attackingUnits.stream().allMatch(Matches.unitIsAir());
@@ -77,16 +147,17 @@ public class ProOddsCalculator {
   public ProBattleResult calculateBattleResults(final Territory t,
       final List<Unit> attackingUnits, final List<Unit> defendingUnits, final Set<Unit> bombardingUnits) {
 
-    final ProBattleResult result = checkIfNoAttackersOrDefenders(t, attackingUnits, defendingUnits);
+    final ProBattleResult result = checkIfNoAttackersOrDefenders(proData, t, attackingUnits, defendingUnits);
     if (result != null) {
       return result;
     }
     return callBattleCalculator(t, attackingUnits, defendingUnits, bombardingUnits);
   }
 
-  private static ProBattleResult checkIfNoAttackersOrDefenders(final Territory t, final List<Unit> attackingUnits,
+  private static ProBattleResult checkIfNoAttackersOrDefenders(final ProData proData, final Territory t,
+      final List<Unit> attackingUnits,
       final List<Unit> defendingUnits) {
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
 
     final boolean hasNoDefenders = defendingUnits.stream().noneMatch(Matches.unitIsNotInfrastructure());
     final boolean isLandAndCanOnlyBeAttackedByAir =
@@ -113,25 +184,39 @@ public class ProOddsCalculator {
 
   public ProBattleResult callBattleCalculator(final Territory t, final List<Unit> attackingUnits,
       final List<Unit> defendingUnits, final Set<Unit> bombardingUnits, final boolean retreatWhenOnlyAirLeft) {
-    final GameData data = ProData.getData();
-
     if (isCanceled || attackingUnits.isEmpty() || defendingUnits.isEmpty()) {
       return new ProBattleResult();
     }
 
-    final int minArmySize = Math.min(attackingUnits.size(), defendingUnits.size());
-    final int runCount = Math.max(16, 100 - minArmySize);
-    final PlayerID attacker = attackingUnits.get(0).getOwner();
-    final PlayerID defender = defendingUnits.get(0).getOwner();
+    final BattleSpec battle = newBattleSpec(t, attackingUnits, defendingUnits, bombardingUnits);
     if (retreatWhenOnlyAirLeft) {
       calc.setRetreatWhenOnlyAirLeft(true);
     }
-    final AggregateResults results = calc.setCalculateDataAndCalculate(attacker, defender,
-        t, attackingUnits, defendingUnits, new ArrayList<>(bombardingUnits),
-        TerritoryEffectHelper.getEffects(t), runCount);
+    final AggregateResults results = calc.setCalculateDataAndCalculate(battle.getAttacker(), battle.getDefender(),
+        t, battle.getAttacking(), battle.getDefending(), battle.getBombarding(), battle.getTerritoryEffects(),
+        battle.getRunCount());
     if (retreatWhenOnlyAirLeft) {
       calc.setRetreatWhenOnlyAirLeft(false);
     }
+    return newProBattleResult(proData, t, attackingUnits, defendingUnits, results);
+  }
+
+  private static BattleSpec newBattleSpec(final Territory t, final List<Unit> attackingUnits,
+      final List<Unit> defendingUnits, final Set<Unit> bombardingUnits) {
+    final int minArmySize = Math.min(attackingUnits.size(), defendingUnits.size());
+    final int runCount = Math.max(16, 100 - minArmySize);
+    final PlayerID attacker = attackingUnits.get(0).getOwner();
+    final PlayerID defender = defendingUnits.get(0).getOwner();
+    return new BattleSpec(attacker, defender, t, attackingUnits, defendingUnits, bombardingUnits,
+        TerritoryEffectHelper.getEffects(t), runCount);
+  }
+
+  private static ProBattleResult newProBattleResult(final ProData proData, final Territory t,
+      final List<Unit> attackingUnits,
+      final List<Unit> defendingUnits, final AggregateResults results) {
+    final GameData data = proData.getData();
+    final PlayerID attacker = attackingUnits.get(0).getOwner();
+    final PlayerID defender = defendingUnits.get(0).getOwner();
 
     // Find battle result statistics
     final double winPercentage = results.getAttackerWinPercent() * 100;
@@ -143,15 +228,15 @@ public class ProOddsCalculator {
         Matches.unitCanBeInBattle(false, !t.isWater(), 1, false, true, true));
     double tuvSwing = results.getAverageTuvSwing(attacker, mainCombatAttackers, defender, mainCombatDefenders, data);
     if (Matches.territoryIsNeutralButNotWater().test(t)) { // Set TUV swing for neutrals
-      final double attackingUnitValue = TuvUtils.getTuv(mainCombatAttackers, ProData.unitValueMap);
+      final double attackingUnitValue = TuvUtils.getTuv(mainCombatAttackers, proData.getUnitValueMap());
       final double remainingUnitValue =
-          results.getAverageTuvOfUnitsLeftOver(ProData.unitValueMap, ProData.unitValueMap).getFirst();
+          results.getAverageTuvOfUnitsLeftOver(proData.getUnitValueMap(), proData.getUnitValueMap()).getFirst();
       tuvSwing = remainingUnitValue - attackingUnitValue;
     }
     final List<Unit> defendingTransportedUnits =
         CollectionUtils.getMatches(defendingUnits, Matches.unitIsBeingTransported());
     if (t.isWater() && !defendingTransportedUnits.isEmpty()) { // Add TUV swing for transported units
-      final double transportedUnitValue = TuvUtils.getTuv(defendingTransportedUnits, ProData.unitValueMap);
+      final double transportedUnitValue = TuvUtils.getTuv(defendingTransportedUnits, proData.getUnitValueMap());
       tuvSwing += transportedUnitValue * winPercentage / 100;
     }
 
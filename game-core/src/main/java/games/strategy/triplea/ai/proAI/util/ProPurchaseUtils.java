@@ -44,35 +44,37 @@ import games.strategy.util.CollectionUtils;
  */
 public class ProPurchaseUtils {
 
-  public static List<ProPurchaseOption> findPurchaseOptionsForTerritory(final PlayerID player,
+  public static List<ProPurchaseOption> findPurchaseOptionsForTerritory(final ProData proData, final PlayerID player,
       final List<ProPurchaseOption> purchaseOptions, final Territory t, final boolean isBid) {
     final List<ProPurchaseOption> result = new ArrayList<>();
     for (final ProPurchaseOption ppo : purchaseOptions) {
-      if (canTerritoryUsePurchaseOption(player, ppo, t, isBid)) {
+      if (canTerritoryUsePurchaseOption(proData, player, ppo, t, isBid)) {
         result.add(ppo);
       }
     }
     return result;
   }
 
-  private static boolean canTerritoryUsePurchaseOption(final PlayerID player, final ProPurchaseOption ppo,
+  private static boolean canTerritoryUsePurchaseOption(final ProData proData, final PlayerID player,
+      final ProPurchaseOption ppo,
       final Territory t, final boolean isBid) {
     if (ppo == null) {
       return false;
     }
     final List<Unit> units = ppo.getUnitType().create(ppo.getQuantity(), player, true);
-    return canUnitsBePlaced(units, player, t, isBid);
+    return canUnitsBePlaced(proData, units, player, t, isBid);
   }
 
-  public static boolean canUnitsBePlaced(final List<Unit> units, final PlayerID player, final Territory t,
+  public static boolean canUnitsBePlaced(final ProData proData, final List<Unit> units, final PlayerID player,
+      final Territory t,
       final boolean isBid) {
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
 
     AbstractPlaceDelegate placeDelegate = (AbstractPlaceDelegate) data.getDelegateList().getDelegate("place");
     if (isBid) {
       placeDelegate = (AbstractPlaceDelegate) data.getDelegateList().getDelegate("placeBid");
     }
-    final IDelegateBridge bridge = new ProDummyDelegateBridge(ProData.getProAi(), player, data);
+    final IDelegateBridge bridge = new ProDummyDelegateBridge(proData.getProAi(), player, data);
     placeDelegate.setDelegateBridgeAndPlayer(bridge);
     final String s = placeDelegate.canUnitsBePlaced(t, units, player);
     return s == null;
@@ -150,17 +152,17 @@ public class ProPurchaseUtils {
     return Optional.of(purchasePercentages.keySet().iterator().next());
   }
 
-  public static List<Unit> findMaxPurchaseDefenders(final PlayerID player, final Territory t,
+  public static List<Unit> findMaxPurchaseDefenders(final ProData proData, final PlayerID player, final Territory t,
       final List<ProPurchaseOption> landPurchaseOptions) {
 
     ProLogger.info("Find max purchase defenders for " + t.getName());
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
 
     // Determine most cost efficient defender that can be produced in this territory
     final Resource pus = data.getResourceList().getResource(Constants.PUS);
     final int pusRemaining = player.getResources().getQuantity(pus);
     final List<ProPurchaseOption> purchaseOptionsForTerritory =
-        findPurchaseOptionsForTerritory(player, landPurchaseOptions, t, false);
+        findPurchaseOptionsForTerritory(proData, player, landPurchaseOptions, t, false);
     ProPurchaseOption bestDefenseOption = null;
     double maxDefenseEfficiency = 0;
     for (final ProPurchaseOption ppo : purchaseOptionsForTerritory) {
@@ -200,15 +202,15 @@ public class ProPurchaseUtils {
    * @param player - current AI player
    * @return - map of all available purchase and place territories
    */
-  public static Map<Territory, ProPurchaseTerritory> findBidTerritories(final PlayerID player) {
+  public static Map<Territory, ProPurchaseTerritory> findBidTerritories(final ProData proData, final PlayerID player) {
 
     ProLogger.info("Find all bid territories");
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
 
     // Find all territories that I can place units on
     final Set<Territory> ownedOrHasUnitTerritories =
         new HashSet<>(data.getMap().getTerritoriesOwnedBy(player));
-    ownedOrHasUnitTerritories.addAll(ProData.myUnitTerritories);
+    ownedOrHasUnitTerritories.addAll(proData.getMyUnitTerritories());
     final List<Territory> potentialTerritories = CollectionUtils.getMatches(ownedOrHasUnitTerritories,
         Matches.territoryIsPassableAndNotRestrictedAndOkByRelationships(player, data, false, false, false, false,
             false));
@@ -228,10 +230,11 @@ public class ProPurchaseUtils {
     purchaseTerritories.values().forEach(ppt -> ppt.setUnitProduction(ppt.getUnitProduction() + 1));
   }
 
-  public static Map<Territory, ProPurchaseTerritory> findPurchaseTerritories(final PlayerID player) {
+  public static Map<Territory, ProPurchaseTerritory> findPurchaseTerritories(final ProData proData,
+      final PlayerID player) {
 
     ProLogger.info("Find all purchase territories");
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
 
     // Find all territories that I can place units on
     final RulesAttachment ra = player.getRulesAttachment();
@@ -299,14 +302,14 @@ public class ProPurchaseUtils {
   /**
    * Comparator that sorts cheaper units before expensive ones.
    */
-  public static Comparator<Unit> getCostComparator() {
-    return (o1, o2) -> Double.compare(getCost(o1), getCost(o2));
+  public static Comparator<Unit> getCostComparator(final ProData proData) {
+    return (o1, o2) -> Double.compare(getCost(proData, o1), getCost(proData, o2));
   }
 
   /**
    * How many PU's does it cost the given player to produce the given unit including any dependents.
    */
-  public static double getCost(final Unit unit) {
+  public static double getCost(final ProData proData, final Unit unit) {
     final Resource pus = unit.getData().getResourceList().getResource(Constants.PUS);
     final Collection<Unit> units = TransportTracker.transportingAndUnloaded(unit);
     units.add(unit);
@@ -314,7 +317,7 @@ public class ProPurchaseUtils {
     for (final Unit u : units) {
       final ProductionRule rule = getProductionRule(u.getType(), u.getOwner());
       if (rule == null) {
-        cost += ProData.unitValueMap.getInt(u.getType());
+        cost += proData.getUnitValue(u.getType());
       } else {
         cost += ((double) rule.getCosts().getInt(pus)) / rule.getResults().totalValues();
       }
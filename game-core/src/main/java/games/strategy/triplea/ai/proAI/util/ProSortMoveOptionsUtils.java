@@ -24,7 +24,8 @@ import games.strategy.triplea.delegate.UnitBattleComparator;
  */
 public class ProSortMoveOptionsUtils {
 
-  public static Map<Unit, Set<Territory>> sortUnitMoveOptions(final Map<Unit, Set<Territory>> unitAttackOptions) {
+  public static Map<Unit, Set<Territory>> sortUnitMoveOptions(final ProData proData, final Map<Unit,
+      Set<Territory>> unitAttackOptions) {
 
     final List<Map.Entry<Unit, Set<Territory>>> list = new ArrayList<>(unitAttackOptions.entrySet());
     Collections.sort(list, (o1, o2) -> {
@@ -32,10 +33,10 @@ public class ProSortMoveOptionsUtils {
       // Sort by number of move options then cost of unit then unit type
       if (o1.getValue().size() != o2.getValue().size()) {
         return (o1.getValue().size() - o2.getValue().size());
-      } else if (ProData.unitValueMap.getInt(o1.getKey().getType()) != ProData.unitValueMap
+      } else if (proData.getUnitValue(o1.getKey().getType()) != proData.getUnitValueMap()
           .getInt(o2.getKey().getType())) {
-        return (ProData.unitValueMap.getInt(o1.getKey().getType())
-            - ProData.unitValueMap.getInt(o2.getKey().getType()));
+        return (proData.getUnitValue(o1.getKey().getType())
+            - proData.getUnitValue(o2.getKey().getType()));
       }
       return o1.getKey().getType().getName().compareTo(o2.getKey().getType().getName());
     });
@@ -46,10 +47,10 @@ public class ProSortMoveOptionsUtils {
     return sortedUnitAttackOptions;
   }
 
-  public static Map<Unit, Set<Territory>> sortUnitNeededOptions(final PlayerID player,
+  public static Map<Unit, Set<Territory>> sortUnitNeededOptions(final ProData proData, final PlayerID player,
       final Map<Unit, Set<Territory>> unitAttackOptions, final Map<Territory, ProTerritory> attackMap,
       final ProOddsCalculator calc) {
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
 
     final List<Map.Entry<Unit, Set<Territory>>> list = new ArrayList<>(unitAttackOptions.entrySet());
     Collections.sort(list, (o1, o2) -> {
@@ -82,9 +83,9 @@ public class ProSortMoveOptionsUtils {
       if (numOptions1 != numOptions2) {
         return (numOptions1 - numOptions2);
       }
-      if (ProData.unitValueMap.getInt(o1.getKey().getType()) != ProData.unitValueMap.getInt(o2.getKey().getType())) {
-        return (ProData.unitValueMap.getInt(o1.getKey().getType())
-            - ProData.unitValueMap.getInt(o2.getKey().getType()));
+      if (proData.getUnitValue(o1.getKey().getType()) != proData.getUnitValue(o2.getKey().getType())) {
+        return (proData.getUnitValue(o1.getKey().getType())
+            - proData.getUnitValue(o2.getKey().getType()));
       }
       return o1.getKey().getType().getName().compareTo(o2.getKey().getType().getName());
     });
@@ -95,10 +96,10 @@ public class ProSortMoveOptionsUtils {
     return sortedUnitAttackOptions;
   }
 
-  public static Map<Unit, Set<Territory>> sortUnitNeededOptionsThenAttack(final PlayerID player,
+  public static Map<Unit, Set<Territory>> sortUnitNeededOptionsThenAttack(final ProData proData, final PlayerID player,
       final Map<Unit, Set<Territory>> unitAttackOptions, final Map<Territory, ProTerritory> attackMap,
       final Map<Unit, Territory> unitTerritoryMap, final ProOddsCalculator calc) {
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
 
     final List<Map.Entry<Unit, Set<Territory>>> list = new ArrayList<>(unitAttackOptions.entrySet());
     Collections.sort(list, (o1, o2) -> {
@@ -139,14 +140,14 @@ public class ProSortMoveOptionsUtils {
         if (!attackMap.get(t).isCurrentlyWins()) {
           final List<Unit> defendingUnits = t.getUnits().getMatches(Matches.enemyUnit(player, data));
           final List<Unit> sortedUnitsList = new ArrayList<>(attackMap.get(t).getUnits());
-          Collections.sort(sortedUnitsList, new UnitBattleComparator(false, ProData.unitValueMap,
+          Collections.sort(sortedUnitsList, new UnitBattleComparator(false, proData.getUnitValueMap(),
               TerritoryEffectHelper.getEffects(t), data, false, false));
           Collections.reverse(sortedUnitsList);
           final int powerWithout =
               DiceRoll.getTotalPower(DiceRoll.getUnitPowerAndRollsForNormalBattles(sortedUnitsList, defendingUnits,
                   false, false, data, t, TerritoryEffectHelper.getEffects(t), false, null), data);
           sortedUnitsList.add(o1.getKey());
-          Collections.sort(sortedUnitsList, new UnitBattleComparator(false, ProData.unitValueMap,
+          Collections.sort(sortedUnitsList, new UnitBattleComparator(false, proData.getUnitValueMap(),
               TerritoryEffectHelper.getEffects(t), data, false, false));
           Collections.reverse(sortedUnitsList);
           final int powerWith = DiceRoll.getTotalPower(DiceRoll.getUnitPowerAndRollsForNormalBattles(sortedUnitsList,
@@ -161,20 +162,20 @@ public class ProSortMoveOptionsUtils {
       if (ua1.getIsAir()) {
         minPower1 *= 10;
       }
-      final double attackEfficiency1 = (double) minPower1 / ProData.unitValueMap.getInt(o1.getKey().getType());
+      final double attackEfficiency1 = (double) minPower1 / proData.getUnitValue(o1.getKey().getType());
       int minPower2 = Integer.MAX_VALUE;
       for (final Territory t : o2.getValue()) {
         if (!attackMap.get(t).isCurrentlyWins()) {
           final List<Unit> defendingUnits = t.getUnits().getMatches(Matches.enemyUnit(player, data));
           final List<Unit> sortedUnitsList = new ArrayList<>(attackMap.get(t).getUnits());
-          Collections.sort(sortedUnitsList, new UnitBattleComparator(false, ProData.unitValueMap,
+          Collections.sort(sortedUnitsList, new UnitBattleComparator(false, proData.getUnitValueMap(),
               TerritoryEffectHelper.getEffects(t), data, false, false));
           Collections.reverse(sortedUnitsList);
           final int powerWithout =
               DiceRoll.getTotalPower(DiceRoll.getUnitPowerAndRollsForNormalBattles(sortedUnitsList, defendingUnits,
                   false, false, data, t, TerritoryEffectHelper.getEffects(t), false, null), data);
           sortedUnitsList.add(o2.getKey());
-          Collections.sort(sortedUnitsList, new UnitBattleComparator(false, ProData.unitValueMap,
+          Collections.sort(sortedUnitsList, new UnitBattleComparator(false, proData.getUnitValueMap(),
               TerritoryEffectHelper.getEffects(t), data, false, false));
           Collections.reverse(sortedUnitsList);
           final int powerWith = DiceRoll.getTotalPower(DiceRoll.getUnitPowerAndRollsForNormalBattles(sortedUnitsList,
@@ -189,7 +190,7 @@ public class ProSortMoveOptionsUtils {
       if (ua2.getIsAir()) {
         minPower2 *= 10;
       }
-      final double attackEfficiency2 = (double) minPower2 / ProData.unitValueMap.getInt(o2.getKey().getType());
+      final double attackEfficiency2 = (double) minPower2 / proData.getUnitValue(o2.getKey().getType());
       if (attackEfficiency1 != attackEfficiency2) {
         return (attackEfficiency1 < attackEfficiency2) ? 1 : -1;
       }
@@ -0,0 +1,221 @@
+package games.strategy.triplea.ai.proAI.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.TripleAUnit;
+import games.strategy.triplea.attachments.TerritoryAttachment;
+import games.strategy.triplea.delegate.AbstractMoveDelegate;
+import games.strategy.triplea.delegate.BattleTracker;
+
+/**
+ * The territory values computed by {@link ProTerritoryValueUtils}, kept from one evaluation to the next so that only
+ * the values affected by the changes to the game data in between are computed again.
+ *
+ * <p>
+ * While a value is computed, it records the territories whose owner and the territories whose units it depends on
+ * (see {@link Dependencies}). Before each evaluation, {@link #update(Object)} compares the owner and the units of each
+ * territory with the ones at the previous evaluation, and discards the values that depend on the owner or the units of
+ * a territory that changed. Comparing the territories, rather than inspecting each {@code Change}, catches all the
+ * changes applied to the game data since the previous evaluation, whichever way they were applied.
+ * </p>
+ *
+ * <p>
+ * The owner of a territory includes its territory attachment values and whether it was conquered this turn, and its
+ * units include their owner, hits and damage. Everything else a value depends on, e.g. the relationships of the
+ * player, is part of the global state passed to {@link #update(Object)}, or of the inputs the value is cached for.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are not thread safe; each {@code ProData} has its own cache.
+ * </p>
+ */
+@NotThreadSafe
+public final class ProTerritoryValueCache {
+  private static final int MAX_INPUTS = 8;
+
+  private final GameData data;
+  private @Nullable Object globalState;
+  private final Map<Territory, List<Object>> ownerStates = new HashMap<>();
+  private final Map<Territory, Multiset<List<Object>>> unitStates = new HashMap<>();
+  private final Map<Object, Map<Territory, Entry>> entriesByInputs =
+      new LinkedHashMap<Object, Map<Territory, Entry>>(16, 0.75f, true) {
+        private static final long serialVersionUID = 2165397185203736434L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Object, Map<Territory, Entry>> eldest) {
+          return size() > MAX_INPUTS;
+        }
+      };
+
+  public ProTerritoryValueCache(final GameData data) {
+    this.data = data;
+  }
+
+  public boolean isFor(final GameData data) {
+    return this.data == data;
+  }
+
+  /**
+   * Discards all values if the specified global state differs from the one of the previous update, otherwise the
+   * values that depend on the owner or the units of a territory that changed since the previous update.
+   */
+  void update(final Object globalState) {
+    final boolean isGlobalStateChanged = !globalState.equals(this.globalState);
+    this.globalState = globalState;
+    final Set<Territory> changedOwners = new HashSet<>();
+    final Set<Territory> changedUnits = new HashSet<>();
+    final BattleTracker battleTracker = AbstractMoveDelegate.getBattleTracker(data);
+    for (final Territory t : data.getMap().getTerritories()) {
+      final List<Object> ownerState = getOwnerState(t, battleTracker);
+      if (!ownerState.equals(ownerStates.put(t, ownerState))) {
+        changedOwners.add(t);
+      }
+      final Multiset<List<Object>> unitState = getUnitState(t);
+      if (!unitState.equals(unitStates.put(t, unitState))) {
+        changedUnits.add(t);
+      }
+    }
+
+    if (isGlobalStateChanged) {
+      entriesByInputs.clear();
+      return;
+    }
+    for (final Map<Territory, Entry> entries : entriesByInputs.values()) {
+      final Iterator<Entry> it = entries.values().iterator();
+      while (it.hasNext()) {
+        final Dependencies dependencies = it.next().dependencies;
+        if (!Collections.disjoint(dependencies.owners, changedOwners)
+            || !Collections.disjoint(dependencies.units, changedUnits)) {
+          it.remove();
+        }
+      }
+    }
+  }
+
+  private static List<Object> getOwnerState(final Territory t, final BattleTracker battleTracker) {
+    final TerritoryAttachment ta = TerritoryAttachment.get(t);
+    return Arrays.asList(
+        t.getOwner(),
+        battleTracker.wasConquered(t),
+        (ta != null) ? ta.getProduction() : null,
+        (ta != null) && ta.isCapital(),
+        (ta != null) && ta.getIsImpassable());
+  }
+
+  private static Multiset<List<Object>> getUnitState(final Territory t) {
+    final Multiset<List<Object>> unitState = HashMultiset.create();
+    for (final Unit unit : t.getUnits().getUnits()) {
+      final TripleAUnit taUnit = TripleAUnit.get(unit);
+      unitState.add(Arrays.asList(unit.getType(), unit.getOwner(), unit.getHits(), taUnit.getUnitDamage(),
+          taUnit.getDisabled()));
+    }
+    return unitState;
+  }
+
+  /**
+   * Returns the value of the specified territory for the specified inputs, computing it if it is not cached. The
+   * dependencies of the value are added to the specified dependencies, if any, since a value computed from another
+   * value depends on everything the other value depends on.
+   *
+   * @param inputs Everything the value depends on other than the game data, e.g. the territories that can't be held.
+   * @param computer Computes the value, recording its dependencies in the passed dependencies.
+   */
+  @SuppressWarnings("unchecked")
+  <T> T get(final Object inputs, final Territory t, final @Nullable Dependencies dependencies,
+      final Function<Dependencies, T> computer) {
+    Entry entry = entriesByInputs.computeIfAbsent(inputs, k -> new HashMap<>()).get(t);
+    if (entry == null) {
+      final Dependencies valueDependencies = new Dependencies();
+      entry = new Entry(computer.apply(valueDependencies), valueDependencies);
+      // the computer may have added other values for the same inputs, or evicted them
+      entriesByInputs.computeIfAbsent(inputs, k -> new HashMap<>()).put(t, entry);
+    }
+    if (dependencies != null) {
+      dependencies.addAll(entry.dependencies);
+    }
+    return (T) entry.value;
+  }
+
+  @VisibleForTesting
+  int size() {
+    return entriesByInputs.values().stream().mapToInt(Map::size).sum();
+  }
+
+  private static final class Entry {
+    final Object value;
+    final Dependencies dependencies;
+
+    Entry(final Object value, final Dependencies dependencies) {
+      this.value = value;
+      this.dependencies = dependencies;
+    }
+  }
+
+  /**
+   * The territories whose owner and the territories whose units a value depends on.
+   */
+  static final class Dependencies {
+    private final Set<Territory> owners = new HashSet<>();
+    private final Set<Territory> units = new HashSet<>();
+
+    /**
+     * Returns a match that records the owner of each tested territory as a dependency. The specified match must only
+     * depend on the owner of the territory and the global state.
+     */
+    Predicate<Territory> onOwner(final Predicate<Territory> match) {
+      return t -> {
+        owners.add(t);
+        return match.test(t);
+      };
+    }
+
+    /**
+     * Returns a match that records the owner and the units of each tested territory as dependencies.
+     */
+    Predicate<Territory> onOwnerAndUnits(final Predicate<Territory> match) {
+      return t -> {
+        addOwnerAndUnits(t);
+        return match.test(t);
+      };
+    }
+
+    void addOwner(final Territory t) {
+      owners.add(t);
+    }
+
+    void addOwners(final Collection<Territory> territories) {
+      owners.addAll(territories);
+    }
+
+    void addOwnerAndUnits(final Territory t) {
+      owners.add(t);
+      units.add(t);
+    }
+
+    void addAll(final Dependencies dependencies) {
+      owners.addAll(dependencies.owners);
+      units.addAll(dependencies.units);
+    }
+  }
+}
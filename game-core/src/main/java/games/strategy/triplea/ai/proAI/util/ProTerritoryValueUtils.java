@@ -1,18 +1,25 @@
 package games.strategy.triplea.ai.proAI.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
 
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.RelationshipType;
 import games.strategy.engine.data.Route;
 import games.strategy.engine.data.Territory;
 import games.strategy.triplea.ai.proAI.ProData;
+import games.strategy.triplea.ai.proAI.util.ProTerritoryValueCache.Dependencies;
+import games.strategy.triplea.attachments.CanalAttachment;
 import games.strategy.triplea.attachments.TerritoryAttachment;
 import games.strategy.triplea.delegate.Matches;
 import games.strategy.triplea.delegate.MoveValidator;
@@ -25,108 +32,90 @@ public class ProTerritoryValueUtils {
 
   private static final int MIN_FACTORY_CHECK_DISTANCE = 9;
   private static final int MAX_FACTORY_CHECK_DISTANCE = 30;
+  private static final List<Object> LAND_MASS_SIZE_INPUTS = Collections.singletonList(ValueKind.LAND_MASS_SIZE);
 
-  public static double findTerritoryAttackValue(final PlayerID player, final Territory t) {
-    final GameData data = ProData.getData();
+  public static double findTerritoryAttackValue(final ProData proData, final PlayerID player, final Territory t) {
+    final GameData data = proData.getData();
     final int isEnemyFactory = ProMatches.territoryHasInfraFactoryAndIsEnemyLand(player, data).test(t) ? 1 : 0;
     double value = 3 * TerritoryAttachment.getProduction(t) * (isEnemyFactory + 1);
     if (!t.isWater() && t.getOwner().isNull()) {
       final double strength =
-          ProBattleUtils.estimateStrength(t, new ArrayList<>(t.getUnits().getUnits()), new ArrayList<>(), false);
+          ProBattleUtils.estimateStrength(proData, t, new ArrayList<>(t.getUnits().getUnits()), new ArrayList<>(),
+              false);
 
       // Estimate TUV swing as number of casualties * cost
-      final double tuvSwing = -(strength / 8) * ProData.minCostPerHitPoint;
+      final double tuvSwing = -(strength / 8) * proData.getMinCostPerHitPoint();
       value += tuvSwing;
     }
 
     return value;
   }
 
-  public static Map<Territory, Double> findTerritoryValues(final PlayerID player,
+  public static Map<Territory, Double> findTerritoryValues(final ProData proData, final PlayerID player,
       final List<Territory> territoriesThatCantBeHeld, final List<Territory> territoriesToAttack) {
 
-    return findTerritoryValues(player, territoriesThatCantBeHeld, territoriesToAttack,
-        new HashSet<>(ProData.getData().getMap().getTerritories()));
+    return findTerritoryValues(proData, player, territoriesThatCantBeHeld, territoriesToAttack,
+        new HashSet<>(proData.getData().getMap().getTerritories()));
   }
 
-  public static Map<Territory, Double> findTerritoryValues(final PlayerID player,
+  public static Map<Territory, Double> findTerritoryValues(final ProData proData, final PlayerID player,
       final List<Territory> territoriesThatCantBeHeld, final List<Territory> territoriesToAttack,
       final Set<Territory> territoriesToCheck) {
 
-    final int maxLandMassSize = findMaxLandMassSize(player);
+    final ProTerritoryValueCache cache = proData.getTerritoryValueCache();
+    cache.update(getGlobalState(proData, player));
+
+    final int maxLandMassSize = findMaxLandMassSize(proData, player, cache);
 
     final Map<Territory, Double> enemyCapitalsAndFactoriesMap =
-        findEnemyCapitalsAndFactoriesValue(player, maxLandMassSize, territoriesThatCantBeHeld, territoriesToAttack);
+        findEnemyCapitalsAndFactoriesValue(proData, player, maxLandMassSize, territoriesThatCantBeHeld,
+            territoriesToAttack, cache);
 
+    final List<Object> inputs = Arrays.asList(ValueKind.TERRITORY_VALUE, new HashSet<>(territoriesThatCantBeHeld),
+        new HashSet<>(territoriesToAttack), enemyCapitalsAndFactoriesMap, maxLandMassSize);
     final Map<Territory, Double> territoryValueMap = new HashMap<>();
     for (final Territory t : territoriesToCheck) {
       if (!t.isWater()) {
-        final double value = findLandValue(t, player, maxLandMassSize, enemyCapitalsAndFactoriesMap,
-            territoriesThatCantBeHeld, territoriesToAttack);
+        final double value = findLandValue(proData, t, player, maxLandMassSize, enemyCapitalsAndFactoriesMap,
+            territoriesThatCantBeHeld, territoriesToAttack, cache, inputs, null);
         territoryValueMap.put(t, value);
       }
     }
 
     for (final Territory t : territoriesToCheck) {
       if (t.isWater()) {
-        final double value = findWaterValue(t, player, maxLandMassSize, enemyCapitalsAndFactoriesMap,
-            territoriesThatCantBeHeld, territoriesToAttack, territoryValueMap);
-        territoryValueMap.put(t, value);
+        final WaterValue waterValue = cache.get(inputs, t, null,
+            dependencies -> findWaterValue(proData, t, player, maxLandMassSize, enemyCapitalsAndFactoriesMap,
+                territoriesThatCantBeHeld, territoriesToAttack, cache, inputs, dependencies));
+        for (final Territory nearbyLandTerritory : waterValue.landTerritories) {
+          if (!territoryValueMap.containsKey(nearbyLandTerritory)) {
+            final double value = findLandValue(proData, nearbyLandTerritory, player, maxLandMassSize,
+                enemyCapitalsAndFactoriesMap, territoriesThatCantBeHeld, territoriesToAttack, cache, inputs, null);
+            territoryValueMap.put(nearbyLandTerritory, value);
+          }
+        }
+        territoryValueMap.put(t, waterValue.value);
       }
     }
 
     return territoryValueMap;
   }
 
-  public static Map<Territory, Double> findSeaTerritoryValues(final PlayerID player,
+  public static Map<Territory, Double> findSeaTerritoryValues(final ProData proData, final PlayerID player,
       final List<Territory> territoriesThatCantBeHeld) {
 
+    final ProTerritoryValueCache cache = proData.getTerritoryValueCache();
+    cache.update(getGlobalState(proData, player));
+
     // Determine value for water territories
+    final List<Object> inputs = Arrays.asList(ValueKind.SEA_VALUE, new HashSet<>(territoriesThatCantBeHeld));
     final Map<Territory, Double> territoryValueMap = new HashMap<>();
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
     for (final Territory t : data.getMap().getTerritories()) {
       if (!territoriesThatCantBeHeld.contains(t) && t.isWater()
           && !data.getMap().getNeighbors(t, Matches.territoryIsWater()).isEmpty()) {
-
-        // Determine sea value based on nearby convoy production
-        double nearbySeaProductionValue = 0;
-        final Set<Territory> nearbySeaTerritories =
-            data.getMap().getNeighbors(t, 4, ProMatches.territoryCanMoveSeaUnits(player, data, true));
-        final List<Territory> nearbyEnemySeaTerritories = CollectionUtils.getMatches(nearbySeaTerritories,
-            ProMatches.territoryIsEnemyOrCantBeHeld(player, data, territoriesThatCantBeHeld));
-        for (final Territory nearbyEnemySeaTerritory : nearbyEnemySeaTerritories) {
-          final Route route = data.getMap().getRoute_IgnoreEnd(t, nearbyEnemySeaTerritory,
-              ProMatches.territoryCanMoveSeaUnits(player, data, true));
-          if (route == null || MoveValidator.validateCanal(route, null, player, data) != null) {
-            continue;
-          }
-          final int distance = route.numberOfSteps();
-          if (distance > 0) {
-            nearbySeaProductionValue +=
-                TerritoryAttachment.getProduction(nearbyEnemySeaTerritory) / Math.pow(2, distance);
-          }
-        }
-
-        // Determine sea value based on nearby enemy sea units
-        double nearbyEnemySeaUnitValue = 0;
-        final List<Territory> nearbyEnemySeaUnitTerritories =
-            CollectionUtils.getMatches(nearbySeaTerritories, Matches.territoryHasEnemyUnits(player, data));
-        for (final Territory nearbyEnemySeaTerritory : nearbyEnemySeaUnitTerritories) {
-          final Route route = data.getMap().getRoute_IgnoreEnd(t, nearbyEnemySeaTerritory,
-              ProMatches.territoryCanMoveSeaUnits(player, data, true));
-          if (route == null || MoveValidator.validateCanal(route, null, player, data) != null) {
-            continue;
-          }
-          final int distance = route.numberOfSteps();
-          if (distance > 0) {
-            nearbyEnemySeaUnitValue +=
-                nearbyEnemySeaTerritory.getUnits().countMatches(Matches.unitIsEnemyOf(data, player))
-                    / Math.pow(2, distance);
-          }
-        }
-
-        // Set final values
-        final double value = 100 * nearbySeaProductionValue + nearbyEnemySeaUnitValue;
+        final double value = cache.get(inputs, t, null,
+            dependencies -> findSeaValue(proData, t, player, territoriesThatCantBeHeld, dependencies));
         territoryValueMap.put(t, value);
       } else if (t.isWater()) {
         territoryValueMap.put(t, 0.0);
@@ -136,13 +125,71 @@ public class ProTerritoryValueUtils {
     return territoryValueMap;
   }
 
-  private static int findMaxLandMassSize(final PlayerID player) {
+  /**
+   * Returns everything the territory values depend on other than the owner and the units of each territory and the
+   * inputs of each value, see {@link ProTerritoryValueCache}.
+   */
+  private static Object getGlobalState(final ProData proData, final PlayerID player) {
+    final GameData data = proData.getData();
+    final List<RelationshipType> relationshipTypes = new ArrayList<>();
+    for (final PlayerID otherPlayer : data.getPlayerList().getPlayers()) {
+      relationshipTypes.add(data.getRelationshipTracker().getRelationshipType(player, otherPlayer));
+    }
+    return Arrays.asList(player, data.getSequence().getRound(), relationshipTypes, proData.getMinCostPerHitPoint(),
+        proData.getUnitValueMap());
+  }
+
+  private static double findSeaValue(final ProData proData, final Territory t, final PlayerID player,
+      final List<Territory> territoriesThatCantBeHeld, final Dependencies dependencies) {
+
+    // Determine sea value based on nearby convoy production
+    final GameData data = proData.getData();
+    final Predicate<Territory> canMoveSeaUnits =
+        dependencies.onOwner(ProMatches.territoryCanMoveSeaUnits(player, data, true));
+    double nearbySeaProductionValue = 0;
+    final Set<Territory> nearbySeaTerritories = data.getMap().getNeighbors(t, 4, canMoveSeaUnits);
+    final List<Territory> nearbyEnemySeaTerritories = CollectionUtils.getMatches(nearbySeaTerritories,
+        dependencies.onOwner(ProMatches.territoryIsEnemyOrCantBeHeld(player, data, territoriesThatCantBeHeld)));
+    for (final Territory nearbyEnemySeaTerritory : nearbyEnemySeaTerritories) {
+      final Route route = data.getMap().getRoute_IgnoreEnd(t, nearbyEnemySeaTerritory, canMoveSeaUnits);
+      if (route == null || !canPassThroughCanals(route, player, data, dependencies)) {
+        continue;
+      }
+      final int distance = route.numberOfSteps();
+      if (distance > 0) {
+        nearbySeaProductionValue +=
+            TerritoryAttachment.getProduction(nearbyEnemySeaTerritory) / Math.pow(2, distance);
+      }
+    }
+
+    // Determine sea value based on nearby enemy sea units
+    double nearbyEnemySeaUnitValue = 0;
+    final List<Territory> nearbyEnemySeaUnitTerritories = CollectionUtils.getMatches(nearbySeaTerritories,
+        dependencies.onOwnerAndUnits(Matches.territoryHasEnemyUnits(player, data)));
+    for (final Territory nearbyEnemySeaTerritory : nearbyEnemySeaUnitTerritories) {
+      final Route route = data.getMap().getRoute_IgnoreEnd(t, nearbyEnemySeaTerritory, canMoveSeaUnits);
+      if (route == null || !canPassThroughCanals(route, player, data, dependencies)) {
+        continue;
+      }
+      final int distance = route.numberOfSteps();
+      if (distance > 0) {
+        nearbyEnemySeaUnitValue +=
+            nearbyEnemySeaTerritory.getUnits().countMatches(Matches.unitIsEnemyOf(data, player))
+                / Math.pow(2, distance);
+      }
+    }
+
+    // Set final values
+    return 100 * nearbySeaProductionValue + nearbyEnemySeaUnitValue;
+  }
+
+  private static int findMaxLandMassSize(final ProData proData, final PlayerID player,
+      final ProTerritoryValueCache cache) {
     int maxLandMassSize = 1;
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
     for (final Territory t : data.getMap().getTerritories()) {
       if (!t.isWater()) {
-        final int landMassSize = 1 + data.getMap()
-            .getNeighbors(t, 6, ProMatches.territoryCanPotentiallyMoveLandUnits(player, data)).size();
+        final int landMassSize = findLandMassSize(proData, t, player, cache, null);
         if (landMassSize > maxLandMassSize) {
           maxLandMassSize = landMassSize;
         }
@@ -152,23 +199,31 @@ public class ProTerritoryValueUtils {
     return maxLandMassSize;
   }
 
-  private static Map<Territory, Double> findEnemyCapitalsAndFactoriesValue(final PlayerID player,
+  private static int findLandMassSize(final ProData proData, final Territory t, final PlayerID player,
+      final ProTerritoryValueCache cache, final @Nullable Dependencies dependencies) {
+    final GameData data = proData.getData();
+    return cache.get(LAND_MASS_SIZE_INPUTS, t, dependencies, landMassDependencies -> 1 + data.getMap()
+        .getNeighbors(t, 6, landMassDependencies.onOwner(ProMatches.territoryCanPotentiallyMoveLandUnits(player, data)))
+        .size());
+  }
+
+  private static Map<Territory, Double> findEnemyCapitalsAndFactoriesValue(final ProData proData, final PlayerID player,
       final int maxLandMassSize, final List<Territory> territoriesThatCantBeHeld,
-      final List<Territory> territoriesToAttack) {
+      final List<Territory> territoriesToAttack, final ProTerritoryValueCache cache) {
 
     // Get all enemy factories and capitals (check if most territories have factories and if so remove them)
     final Set<Territory> enemyCapitalsAndFactories = new HashSet<>();
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
     final List<Territory> allTerritories = data.getMap().getTerritories();
     enemyCapitalsAndFactories.addAll(
         CollectionUtils.getMatches(allTerritories, ProMatches.territoryHasInfraFactoryAndIsOwnedByPlayersOrCantBeHeld(
-            player, ProUtils.getPotentialEnemyPlayers(player), territoriesThatCantBeHeld)));
+            player, ProUtils.getPotentialEnemyPlayers(proData, player), territoriesThatCantBeHeld)));
     final int numPotentialEnemyTerritories = CollectionUtils.countMatches(allTerritories,
-        Matches.isTerritoryOwnedBy(ProUtils.getPotentialEnemyPlayers(player)));
+        Matches.isTerritoryOwnedBy(ProUtils.getPotentialEnemyPlayers(proData, player)));
     if (enemyCapitalsAndFactories.size() * 2 >= numPotentialEnemyTerritories) {
       enemyCapitalsAndFactories.clear();
     }
-    enemyCapitalsAndFactories.addAll(ProUtils.getLiveEnemyCapitals(data, player));
+    enemyCapitalsAndFactories.addAll(ProUtils.getLiveEnemyCapitals(proData, data, player));
     enemyCapitalsAndFactories.removeAll(territoriesToAttack);
 
     // Find value for each enemy capital and factory
@@ -190,8 +245,7 @@ public class ProTerritoryValueUtils {
 
       // Calculate value
       final int isNeutral = t.getOwner().isNull() ? 1 : 0;
-      final int landMassSize = 1 + data.getMap()
-          .getNeighbors(t, 6, ProMatches.territoryCanPotentiallyMoveLandUnits(player, data)).size();
+      final int landMassSize = findLandMassSize(proData, t, player, cache, null);
       final double value = Math.sqrt(factoryProduction + Math.sqrt(playerProduction)) * 32 / (1 + 3 * isNeutral)
           * landMassSize / maxLandMassSize;
       enemyCapitalsAndFactoriesMap.put(t, value);
@@ -200,22 +254,35 @@ public class ProTerritoryValueUtils {
     return enemyCapitalsAndFactoriesMap;
   }
 
-  private static double findLandValue(final Territory t, final PlayerID player, final int maxLandMassSize,
+  private static double findLandValue(final ProData proData, final Territory t, final PlayerID player,
+      final int maxLandMassSize,
       final Map<Territory, Double> enemyCapitalsAndFactoriesMap, final List<Territory> territoriesThatCantBeHeld,
-      final List<Territory> territoriesToAttack) {
+      final List<Territory> territoriesToAttack, final ProTerritoryValueCache cache, final Object inputs,
+      final @Nullable Dependencies dependencies) {
 
     if (territoriesThatCantBeHeld.contains(t)) {
       return 0.0;
     }
+    return cache.get(inputs, t, dependencies,
+        landDependencies -> computeLandValue(proData, t, player, maxLandMassSize, enemyCapitalsAndFactoriesMap,
+            territoriesThatCantBeHeld, territoriesToAttack, cache, landDependencies));
+  }
+
+  private static double computeLandValue(final ProData proData, final Territory t, final PlayerID player,
+      final int maxLandMassSize,
+      final Map<Territory, Double> enemyCapitalsAndFactoriesMap, final List<Territory> territoriesThatCantBeHeld,
+      final List<Territory> territoriesToAttack, final ProTerritoryValueCache cache,
+      final Dependencies dependencies) {
 
     // Determine value based on enemy factory land distance
     final List<Double> values = new ArrayList<>();
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
+    final Predicate<Territory> canPotentiallyMoveLandUnits =
+        dependencies.onOwner(ProMatches.territoryCanPotentiallyMoveLandUnits(player, data));
     final Set<Territory> nearbyEnemyCapitalsAndFactories =
-        findNearbyEnemyCapitalsAndFactories(t, enemyCapitalsAndFactoriesMap);
+        findNearbyEnemyCapitalsAndFactories(proData, t, enemyCapitalsAndFactoriesMap);
     for (final Territory enemyCapitalOrFactory : nearbyEnemyCapitalsAndFactories) {
-      final int distance = data.getMap().getDistance(t, enemyCapitalOrFactory,
-          ProMatches.territoryCanPotentiallyMoveLandUnits(player, data));
+      final int distance = data.getMap().getDistance(t, enemyCapitalOrFactory, canPotentiallyMoveLandUnits);
       if (distance > 0) {
         values.add(enemyCapitalsAndFactoriesMap.get(enemyCapitalOrFactory) / Math.pow(2, distance));
       }
@@ -228,53 +295,57 @@ public class ProTerritoryValueUtils {
 
     // Determine value based on nearby territory production
     double nearbyEnemyValue = 0;
-    final Set<Territory> nearbyTerritories =
-        data.getMap().getNeighbors(t, 2, ProMatches.territoryCanPotentiallyMoveLandUnits(player, data));
+    final Set<Territory> nearbyTerritories = data.getMap().getNeighbors(t, 2, canPotentiallyMoveLandUnits);
     final List<Territory> nearbyEnemyTerritories = CollectionUtils.getMatches(nearbyTerritories,
-        ProMatches.territoryIsEnemyOrCantBeHeld(player, data, territoriesThatCantBeHeld));
+        dependencies.onOwner(ProMatches.territoryIsEnemyOrCantBeHeld(player, data, territoriesThatCantBeHeld)));
     nearbyEnemyTerritories.removeAll(territoriesToAttack);
     for (final Territory nearbyEnemyTerritory : nearbyEnemyTerritories) {
-      final int distance = data.getMap().getDistance(t, nearbyEnemyTerritory,
-          ProMatches.territoryCanPotentiallyMoveLandUnits(player, data));
+      final int distance = data.getMap().getDistance(t, nearbyEnemyTerritory, canPotentiallyMoveLandUnits);
       if (distance > 0) {
         double value = TerritoryAttachment.getProduction(nearbyEnemyTerritory);
         if (nearbyEnemyTerritory.getOwner().isNull()) {
-          value = findTerritoryAttackValue(player, nearbyEnemyTerritory) / 3; // find neutral value
-        } else if (ProMatches.territoryIsAlliedLandAndHasNoEnemyNeighbors(player, data).test(nearbyEnemyTerritory)) {
-          value *= 0.1; // reduce value for can't hold amphib allied territories
+          dependencies.addOwnerAndUnits(nearbyEnemyTerritory);
+          value = findTerritoryAttackValue(proData, player, nearbyEnemyTerritory) / 3; // find neutral value
+        } else {
+          dependencies.addOwners(data.getMap().getNeighbors(nearbyEnemyTerritory));
+          if (ProMatches.territoryIsAlliedLandAndHasNoEnemyNeighbors(player, data).test(nearbyEnemyTerritory)) {
+            value *= 0.1; // reduce value for can't hold amphib allied territories
+          }
         }
         if (value > 0) {
           nearbyEnemyValue += (value / Math.pow(2, distance));
         }
       }
     }
-    final int landMassSize = 1
-        + data.getMap().getNeighbors(t, 6, ProMatches.territoryCanPotentiallyMoveLandUnits(player, data)).size();
+    final int landMassSize = findLandMassSize(proData, t, player, cache, dependencies);
     double value = nearbyEnemyValue * landMassSize / maxLandMassSize + capitalOrFactoryValue;
-    if (ProMatches.territoryHasInfraFactoryAndIsLand().test(t)) {
+    if (dependencies.onOwnerAndUnits(ProMatches.territoryHasInfraFactoryAndIsLand()).test(t)) {
       value *= 1.1; // prefer territories with factories
     }
 
     return value;
   }
 
-  private static double findWaterValue(final Territory t, final PlayerID player, final int maxLandMassSize,
+  private static WaterValue findWaterValue(final ProData proData, final Territory t, final PlayerID player,
+      final int maxLandMassSize,
       final Map<Territory, Double> enemyCapitalsAndFactoriesMap, final List<Territory> territoriesThatCantBeHeld,
-      final List<Territory> territoriesToAttack, final Map<Territory, Double> territoryValueMap) {
+      final List<Territory> territoriesToAttack, final ProTerritoryValueCache cache, final Object inputs,
+      final Dependencies dependencies) {
 
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
     if (territoriesThatCantBeHeld.contains(t) || data.getMap().getNeighbors(t, Matches.territoryIsWater()).isEmpty()) {
-      return 0.0;
+      return new WaterValue(0.0, Collections.emptyList());
     }
 
     // Determine value based on enemy factory distance
     final List<Double> values = new ArrayList<>();
+    final Predicate<Territory> canMoveSeaUnits =
+        dependencies.onOwner(ProMatches.territoryCanMoveSeaUnits(player, data, true));
     final Set<Territory> nearbyEnemyCapitalsAndFactories =
-        findNearbyEnemyCapitalsAndFactories(t, enemyCapitalsAndFactoriesMap);
+        findNearbyEnemyCapitalsAndFactories(proData, t, enemyCapitalsAndFactoriesMap);
     for (final Territory enemyCapitalOrFactory : nearbyEnemyCapitalsAndFactories) {
-      final Route route = data.getMap().getRoute_IgnoreEnd(t, enemyCapitalOrFactory,
-          ProMatches.territoryCanMoveSeaUnits(player, data, true));
-      if (route == null || MoveValidator.validateCanal(route, null, player, data) != null) {
+      final Route route = data.getMap().getRoute_IgnoreEnd(t, enemyCapitalOrFactory, canMoveSeaUnits);
+      if (route == null || !canPassThroughCanals(route, player, data, dependencies)) {
         continue;
       }
       final int distance = route.numberOfSteps();
@@ -290,45 +361,57 @@ public class ProTerritoryValueUtils {
 
     // Determine value based on nearby territory production
     double nearbyLandValue = 0;
+    final List<Territory> landTerritories = new ArrayList<>();
     final Set<Territory> nearbyTerritories = data.getMap().getNeighbors(t, 3);
-    final List<Territory> nearbyLandTerritories =
-        CollectionUtils.getMatches(nearbyTerritories, ProMatches.territoryCanPotentiallyMoveLandUnits(player, data));
+    final List<Territory> nearbyLandTerritories = CollectionUtils.getMatches(nearbyTerritories,
+        dependencies.onOwner(ProMatches.territoryCanPotentiallyMoveLandUnits(player, data)));
     nearbyLandTerritories.removeAll(territoriesToAttack);
     for (final Territory nearbyLandTerritory : nearbyLandTerritories) {
-      final Route route = data.getMap().getRoute_IgnoreEnd(t, nearbyLandTerritory,
-          ProMatches.territoryCanMoveSeaUnits(player, data, true));
-      if (route == null || MoveValidator.validateCanal(route, null, player, data) != null) {
+      final Route route = data.getMap().getRoute_IgnoreEnd(t, nearbyLandTerritory, canMoveSeaUnits);
+      if (route == null || !canPassThroughCanals(route, player, data, dependencies)) {
         continue;
       }
       final int distance = route.numberOfSteps();
       if (distance > 0 && distance <= 3) {
-        if (ProMatches.territoryIsEnemyOrCantBeHeld(player, data, territoriesThatCantBeHeld)
+        if (dependencies.onOwner(ProMatches.territoryIsEnemyOrCantBeHeld(player, data, territoriesThatCantBeHeld))
             .test(nearbyLandTerritory)) {
           double value = TerritoryAttachment.getProduction(nearbyLandTerritory);
           if (nearbyLandTerritory.getOwner().isNull()) {
-            value = findTerritoryAttackValue(player, nearbyLandTerritory);
+            dependencies.addOwnerAndUnits(nearbyLandTerritory);
+            value = findTerritoryAttackValue(proData, player, nearbyLandTerritory);
           }
           nearbyLandValue += value;
         }
-        if (!territoryValueMap.containsKey(nearbyLandTerritory)) {
-          final double value = findLandValue(nearbyLandTerritory, player, maxLandMassSize, enemyCapitalsAndFactoriesMap,
-              territoriesThatCantBeHeld, territoriesToAttack);
-          territoryValueMap.put(nearbyLandTerritory, value);
-        }
-        nearbyLandValue += territoryValueMap.get(nearbyLandTerritory);
+        nearbyLandValue += findLandValue(proData, nearbyLandTerritory, player, maxLandMassSize,
+            enemyCapitalsAndFactoriesMap, territoriesThatCantBeHeld, territoriesToAttack, cache, inputs, dependencies);
+        landTerritories.add(nearbyLandTerritory);
       }
     }
     final double value = capitalOrFactoryValue / 100 + nearbyLandValue / 10;
 
-    return value;
+    return new WaterValue(value, landTerritories);
   }
 
-  private static Set<Territory> findNearbyEnemyCapitalsAndFactories(final Territory t,
+  /**
+   * Indicates whether the specified route passes through no canal or only through canals the specified player can
+   * pass through, recording the owners of the land territories of the canals on the route as dependencies.
+   */
+  private static boolean canPassThroughCanals(final Route route, final PlayerID player, final GameData data,
+      final Dependencies dependencies) {
+    for (final Territory routeTerritory : route.getAllTerritories()) {
+      for (final CanalAttachment canalAttachment : CanalAttachment.get(routeTerritory)) {
+        dependencies.addOwners(canalAttachment.getLandTerritories());
+      }
+    }
+    return MoveValidator.validateCanal(route, null, player, data) == null;
+  }
+
+  private static Set<Territory> findNearbyEnemyCapitalsAndFactories(final ProData proData, final Territory t,
       final Map<Territory, Double> enemyCapitalsAndFactoriesMap) {
 
     Set<Territory> nearbyEnemyCapitalsAndFactories = new HashSet<>();
     for (int i = MIN_FACTORY_CHECK_DISTANCE; i <= MAX_FACTORY_CHECK_DISTANCE; i++) {
-      nearbyEnemyCapitalsAndFactories = ProData.getData().getMap().getNeighbors(t, i);
+      nearbyEnemyCapitalsAndFactories = proData.getData().getMap().getNeighbors(t, i);
       nearbyEnemyCapitalsAndFactories.retainAll(enemyCapitalsAndFactoriesMap.keySet());
       if (!nearbyEnemyCapitalsAndFactories.isEmpty()) {
         break;
@@ -338,4 +421,20 @@ public class ProTerritoryValueUtils {
     return nearbyEnemyCapitalsAndFactories;
   }
 
+  private enum ValueKind {
+    LAND_MASS_SIZE, TERRITORY_VALUE, SEA_VALUE
+  }
+
+  private static final class WaterValue {
+    final double value;
+    /**
+     * The land territories whose values the value is computed from.
+     */
+    final List<Territory> landTerritories;
+
+    WaterValue(final double value, final List<Territory> landTerritories) {
+      this.value = value;
+      this.landTerritories = landTerritories;
+    }
+  }
 }
@@ -0,0 +1,243 @@
+package games.strategy.triplea.ai.tournament;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
+import com.google.common.base.Throwables;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameStep;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.delegate.IDelegate;
+import games.strategy.engine.framework.ServerGame;
+import games.strategy.engine.gamePlayer.IGamePlayer;
+import games.strategy.engine.random.PlainRandomSource;
+import games.strategy.net.HeadlessServerMessenger;
+import games.strategy.net.Messengers;
+import games.strategy.sound.HeadlessSoundChannel;
+import games.strategy.triplea.TripleA;
+import games.strategy.triplea.ai.fastAI.FastAi;
+import games.strategy.triplea.ai.proAI.ProAi;
+import games.strategy.triplea.ai.weakAI.DoesNothingAi;
+import games.strategy.triplea.ai.weakAI.WeakAi;
+import games.strategy.triplea.delegate.EndRoundDelegate;
+import games.strategy.triplea.delegate.GameStepPropertiesHelper;
+import games.strategy.triplea.delegate.MoveDelegate;
+import games.strategy.triplea.oddsCalculator.ta.CachingOddsCalculator;
+import games.strategy.triplea.oddsCalculator.ta.ConcurrentOddsCalculator;
+import games.strategy.triplea.ui.display.HeadlessDisplay;
+
+/**
+ * One game of an {@link AiTournament}, played on its own {@link ServerGame} by local AI players.
+ *
+ * <p>
+ * The game is played on a dedicated game thread, while the thread calling {@link #play()} waits for it to end. The
+ * metrics of each step are collected when the next step starts, so the allocations are those of the game thread,
+ * which plays the steps of the AIs and runs the delegates, but not those of the worker threads of the odds
+ * calculator.
+ * </p>
+ */
+final class AiGame {
+  private static final long POLL_INTERVAL_MILLIS = 10;
+
+  private final GameData data;
+  private final int gameNumber;
+  private final long seed;
+  private final int maxRounds;
+  private final Map<String, String> playerTypes;
+  private final CachingOddsCalculator oddsCalculator =
+      new CachingOddsCalculator(new ConcurrentOddsCalculator("AiTournament"));
+  private final Object lock = new Object();
+  @GuardedBy("lock")
+  private final Map<String, AiGameResult.PhaseMetrics> phases = new LinkedHashMap<>();
+  @GuardedBy("lock")
+  private @Nullable StepStart currentStep = null;
+  @GuardedBy("lock")
+  private int rounds = 0;
+  private @Nullable ServerGame game;
+  private @Nullable Thread gameThread;
+
+  /**
+   * @param playerTypes The type of the AI of each player, e.g. {@link TripleA#PRO_COMPUTER_PLAYER_TYPE}.
+   * @param maxRounds The number of rounds after which the game is stopped if no player has won it.
+   */
+  AiGame(final GameData data, final int gameNumber, final long seed, final int maxRounds,
+      final Map<String, String> playerTypes) {
+    this.data = checkNotNull(data);
+    this.gameNumber = gameNumber;
+    this.seed = seed;
+    this.maxRounds = maxRounds;
+    this.playerTypes = new HashMap<>(playerTypes);
+  }
+
+  /**
+   * Plays the game until a player wins it or until the round limit, and returns its outcome and metrics.
+   */
+  AiGameResult play() throws InterruptedException {
+    final long startNanos = System.nanoTime();
+    final AtomicReference<Throwable> error = new AtomicReference<>();
+    try {
+      final Set<IGamePlayer> players = newPlayers();
+      final ServerGame game =
+          new ServerGame(data, players, new HashMap<>(), new Messengers(new HeadlessServerMessenger()));
+      this.game = game;
+      game.setRandomSource(new PlainRandomSource(seed));
+      game.setAutoSaveEnabled(false);
+      game.addDisplay(new HeadlessDisplay());
+      game.addSoundChannel(new HeadlessSoundChannel());
+      game.addGameStepListener(this::gameStepChanged);
+
+      final Thread gameThread = new Thread(() -> {
+        try {
+          game.startGame();
+        } catch (final RuntimeException e) {
+          error.set(e);
+        }
+      }, "AI tournament game " + gameNumber);
+      this.gameThread = gameThread;
+      gameThread.setDaemon(true);
+      gameThread.start();
+      try {
+        while (gameThread.isAlive() && game.isGameSequenceRunning()) {
+          gameThread.join(POLL_INTERVAL_MILLIS);
+        }
+        endStep(System.nanoTime());
+      } finally {
+        game.stopGame();
+        gameThread.join();
+      }
+    } catch (final RuntimeException e) {
+      error.set(e);
+    } finally {
+      oddsCalculator.shutdown();
+    }
+
+    synchronized (lock) {
+      return new AiGameResult(gameNumber, seed, rounds, getWinners(),
+          (error.get() != null) ? Throwables.getRootCause(error.get()).toString() : null,
+          System.nanoTime() - startNanos, phases);
+    }
+  }
+
+  private Set<IGamePlayer> newPlayers() {
+    final Set<IGamePlayer> players = new HashSet<>();
+    for (final PlayerID player : data.getPlayerList().getPlayers()) {
+      final String name = player.getName();
+      final String type = playerTypes.getOrDefault(name, TripleA.PRO_COMPUTER_PLAYER_TYPE);
+      switch (type) {
+        case TripleA.PRO_COMPUTER_PLAYER_TYPE:
+          players.add(new ProAi(name, type, oddsCalculator));
+          break;
+        case TripleA.FAST_COMPUTER_PLAYER_TYPE:
+          players.add(new FastAi(name, type));
+          break;
+        case TripleA.WEAK_COMPUTER_PLAYER_TYPE:
+          players.add(new WeakAi(name, type));
+          break;
+        case TripleA.DOESNOTHINGAI_COMPUTER_PLAYER_TYPE:
+          players.add(new DoesNothingAi(name, type));
+          break;
+        default:
+          throw new IllegalArgumentException("Not an AI player type: " + type);
+      }
+    }
+    return players;
+  }
+
+  private void gameStepChanged(final String stepName, final String delegateName, final PlayerID player,
+      final int round, final String displayName) {
+    final long nanos = System.nanoTime();
+    endStep(nanos);
+    if (round > maxRounds) {
+      checkNotNull(game).stopGameSequence();
+      return;
+    }
+    synchronized (lock) {
+      rounds = round;
+      currentStep = new StepStart(getPhaseName(), nanos, getOddsCalculations(), getAllocatedBytes());
+    }
+  }
+
+  /**
+   * Returns the name of the phase of the current step, which is the type of its delegate, e.g. "Purchase", except for
+   * the move delegate, whose combat and non combat move steps are different phases.
+   */
+  private String getPhaseName() {
+    final GameStep step = data.getSequence().getStep();
+    if (step.getDelegate() instanceof MoveDelegate) {
+      return GameStepPropertiesHelper.isNonCombatMove(data, true) ? "NonCombatMove" : "CombatMove";
+    }
+    return step.getDelegate().getClass().getSimpleName().replaceFirst("Delegate$", "");
+  }
+
+  private void endStep(final long nanos) {
+    synchronized (lock) {
+      if (currentStep == null) {
+        return;
+      }
+      final long allocatedBytes = getAllocatedBytes();
+      phases.merge(currentStep.phase, new AiGameResult.PhaseMetrics(
+          nanos - currentStep.nanos,
+          getOddsCalculations() - currentStep.oddsCalculations,
+          (allocatedBytes < 0 || currentStep.allocatedBytes < 0) ? -1 : allocatedBytes - currentStep.allocatedBytes),
+          AiGameResult.PhaseMetrics::plus);
+      currentStep = null;
+    }
+  }
+
+  private long getOddsCalculations() {
+    return oddsCalculator.getHitCount() + oddsCalculator.getMissCount();
+  }
+
+  private long getAllocatedBytes() {
+    final ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+    if (gameThread != null && threadMxBean instanceof com.sun.management.ThreadMXBean) {
+      final com.sun.management.ThreadMXBean sunThreadMxBean = (com.sun.management.ThreadMXBean) threadMxBean;
+      if (sunThreadMxBean.isThreadAllocatedMemorySupported() && sunThreadMxBean.isThreadAllocatedMemoryEnabled()) {
+        return sunThreadMxBean.getThreadAllocatedBytes(gameThread.getId());
+      }
+    }
+    return -1;
+  }
+
+  private List<String> getWinners() {
+    final List<String> names = new ArrayList<>();
+    for (final IDelegate delegate : data.getDelegateList()) {
+      if (delegate instanceof EndRoundDelegate) {
+        final @Nullable Collection<PlayerID> winners = ((EndRoundDelegate) delegate).getWinners();
+        if (winners != null) {
+          winners.forEach(winner -> names.add(winner.getName()));
+        }
+      }
+    }
+    return names;
+  }
+
+  private static final class StepStart {
+    final String phase;
+    final long nanos;
+    final long oddsCalculations;
+    final long allocatedBytes;
+
+    StepStart(final String phase, final long nanos, final long oddsCalculations, final long allocatedBytes) {
+      this.phase = phase;
+      this.nanos = nanos;
+      this.oddsCalculations = oddsCalculations;
+      this.allocatedBytes = allocatedBytes;
+    }
+  }
+}
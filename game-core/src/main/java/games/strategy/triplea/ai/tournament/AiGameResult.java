@@ -0,0 +1,159 @@
+package games.strategy.triplea.ai.tournament;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The outcome and the metrics of one game of an {@link AiTournament}.
+ */
+@Immutable
+public final class AiGameResult {
+  private final int gameNumber;
+  private final long seed;
+  private final int rounds;
+  private final List<String> winners;
+  private final @Nullable String error;
+  private final long wallTimeNanos;
+  private final Map<String, PhaseMetrics> phases;
+
+  AiGameResult(final int gameNumber, final long seed, final int rounds, final List<String> winners,
+      final @Nullable String error, final long wallTimeNanos, final Map<String, PhaseMetrics> phases) {
+    this.gameNumber = gameNumber;
+    this.seed = seed;
+    this.rounds = rounds;
+    this.winners = ImmutableList.copyOf(winners);
+    this.error = error;
+    this.wallTimeNanos = wallTimeNanos;
+    this.phases = Collections.unmodifiableMap(new LinkedHashMap<>(checkNotNull(phases)));
+  }
+
+  public int getGameNumber() {
+    return gameNumber;
+  }
+
+  /**
+   * Returns the seed of the dice of the game.
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Returns the number of rounds that were played, including the round in which the game ended.
+   */
+  public int getRounds() {
+    return rounds;
+  }
+
+  /**
+   * Returns the names of the players that won the game, empty if the game stopped before one of them won.
+   */
+  public List<String> getWinners() {
+    return winners;
+  }
+
+  /**
+   * Returns the message of the error that stopped the game, or {@code null} if the game played until its end or the
+   * round limit.
+   */
+  public @Nullable String getError() {
+    return error;
+  }
+
+  public long getWallTimeNanos() {
+    return wallTimeNanos;
+  }
+
+  /**
+   * Returns the metrics of each phase of the game, in the order in which the phases were first played.
+   */
+  public Map<String, PhaseMetrics> getPhases() {
+    return phases;
+  }
+
+  public long getOddsCalculations() {
+    return phases.values().stream().mapToLong(PhaseMetrics::getOddsCalculations).sum();
+  }
+
+  /**
+   * Returns the number of bytes allocated by the game thread, or -1 if the JVM doesn't measure it.
+   */
+  public long getAllocatedBytes() {
+    return phases.values().stream().mapToLong(PhaseMetrics::getAllocatedBytes).reduce(0, PhaseMetrics::sum);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Game %d (seed %d): %d rounds, winners %s%s", gameNumber, seed, rounds, winners,
+        (error != null) ? ", error: " + error : "");
+  }
+
+  /**
+   * The metrics of all the steps of one phase of a game, e.g. all its purchase steps.
+   *
+   * <p>
+   * The wall time of a step runs from its start to the start of the next step, so it includes the time the delegate
+   * takes to start and end the step as well as the time the player takes to play it.
+   * </p>
+   */
+  @Immutable
+  public static final class PhaseMetrics {
+    private final int steps;
+    private final long wallTimeNanos;
+    private final long oddsCalculations;
+    private final long allocatedBytes;
+
+    PhaseMetrics(final long wallTimeNanos, final long oddsCalculations, final long allocatedBytes) {
+      this(1, wallTimeNanos, oddsCalculations, allocatedBytes);
+    }
+
+    private PhaseMetrics(final int steps, final long wallTimeNanos, final long oddsCalculations,
+        final long allocatedBytes) {
+      this.steps = steps;
+      this.wallTimeNanos = wallTimeNanos;
+      this.oddsCalculations = oddsCalculations;
+      this.allocatedBytes = allocatedBytes;
+    }
+
+    PhaseMetrics plus(final PhaseMetrics other) {
+      return new PhaseMetrics(steps + other.steps, wallTimeNanos + other.wallTimeNanos,
+          oddsCalculations + other.oddsCalculations, sum(allocatedBytes, other.allocatedBytes));
+    }
+
+    private static long sum(final long allocatedBytes, final long otherAllocatedBytes) {
+      return (allocatedBytes < 0 || otherAllocatedBytes < 0) ? -1 : allocatedBytes + otherAllocatedBytes;
+    }
+
+    public int getSteps() {
+      return steps;
+    }
+
+    public long getWallTimeNanos() {
+      return wallTimeNanos;
+    }
+
+    /**
+     * Returns the number of battles the odds calculator of the AIs was asked to calculate, whether or not they were
+     * answered from its cache.
+     */
+    public long getOddsCalculations() {
+      return oddsCalculations;
+    }
+
+    /**
+     * Returns the number of bytes allocated by the game thread, or -1 if the JVM doesn't measure it.
+     */
+    public long getAllocatedBytes() {
+      return allocatedBytes;
+    }
+  }
+}
@@ -0,0 +1,236 @@
+package games.strategy.triplea.ai.tournament;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+import com.google.common.collect.ImmutableMap;
+
+import games.strategy.engine.data.EngineVersionException;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameParseException;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.framework.GameDataTemplateCache;
+import games.strategy.engine.framework.GameRunner;
+import games.strategy.triplea.TripleA;
+import games.strategy.triplea.ai.AbstractAi;
+import games.strategy.triplea.settings.ClientSetting;
+
+/**
+ * Plays games between AIs without a UI and collects the wall time, the odds calculations and the allocations of each
+ * phase of each game, e.g. to compare the speed of the AIs across releases.
+ *
+ * <p>
+ * Each game is parsed from the same game XML and played on its own {@code ServerGame} by local AI players, several
+ * games at a time. The dice of game {@code n} are rolled with the seed {@code seed + n}, so a tournament replays the
+ * same dice with the same seed. The AIs themselves also use random numbers, e.g. to estimate the odds of battles,
+ * which are not seeded, so the games are not fully reproducible.
+ * </p>
+ *
+ * <p>
+ * The autosaves of the games are disabled. Run from the command line, the tournament also disables the pauses of the
+ * AIs and reports the results as CSV and JSON; see {@link #main(String[])}.
+ * </p>
+ */
+public final class AiTournament {
+  private static final Logger logger = Logger.getLogger(AiTournament.class.getName());
+
+  private static final Map<String, String> PLAYER_TYPES_BY_ALIAS = ImmutableMap.of(
+      "hard", TripleA.PRO_COMPUTER_PLAYER_TYPE,
+      "fast", TripleA.FAST_COMPUTER_PLAYER_TYPE,
+      "easy", TripleA.WEAK_COMPUTER_PLAYER_TYPE,
+      "none", TripleA.DOESNOTHINGAI_COMPUTER_PLAYER_TYPE);
+
+  private final String mapName;
+  private final byte[] gameXml;
+  private final Map<String, String> playerTypes;
+  private final int games;
+  private final int threads;
+  private final int maxRounds;
+  private final long seed;
+
+  /**
+   * @param mapName The name of the map, only used in error messages.
+   * @param gameXml The game XML of the games.
+   * @param playerTypes The type of the AI of each player, e.g. {@link TripleA#PRO_COMPUTER_PLAYER_TYPE}; the players
+   *        that have no type are played by the Pro AI.
+   * @param games The number of games to play.
+   * @param threads The number of games to play at the same time.
+   * @param maxRounds The number of rounds after which a game is stopped if no player has won it.
+   * @param seed The seed of the dice of the first game.
+   */
+  public AiTournament(final String mapName, final byte[] gameXml, final Map<String, String> playerTypes,
+      final int games, final int threads, final int maxRounds, final long seed) {
+    checkArgument(games > 0, "games must be > 0");
+    checkArgument(threads > 0, "threads must be > 0");
+    checkArgument(maxRounds > 0, "maxRounds must be > 0");
+    for (final String type : playerTypes.values()) {
+      checkArgument(PLAYER_TYPES_BY_ALIAS.containsValue(type), "Not an AI player type: " + type);
+    }
+
+    this.mapName = checkNotNull(mapName);
+    this.gameXml = gameXml.clone();
+    this.playerTypes = new HashMap<>(playerTypes);
+    this.games = games;
+    this.threads = threads;
+    this.maxRounds = maxRounds;
+    this.seed = seed;
+  }
+
+  /**
+   * Plays all the games and returns their results, in the order of their numbers.
+   *
+   * @throws IOException If the game XML cannot be read.
+   */
+  public List<AiGameResult> run()
+      throws GameParseException, EngineVersionException, IOException, InterruptedException {
+    // parsed up front so that an invalid game XML fails the tournament rather than each game
+    final GameData firstGameData = parseGameData();
+
+    final ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, games));
+    try {
+      final List<Future<AiGameResult>> futures = new ArrayList<>();
+      for (int i = 0; i < games; i++) {
+        final int gameNumber = i;
+        futures.add(executor.submit(() -> {
+          final GameData data = (gameNumber == 0) ? firstGameData : parseGameData();
+          final AiGameResult result = new AiGame(data, gameNumber, seed + gameNumber, maxRounds, playerTypes).play();
+          logger.info(result.toString());
+          return result;
+        }));
+      }
+
+      final List<AiGameResult> results = new ArrayList<>();
+      for (final Future<AiGameResult> future : futures) {
+        try {
+          results.add(future.get());
+        } catch (final ExecutionException e) {
+          throw new IOException("Failed to play game " + results.size() + " of " + mapName, e.getCause());
+        }
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private GameData parseGameData() throws GameParseException, EngineVersionException, IOException {
+    return GameDataTemplateCache.getInstance().parse(mapName, new ByteArrayInputStream(gameXml));
+  }
+
+  /**
+   * Plays an AI tournament on the game XML passed as argument and reports its results as CSV on the standard output,
+   * or in the files passed with {@code --csv} and {@code --json}; run without arguments for the other options.
+   */
+  public static void main(final String[] args) throws Exception {
+    final Options options = getOptions();
+    final CommandLine cli;
+    try {
+      cli = new DefaultParser().parse(options, args);
+    } catch (final ParseException e) {
+      System.err.println(e.getMessage());
+      printUsage(options);
+      return;
+    }
+    if (cli.getArgs().length != 1) {
+      printUsage(options);
+      return;
+    }
+
+    ClientSetting.initialize();
+    System.setProperty(GameRunner.TRIPLEA_HEADLESS, "true");
+    AbstractAi.setPauseEnabled(false);
+
+    final Path gameFile = Paths.get(cli.getArgs()[0]);
+    final String mapName = gameFile.getFileName().toString().replaceFirst("\\.xml$", "");
+    final byte[] gameXml = Files.readAllBytes(gameFile);
+    final String defaultPlayerType = getPlayerType(cli.getOptionValue("ai", "hard"));
+    final Properties playerTypeOptions = cli.getOptionProperties("P");
+    final Map<String, String> playerTypes = new HashMap<>();
+    for (final PlayerID player : GameDataTemplateCache.getInstance().parse(mapName, new ByteArrayInputStream(gameXml))
+        .getPlayerList().getPlayers()) {
+      final String type = (String) playerTypeOptions.remove(player.getName());
+      playerTypes.put(player.getName(), (type != null) ? getPlayerType(type) : defaultPlayerType);
+    }
+    checkArgument(playerTypeOptions.isEmpty(), "Unknown players: " + playerTypeOptions.keySet());
+
+    final List<AiGameResult> results = new AiTournament(mapName, gameXml, playerTypes,
+        Integer.parseInt(cli.getOptionValue("games", "1")),
+        Integer.parseInt(cli.getOptionValue("threads", "1")),
+        Integer.parseInt(cli.getOptionValue("rounds", "20")),
+        Long.parseLong(cli.getOptionValue("seed", "0"))).run();
+
+    if (cli.hasOption("csv")) {
+      try (Writer writer = Files.newBufferedWriter(Paths.get(cli.getOptionValue("csv")), StandardCharsets.UTF_8)) {
+        AiTournamentReport.writeCsv(results, writer);
+      }
+    }
+    if (cli.hasOption("json")) {
+      try (Writer writer = Files.newBufferedWriter(Paths.get(cli.getOptionValue("json")), StandardCharsets.UTF_8)) {
+        AiTournamentReport.writeJson(mapName, results, writer);
+      }
+    }
+    if (!cli.hasOption("csv") && !cli.hasOption("json")) {
+      final Writer writer = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+      AiTournamentReport.writeCsv(results, writer);
+      writer.flush();
+    }
+  }
+
+  private static Options getOptions() {
+    final Options options = new Options();
+    options.addOption(Option.builder().longOpt("games").hasArg().argName("count")
+        .desc("The number of games to play (default: 1).").build());
+    options.addOption(Option.builder().longOpt("threads").hasArg().argName("count")
+        .desc("The number of games to play at the same time (default: 1).").build());
+    options.addOption(Option.builder().longOpt("rounds").hasArg().argName("count")
+        .desc("The number of rounds after which a game is stopped if no player has won it (default: 20).").build());
+    options.addOption(Option.builder().longOpt("seed").hasArg().argName("seed")
+        .desc("The seed of the dice of the first game (default: 0).").build());
+    options.addOption(Option.builder().longOpt("ai").hasArg().argName("type")
+        .desc("The AI of the players: " + String.join(", ", PLAYER_TYPES_BY_ALIAS.keySet()) + " (default: hard).")
+        .build());
+    options.addOption(Option.builder("P").argName("player=type").numberOfArgs(2).valueSeparator()
+        .desc("The AI of the given player.").build());
+    options.addOption(Option.builder().longOpt("csv").hasArg().argName("file")
+        .desc("Writes the metrics of each phase of each game to the given CSV file.").build());
+    options.addOption(Option.builder().longOpt("json").hasArg().argName("file")
+        .desc("Writes the results and metrics of each game to the given JSON file.").build());
+    return options;
+  }
+
+  private static void printUsage(final Options options) {
+    new HelpFormatter().printHelp(AiTournament.class.getName() + " [options] <game XML file>", options);
+  }
+
+  private static String getPlayerType(final String alias) {
+    final String type = PLAYER_TYPES_BY_ALIAS.get(alias);
+    checkArgument(type != null, "Unknown AI: " + alias);
+    return type;
+  }
+}
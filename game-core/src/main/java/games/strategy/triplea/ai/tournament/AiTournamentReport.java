@@ -0,0 +1,112 @@
+package games.strategy.triplea.ai.tournament;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.github.openjson.JSONArray;
+import com.github.openjson.JSONObject;
+
+import games.strategy.triplea.ai.tournament.AiGameResult.PhaseMetrics;
+
+/**
+ * Writes the results of an {@link AiTournament} as CSV or JSON.
+ */
+public final class AiTournamentReport {
+  static final String TOTAL_PHASE = "Total";
+  private static final List<String> CSV_COLUMNS = Arrays.asList("game", "seed", "rounds", "winners", "error", "phase",
+      "steps", "wallTimeMillis", "oddsCalculations", "allocatedBytes");
+
+  private AiTournamentReport() {}
+
+  /**
+   * Writes one row per phase of each game, followed by a row for the whole game whose phase is "Total".
+   */
+  public static void writeCsv(final Collection<AiGameResult> results, final Writer writer) throws IOException {
+    writer.write(String.join(",", CSV_COLUMNS));
+    writer.write('\n');
+    for (final AiGameResult result : results) {
+      for (final Map.Entry<String, PhaseMetrics> entry : result.getPhases().entrySet()) {
+        final PhaseMetrics phase = entry.getValue();
+        writeCsvRow(writer, result, entry.getKey(), phase.getSteps(), phase.getWallTimeNanos(),
+            phase.getOddsCalculations(), phase.getAllocatedBytes());
+      }
+      writeCsvRow(writer, result, TOTAL_PHASE,
+          result.getPhases().values().stream().mapToInt(PhaseMetrics::getSteps).sum(), result.getWallTimeNanos(),
+          result.getOddsCalculations(), result.getAllocatedBytes());
+    }
+  }
+
+  private static void writeCsvRow(final Writer writer, final AiGameResult result, final String phase,
+      final int steps, final long wallTimeNanos, final long oddsCalculations, final long allocatedBytes)
+      throws IOException {
+    writer.write(Arrays.asList(
+        String.valueOf(result.getGameNumber()),
+        String.valueOf(result.getSeed()),
+        String.valueOf(result.getRounds()),
+        escapeCsv(String.join(";", result.getWinners())),
+        escapeCsv((result.getError() != null) ? result.getError() : ""),
+        escapeCsv(phase),
+        String.valueOf(steps),
+        formatMillis(wallTimeNanos),
+        String.valueOf(oddsCalculations),
+        String.valueOf(allocatedBytes))
+        .stream()
+        .collect(Collectors.joining(",")));
+    writer.write('\n');
+  }
+
+  private static String escapeCsv(final String value) {
+    if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+      return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+    return value;
+  }
+
+  private static String formatMillis(final long nanos) {
+    return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+  }
+
+  /**
+   * Writes an object with the name of the map and the outcome, totals and phase metrics of each game.
+   */
+  public static void writeJson(final String mapName, final Collection<AiGameResult> results, final Writer writer)
+      throws IOException {
+    final JSONArray games = new JSONArray();
+    for (final AiGameResult result : results) {
+      final JSONObject phases = new JSONObject();
+      for (final Map.Entry<String, PhaseMetrics> entry : result.getPhases().entrySet()) {
+        final PhaseMetrics phase = entry.getValue();
+        phases.put(entry.getKey(), new JSONObject()
+            .put("steps", phase.getSteps())
+            .put("wallTimeMillis", nanosToMillis(phase.getWallTimeNanos()))
+            .put("oddsCalculations", phase.getOddsCalculations())
+            .put("allocatedBytes", phase.getAllocatedBytes()));
+      }
+      games.put(new JSONObject()
+          .put("game", result.getGameNumber())
+          .put("seed", result.getSeed())
+          .put("rounds", result.getRounds())
+          .put("winners", new JSONArray(result.getWinners()))
+          .put("error", (result.getError() != null) ? result.getError() : JSONObject.NULL)
+          .put("wallTimeMillis", nanosToMillis(result.getWallTimeNanos()))
+          .put("oddsCalculations", result.getOddsCalculations())
+          .put("allocatedBytes", result.getAllocatedBytes())
+          .put("phases", phases));
+    }
+    writer.write(new JSONObject()
+        .put("map", mapName)
+        .put("games", games)
+        .toString(2));
+    writer.write('\n');
+  }
+
+  private static double nanosToMillis(final long nanos) {
+    return nanos / 1_000_000.0;
+  }
+}
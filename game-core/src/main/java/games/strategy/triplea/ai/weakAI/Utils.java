@@ -64,7 +64,7 @@ class Utils {
     for (final PlayerID player : CollectionUtils.getMatches(data.getPlayerList().getPlayers(),
         Matches.isAtWar(us, data))) {
       for (final Territory capital : TerritoryAttachment.getAllCurrentlyOwnedCapitals(player, data)) {
-        if (data.getMap().getDistance(t, capital, Matches.territoryIsLand()) != -1) {
+        if (data.getMap().getLandDistance(t, capital) != -1) {
           return true;
         }
       }
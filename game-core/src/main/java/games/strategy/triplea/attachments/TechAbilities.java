@@ -0,0 +1,252 @@
+package games.strategy.triplea.attachments;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.concurrent.Immutable;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.UnitType;
+import games.strategy.triplea.delegate.TechAdvance;
+import games.strategy.triplea.delegate.TechTracker;
+import games.strategy.util.IntegerMap;
+
+/**
+ * The abilities a player gains from all the techs the player has, i.e. the sum of the {@link TechAbilityAttachment}s
+ * of the player's techs.
+ *
+ * <p>
+ * The abilities are computed once for each set of techs a player has and kept by the player's {@link TechAttachment}
+ * until the player gains or loses a tech, which the tech attachment counts in every setter of a tech. Looking up an
+ * ability thus takes the lookup of the player's tech attachment, a comparison of the change count and a lookup in
+ * the map of the ability. The tech ability attachments themselves are never changed once the game is parsed, so the
+ * player's techs are all the abilities depend on.
+ * </p>
+ *
+ * <p>
+ * Instances of this class must not be modified once they are created, so the collections returned by the getters must
+ * be copied before they are handed out to callers that may modify them.
+ * </p>
+ */
+@Immutable
+final class TechAbilities {
+  // the tech change count of the player's tech attachment when the abilities were computed
+  private final int techChangeCount;
+  private final IntegerMap<UnitType> attackBonus = new IntegerMap<>();
+  private final IntegerMap<UnitType> defenseBonus = new IntegerMap<>();
+  private final IntegerMap<UnitType> movementBonus = new IntegerMap<>();
+  private final IntegerMap<UnitType> radarBonus = new IntegerMap<>();
+  private final IntegerMap<UnitType> airAttackBonus = new IntegerMap<>();
+  private final IntegerMap<UnitType> airDefenseBonus = new IntegerMap<>();
+  private final IntegerMap<UnitType> productionBonus = new IntegerMap<>();
+  private final int minimumTerritoryValueForProductionBonus;
+  private final double repairDiscount;
+  private final int warBondDiceSides;
+  private final int warBondDiceNumber;
+  private final IntegerMap<UnitType> rocketDiceNumber = new IntegerMap<>();
+  private final int rocketDistance;
+  private final int rocketNumberPerTerritory;
+  private final Map<UnitType, Set<String>> unitAbilitiesGained = new HashMap<>();
+  private final boolean airborneForces;
+  private final IntegerMap<UnitType> airborneCapacity = new IntegerMap<>();
+  private final Set<UnitType> airborneTypes = new HashSet<>();
+  private final int airborneDistance;
+  private final Set<UnitType> airborneBases = new HashSet<>();
+  private final Map<String, Set<UnitType>> airborneTargettedByAa = new HashMap<>();
+  private final IntegerMap<UnitType> attackRollsBonus = new IntegerMap<>();
+  private final IntegerMap<UnitType> defenseRollsBonus = new IntegerMap<>();
+  private final IntegerMap<UnitType> bombingBonus = new IntegerMap<>();
+
+  private TechAbilities(final Collection<TechAdvance> advances, final int techChangeCount) {
+    this.techChangeCount = techChangeCount;
+    int minimumTerritoryValueForProductionBonus = -1;
+    double repairDiscount = 1.0D;
+    int warBondDiceSides = 0;
+    int warBondDiceNumber = 0;
+    int rocketDistance = 0;
+    int rocketNumberPerTerritory = 0;
+    boolean airborneForces = false;
+    int airborneDistance = 0;
+    for (final TechAdvance ta : advances) {
+      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
+      if (taa == null) {
+        continue;
+      }
+      attackBonus.add(taa.getAttackBonus());
+      defenseBonus.add(taa.getDefenseBonus());
+      movementBonus.add(taa.getMovementBonus());
+      radarBonus.add(taa.getRadarBonus());
+      airAttackBonus.add(taa.getAirAttackBonus());
+      airDefenseBonus.add(taa.getAirDefenseBonus());
+      productionBonus.add(taa.getProductionBonus());
+      final int minimumTerritoryValue = taa.getMinimumTerritoryValueForProductionBonus();
+      if (minimumTerritoryValue != -1 && (minimumTerritoryValueForProductionBonus == -1
+          || minimumTerritoryValue < minimumTerritoryValueForProductionBonus)) {
+        minimumTerritoryValueForProductionBonus = minimumTerritoryValue;
+      }
+      if (taa.getRepairDiscount() != -1) {
+        repairDiscount -= taa.getRepairDiscount() / 100.0;
+      }
+      warBondDiceSides += Math.max(0, taa.getWarBondDiceSides());
+      warBondDiceNumber += Math.max(0, taa.getWarBondDiceNumber());
+      rocketDiceNumber.add(taa.getRocketDiceNumber());
+      rocketDistance += Math.max(0, taa.getRocketDistance());
+      rocketNumberPerTerritory += Math.max(0, taa.getRocketNumberPerTerritory());
+      for (final Map.Entry<UnitType, Set<String>> entry : taa.getUnitAbilitiesGained().entrySet()) {
+        if (entry.getValue() != null) {
+          unitAbilitiesGained.computeIfAbsent(entry.getKey(), unitType -> new HashSet<>()).addAll(entry.getValue());
+        }
+      }
+      airborneForces |= taa.getAirborneForces();
+      airborneCapacity.add(taa.getAirborneCapacity());
+      airborneTypes.addAll(taa.getAirborneTypes());
+      airborneDistance += taa.getAirborneDistance();
+      airborneBases.addAll(taa.getAirborneBases());
+      if (taa.getAirborneTargettedByAA() != null) {
+        for (final Map.Entry<String, Set<UnitType>> entry : taa.getAirborneTargettedByAA().entrySet()) {
+          airborneTargettedByAa.computeIfAbsent(entry.getKey(), aaType -> new HashSet<>()).addAll(entry.getValue());
+        }
+      }
+      attackRollsBonus.add(taa.getAttackRollsBonus());
+      defenseRollsBonus.add(taa.getDefenseRollsBonus());
+      bombingBonus.add(taa.getBombingBonus());
+    }
+    this.minimumTerritoryValueForProductionBonus = Math.max(0, minimumTerritoryValueForProductionBonus);
+    this.repairDiscount = Math.max(0.0D, repairDiscount);
+    this.warBondDiceSides = warBondDiceSides;
+    this.warBondDiceNumber = warBondDiceNumber;
+    this.rocketDistance = rocketDistance;
+    this.rocketNumberPerTerritory = rocketNumberPerTerritory;
+    this.airborneForces = airborneForces;
+    this.airborneDistance = Math.max(0, airborneDistance);
+  }
+
+  /**
+   * Returns the abilities the specified player gains from the techs the player currently has.
+   */
+  static TechAbilities of(final PlayerID player, final GameData data) {
+    final TechAttachment techAttachment = player.getTechAttachment();
+    if (techAttachment == null) {
+      return new TechAbilities(TechTracker.getCurrentTechAdvances(player, data), 0);
+    }
+    final TechAbilities cached = techAttachment.getTechAbilities();
+    // read before the techs, so abilities computed while a tech changes are not kept past the change
+    final int techChangeCount = techAttachment.getTechChangeCount();
+    if (cached != null && cached.techChangeCount == techChangeCount) {
+      return cached;
+    }
+    final TechAbilities techAbilities =
+        new TechAbilities(TechTracker.getCurrentTechAdvances(player, data), techChangeCount);
+    techAttachment.setTechAbilities(techAbilities);
+    return techAbilities;
+  }
+
+  int getAttackBonus(final UnitType unitType) {
+    return attackBonus.getInt(unitType);
+  }
+
+  int getDefenseBonus(final UnitType unitType) {
+    return defenseBonus.getInt(unitType);
+  }
+
+  int getMovementBonus(final UnitType unitType) {
+    return movementBonus.getInt(unitType);
+  }
+
+  int getRadarBonus(final UnitType unitType) {
+    return radarBonus.getInt(unitType);
+  }
+
+  int getAirAttackBonus(final UnitType unitType) {
+    return airAttackBonus.getInt(unitType);
+  }
+
+  int getAirDefenseBonus(final UnitType unitType) {
+    return airDefenseBonus.getInt(unitType);
+  }
+
+  int getProductionBonus(final UnitType unitType) {
+    return productionBonus.getInt(unitType);
+  }
+
+  int getMinimumTerritoryValueForProductionBonus() {
+    return minimumTerritoryValueForProductionBonus;
+  }
+
+  double getRepairDiscount() {
+    return repairDiscount;
+  }
+
+  int getWarBondDiceSides() {
+    return warBondDiceSides;
+  }
+
+  int getWarBondDiceNumber() {
+    return warBondDiceNumber;
+  }
+
+  int getRocketDiceNumber(final UnitType unitType) {
+    return rocketDiceNumber.getInt(unitType);
+  }
+
+  int getRocketDistance() {
+    return rocketDistance;
+  }
+
+  int getRocketNumberPerTerritory() {
+    return rocketNumberPerTerritory;
+  }
+
+  boolean hasUnitAbilityGained(final String ability, final UnitType unitType) {
+    final Set<String> abilities = unitAbilitiesGained.get(unitType);
+    return abilities != null && abilities.contains(ability);
+  }
+
+  boolean getAirborneForces() {
+    return airborneForces;
+  }
+
+  IntegerMap<UnitType> getAirborneCapacity() {
+    return new IntegerMap<>(airborneCapacity);
+  }
+
+  int getAirborneCapacity(final UnitType unitType) {
+    return airborneCapacity.getInt(unitType);
+  }
+
+  Set<UnitType> getAirborneTypes() {
+    return new HashSet<>(airborneTypes);
+  }
+
+  int getAirborneDistance() {
+    return airborneDistance;
+  }
+
+  Set<UnitType> getAirborneBases() {
+    return new HashSet<>(airborneBases);
+  }
+
+  HashMap<String, HashSet<UnitType>> getAirborneTargettedByAa() {
+    final HashMap<String, HashSet<UnitType>> copy = new HashMap<>();
+    for (final Map.Entry<String, Set<UnitType>> entry : airborneTargettedByAa.entrySet()) {
+      copy.put(entry.getKey(), new HashSet<>(entry.getValue()));
+    }
+    return copy;
+  }
+
+  int getAttackRollsBonus(final UnitType unitType) {
+    return attackRollsBonus.getInt(unitType);
+  }
+
+  int getDefenseRollsBonus(final UnitType unitType) {
+    return defenseRollsBonus.getInt(unitType);
+  }
+
+  int getBombingBonus(final UnitType unitType) {
+    return bombingBonus.getInt(unitType);
+  }
+}
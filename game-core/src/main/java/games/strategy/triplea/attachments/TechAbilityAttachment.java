@@ -5,7 +5,6 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import games.strategy.engine.data.Attachable;
@@ -24,7 +23,6 @@ import games.strategy.triplea.TripleAUnit;
 import games.strategy.triplea.delegate.GenericTechAdvance;
 import games.strategy.triplea.delegate.Matches;
 import games.strategy.triplea.delegate.TechAdvance;
-import games.strategy.triplea.delegate.TechTracker;
 import games.strategy.util.CollectionUtils;
 import games.strategy.util.IntegerMap;
 
@@ -131,14 +129,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getAttackBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int attackBonus = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        attackBonus += taa.getAttackBonus().getInt(ut);
-      }
-    }
-    return attackBonus;
+    return TechAbilities.of(player, data).getAttackBonus(ut);
   }
 
   public void clearAttackBonus() {
@@ -180,14 +171,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getDefenseBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int defenseBonus = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        defenseBonus += taa.getDefenseBonus().getInt(ut);
-      }
-    }
-    return defenseBonus;
+    return TechAbilities.of(player, data).getDefenseBonus(ut);
   }
 
   public void clearDefenseBonus() {
@@ -229,14 +213,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getMovementBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int movementBonus = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        movementBonus += taa.getMovementBonus().getInt(ut);
-      }
-    }
-    return movementBonus;
+    return TechAbilities.of(player, data).getMovementBonus(ut);
   }
 
   public void clearMovementBonus() {
@@ -278,14 +255,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getRadarBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int radarBonus = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        radarBonus += taa.getRadarBonus().getInt(ut);
-      }
-    }
-    return radarBonus;
+    return TechAbilities.of(player, data).getRadarBonus(ut);
   }
 
   public void clearRadarBonus() {
@@ -327,14 +297,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getAirAttackBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int airAttackBonus = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        airAttackBonus += taa.getAirAttackBonus().getInt(ut);
-      }
-    }
-    return airAttackBonus;
+    return TechAbilities.of(player, data).getAirAttackBonus(ut);
   }
 
   public void clearAirAttackBonus() {
@@ -376,14 +339,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getAirDefenseBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int airDefenseBonus = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        airDefenseBonus += taa.getAirDefenseBonus().getInt(ut);
-      }
-    }
-    return airDefenseBonus;
+    return TechAbilities.of(player, data).getAirDefenseBonus(ut);
   }
 
   public void clearAirDefenseBonus() {
@@ -425,14 +381,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static int getProductionBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int productionBonus = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        productionBonus += taa.getProductionBonus().getInt(ut);
-      }
-    }
-    return productionBonus;
+    return TechAbilities.of(player, data).getProductionBonus(ut);
   }
 
   public void clearProductionBonus() {
@@ -463,19 +412,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static int getMinimumTerritoryValueForProductionBonus(final PlayerID player, final GameData data) {
-    int minimumTerritoryValueForProductionBonus = -1;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final int min = taa.getMinimumTerritoryValueForProductionBonus();
-        if (min == -1) {
-          continue;
-        } else if (minimumTerritoryValueForProductionBonus == -1 || min < minimumTerritoryValueForProductionBonus) {
-          minimumTerritoryValueForProductionBonus = min;
-        }
-      }
-    }
-    return Math.max(0, minimumTerritoryValueForProductionBonus);
+    return TechAbilities.of(player, data).getMinimumTerritoryValueForProductionBonus();
   }
 
   public void resetMinimumTerritoryValueForProductionBonus() {
@@ -501,18 +438,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static double getRepairDiscount(final PlayerID player, final GameData data) {
-    double repairDiscount = 1.0D;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final int min = taa.getRepairDiscount();
-        if (min == -1) {
-          continue;
-        }
-        repairDiscount -= min / 100.0;
-      }
-    }
-    return Math.max(0.0D, repairDiscount);
+    return TechAbilities.of(player, data).getRepairDiscount();
   }
 
   public void resetRepairDiscount() {
@@ -538,17 +464,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static int getWarBondDiceSides(final PlayerID player, final GameData data) {
-    int warBondDiceSides = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final int sides = taa.getWarBondDiceSides();
-        if (sides > 0) {
-          warBondDiceSides += sides;
-        }
-      }
-    }
-    return Math.max(0, warBondDiceSides);
+    return TechAbilities.of(player, data).getWarBondDiceSides();
   }
 
   public void resetWarBondDiceSides() {
@@ -574,17 +490,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static int getWarBondDiceNumber(final PlayerID player, final GameData data) {
-    int warBondDiceNumber = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final int number = taa.getWarBondDiceNumber();
-        if (number > 0) {
-          warBondDiceNumber += number;
-        }
-      }
-    }
-    return Math.max(0, warBondDiceNumber);
+    return TechAbilities.of(player, data).getWarBondDiceNumber();
   }
 
   public void resetWarBondDiceNumber() {
@@ -622,14 +528,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   private static int getRocketDiceNumber(final UnitType ut, final PlayerID player, final GameData data) {
-    int rocketDiceNumber = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        rocketDiceNumber += taa.getRocketDiceNumber().getInt(ut);
-      }
-    }
-    return rocketDiceNumber;
+    return TechAbilities.of(player, data).getRocketDiceNumber(ut);
   }
 
   public static int getRocketDiceNumber(final Collection<Unit> rockets, final GameData data) {
@@ -667,17 +566,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static int getRocketDistance(final PlayerID player, final GameData data) {
-    int rocketDistance = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final int distance = taa.getRocketDistance();
-        if (distance > 0) {
-          rocketDistance += distance;
-        }
-      }
-    }
-    return Math.max(0, rocketDistance);
+    return TechAbilities.of(player, data).getRocketDistance();
   }
 
   public void resetRocketDistance() {
@@ -703,17 +592,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static int getRocketNumberPerTerritory(final PlayerID player, final GameData data) {
-    int rocketNumberPerTerritory = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final int number = taa.getRocketNumberPerTerritory();
-        if (number > 0) {
-          rocketNumberPerTerritory += number;
-        }
-      }
-    }
-    return Math.max(0, rocketNumberPerTerritory);
+    return TechAbilities.of(player, data).getRocketNumberPerTerritory();
   }
 
   public void resetRocketNumberPerTerritory() {
@@ -764,22 +643,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
 
   public static boolean getUnitAbilitiesGained(final String filterForAbility, final UnitType ut, final PlayerID player,
       final GameData data) {
-    final HashSet<String> abilities = getUnitAbilitiesGained(ut, player, data);
-    return abilities.contains(filterForAbility);
-  }
-
-  private static HashSet<String> getUnitAbilitiesGained(final UnitType ut, final PlayerID player, final GameData data) {
-    final HashSet<String> unitAbilities = new HashSet<>();
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final Set<String> abilities = taa.getUnitAbilitiesGained().get(ut);
-        if (abilities != null) {
-          unitAbilities.addAll(abilities);
-        }
-      }
-    }
-    return unitAbilities;
+    return TechAbilities.of(player, data).hasUnitAbilityGained(filterForAbility, ut);
   }
 
   public void clearUnitAbilitiesGained() {
@@ -839,21 +703,15 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static IntegerMap<UnitType> getAirborneCapacity(final PlayerID player, final GameData data) {
-    final IntegerMap<UnitType> capacityMap = new IntegerMap<>();
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        capacityMap.add(taa.getAirborneCapacity());
-      }
-    }
-    return capacityMap;
+    return TechAbilities.of(player, data).getAirborneCapacity();
   }
 
   public static int getAirborneCapacity(final Collection<Unit> units, final PlayerID player, final GameData data) {
-    final IntegerMap<UnitType> capacityMap = getAirborneCapacity(player, data);
+    final TechAbilities techAbilities = TechAbilities.of(player, data);
     int airborneCapacity = 0;
     for (final Unit u : units) {
-      airborneCapacity += Math.max(0, (capacityMap.getInt(u.getType()) - ((TripleAUnit) u).getLaunched()));
+      airborneCapacity +=
+          Math.max(0, (techAbilities.getAirborneCapacity(u.getType()) - ((TripleAUnit) u).getLaunched()));
     }
     return airborneCapacity;
   }
@@ -891,14 +749,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static Set<UnitType> getAirborneTypes(final PlayerID player, final GameData data) {
-    final Set<UnitType> airborneUnits = new HashSet<>();
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        airborneUnits.addAll(taa.getAirborneTypes());
-      }
-    }
-    return airborneUnits;
+    return TechAbilities.of(player, data).getAirborneTypes();
   }
 
   public void clearAirborneTypes() {
@@ -928,14 +779,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static int getAirborneDistance(final PlayerID player, final GameData data) {
-    int airborneDistance = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        airborneDistance += taa.getAirborneDistance();
-      }
-    }
-    return Math.max(0, airborneDistance);
+    return TechAbilities.of(player, data).getAirborneDistance();
   }
 
   public void resetAirborneDistance() {
@@ -967,14 +811,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static Set<UnitType> getAirborneBases(final PlayerID player, final GameData data) {
-    final Set<UnitType> airborneBases = new HashSet<>();
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        airborneBases.addAll(taa.getAirborneBases());
-      }
-    }
-    return airborneBases;
+    return TechAbilities.of(player, data).getAirborneBases();
   }
 
   public void clearAirborneBases() {
@@ -1017,24 +854,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
 
   public static HashMap<String, HashSet<UnitType>> getAirborneTargettedByAA(final PlayerID player,
       final GameData data) {
-    final HashMap<String, HashSet<UnitType>> airborneTargettedByAa = new HashMap<>();
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        final Map<String, Set<UnitType>> mapAa = taa.getAirborneTargettedByAA();
-        if (mapAa != null && !mapAa.isEmpty()) {
-          for (final Entry<String, Set<UnitType>> entry : mapAa.entrySet()) {
-            HashSet<UnitType> current = airborneTargettedByAa.get(entry.getKey());
-            if (current == null) {
-              current = new HashSet<>();
-            }
-            current.addAll(entry.getValue());
-            airborneTargettedByAa.put(entry.getKey(), current);
-          }
-        }
-      }
-    }
-    return airborneTargettedByAa;
+    return TechAbilities.of(player, data).getAirborneTargettedByAa();
   }
 
   public void clearAirborneTargettedByAA() {
@@ -1076,14 +896,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getAttackRollsBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int attackRollsBonus = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        attackRollsBonus += taa.getAttackRollsBonus().getInt(ut);
-      }
-    }
-    return attackRollsBonus;
+    return TechAbilities.of(player, data).getAttackRollsBonus(ut);
   }
 
   public void clearAttackRollsBonus() {
@@ -1125,14 +938,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getDefenseRollsBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int defenseRollsBonus = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        defenseRollsBonus += taa.getDefenseRollsBonus().getInt(ut);
-      }
-    }
-    return defenseRollsBonus;
+    return TechAbilities.of(player, data).getDefenseRollsBonus(ut);
   }
 
   /**
@@ -1166,14 +972,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static int getBombingBonus(final UnitType ut, final PlayerID player, final GameData data) {
-    int bombingBonus = 0;
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        bombingBonus += taa.getBombingBonus().getInt(ut);
-      }
-    }
-    return bombingBonus;
+    return TechAbilities.of(player, data).getBombingBonus(ut);
   }
 
   public void clearDefenseRollsBonus() {
@@ -1193,15 +992,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   public static boolean getAllowAirborneForces(final PlayerID player, final GameData data) {
-    for (final TechAdvance ta : TechTracker.getCurrentTechAdvances(player, data)) {
-      final TechAbilityAttachment taa = TechAbilityAttachment.get(ta);
-      if (taa != null) {
-        if (taa.getAirborneForces()) {
-          return true;
-        }
-      }
-    }
-    return false;
+    return TechAbilities.of(player, data).getAirborneForces();
   }
 
   /**
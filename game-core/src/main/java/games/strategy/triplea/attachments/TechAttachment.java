@@ -62,6 +62,12 @@ public class TechAttachment extends DefaultAttachment {
   // define a player having a custom tech at start of game
   @InternalDoNotExport
   private Map<String, Boolean> genericTech = new HashMap<>();
+  // the abilities gained from the techs of the player, see TechAbilityAttachment
+  @InternalDoNotExport
+  private transient volatile TechAbilities techAbilities;
+  // incremented by every setter of a tech, changes are made by a single thread while the data is locked for writing
+  @InternalDoNotExport
+  private transient volatile int techChangeCount;
 
   public TechAttachment(final String name, final Attachable attachable, final GameData gameData) {
     super(name, attachable, gameData);
@@ -104,197 +110,239 @@ public class TechAttachment extends DefaultAttachment {
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setHeavyBomber(final String s) {
     heavyBomber = getBool(s);
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setHeavyBomber(final Boolean s) {
     heavyBomber = s;
+    techsChanged();
   }
 
   public void resetHeavyBomber() {
     heavyBomber = false;
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setDestroyerBombard(final String s) {
     destroyerBombard = getBool(s);
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setDestroyerBombard(final Boolean s) {
     destroyerBombard = s;
+    techsChanged();
   }
 
   public void resetDestroyerBombard() {
     destroyerBombard = false;
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setLongRangeAir(final String s) {
     longRangeAir = getBool(s);
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setLongRangeAir(final Boolean s) {
     longRangeAir = s;
+    techsChanged();
   }
 
   public void resetLongRangeAir() {
     longRangeAir = false;
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setJetPower(final String s) {
     jetPower = getBool(s);
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setJetPower(final Boolean s) {
     jetPower = s;
+    techsChanged();
   }
 
   public void resetJetPower() {
     jetPower = false;
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setRocket(final String s) {
     rocket = getBool(s);
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setRocket(final Boolean s) {
     rocket = s;
+    techsChanged();
   }
 
   public void resetRocket() {
     rocket = false;
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setIndustrialTechnology(final String s) {
     industrialTechnology = getBool(s);
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setIndustrialTechnology(final Boolean s) {
     industrialTechnology = s;
+    techsChanged();
   }
 
   public void resetIndustrialTechnology() {
     industrialTechnology = false;
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setSuperSub(final String s) {
     superSub = getBool(s);
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setSuperSub(final Boolean s) {
     superSub = s;
+    techsChanged();
   }
 
   public void resetSuperSub() {
     superSub = false;
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setImprovedArtillerySupport(final String s) {
     improvedArtillerySupport = getBool(s);
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setImprovedArtillerySupport(final Boolean s) {
     improvedArtillerySupport = s;
+    techsChanged();
   }
 
   public void resetImprovedArtillerySupport() {
     improvedArtillerySupport = false;
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setParatroopers(final String s) {
     paratroopers = getBool(s);
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setParatroopers(final Boolean s) {
     paratroopers = s;
+    techsChanged();
   }
 
   public void resetParatroopers() {
     paratroopers = false;
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setIncreasedFactoryProduction(final String s) {
     increasedFactoryProduction = getBool(s);
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setIncreasedFactoryProduction(final Boolean s) {
     increasedFactoryProduction = s;
+    techsChanged();
   }
 
   public void resetIncreasedFactoryProduction() {
     increasedFactoryProduction = false;
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setWarBonds(final String s) {
     warBonds = getBool(s);
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setWarBonds(final Boolean s) {
     warBonds = s;
+    techsChanged();
   }
 
   public void resetWarBonds() {
     warBonds = false;
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setMechanizedInfantry(final String s) {
     mechanizedInfantry = getBool(s);
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setMechanizedInfantry(final Boolean s) {
     mechanizedInfantry = s;
+    techsChanged();
   }
 
   public void resetMechanizedInfantry() {
     mechanizedInfantry = false;
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setAARadar(final String s) {
     aARadar = getBool(s);
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setAARadar(final Boolean s) {
     aARadar = s;
+    techsChanged();
   }
 
   public void resetAARadar() {
     aARadar = false;
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setShipyards(final String s) {
     shipyards = getBool(s);
+    techsChanged();
   }
 
   @GameProperty(xmlProperty = true, gameProperty = true, adds = false)
   public void setShipyards(final Boolean s) {
     shipyards = s;
+    techsChanged();
   }
 
   public void resetShipyards() {
     shipyards = false;
+    techsChanged();
   }
 
   // getters
@@ -384,11 +432,13 @@ public class TechAttachment extends DefaultAttachment {
   @InternalDoNotExport
   public void setGenericTech(final String name, final boolean value) {
     genericTech.put(name, value);
+    techsChanged();
   }
 
   @InternalDoNotExport
   public void setGenericTech(final HashMap<String, Boolean> value) {
     genericTech = value;
+    techsChanged();
   }
 
   public Map<String, Boolean> getGenericTech() {
@@ -397,6 +447,27 @@ public class TechAttachment extends DefaultAttachment {
 
   public void clearGenericTech() {
     genericTech.clear();
+    techsChanged();
+  }
+
+  private void techsChanged() {
+    techChangeCount++;
+  }
+
+  /**
+   * Returns the number of times the techs of the player were changed, so that {@link TechAbilities} can tell whether
+   * the abilities it keeps here are still those of the player's techs.
+   */
+  int getTechChangeCount() {
+    return techChangeCount;
+  }
+
+  TechAbilities getTechAbilities() {
+    return techAbilities;
+  }
+
+  void setTechAbilities(final TechAbilities techAbilities) {
+    this.techAbilities = techAbilities;
   }
 
   @Override
@@ -21,6 +21,7 @@ import games.strategy.engine.data.RelationshipTracker.Relationship;
 import games.strategy.engine.data.RelationshipType;
 import games.strategy.engine.data.Route;
 import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritorySet;
 import games.strategy.engine.data.Unit;
 import games.strategy.engine.data.UnitType;
 import games.strategy.triplea.Constants;
@@ -844,10 +845,17 @@ public final class Matches {
     return t -> !data.getMap().getNeighbors(t, match).isEmpty();
   }
 
+  /**
+   * Tests membership with {@link Collection#contains(Object)}, so for large collections or hot predicates (e.g. route
+   * conditions) pass a {@link TerritorySet} rather than a list.
+   */
   public static Predicate<Territory> territoryIsInList(final Collection<Territory> list) {
     return list::contains;
   }
 
+  /**
+   * The negation of {@link #territoryIsInList(Collection)}.
+   */
   public static Predicate<Territory> territoryIsNotInList(final Collection<Territory> list) {
     return not(list::contains);
   }
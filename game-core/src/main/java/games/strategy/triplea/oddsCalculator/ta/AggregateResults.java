@@ -15,6 +15,10 @@ import games.strategy.util.Tuple;
 
 public class AggregateResults implements Serializable {
   private static final long serialVersionUID = -556699626060414738L;
+  // z-score of the 95% confidence interval
+  private static final double CONFIDENCE_Z = 1.96;
+  // fewest runs before the confidence interval is trusted to stop a calculation early
+  static final int MIN_RUNS_FOR_TOLERANCE = 16;
   // can be empty!
   private final List<BattleResults> m_results;
   private long m_time;
@@ -210,10 +214,57 @@ public class AggregateResults implements Serializable {
     return count / m_results.size();
   }
 
+  /**
+   * Returns the number of battles that were actually fought, which is less than the requested run count if the
+   * calculation was cancelled or stopped early because the win percent was precise enough.
+   */
   public int getRollCount() {
     return m_results.size();
   }
 
+  /**
+   * Returns the margin of error of {@link #getAttackerWinPercent()}, i.e. the half width of its 95% confidence
+   * interval (Wilson score interval). Returns 1 if there are no results.
+   */
+  public double getAttackerWinPercentMarginOfError() {
+    return getMarginOfError(getAttackerWinPercent(), m_results.size());
+  }
+
+  /**
+   * Returns the 95% confidence interval (Wilson score interval) of the attacker win percent. First is the lower bound,
+   * Second is the upper bound. The interval is not centered on {@link #getAttackerWinPercent()}, since it is skewed
+   * towards 0.5 when few battles were fought.
+   */
+  public Tuple<Double, Double> getAttackerWinPercentConfidenceInterval() {
+    final int runs = m_results.size();
+    if (runs == 0) {
+      return Tuple.of(0.0, 1.0);
+    }
+    final double winPercent = getAttackerWinPercent();
+    final double squaredZ = CONFIDENCE_Z * CONFIDENCE_Z;
+    final double center = (winPercent + squaredZ / (2.0 * runs)) / (1 + squaredZ / runs);
+    final double marginOfError = getMarginOfError(winPercent, runs);
+    return Tuple.of(Math.max(0.0, center - marginOfError), Math.min(1.0, center + marginOfError));
+  }
+
+  /**
+   * Returns {@code true} if enough battles were fought to know the attacker win percent within plus or minus
+   * {@code tolerance} with 95% confidence. Always returns {@code false} if {@code tolerance} is not positive.
+   */
+  public boolean isAttackerWinPercentWithin(final double tolerance) {
+    return tolerance > 0 && m_results.size() >= MIN_RUNS_FOR_TOLERANCE
+        && getAttackerWinPercentMarginOfError() <= tolerance;
+  }
+
+  private static double getMarginOfError(final double winPercent, final int runs) {
+    if (runs == 0) {
+      return 1.0;
+    }
+    final double squaredZ = CONFIDENCE_Z * CONFIDENCE_Z;
+    return CONFIDENCE_Z * Math.sqrt(winPercent * (1 - winPercent) / runs + squaredZ / (4.0 * runs * runs))
+        / (1 + squaredZ / runs);
+  }
+
   public long getTime() {
     return m_time;
   }
@@ -0,0 +1,332 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.random.IRandomSource;
+import games.strategy.triplea.Properties;
+import games.strategy.triplea.ai.AiUtils;
+import games.strategy.triplea.attachments.UnitAttachment;
+import games.strategy.triplea.delegate.BattleCalculator;
+import games.strategy.triplea.delegate.DiceRoll;
+import games.strategy.triplea.delegate.IBattle.WhoWon;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.util.CollectionUtils;
+import games.strategy.util.Tuple;
+
+/**
+ * A battle simulation engine that fights the same battle over and over on a compact, array based snapshot of the
+ * attacking and defending units. No {@link games.strategy.engine.data.Change}s are created and the {@link GameData} is
+ * never modified, so the game data does not need to be copied and only its read lock is needed.
+ *
+ * <p>
+ * The power and rolls of every unit are computed once, up front, by {@link DiceRoll} (so supports, territory effects,
+ * marines, bombarding and first turn limits are all honoured), and each simulated round then only rolls dice and
+ * assigns hits over primitive arrays. Casualties are taken in order of loss if one is given, otherwise weakest and
+ * cheapest first, with multiple hit point units absorbing hits before anything is killed.
+ * </p>
+ *
+ * <p>
+ * This is an approximation of {@link games.strategy.triplea.delegate.MustFightBattle}: AA fire, first strike and
+ * submarine rules, suicide units and the loss of support as supporting units die are not simulated.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are not thread safe, since the per-run scratch state is reused between runs.
+ * </p>
+ */
+final class BattleSimulator {
+  private static final String ANNOTATION = "Battle simulation";
+
+  private final GameData data;
+  private final IRandomSource randomSource;
+  private final int diceSides;
+  private final boolean lowLuck;
+  private final int maxRounds;
+  private final Side attackers;
+  private final Side defenders;
+  private final Side bombarders;
+  private final List<Unit> attackingInfrastructure;
+  private final List<Unit> defendingInfrastructure;
+  private final boolean keepOneAttackingLandUnit;
+  private final int retreatAfterRound;
+  private final int retreatAfterXUnitsLeft;
+  private final boolean retreatWhenOnlyAirLeft;
+
+  BattleSimulator(final GameData data, final IRandomSource randomSource, final Territory location,
+      final Collection<Unit> attacking, final Collection<Unit> defending, final Collection<Unit> bombarding,
+      final Collection<TerritoryEffect> territoryEffects, final boolean amphibious,
+      final List<Unit> attackerOrderOfLosses, final List<Unit> defenderOrderOfLosses,
+      final boolean keepOneAttackingLandUnit, final int retreatAfterRound, final int retreatAfterXUnitsLeft,
+      final boolean retreatWhenOnlyAirLeft) {
+    this.data = data;
+    this.randomSource = randomSource;
+    diceSides = data.getDiceSides();
+    lowLuck = Properties.getLowLuck(data);
+    maxRounds = location.isWater() ? Properties.getSeaBattleRounds(data) : Properties.getLandBattleRounds(data);
+    this.keepOneAttackingLandUnit = keepOneAttackingLandUnit;
+    this.retreatAfterRound = retreatAfterRound;
+    this.retreatAfterXUnitsLeft = retreatAfterXUnitsLeft;
+    this.retreatWhenOnlyAirLeft = retreatWhenOnlyAirLeft;
+    final List<Unit> attackingCombat = CollectionUtils.getMatches(attacking, Matches.unitIsNotInfrastructure());
+    final List<Unit> defendingCombat = CollectionUtils.getMatches(defending, Matches.unitIsNotInfrastructure());
+    attackingInfrastructure = CollectionUtils.getMatches(attacking, Matches.unitIsInfrastructure());
+    defendingInfrastructure = CollectionUtils.getMatches(defending, Matches.unitIsInfrastructure());
+    final Collection<Unit> amphibiousLandAttackers = amphibious ? attacking : Collections.emptyList();
+    attackers = new Side(orderForCasualties(attackingCombat, attackerOrderOfLosses, false, territoryEffects),
+        defendingCombat, false, location, territoryEffects, amphibious, amphibiousLandAttackers);
+    defenders = new Side(orderForCasualties(defendingCombat, defenderOrderOfLosses, true, territoryEffects),
+        attackingCombat, true, location, territoryEffects, amphibious, amphibiousLandAttackers);
+    bombarders = new Side(new ArrayList<>(bombarding), defendingCombat, false, location, territoryEffects, true,
+        amphibiousLandAttackers);
+  }
+
+  /**
+   * Returns the units sorted into the order in which they will be taken as casualties: any explicit order of loss
+   * first, then the weakest and cheapest units.
+   */
+  private List<Unit> orderForCasualties(final List<Unit> units, final List<Unit> orderOfLosses,
+      final boolean defending, final Collection<TerritoryEffect> territoryEffects) {
+    final List<Unit> ordered = new ArrayList<>(units);
+    ordered.sort(Comparator
+        .<Unit>comparingInt(u -> BattleCalculator.getUnitPowerForSorting(u, defending, data, territoryEffects))
+        .thenComparing(AiUtils.getCostComparator()));
+    if (orderOfLosses == null || orderOfLosses.isEmpty()) {
+      return ordered;
+    }
+    final List<Unit> result = new ArrayList<>(ordered.size());
+    for (final Unit unit : orderOfLosses) {
+      if (ordered.remove(unit)) {
+        result.add(unit);
+      }
+    }
+    result.addAll(ordered);
+    return result;
+  }
+
+  /**
+   * Fights the battle once from the initial snapshot and returns the outcome.
+   */
+  BattleResults fight() {
+    attackers.reset();
+    defenders.reset();
+    bombarders.reset();
+    int round = 0;
+    WhoWon whoWon = null;
+    boolean attackerRetreated = false;
+    while (whoWon == null) {
+      round++;
+      int attackerHits = roll(attackers);
+      if (round == 1) {
+        attackerHits += roll(bombarders);
+      }
+      final int defenderHits = roll(defenders);
+      defenders.takeHits(attackerHits, false);
+      attackers.takeHits(defenderHits, keepOneAttackingLandUnit);
+      if (attackers.alive == 0 && defenders.alive == 0) {
+        whoWon = WhoWon.DRAW;
+      } else if (attackers.alive == 0) {
+        whoWon = WhoWon.DEFENDER;
+      } else if (defenders.alive == 0) {
+        whoWon = WhoWon.ATTACKER;
+      } else if ((maxRounds > 0 && round >= maxRounds) || (!attackers.canHit() && !defenders.canHit())) {
+        whoWon = WhoWon.DRAW;
+      } else if (shouldAttackerRetreat(round)) {
+        attackerRetreated = true;
+        whoWon = WhoWon.DEFENDER;
+      }
+    }
+    final List<Unit> remainingAttacking = new ArrayList<>();
+    if (!attackerRetreated) {
+      attackers.addAliveUnitsTo(remainingAttacking);
+      if (whoWon != WhoWon.DEFENDER) {
+        remainingAttacking.addAll(attackingInfrastructure);
+      }
+    }
+    final List<Unit> remainingDefending = new ArrayList<>();
+    defenders.addAliveUnitsTo(remainingDefending);
+    if (whoWon != WhoWon.ATTACKER) {
+      remainingDefending.addAll(defendingInfrastructure);
+    }
+    return new BattleResults(round, remainingAttacking, remainingDefending, whoWon, data);
+  }
+
+  private boolean shouldAttackerRetreat(final int round) {
+    if (retreatAfterRound > -1 && round >= retreatAfterRound) {
+      return true;
+    }
+    if (retreatWhenOnlyAirLeft) {
+      int retreatNum = attackers.aliveAir();
+      if (retreatAfterXUnitsLeft > 0) {
+        retreatNum += retreatAfterXUnitsLeft;
+      }
+      if (retreatNum >= attackers.alive) {
+        return true;
+      }
+    }
+    return retreatAfterXUnitsLeft > -1 && retreatAfterXUnitsLeft >= attackers.alive;
+  }
+
+  private int roll(final Side side) {
+    if (lowLuck) {
+      int totalPower = 0;
+      for (int i = 0; i < side.size; i++) {
+        if (side.hitPointsLeft[i] > 0) {
+          totalPower += side.lowLuckPower[i];
+        }
+      }
+      int hits = totalPower / diceSides;
+      final int remainder = totalPower % diceSides;
+      if (remainder > 0 && randomSource.getRandom(diceSides, ANNOTATION) < remainder) {
+        hits++;
+      }
+      return hits;
+    }
+    int hits = 0;
+    for (int i = 0; i < side.size; i++) {
+      if (side.hitPointsLeft[i] <= 0 || side.power[i] <= 0) {
+        continue;
+      }
+      int unitHits = 0;
+      for (int r = 0; r < side.rolls[i]; r++) {
+        if (randomSource.getRandom(diceSides, ANNOTATION) < side.power[i]) {
+          unitHits++;
+        }
+      }
+      hits += side.bestOfRolls[i] ? Math.min(1, unitHits) : unitHits;
+    }
+    return hits;
+  }
+
+  /**
+   * The units of one side of the battle, stored as parallel arrays in casualty order.
+   */
+  private final class Side {
+    private final int size;
+    private final Unit[] units;
+    private final int[] power;
+    private final int[] rolls;
+    private final boolean[] bestOfRolls;
+    private final int[] lowLuckPower;
+    private final int[] hitPoints;
+    private final boolean[] isLand;
+    private final boolean[] isAir;
+    private final int[] hitPointsLeft;
+    private int alive;
+
+    Side(final List<Unit> orderedUnits, final List<Unit> enemyUnits, final boolean defending,
+        final Territory location, final Collection<TerritoryEffect> territoryEffects, final boolean amphibious,
+        final Collection<Unit> amphibiousLandAttackers) {
+      final List<Unit> sortedByStrength = new ArrayList<>(orderedUnits);
+      DiceRoll.sortByStrength(sortedByStrength, defending);
+      final Map<Unit, Tuple<Integer, Integer>> powerAndRolls = DiceRoll.getUnitPowerAndRollsForNormalBattles(
+          sortedByStrength, enemyUnits, defending, false, data, location, territoryEffects, amphibious,
+          amphibiousLandAttackers);
+      final boolean lhtrBombers = Properties.getLhtrHeavyBombers(data);
+      size = orderedUnits.size();
+      units = orderedUnits.toArray(new Unit[size]);
+      power = new int[size];
+      rolls = new int[size];
+      bestOfRolls = new boolean[size];
+      lowLuckPower = new int[size];
+      hitPoints = new int[size];
+      isLand = new boolean[size];
+      isAir = new boolean[size];
+      hitPointsLeft = new int[size];
+      for (int i = 0; i < size; i++) {
+        final Unit unit = units[i];
+        final UnitAttachment ua = UnitAttachment.get(unit.getType());
+        final Tuple<Integer, Integer> unitPowerAndRolls = powerAndRolls.get(unit);
+        power[i] = unitPowerAndRolls.getFirst();
+        rolls[i] = unitPowerAndRolls.getSecond();
+        bestOfRolls[i] = rolls[i] > 1 && (lhtrBombers || ua.getChooseBestRoll());
+        // the power of each unit adds up to the power of the side, as for a low luck roll of the whole side
+        lowLuckPower[i] = DiceRoll.getTotalPower(Collections.singletonMap(unit, unitPowerAndRolls), data);
+        hitPoints[i] = Math.max(1, ua.getHitPoints() - unit.getHits());
+        isLand[i] = Matches.unitIsLand().test(unit);
+        isAir[i] = Matches.unitIsAir().test(unit);
+      }
+    }
+
+    void reset() {
+      System.arraycopy(hitPoints, 0, hitPointsLeft, 0, size);
+      alive = size;
+    }
+
+    boolean canHit() {
+      for (int i = 0; i < size; i++) {
+        if (hitPointsLeft[i] > 0 && power[i] > 0 && rolls[i] > 0) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    int aliveAir() {
+      int count = 0;
+      for (int i = 0; i < size; i++) {
+        if (hitPointsLeft[i] > 0 && isAir[i]) {
+          count++;
+        }
+      }
+      return count;
+    }
+
+    void takeHits(final int hits, final boolean keepOneLandUnit) {
+      int hitsLeft = hits;
+      // multiple hit point units soak up hits first
+      for (int i = 0; i < size && hitsLeft > 0; i++) {
+        while (hitPointsLeft[i] > 1 && hitsLeft > 0) {
+          hitPointsLeft[i]--;
+          hitsLeft--;
+        }
+      }
+      int protectedLandUnit = -1;
+      if (keepOneLandUnit) {
+        protectedLandUnit = findLastAliveLandUnitIfOtherUnitsRemain();
+      }
+      for (int i = 0; i < size && hitsLeft > 0; i++) {
+        if (hitPointsLeft[i] > 0 && i != protectedLandUnit) {
+          hitPointsLeft[i] = 0;
+          alive--;
+          hitsLeft--;
+        }
+      }
+      if (hitsLeft > 0 && protectedLandUnit >= 0) {
+        hitPointsLeft[protectedLandUnit] = 0;
+        alive--;
+      }
+    }
+
+    private int findLastAliveLandUnitIfOtherUnitsRemain() {
+      int lastLand = -1;
+      boolean hasNonLand = false;
+      for (int i = 0; i < size; i++) {
+        if (hitPointsLeft[i] > 0) {
+          if (isLand[i]) {
+            lastLand = i;
+          } else {
+            hasNonLand = true;
+          }
+        }
+      }
+      return hasNonLand ? lastLand : -1;
+    }
+
+    void addAliveUnitsTo(final List<Unit> list) {
+      for (int i = 0; i < size; i++) {
+        if (hitPointsLeft[i] > 0) {
+          list.add(units[i]);
+        }
+      }
+    }
+  }
+}
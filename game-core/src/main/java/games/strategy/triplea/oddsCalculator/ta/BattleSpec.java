@@ -0,0 +1,80 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+
+/**
+ * An immutable description of one battle to be calculated, i.e. the same data that is passed to
+ * {@link IOddsCalculator#setCalculateData(PlayerID, PlayerID, Territory, Collection, Collection, Collection,
+ * Collection, int)}. Used to submit many battles at once through {@link IOddsCalculator#calculateAll(List, double)}.
+ */
+public final class BattleSpec {
+  private final PlayerID attacker;
+  private final PlayerID defender;
+  private final Territory location;
+  private final List<Unit> attacking;
+  private final List<Unit> defending;
+  private final List<Unit> bombarding;
+  private final List<TerritoryEffect> territoryEffects;
+  private final int runCount;
+
+  public BattleSpec(final PlayerID attacker, final PlayerID defender, final Territory location,
+      final Collection<Unit> attacking, final Collection<Unit> defending, final Collection<Unit> bombarding,
+      final Collection<TerritoryEffect> territoryEffects, final int runCount) {
+    checkNotNull(location);
+    checkNotNull(attacking);
+    checkNotNull(defending);
+
+    this.attacker = attacker;
+    this.defender = defender;
+    this.location = location;
+    this.attacking = Collections.unmodifiableList(new ArrayList<>(attacking));
+    this.defending = Collections.unmodifiableList(new ArrayList<>(defending));
+    this.bombarding = Collections.unmodifiableList(
+        bombarding == null ? new ArrayList<>() : new ArrayList<>(bombarding));
+    this.territoryEffects = Collections.unmodifiableList(
+        territoryEffects == null ? new ArrayList<>() : new ArrayList<>(territoryEffects));
+    this.runCount = runCount;
+  }
+
+  public PlayerID getAttacker() {
+    return attacker;
+  }
+
+  public PlayerID getDefender() {
+    return defender;
+  }
+
+  public Territory getLocation() {
+    return location;
+  }
+
+  public List<Unit> getAttacking() {
+    return attacking;
+  }
+
+  public List<Unit> getDefending() {
+    return defending;
+  }
+
+  public List<Unit> getBombarding() {
+    return bombarding;
+  }
+
+  public List<TerritoryEffect> getTerritoryEffects() {
+    return territoryEffects;
+  }
+
+  public int getRunCount() {
+    return runCount;
+  }
+}
@@ -0,0 +1,635 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.collect.ImmutableMultiset;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.events.GameDataChangeListener;
+import games.strategy.triplea.TripleAUnit;
+import games.strategy.triplea.delegate.IBattle.WhoWon;
+import games.strategy.triplea.delegate.TechAdvance;
+import games.strategy.triplea.delegate.TechTracker;
+
+/**
+ * An odds calculator that remembers the results of the battles it calculated, and answers a battle it has seen
+ * before from memory instead of asking the odds calculator it wraps.
+ *
+ * <p>
+ * Battles are identified by their composition rather than by unit identity: the type, owner and hits of every
+ * attacking, defending and bombarding unit (regardless of order), the territory and its territory effects, and the
+ * calculator settings (retreat options, order of losses, run count...). So asking about the same armies again, even
+ * with other units or a copy of the game data, is a cache hit.
+ * </p>
+ *
+ * <p>
+ * Only a summary of every result is kept, in which each remaining unit is stored by the type, owner and hits it had
+ * before the battle and the hits it has after it. On a hit, the summary is turned back into {@link AggregateResults}
+ * whose remaining units are the attacking and defending units of the battle being asked about, so that callers can
+ * match them against their own units, and cached results never hold on to copies of the game data that is no longer
+ * used. A remaining unit that was damaged in the battle is a copy, with the same id, of the unit of the battle.
+ * </p>
+ *
+ * <p>
+ * The cache holds at most a fixed number of battles, evicting the least recently used one first. Since the results
+ * depend on the technologies of the players and on the relationships between them, it is cleared whenever either of
+ * these differs from when the results were calculated, whether due to a change of the game data or a new game data.
+ * </p>
+ */
+public class CachingOddsCalculator implements IOddsCalculator {
+  public static final int DEFAULT_MAX_SIZE = 4096;
+
+  private final IOddsCalculator calc;
+  // guarded by itself
+  private final Map<List<Object>, BattleSummary> cache;
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final GameDataChangeListener dataChangeListener = change -> isCombatStateStale = true;
+  private volatile GameData gameData = null;
+  private volatile List<String> combatState = null;
+  private volatile boolean isCombatStateStale = false;
+  private volatile BattleSpec calculateData = null;
+  private volatile boolean keepOneAttackingLandUnit = false;
+  private volatile boolean amphibious = false;
+  private volatile int retreatAfterRound = -1;
+  private volatile int retreatAfterXUnitsLeft = -1;
+  private volatile boolean retreatWhenOnlyAirLeft = false;
+  private volatile double winPercentTolerance = 0;
+  private volatile String attackerOrderOfLosses = null;
+  private volatile String defenderOrderOfLosses = null;
+
+  public CachingOddsCalculator(final IOddsCalculator calc) {
+    this(calc, DEFAULT_MAX_SIZE);
+  }
+
+  public CachingOddsCalculator(final IOddsCalculator calc, final int maxSize) {
+    checkNotNull(calc);
+    checkArgument(maxSize > 0, "maxSize must be positive");
+
+    this.calc = calc;
+    cache = new LinkedHashMap<List<Object>, BattleSummary>(16, 0.75f, true) {
+      private static final long serialVersionUID = 4474366826384224931L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<List<Object>, BattleSummary> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  @Override
+  public void setGameData(final GameData data) {
+    final GameData oldData = gameData;
+    if (oldData != null) {
+      oldData.removeDataChangeListener(dataChangeListener);
+    }
+    gameData = data;
+    calculateData = null;
+    if (data != null) {
+      data.addDataChangeListener(dataChangeListener);
+      isCombatStateStale = true;
+    }
+    calc.setGameData(data);
+  }
+
+  @Override
+  public void setCalculateData(final PlayerID attacker, final PlayerID defender, final Territory location,
+      final Collection<Unit> attacking, final Collection<Unit> defending, final Collection<Unit> bombarding,
+      final Collection<TerritoryEffect> territoryEffects, final int runCount) {
+    calculateData =
+        new BattleSpec(attacker, defender, location, attacking, defending, bombarding, territoryEffects, runCount);
+  }
+
+  @Override
+  public AggregateResults calculate() {
+    final BattleSpec battle = calculateData;
+    if (battle == null) {
+      return calc.calculate();
+    }
+    final double tolerance = winPercentTolerance;
+    final List<Object> key = newKey(battle, tolerance);
+    final AggregateResults cachedResults = get(key, battle);
+    if (cachedResults != null) {
+      return cachedResults;
+    }
+    final AggregateResults results = calc.setCalculateDataAndCalculate(battle.getAttacker(), battle.getDefender(),
+        battle.getLocation(), battle.getAttacking(), battle.getDefending(), battle.getBombarding(),
+        battle.getTerritoryEffects(), battle.getRunCount());
+    put(key, battle, tolerance, results);
+    return results;
+  }
+
+  @Override
+  public AggregateResults setCalculateDataAndCalculate(final PlayerID attacker, final PlayerID defender,
+      final Territory location, final Collection<Unit> attacking, final Collection<Unit> defending,
+      final Collection<Unit> bombarding, final Collection<TerritoryEffect> territoryEffects, final int runCount) {
+    setCalculateData(attacker, defender, location, attacking, defending, bombarding, territoryEffects, runCount);
+    return calculate();
+  }
+
+  /**
+   * Answers the cached battles from memory and passes the others on to the wrapped calculator as one batch.
+   */
+  @Override
+  public List<CompletableFuture<AggregateResults>> calculateAll(final List<BattleSpec> battles,
+      final double winPercentTolerance) {
+    final List<CompletableFuture<AggregateResults>> results = new ArrayList<>(battles.size());
+    final List<BattleSpec> uncachedBattles = new ArrayList<>();
+    final List<List<Object>> uncachedKeys = new ArrayList<>();
+    final List<Integer> uncachedIndexes = new ArrayList<>();
+    for (final BattleSpec battle : battles) {
+      final List<Object> key = newKey(battle, winPercentTolerance);
+      final AggregateResults cachedResults = get(key, battle);
+      if (cachedResults == null) {
+        uncachedIndexes.add(results.size());
+        uncachedKeys.add(key);
+        uncachedBattles.add(battle);
+      }
+      results.add(cachedResults == null ? null : CompletableFuture.completedFuture(cachedResults));
+    }
+    if (!uncachedBattles.isEmpty()) {
+      final List<CompletableFuture<AggregateResults>> calculatedResults =
+          calc.calculateAll(uncachedBattles, winPercentTolerance);
+      for (int i = 0; i < uncachedBattles.size(); i++) {
+        final BattleSpec battle = uncachedBattles.get(i);
+        final List<Object> key = uncachedKeys.get(i);
+        final CompletableFuture<AggregateResults> result = new CompletableFuture<>();
+        calculatedResults.get(i).whenComplete((calculatedResult, e) -> {
+          if (e instanceof CancellationException) {
+            result.cancel(false);
+          } else if (e != null) {
+            result.completeExceptionally(e);
+          } else {
+            put(key, battle, winPercentTolerance, calculatedResult);
+            result.complete(calculatedResult);
+          }
+        });
+        results.set(uncachedIndexes.get(i), result);
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Returns the number of calculations that were answered from the cache.
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * Returns the number of calculations that were passed on to the wrapped calculator.
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * Returns the number of battles currently in the cache.
+   */
+  public int size() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  /**
+   * Removes all battles from the cache.
+   */
+  public void invalidate() {
+    synchronized (cache) {
+      cache.clear();
+    }
+  }
+
+  private AggregateResults get(final List<Object> key, final BattleSpec battle) {
+    clearIfCombatStateChanged();
+    final BattleSummary summary;
+    synchronized (cache) {
+      summary = cache.get(key);
+    }
+    final AggregateResults results = summary == null ? null : summary.toAggregateResults(battle, gameData);
+    (results == null ? missCount : hitCount).incrementAndGet();
+    return results;
+  }
+
+  private void put(final List<Object> key, final BattleSpec battle, final double tolerance,
+      final AggregateResults results) {
+    // don't remember cancelled calculations
+    if (results.getRollCount() == 0
+        || (results.getRollCount() < battle.getRunCount() && !results.isAttackerWinPercentWithin(tolerance))) {
+      return;
+    }
+    final BattleSummary summary = BattleSummary.of(battle, results);
+    if (summary == null) {
+      return;
+    }
+    synchronized (cache) {
+      cache.put(key, summary);
+    }
+  }
+
+  private void clearIfCombatStateChanged() {
+    final GameData data = gameData;
+    if (!isCombatStateStale || data == null) {
+      return;
+    }
+    isCombatStateStale = false;
+    final List<String> newCombatState = getCombatState(data);
+    if (!newCombatState.equals(combatState)) {
+      invalidate();
+      combatState = newCombatState;
+    }
+  }
+
+  /**
+   * Returns everything outside of the battle itself that the cached results depend on: the technologies of every
+   * player and the relationships between every pair of players.
+   */
+  private static List<String> getCombatState(final GameData data) {
+    data.acquireReadLock();
+    try {
+      final List<String> combatState = new ArrayList<>();
+      combatState.add(data.getGameName());
+      final List<PlayerID> players = data.getPlayerList().getPlayers();
+      for (int i = 0; i < players.size(); i++) {
+        final PlayerID player = players.get(i);
+        final StringBuilder techs = new StringBuilder(player.getName()).append(':');
+        for (final TechAdvance tech : TechTracker.getCurrentTechAdvances(player, data)) {
+          techs.append(tech.getName()).append(',');
+        }
+        combatState.add(techs.toString());
+        for (int j = i + 1; j < players.size(); j++) {
+          combatState.add(data.getRelationshipTracker().getRelationshipType(player, players.get(j)).getName());
+        }
+      }
+      return combatState;
+    } finally {
+      data.releaseReadLock();
+    }
+  }
+
+  private List<Object> newKey(final BattleSpec battle, final double tolerance) {
+    final List<String> territoryEffects = new ArrayList<>();
+    for (final TerritoryEffect territoryEffect : battle.getTerritoryEffects()) {
+      territoryEffects.add(territoryEffect.getName());
+    }
+    return Arrays.asList(getName(battle.getAttacker()), getName(battle.getDefender()),
+        battle.getLocation().getName(), ImmutableMultiset.copyOf(territoryEffects),
+        UnitSummary.of(battle.getAttacking()), UnitSummary.of(battle.getDefending()),
+        UnitSummary.of(battle.getBombarding()), battle.getRunCount(), tolerance, keepOneAttackingLandUnit, amphibious,
+        retreatAfterRound, retreatAfterXUnitsLeft, retreatWhenOnlyAirLeft, attackerOrderOfLosses,
+        defenderOrderOfLosses);
+  }
+
+  private static String getName(final PlayerID player) {
+    return player == null ? PlayerID.NULL_PLAYERID.getName() : player.getName();
+  }
+
+  @Override
+  public int getRunCount() {
+    final BattleSpec battle = calculateData;
+    return battle == null ? calc.getRunCount() : battle.getRunCount();
+  }
+
+  @Override
+  public boolean getIsReady() {
+    return gameData != null && calculateData != null;
+  }
+
+  @Override
+  public void setKeepOneAttackingLandUnit(final boolean bool) {
+    keepOneAttackingLandUnit = bool;
+    calc.setKeepOneAttackingLandUnit(bool);
+  }
+
+  @Override
+  public void setAmphibious(final boolean bool) {
+    amphibious = bool;
+    calc.setAmphibious(bool);
+  }
+
+  @Override
+  public void setRetreatAfterRound(final int value) {
+    retreatAfterRound = value;
+    calc.setRetreatAfterRound(value);
+  }
+
+  @Override
+  public void setRetreatAfterXUnitsLeft(final int value) {
+    retreatAfterXUnitsLeft = value;
+    calc.setRetreatAfterXUnitsLeft(value);
+  }
+
+  @Override
+  public void setRetreatWhenOnlyAirLeft(final boolean value) {
+    retreatWhenOnlyAirLeft = value;
+    calc.setRetreatWhenOnlyAirLeft(value);
+  }
+
+  @Override
+  public void setWinPercentTolerance(final double tolerance) {
+    winPercentTolerance = tolerance;
+    calc.setWinPercentTolerance(tolerance);
+  }
+
+  @Override
+  public void setAttackerOrderOfLosses(final String attackerOrderOfLosses) {
+    this.attackerOrderOfLosses = attackerOrderOfLosses;
+    calc.setAttackerOrderOfLosses(attackerOrderOfLosses);
+  }
+
+  @Override
+  public void setDefenderOrderOfLosses(final String defenderOrderOfLosses) {
+    this.defenderOrderOfLosses = defenderOrderOfLosses;
+    calc.setDefenderOrderOfLosses(defenderOrderOfLosses);
+  }
+
+  @Override
+  public void cancel() {
+    calc.cancel();
+  }
+
+  @Override
+  public void shutdown() {
+    final GameData oldData = gameData;
+    if (oldData != null) {
+      oldData.removeDataChangeListener(dataChangeListener);
+    }
+    gameData = null;
+    invalidate();
+    calc.shutdown();
+  }
+
+  @Override
+  public int getThreadCount() {
+    return calc.getThreadCount();
+  }
+
+  @Override
+  public void addOddsCalculatorListener(final OddsCalculatorListener listener) {
+    calc.addOddsCalculatorListener(listener);
+  }
+
+  @Override
+  public void removeOddsCalculatorListener(final OddsCalculatorListener listener) {
+    calc.removeOddsCalculatorListener(listener);
+  }
+
+  /**
+   * A unit identified by what matters in battle, rather than by identity.
+   */
+  private static final class UnitSummary {
+    private final String typeName;
+    private final String ownerName;
+    private final int hits;
+
+    private UnitSummary(final Unit unit) {
+      typeName = unit.getType().getName();
+      ownerName = getName(unit.getOwner());
+      hits = unit.getHits();
+    }
+
+    static ImmutableMultiset<UnitSummary> of(final Collection<Unit> units) {
+      final ImmutableMultiset.Builder<UnitSummary> builder = ImmutableMultiset.builder();
+      for (final Unit unit : units) {
+        builder.add(new UnitSummary(unit));
+      }
+      return builder.build();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (o == this) {
+        return true;
+      } else if (!(o instanceof UnitSummary)) {
+        return false;
+      }
+      final UnitSummary other = (UnitSummary) o;
+      return hits == other.hits && typeName.equals(other.typeName) && ownerName.equals(other.ownerName);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(typeName, ownerName, hits);
+    }
+  }
+
+  /**
+   * A unit that remains after a battle: the unit of the battle it was, and its hits after the battle.
+   */
+  private static final class RemainingUnit {
+    private final UnitSummary before;
+    private final int hits;
+
+    RemainingUnit(final UnitSummary before, final int hits) {
+      this.before = before;
+      this.hits = hits;
+    }
+
+    /**
+     * Returns the summaries of the specified remaining units, or {@code null} if any of them is not one of the
+     * specified units of the battle.
+     */
+    static List<RemainingUnit> toList(final Collection<Unit> remainingUnits, final Map<Unit, UnitSummary> battleUnits) {
+      final List<RemainingUnit> result = new ArrayList<>(remainingUnits.size());
+      for (final Unit unit : remainingUnits) {
+        final UnitSummary before = battleUnits.get(unit);
+        if (before == null) {
+          return null;
+        }
+        result.add(new RemainingUnit(before, unit.getHits()));
+      }
+      return result;
+    }
+
+    /**
+     * Returns the units of the battle that the specified remaining units were, or {@code null} if the battle has no
+     * unit left for one of them. Units whose hits changed in the battle are copies of the units of the battle with the
+     * same id, since the units of the battle must not be modified.
+     */
+    static List<Unit> toUnits(final List<RemainingUnit> remainingUnits, final Collection<Unit> battleUnits,
+        final GameData data) {
+      final Map<UnitSummary, Deque<Unit>> unitsBySummary = new HashMap<>();
+      for (final Unit unit : battleUnits) {
+        unitsBySummary.computeIfAbsent(new UnitSummary(unit), k -> new ArrayDeque<>()).add(unit);
+      }
+      final List<Unit> units = new ArrayList<>(remainingUnits.size());
+      for (final RemainingUnit remainingUnit : remainingUnits) {
+        final Deque<Unit> candidates = unitsBySummary.get(remainingUnit.before);
+        final Unit unit = (candidates == null) ? null : candidates.poll();
+        if (unit == null) {
+          return null;
+        }
+        if (unit.getHits() == remainingUnit.hits) {
+          units.add(unit);
+        } else {
+          final Unit damagedUnit = new TripleAUnit(unit.getType(), unit.getOwner(), data, unit.getId());
+          damagedUnit.setHits(remainingUnit.hits);
+          units.add(damagedUnit);
+        }
+      }
+      return units;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (o == this) {
+        return true;
+      } else if (!(o instanceof RemainingUnit)) {
+        return false;
+      }
+      final RemainingUnit other = (RemainingUnit) o;
+      return hits == other.hits && before.equals(other.before);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(before, hits);
+    }
+  }
+
+  /**
+   * One distinct outcome of a battle.
+   */
+  private static final class BattleOutcome {
+    private final int battleRoundsFought;
+    private final WhoWon whoWon;
+    private final List<RemainingUnit> remainingAttackingUnits;
+    private final List<RemainingUnit> remainingDefendingUnits;
+
+    private BattleOutcome(final int battleRoundsFought, final WhoWon whoWon,
+        final List<RemainingUnit> remainingAttackingUnits, final List<RemainingUnit> remainingDefendingUnits) {
+      this.battleRoundsFought = battleRoundsFought;
+      this.whoWon = whoWon;
+      this.remainingAttackingUnits = remainingAttackingUnits;
+      this.remainingDefendingUnits = remainingDefendingUnits;
+    }
+
+    /**
+     * Returns the outcome of the specified results, or {@code null} if their remaining units are not units of the
+     * battle.
+     */
+    static BattleOutcome of(final BattleResults results, final Map<Unit, UnitSummary> attackingUnits,
+        final Map<Unit, UnitSummary> defendingUnits) {
+      final List<RemainingUnit> remainingAttackingUnits =
+          RemainingUnit.toList(results.getRemainingAttackingUnits(), attackingUnits);
+      final List<RemainingUnit> remainingDefendingUnits =
+          RemainingUnit.toList(results.getRemainingDefendingUnits(), defendingUnits);
+      if (remainingAttackingUnits == null || remainingDefendingUnits == null) {
+        return null;
+      }
+      return new BattleOutcome(results.getBattleRoundsFought(),
+          results.attackerWon() ? WhoWon.ATTACKER : (results.defenderWon() ? WhoWon.DEFENDER : WhoWon.DRAW),
+          remainingAttackingUnits, remainingDefendingUnits);
+    }
+
+    BattleResults toBattleResults(final BattleSpec battle, final GameData data) {
+      final List<Unit> attackingUnits = RemainingUnit.toUnits(remainingAttackingUnits, battle.getAttacking(), data);
+      final List<Unit> defendingUnits = RemainingUnit.toUnits(remainingDefendingUnits, battle.getDefending(), data);
+      if (attackingUnits == null || defendingUnits == null) {
+        return null;
+      }
+      return new BattleResults(battleRoundsFought, attackingUnits, defendingUnits, whoWon, data);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (o == this) {
+        return true;
+      } else if (!(o instanceof BattleOutcome)) {
+        return false;
+      }
+      final BattleOutcome other = (BattleOutcome) o;
+      return battleRoundsFought == other.battleRoundsFought && whoWon == other.whoWon
+          && remainingAttackingUnits.equals(other.remainingAttackingUnits)
+          && remainingDefendingUnits.equals(other.remainingDefendingUnits);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(battleRoundsFought, whoWon, remainingAttackingUnits, remainingDefendingUnits);
+    }
+  }
+
+  /**
+   * The cached summary of the results of a battle: every distinct outcome and how often it happened.
+   */
+  private static final class BattleSummary {
+    private final Map<BattleOutcome, Integer> outcomeCounts = new LinkedHashMap<>();
+    private final int rollCount;
+
+    private BattleSummary(final int rollCount) {
+      this.rollCount = rollCount;
+    }
+
+    /**
+     * Returns the summary of the specified results of the specified battle, or {@code null} if some of their remaining
+     * units are not units of the battle.
+     */
+    static BattleSummary of(final BattleSpec battle, final AggregateResults results) {
+      final Map<Unit, UnitSummary> attackingUnits = toSummaries(battle.getAttacking());
+      final Map<Unit, UnitSummary> defendingUnits = toSummaries(battle.getDefending());
+      final BattleSummary summary = new BattleSummary(results.getRollCount());
+      for (final BattleResults result : results.getResults()) {
+        final BattleOutcome outcome = BattleOutcome.of(result, attackingUnits, defendingUnits);
+        if (outcome == null) {
+          return null;
+        }
+        summary.outcomeCounts.merge(outcome, 1, Integer::sum);
+      }
+      return summary;
+    }
+
+    private static Map<Unit, UnitSummary> toSummaries(final Collection<Unit> units) {
+      final Map<Unit, UnitSummary> summaries = new HashMap<>();
+      for (final Unit unit : units) {
+        summaries.put(unit, new UnitSummary(unit));
+      }
+      return summaries;
+    }
+
+    /**
+     * Returns the results with the remaining units taken from the units of the specified battle, or {@code null} if
+     * they cannot be.
+     */
+    AggregateResults toAggregateResults(final BattleSpec battle, final GameData data) {
+      if (data == null) {
+        return null;
+      }
+      final long start = System.currentTimeMillis();
+      final AggregateResults results = new AggregateResults(rollCount);
+      for (final Map.Entry<BattleOutcome, Integer> entry : outcomeCounts.entrySet()) {
+        // the same results may be added many times, since they are never modified
+        final BattleResults result = entry.getKey().toBattleResults(battle, data);
+        if (result == null) {
+          return null;
+        }
+        for (int i = 0; i < entry.getValue(); i++) {
+          results.addResult(result);
+        }
+      }
+      results.setTime(System.currentTimeMillis() - start);
+      return results;
+    }
+  }
+}
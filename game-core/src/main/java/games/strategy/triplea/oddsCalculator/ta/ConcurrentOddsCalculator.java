@@ -1,18 +1,32 @@
 package games.strategy.triplea.oddsCalculator.ta;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -21,20 +35,46 @@ import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.TerritoryEffect;
 import games.strategy.engine.data.Unit;
-import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.engine.framework.GameDataSnapshot;
 import games.strategy.util.CountUpAndDownLatch;
 
 /**
  * Concurrent wrapper class for the OddsCalculator. It spawns multiple worker threads and splits up the run count
  * across these workers. This is mainly to be used by AIs since they call the OddsCalculator a lot.
+ *
+ * <p>
+ * Each worker owns its own copy of the game data, so a worker can only be used by one calculation at a time. Idle
+ * workers wait in a queue: a single battle calculation borrows all of them, while a batch calculation (see
+ * {@link #calculateAll(List, double)}) splits every battle into chunks of runs that each borrow one worker on a
+ * work-stealing pool, so chunks of many battles are interleaved across all workers.
+ * </p>
  */
 public class ConcurrentOddsCalculator implements IOddsCalculator {
   private static final Logger logger = Logger.getLogger(ConcurrentOddsCalculator.class.getName());
   private static final int MAX_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+  // fewest runs a battle in a batch is split into
+  private static final int MIN_BATCH_RUN_COUNT = AggregateResults.MIN_RUNS_FOR_TOLERANCE;
+  // chunks a batch battle is split into per worker, as long as they have at least MIN_BATCH_RUN_COUNT runs each
+  private static final int CHUNKS_PER_WORKER = 4;
 
   private int currentThreads = MAX_THREADS;
   private final ExecutorService executor;
+  private final ForkJoinPool batchPool;
   private final List<OddsCalculator> workers = new CopyOnWriteArrayList<>();
+  // workers not currently borrowed by a calculation
+  private final BlockingQueue<OddsCalculator> idleWorkers = new LinkedBlockingQueue<>();
+  // batch battles that have not completed yet, so that they can be cancelled
+  private final Set<CompletableFuture<AggregateResults>> pendingBatchResults = ConcurrentHashMap.newKeySet();
+  // settings applied to every worker when it is borrowed
+  private volatile BattleSpec calculateData = null;
+  private volatile boolean keepOneAttackingLandUnit = false;
+  private volatile boolean amphibious = false;
+  private volatile int retreatAfterRound = -1;
+  private volatile int retreatAfterXUnitsLeft = -1;
+  private volatile boolean retreatWhenOnlyAirLeft = false;
+  private volatile double winPercentTolerance = 0;
+  private volatile String attackerOrderOfLosses = null;
+  private volatile String defenderOrderOfLosses = null;
   // do not let calc be set up til data is set
   private volatile boolean isDataSet = false;
   // do not let calc start until it is set
@@ -58,6 +98,13 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
   public ConcurrentOddsCalculator(final String threadNamePrefix) {
     executor = Executors.newFixedThreadPool(MAX_THREADS,
         new DaemonThreadFactory(true, threadNamePrefix + " ConcurrentOddsCalculator Worker"));
+    final AtomicInteger batchThreadNumber = new AtomicInteger(1);
+    batchPool = new ForkJoinPool(MAX_THREADS, pool -> {
+      final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setDaemon(true);
+      thread.setName(threadNamePrefix + " ConcurrentOddsCalculator Batch-" + batchThreadNumber.getAndIncrement());
+      return thread;
+    }, null, false);
   }
 
   @Override
@@ -81,6 +128,7 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
       isCalcSet = false;
       if (data == null || isShutDown) {
         workers.clear();
+        idleWorkers.clear();
         ++cancelCurrentOperation;
         // allow calcing and other stuff to go ahead
         latchSetData.countDown();
@@ -126,59 +174,61 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
 
   private void createWorkers(final GameData data) {
     workers.clear();
+    idleWorkers.clear();
     if (data != null && cancelCurrentOperation >= 0) {
       // see how long 1 copy takes (some games can get REALLY big)
       final long startTime = System.currentTimeMillis();
       final long startMemory = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+      final GameDataSnapshot snapshot;
       final GameData newData;
       try {
-        // make first copy, then release lock on it so game can continue (ie: we don't want to lock on it while we copy
-        // it 16 times, when once is enough) don't let the data change while we make the first copy
+        // take a single snapshot, then release lock on it so game can continue (ie: we don't want to lock on it while
+        // we copy it 16 times, when once is enough) don't let the data change while we take the snapshot
         data.acquireReadLock();
-        newData = GameDataUtils.cloneGameData(data, false);
+        snapshot = GameDataSnapshot.of(data, false);
+      } catch (final IOException e) {
+        throw new IllegalStateException("Failed to snapshot game data", e);
       } finally {
         data.releaseReadLock();
       }
+      newData = fork(snapshot);
       currentThreads = getThreadsToUse((System.currentTimeMillis() - startTime), startMemory);
-      try {
-        // make sure all workers are using the same data
-        newData.acquireReadLock();
-        int i = 0;
-        // we are already in 1 executor thread, so we have MAX_THREADS-1 threads left to use
-        if (currentThreads <= 2 || MAX_THREADS <= 2) {
-          // if 2 or fewer threads, do not multi-thread the copying (we have already copied it once above, so at most
-          // only 1 more copy to
-          // make)
-          while (cancelCurrentOperation >= 0 && i < currentThreads) {
-            // the last one will use our already copied data from above, without copying it again
-            workers.add(new OddsCalculator(newData, (currentThreads == ++i)));
-          }
-        } else { // multi-thread our copying, cus why the heck not (it increases the speed of copying by about double)
-          final CountDownLatch workerLatch = new CountDownLatch(currentThreads - 1);
-          while (i < (currentThreads - 1)) {
-            ++i;
-            executor.submit(() -> {
+      int i = 0;
+      // we are already in 1 executor thread, so we have MAX_THREADS-1 threads left to use
+      if (currentThreads <= 2 || MAX_THREADS <= 2) {
+        // if 2 or fewer threads, do not multi-thread the forking (we have already forked once above, so at most
+        // only 1 more copy to make)
+        while (cancelCurrentOperation >= 0 && i < currentThreads) {
+          // the last one will use our already forked data from above, without forking it again
+          addWorker(new OddsCalculator((currentThreads == ++i) ? newData : fork(snapshot), true));
+        }
+      } else { // multi-thread our forking, every worker reads from the same immutable snapshot
+        final CountDownLatch workerLatch = new CountDownLatch(currentThreads - 1);
+        while (i < (currentThreads - 1)) {
+          ++i;
+          executor.submit(() -> {
+            try {
               if (cancelCurrentOperation >= 0) {
-                workers.add(new OddsCalculator(newData, false));
+                addWorker(new OddsCalculator(fork(snapshot), true));
               }
+            } finally {
               workerLatch.countDown();
-            });
-          }
-          // the last one will use our already copied data from above, without copying it again
-          workers.add(new OddsCalculator(newData, true));
-          try {
-            workerLatch.await();
-          } catch (final InterruptedException e) {
-            Thread.currentThread().interrupt();
-          }
+            }
+          });
+        }
+        // the last one will use our already forked data from above, without forking it again
+        addWorker(new OddsCalculator(newData, true));
+        try {
+          workerLatch.await();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
         }
-      } finally {
-        newData.releaseReadLock();
       }
     }
     if (cancelCurrentOperation < 0 || data == null) {
       // we could have cancelled while setting data, so clear the workers again if so
       workers.clear();
+      idleWorkers.clear();
       isDataSet = false;
     } else {
       // should make sure that all workers have their game data set before we can call calculate and other things
@@ -191,12 +241,65 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
     latchSetData.countDown();
   }
 
+  private void addWorker(final OddsCalculator worker) {
+    workers.add(worker);
+    idleWorkers.add(worker);
+  }
+
+  /**
+   * Waits for an idle worker and sets it up with the specified settings to calculate the specified battle.
+   *
+   * @return The worker, or {@code null} if {@code abandon} became {@code true} before a worker was idle.
+   */
+  private OddsCalculator borrowWorker(final WorkerSettings settings, final BattleSpec battle, final int runCount,
+      final double tolerance, final BooleanSupplier abandon) throws InterruptedException {
+    OddsCalculator worker = null;
+    while (worker == null) {
+      if (abandon.getAsBoolean()) {
+        return null;
+      }
+      worker = idleWorkers.poll(100, TimeUnit.MILLISECONDS);
+    }
+    try {
+      worker.setKeepOneAttackingLandUnit(settings.keepOneAttackingLandUnit);
+      worker.setAmphibious(settings.amphibious);
+      worker.setRetreatAfterRound(settings.retreatAfterRound);
+      worker.setRetreatAfterXUnitsLeft(settings.retreatAfterXUnitsLeft);
+      worker.setRetreatWhenOnlyAirLeft(settings.retreatWhenOnlyAirLeft);
+      worker.setWinPercentTolerance(tolerance);
+      worker.setAttackerOrderOfLosses(settings.attackerOrderOfLosses);
+      worker.setDefenderOrderOfLosses(settings.defenderOrderOfLosses);
+      worker.setCalculateData(battle.getAttacker(), battle.getDefender(), battle.getLocation(), battle.getAttacking(),
+          battle.getDefending(), battle.getBombarding(), battle.getTerritoryEffects(), runCount);
+      return worker;
+    } catch (final RuntimeException e) {
+      returnWorker(worker);
+      throw e;
+    }
+  }
+
+  private void returnWorker(final OddsCalculator worker) {
+    // the worker may belong to game data that has since been replaced
+    if (workers.contains(worker)) {
+      idleWorkers.add(worker);
+    }
+  }
+
+  private static GameData fork(final GameDataSnapshot snapshot) {
+    try {
+      return snapshot.fork();
+    } catch (final IOException e) {
+      throw new IllegalStateException("Failed to fork game data", e);
+    }
+  }
+
   @Override
   public void shutdown() {
     isShutDown = true;
     cancelCurrentOperation = Integer.MIN_VALUE / 2;
     cancel();
     executor.shutdown();
+    batchPool.shutdownNow();
     synchronized (listeners) {
       listeners.clear();
     }
@@ -215,25 +318,17 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
   @Override
   public void setCalculateData(final PlayerID attacker, final PlayerID defender, final Territory location,
       final Collection<Unit> attacking, final Collection<Unit> defending, final Collection<Unit> bombarding,
-      final Collection<TerritoryEffect> territoryEffects, int runCount) {
+      final Collection<TerritoryEffect> territoryEffects, final int runCount) {
     synchronized (mutexCalcIsRunning) {
       awaitLatch();
       isCalcSet = false;
-      final int workerNum = workers.size();
-      final int workerRunCount = Math.max(1, (runCount / Math.max(1, workerNum)));
-      for (final OddsCalculator worker : workers) {
-        if (!isDataSet || isShutDown) {
-          // we could have attempted to set a new game data, while the old one was still being set, causing it to abort
-          // with null data
-          return;
-        }
-        worker.setCalculateData(attacker, defender, location, attacking, defending, bombarding, territoryEffects,
-            (runCount <= 0 ? 0 : workerRunCount));
-        runCount -= workerRunCount;
-      }
-      if (!isDataSet || isShutDown || workerNum <= 0) {
+      if (!isDataSet || isShutDown || workers.isEmpty()) {
+        // we could have attempted to set a new game data, while the old one was still being set, causing it to abort
+        // with null data
         return;
       }
+      calculateData =
+          new BattleSpec(attacker, defender, location, attacking, defending, bombarding, territoryEffects, runCount);
       isCalcSet = true;
     }
   }
@@ -249,63 +344,88 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
       awaitLatch();
       final long start = System.currentTimeMillis();
       // Create worker thread pool and start all workers
-      int totalRunCount = 0;
-      final List<Future<AggregateResults>> list = new ArrayList<>();
-      for (final OddsCalculator worker : workers) {
-        if (!getIsReady()) {
-          // we could have attempted to set a new game data, while the old one was still being set, causing it to abort
-          // with null data
+      if (!getIsReady()) {
+        // we could have attempted to set a new game data, while the old one was still being set, causing it to abort
+        // with null data
+        return new AggregateResults(0);
+      }
+      final BattleSpec battle = calculateData;
+      if (winPercentTolerance > 0) {
+        // in target precision mode the runs are chunked, so that the calculation can stop once precise enough
+        try {
+          return calculateAll(Collections.singletonList(battle), winPercentTolerance).get(0).join();
+        } catch (final CancellationException e) {
           return new AggregateResults(0);
-        }
-        if (!worker.getIsReady()) {
-          throw new IllegalStateException("Called calculate before setting calculate data!");
-        }
-        if (worker.getRunCount() > 0) {
-          totalRunCount += worker.getRunCount();
-          final Future<AggregateResults> workerResult = executor.submit(worker);
-          list.add(workerResult);
+        } catch (final CompletionException e) {
+          throw new IllegalStateException(e.getCause());
         }
       }
-      // Wait for all worker futures to complete and combine results
-      final AggregateResults results = new AggregateResults(totalRunCount);
-      final Set<InterruptedException> interruptExceptions = new HashSet<>();
-      final Map<String, Set<ExecutionException>> executionExceptions = new HashMap<>();
-      for (final Future<AggregateResults> future : list) {
+      final WorkerSettings settings = new WorkerSettings();
+      int runCount = battle.getRunCount();
+      final int workerNum = workers.size();
+      final int workerRunCount = Math.max(1, (runCount / Math.max(1, workerNum)));
+      int totalRunCount = 0;
+      final List<OddsCalculator> borrowed = new ArrayList<>();
+      final List<Future<AggregateResults>> list = new ArrayList<>();
+      try {
         try {
-          final AggregateResults result = future.get();
-          results.addResults(result.getResults());
+          for (int i = 0; i < workerNum && runCount > 0; i++) {
+            final OddsCalculator worker =
+                borrowWorker(settings, battle, workerRunCount, 0, () -> !isDataSet || isShutDown);
+            if (worker == null) {
+              break;
+            }
+            borrowed.add(worker);
+            runCount -= workerRunCount;
+            totalRunCount += worker.getRunCount();
+            list.add(executor.submit(worker));
+          }
         } catch (final InterruptedException e) {
           Thread.currentThread().interrupt();
-          interruptExceptions.add(e);
-        } catch (final ExecutionException e) {
-          final String cause = e.getCause().getLocalizedMessage();
-          Set<ExecutionException> exceptions = executionExceptions.get(cause);
-          if (exceptions == null) {
-            exceptions = new HashSet<>();
-          }
-          exceptions.add(e);
-          executionExceptions.put(cause, exceptions);
         }
-      }
-      // we don't want to scare the user with 8+ errors all for the same thing
-      if (!interruptExceptions.isEmpty()) {
-        logger.log(Level.SEVERE, interruptExceptions.size() + " Battle results workers interrupted",
-            interruptExceptions.iterator().next());
-      }
-      if (!executionExceptions.isEmpty()) {
-        Exception e = null;
-        for (final Set<ExecutionException> entry : executionExceptions.values()) {
-          if (!entry.isEmpty()) {
-            e = entry.iterator().next();
-            logger.log(Level.SEVERE, entry.size() + " Battle results workers aborted by exception", e.getCause());
+        // Wait for all worker futures to complete and combine results
+        final AggregateResults results = new AggregateResults(totalRunCount);
+        final Set<InterruptedException> interruptExceptions = new HashSet<>();
+        final Map<String, Set<ExecutionException>> executionExceptions = new HashMap<>();
+        for (final Future<AggregateResults> future : list) {
+          try {
+            final AggregateResults result = future.get();
+            results.addResults(result.getResults());
+          } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            interruptExceptions.add(e);
+          } catch (final ExecutionException e) {
+            final String cause = e.getCause().getLocalizedMessage();
+            Set<ExecutionException> exceptions = executionExceptions.get(cause);
+            if (exceptions == null) {
+              exceptions = new HashSet<>();
+            }
+            exceptions.add(e);
+            executionExceptions.put(cause, exceptions);
           }
         }
-        if (e != null) {
-          throw new IllegalStateException(e.getCause());
+        // we don't want to scare the user with 8+ errors all for the same thing
+        if (!interruptExceptions.isEmpty()) {
+          logger.log(Level.SEVERE, interruptExceptions.size() + " Battle results workers interrupted",
+              interruptExceptions.iterator().next());
         }
+        if (!executionExceptions.isEmpty()) {
+          Exception e = null;
+          for (final Set<ExecutionException> entry : executionExceptions.values()) {
+            if (!entry.isEmpty()) {
+              e = entry.iterator().next();
+              logger.log(Level.SEVERE, entry.size() + " Battle results workers aborted by exception", e.getCause());
+            }
+          }
+          if (e != null) {
+            throw new IllegalStateException(e.getCause());
+          }
+        }
+        results.setTime(System.currentTimeMillis() - start);
+        return results;
+      } finally {
+        borrowed.forEach(this::returnWorker);
       }
-      results.setTime(System.currentTimeMillis() - start);
-      return results;
     }
   }
 
@@ -319,6 +439,140 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
     }
   }
 
+  /**
+   * Calculates the specified battles concurrently. Each battle is split into chunks of runs, and the chunks of all
+   * battles are interleaved on a work-stealing pool so that every worker stays busy until the whole batch is done, and
+   * small battles do not wait behind big ones. A battle stops early (skipping its remaining chunks) once its attacker
+   * win percent is known within {@code winPercentTolerance}, using the Wilson score interval.
+   *
+   * <p>
+   * {@link #cancel()} cancels all battles of the batch that are not done yet.
+   * </p>
+   */
+  @Override
+  public List<CompletableFuture<AggregateResults>> calculateAll(final List<BattleSpec> battles,
+      final double winPercentTolerance) {
+    synchronized (mutexCalcIsRunning) {
+      awaitLatch();
+      final WorkerSettings settings = new WorkerSettings();
+      final List<CompletableFuture<AggregateResults>> results = new ArrayList<>(battles.size());
+      final List<BatchBattle> batchBattles = new ArrayList<>(battles.size());
+      final int workerNum = Math.max(1, workers.size());
+      for (final BattleSpec battle : battles) {
+        final BatchBattle batchBattle = new BatchBattle(settings, battle, winPercentTolerance, workerNum);
+        results.add(batchBattle.result);
+        if (!isDataSet || isShutDown || battle.getRunCount() <= 0) {
+          batchBattle.result.complete(new AggregateResults(0));
+        } else {
+          pendingBatchResults.add(batchBattle.result);
+          batchBattles.add(batchBattle);
+        }
+      }
+      // submit round robin, so that the first chunks of every battle are picked up before the last chunks of any
+      for (int chunk = 0; !batchBattles.isEmpty(); chunk++) {
+        for (final Iterator<BatchBattle> it = batchBattles.iterator(); it.hasNext();) {
+          final BatchBattle batchBattle = it.next();
+          if (chunk < batchBattle.chunkRunCounts.length) {
+            final int chunkRunCount = batchBattle.chunkRunCounts[chunk];
+            batchPool.execute(() -> batchBattle.runChunk(chunkRunCount));
+          } else {
+            it.remove();
+          }
+        }
+      }
+      return results;
+    }
+  }
+
+  /**
+   * The settings of this calculator when a calculation starts, which its workers use even if the settings are changed
+   * before the calculation is done. Must be created while holding {@code mutexCalcIsRunning}.
+   */
+  private final class WorkerSettings {
+    private final boolean keepOneAttackingLandUnit = ConcurrentOddsCalculator.this.keepOneAttackingLandUnit;
+    private final boolean amphibious = ConcurrentOddsCalculator.this.amphibious;
+    private final int retreatAfterRound = ConcurrentOddsCalculator.this.retreatAfterRound;
+    private final int retreatAfterXUnitsLeft = ConcurrentOddsCalculator.this.retreatAfterXUnitsLeft;
+    private final boolean retreatWhenOnlyAirLeft = ConcurrentOddsCalculator.this.retreatWhenOnlyAirLeft;
+    private final String attackerOrderOfLosses = ConcurrentOddsCalculator.this.attackerOrderOfLosses;
+    private final String defenderOrderOfLosses = ConcurrentOddsCalculator.this.defenderOrderOfLosses;
+  }
+
+  /**
+   * The state of one battle of a batch calculation.
+   */
+  private final class BatchBattle {
+    private final WorkerSettings settings;
+    private final BattleSpec battle;
+    private final double winPercentTolerance;
+    private final int[] chunkRunCounts;
+    private final AtomicInteger remainingChunks;
+    private final AggregateResults results;
+    private final CompletableFuture<AggregateResults> result = new CompletableFuture<>();
+    private final long start = System.currentTimeMillis();
+
+    BatchBattle(final WorkerSettings settings, final BattleSpec battle, final double winPercentTolerance,
+        final int workerNum) {
+      this.settings = settings;
+      this.battle = battle;
+      this.winPercentTolerance = winPercentTolerance;
+      final int runCount = Math.max(0, battle.getRunCount());
+      // several chunks per worker, so that a battle can be stopped early without waiting for a big chunk
+      final int chunkCount = workerNum * CHUNKS_PER_WORKER;
+      final int chunkRunCount = Math.max(MIN_BATCH_RUN_COUNT, (runCount + chunkCount - 1) / chunkCount);
+      final int chunks = Math.max(1, (runCount + chunkRunCount - 1) / chunkRunCount);
+      chunkRunCounts = new int[chunks];
+      for (int i = 0; i < chunks; i++) {
+        chunkRunCounts[i] = Math.min(chunkRunCount, runCount - i * chunkRunCount);
+      }
+      remainingChunks = new AtomicInteger(chunks);
+      results = new AggregateResults(runCount);
+    }
+
+    void runChunk(final int runCount) {
+      OddsCalculator worker = null;
+      try {
+        worker =
+            borrowWorker(settings, battle, runCount, winPercentTolerance, () -> result.isDone() || isShutDown);
+        if (worker != null) {
+          final AggregateResults chunkResults = worker.calculate();
+          synchronized (this) {
+            if (!result.isDone()) {
+              results.addResults(chunkResults.getResults());
+              if (results.isAttackerWinPercentWithin(winPercentTolerance)) {
+                complete();
+              }
+            }
+          }
+        }
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        result.cancel(false);
+      } catch (final RuntimeException e) {
+        result.completeExceptionally(e);
+      } finally {
+        if (worker != null) {
+          returnWorker(worker);
+        }
+        if (remainingChunks.decrementAndGet() == 0) {
+          synchronized (this) {
+            complete();
+          }
+        }
+        if (result.isDone()) {
+          pendingBatchResults.remove(result);
+        }
+      }
+    }
+
+    private void complete() {
+      if (!result.isDone()) {
+        results.setTime(System.currentTimeMillis() - start);
+        result.complete(results);
+      }
+    }
+  }
+
   @Override
   public boolean getIsReady() {
     return isDataSet && isCalcSet && !isShutDown;
@@ -326,20 +580,15 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
 
   @Override
   public int getRunCount() {
-    int totalRunCount = 0;
-    for (final OddsCalculator worker : workers) {
-      totalRunCount += worker.getRunCount();
-    }
-    return totalRunCount;
+    final BattleSpec battle = calculateData;
+    return battle == null ? 0 : battle.getRunCount();
   }
 
   @Override
   public void setKeepOneAttackingLandUnit(final boolean bool) {
     synchronized (mutexCalcIsRunning) {
       awaitLatch();
-      for (final OddsCalculator worker : workers) {
-        worker.setKeepOneAttackingLandUnit(bool);
-      }
+      keepOneAttackingLandUnit = bool;
     }
   }
 
@@ -347,9 +596,7 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
   public void setAmphibious(final boolean bool) {
     synchronized (mutexCalcIsRunning) {
       awaitLatch();
-      for (final OddsCalculator worker : workers) {
-        worker.setAmphibious(bool);
-      }
+      amphibious = bool;
     }
   }
 
@@ -357,9 +604,7 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
   public void setRetreatAfterRound(final int value) {
     synchronized (mutexCalcIsRunning) {
       awaitLatch();
-      for (final OddsCalculator worker : workers) {
-        worker.setRetreatAfterRound(value);
-      }
+      retreatAfterRound = value;
     }
   }
 
@@ -367,9 +612,7 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
   public void setRetreatAfterXUnitsLeft(final int value) {
     synchronized (mutexCalcIsRunning) {
       awaitLatch();
-      for (final OddsCalculator worker : workers) {
-        worker.setRetreatAfterXUnitsLeft(value);
-      }
+      retreatAfterXUnitsLeft = value;
     }
   }
 
@@ -377,20 +620,23 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
   public void setRetreatWhenOnlyAirLeft(final boolean value) {
     synchronized (mutexCalcIsRunning) {
       awaitLatch();
-      for (final OddsCalculator worker : workers) {
-        worker.setRetreatWhenOnlyAirLeft(value);
-      }
+      retreatWhenOnlyAirLeft = value;
     }
   }
 
+  @Override
+  public void setWinPercentTolerance(final double tolerance) {
+    synchronized (mutexCalcIsRunning) {
+      awaitLatch();
+      winPercentTolerance = tolerance;
+    }
+  }
 
   @Override
   public void setAttackerOrderOfLosses(final String attackerOrderOfLosses) {
     synchronized (mutexCalcIsRunning) {
       awaitLatch();
-      for (final OddsCalculator worker : workers) {
-        worker.setAttackerOrderOfLosses(attackerOrderOfLosses);
-      }
+      this.attackerOrderOfLosses = attackerOrderOfLosses;
     }
   }
 
@@ -398,15 +644,16 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
   public void setDefenderOrderOfLosses(final String defenderOrderOfLosses) {
     synchronized (mutexCalcIsRunning) {
       awaitLatch();
-      for (final OddsCalculator worker : workers) {
-        worker.setDefenderOrderOfLosses(defenderOrderOfLosses);
-      }
+      this.defenderOrderOfLosses = defenderOrderOfLosses;
     }
   }
 
   // not on purpose, we need to be able to cancel at any time
   @Override
   public void cancel() {
+    for (final CompletableFuture<AggregateResults> result : pendingBatchResults) {
+      result.cancel(false);
+    }
     for (final OddsCalculator worker : workers) {
       worker.cancel();
     }
@@ -1,6 +1,9 @@
 package games.strategy.triplea.oddsCalculator.ta;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
@@ -24,6 +27,39 @@ public interface IOddsCalculator {
       final Territory location, final Collection<Unit> attacking, final Collection<Unit> defending,
       final Collection<Unit> bombarding, final Collection<TerritoryEffect> territoryEffects, final int runCount);
 
+  /**
+   * Calculates each of the specified battles, using this calculator's current settings (order of losses, retreat
+   * options...) for all of them. The returned futures are in the same order as the battles, and each one completes on
+   * its own as soon as its battle is done.
+   *
+   * <p>
+   * A battle may be stopped before its full run count once the 95% confidence interval of the attacker win percent
+   * is no wider than plus or minus {@code winPercentTolerance} (e.g. {@code 0.05} for 5%). Pass {@code 0} to always
+   * fight every run.
+   * </p>
+   *
+   * <p>
+   * The default implementation calculates the battles one after another on the calling thread, ignoring the
+   * tolerance.
+   * </p>
+   */
+  default List<CompletableFuture<AggregateResults>> calculateAll(final List<BattleSpec> battles,
+      final double winPercentTolerance) {
+    final List<CompletableFuture<AggregateResults>> results = new ArrayList<>(battles.size());
+    for (final BattleSpec battle : battles) {
+      final CompletableFuture<AggregateResults> result = new CompletableFuture<>();
+      try {
+        result.complete(setCalculateDataAndCalculate(battle.getAttacker(), battle.getDefender(), battle.getLocation(),
+            battle.getAttacking(), battle.getDefending(), battle.getBombarding(), battle.getTerritoryEffects(),
+            battle.getRunCount()));
+      } catch (final RuntimeException e) {
+        result.completeExceptionally(e);
+      }
+      results.add(result);
+    }
+    return results;
+  }
+
   int getRunCount();
 
   boolean getIsReady();
@@ -38,6 +74,15 @@ public interface IOddsCalculator {
 
   void setRetreatWhenOnlyAirLeft(final boolean value);
 
+  /**
+   * Sets the target precision of the attacker win percent. If positive, a calculation stops as soon as the 95%
+   * confidence interval of the attacker win percent is no wider than plus or minus {@code tolerance} (e.g.
+   * {@code 0.01} for 1%), and the run count only bounds the number of battles fought. The default of {@code 0} always
+   * fights the full run count. See {@link AggregateResults#getAttackerWinPercentConfidenceInterval()} and
+   * {@link AggregateResults#getRollCount()} for the achieved precision and the number of battles fought.
+   */
+  void setWinPercentTolerance(final double tolerance);
+
   void setAttackerOrderOfLosses(final String attackerOrderOfLosses);
 
   void setDefenderOrderOfLosses(final String defenderOrderOfLosses);
@@ -73,6 +73,7 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
   private int retreatAfterRound = -1;
   private int retreatAfterXUnitsLeft = -1;
   private boolean retreatWhenOnlyAirLeft = false;
+  private double winPercentTolerance = 0;
   private String attackerOrderOfLosses = null;
   private String defenderOrderOfLosses = null;
   private int runCount = 0;
@@ -174,33 +175,49 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
     // TODO: first, see how much it actually speeds stuff up by, and if it does make a difference then convert it to a
     // per-thread, per-calc
     // caching
-    final List<Unit> attackerOrderOfLosses =
-        OddsCalculator.getUnitListByOrderOfLoss(this.attackerOrderOfLosses, attackingUnits, gameData);
-    final List<Unit> defenderOrderOfLosses =
-        OddsCalculator.getUnitListByOrderOfLoss(this.defenderOrderOfLosses, defendingUnits, gameData);
-    for (int i = 0; i < count && !cancelled; i++) {
-      final CompositeChange allChanges = new CompositeChange();
-      final DummyDelegateBridge bridge1 =
-          new DummyDelegateBridge(attacker, gameData, allChanges, attackerOrderOfLosses, defenderOrderOfLosses,
-              keepOneAttackingLandUnit, retreatAfterRound, retreatAfterXUnitsLeft, retreatWhenOnlyAirLeft);
-      final GameDelegateBridge bridge = new GameDelegateBridge(bridge1);
-      final MustFightBattle battle = new MustFightBattle(location, attacker, gameData, battleTracker);
-      battle.setHeadless(true);
-      battle.isAmphibious();
-      battle.setUnits(defendingUnits, attackingUnits, bombardingUnits,
-          (amphibious ? attackingUnits : new ArrayList<>()), defender, territoryEffects);
-      bridge1.setBattle(battle);
-      battle.fight(bridge);
-      aggregateResults.addResult(new BattleResults(battle, gameData));
-      // restore the game to its original state
-      gameData.performChange(allChanges.invert());
-      battleTracker.clear();
-      battleTracker.clearBattleRecords();
-    }
-    aggregateResults.setTime(System.currentTimeMillis() - start);
-    isRunning = false;
-    cancelled = false;
-    return aggregateResults;
+    try {
+      final List<Unit> attackerOrderOfLosses =
+          OddsCalculator.getUnitListByOrderOfLoss(this.attackerOrderOfLosses, attackingUnits, gameData);
+      final List<Unit> defenderOrderOfLosses =
+          OddsCalculator.getUnitListByOrderOfLoss(this.defenderOrderOfLosses, defendingUnits, gameData);
+      for (int i = 0; i < count && !cancelled; i++) {
+        final CompositeChange allChanges = new CompositeChange();
+        final DummyDelegateBridge bridge1 =
+            new DummyDelegateBridge(attacker, gameData, allChanges, attackerOrderOfLosses, defenderOrderOfLosses,
+                keepOneAttackingLandUnit, retreatAfterRound, retreatAfterXUnitsLeft, retreatWhenOnlyAirLeft);
+        final GameDelegateBridge bridge = new GameDelegateBridge(bridge1);
+        final MustFightBattle battle = new MustFightBattle(location, attacker, gameData, battleTracker);
+        battle.setHeadless(true);
+        battle.isAmphibious();
+        battle.setUnits(defendingUnits, attackingUnits, bombardingUnits,
+            (amphibious ? attackingUnits : new ArrayList<>()), defender, territoryEffects);
+        bridge1.setBattle(battle);
+        battle.fight(bridge);
+        aggregateResults.addResult(new BattleResults(battle, gameData));
+        // restore the game to its original state
+        gameData.performChange(allChanges.invert());
+        battleTracker.clear();
+        battleTracker.clearBattleRecords();
+        if (isPreciseEnough(aggregateResults, winPercentTolerance)) {
+          break;
+        }
+      }
+      aggregateResults.setTime(System.currentTimeMillis() - start);
+      return aggregateResults;
+    } finally {
+      // a worker whose battle failed must still accept the next battle
+      isRunning = false;
+      cancelled = false;
+    }
+  }
+
+  /**
+   * Checks whether a calculation in target precision mode can stop. Only checked every few runs, since the check
+   * itself is linear in the number of runs.
+   */
+  static boolean isPreciseEnough(final AggregateResults results, final double winPercentTolerance) {
+    return winPercentTolerance > 0 && results.getRollCount() % 8 == 0
+        && results.isAttackerWinPercentWithin(winPercentTolerance);
   }
 
   @Override
@@ -243,6 +260,11 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
     retreatWhenOnlyAirLeft = value;
   }
 
+  @Override
+  public void setWinPercentTolerance(final double tolerance) {
+    winPercentTolerance = tolerance;
+  }
+
   @Override
   public void setAttackerOrderOfLosses(final String attackerOrderOfLosses) {
     this.attackerOrderOfLosses = attackerOrderOfLosses;
@@ -315,7 +337,7 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
     return true;
   }
 
-  private static List<Unit> getUnitListByOrderOfLoss(final String ool, final Collection<Unit> units,
+  static List<Unit> getUnitListByOrderOfLoss(final String ool, final Collection<Unit> units,
       final GameData data) {
     if (ool == null || ool.trim().length() == 0) {
       return null;
@@ -488,6 +510,9 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
     @Override
     public void gameDataChanged(final Change change) {}
 
+    @Override
+    public void gameDataChangesBatched(final CompositeChange changes) {}
+
     @Override
     public void shutDown() {}
 
@@ -0,0 +1,203 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.random.IRandomSource;
+import games.strategy.engine.random.PlainRandomSource;
+
+/**
+ * An odds calculator backed by {@link BattleSimulator}. Battles are simulated directly against the game data the
+ * units belong to, under its read lock, so unlike {@link OddsCalculator} no copy of the game data is made and no
+ * changes are performed or inverted per run.
+ *
+ * <p>
+ * The trade-off is fidelity: see {@link BattleSimulator} for the combat rules that are not simulated.
+ * </p>
+ */
+public class SimulatedOddsCalculator implements IOddsCalculator {
+  private final IRandomSource randomSource;
+  private GameData gameData = null;
+  private Territory location = null;
+  private Collection<Unit> attackingUnits = new ArrayList<>();
+  private Collection<Unit> defendingUnits = new ArrayList<>();
+  private Collection<Unit> bombardingUnits = new ArrayList<>();
+  private Collection<TerritoryEffect> territoryEffects = new ArrayList<>();
+  private boolean keepOneAttackingLandUnit = false;
+  private boolean amphibious = false;
+  private int retreatAfterRound = -1;
+  private int retreatAfterXUnitsLeft = -1;
+  private boolean retreatWhenOnlyAirLeft = false;
+  private double winPercentTolerance = 0;
+  private String attackerOrderOfLosses = null;
+  private String defenderOrderOfLosses = null;
+  private int runCount = 0;
+  private volatile boolean cancelled = false;
+  private volatile boolean isCalcSet = false;
+  private final List<OddsCalculatorListener> listeners = new ArrayList<>();
+
+  public SimulatedOddsCalculator() {
+    this(new PlainRandomSource());
+  }
+
+  public SimulatedOddsCalculator(final IRandomSource randomSource) {
+    this.randomSource = randomSource;
+  }
+
+  @Override
+  public void setGameData(final GameData data) {
+    gameData = data;
+    isCalcSet = false;
+    if (data != null) {
+      notifyListenersGameDataIsSet();
+    }
+  }
+
+  @Override
+  public void setCalculateData(final PlayerID attacker, final PlayerID defender, final Territory location,
+      final Collection<Unit> attacking, final Collection<Unit> defending, final Collection<Unit> bombarding,
+      final Collection<TerritoryEffect> territoryEffects, final int runCount) {
+    if (gameData == null) {
+      throw new IllegalStateException("Called set calculation before setting game data!");
+    }
+    this.location = location;
+    attackingUnits = new ArrayList<>(attacking);
+    defendingUnits = new ArrayList<>(defending);
+    bombardingUnits = bombarding == null ? new ArrayList<>() : new ArrayList<>(bombarding);
+    this.territoryEffects = territoryEffects == null ? new ArrayList<>() : new ArrayList<>(territoryEffects);
+    this.runCount = runCount;
+    isCalcSet = true;
+  }
+
+  @Override
+  public AggregateResults calculate() {
+    if (!getIsReady()) {
+      throw new IllegalStateException("Called calculate before setting calculate data!");
+    }
+    final long start = System.currentTimeMillis();
+    final AggregateResults aggregateResults = new AggregateResults(runCount);
+    gameData.acquireReadLock();
+    try {
+      final BattleSimulator simulator = new BattleSimulator(gameData, randomSource, location, attackingUnits,
+          defendingUnits, bombardingUnits, territoryEffects, amphibious,
+          OddsCalculator.getUnitListByOrderOfLoss(attackerOrderOfLosses, attackingUnits, gameData),
+          OddsCalculator.getUnitListByOrderOfLoss(defenderOrderOfLosses, defendingUnits, gameData),
+          keepOneAttackingLandUnit, retreatAfterRound, retreatAfterXUnitsLeft, retreatWhenOnlyAirLeft);
+      for (int i = 0; i < runCount && !cancelled; i++) {
+        aggregateResults.addResult(simulator.fight());
+        if (OddsCalculator.isPreciseEnough(aggregateResults, winPercentTolerance)) {
+          break;
+        }
+      }
+    } finally {
+      gameData.releaseReadLock();
+    }
+    aggregateResults.setTime(System.currentTimeMillis() - start);
+    cancelled = false;
+    return aggregateResults;
+  }
+
+  @Override
+  public AggregateResults setCalculateDataAndCalculate(final PlayerID attacker, final PlayerID defender,
+      final Territory location, final Collection<Unit> attacking, final Collection<Unit> defending,
+      final Collection<Unit> bombarding, final Collection<TerritoryEffect> territoryEffects, final int runCount) {
+    setCalculateData(attacker, defender, location, attacking, defending, bombarding, territoryEffects, runCount);
+    return calculate();
+  }
+
+  @Override
+  public int getRunCount() {
+    return runCount;
+  }
+
+  @Override
+  public boolean getIsReady() {
+    return gameData != null && isCalcSet;
+  }
+
+  @Override
+  public void setKeepOneAttackingLandUnit(final boolean bool) {
+    keepOneAttackingLandUnit = bool;
+  }
+
+  @Override
+  public void setAmphibious(final boolean bool) {
+    amphibious = bool;
+  }
+
+  @Override
+  public void setRetreatAfterRound(final int value) {
+    retreatAfterRound = value;
+  }
+
+  @Override
+  public void setRetreatAfterXUnitsLeft(final int value) {
+    retreatAfterXUnitsLeft = value;
+  }
+
+  @Override
+  public void setRetreatWhenOnlyAirLeft(final boolean value) {
+    retreatWhenOnlyAirLeft = value;
+  }
+
+  @Override
+  public void setWinPercentTolerance(final double tolerance) {
+    winPercentTolerance = tolerance;
+  }
+
+  @Override
+  public void setAttackerOrderOfLosses(final String attackerOrderOfLosses) {
+    this.attackerOrderOfLosses = attackerOrderOfLosses;
+  }
+
+  @Override
+  public void setDefenderOrderOfLosses(final String defenderOrderOfLosses) {
+    this.defenderOrderOfLosses = defenderOrderOfLosses;
+  }
+
+  @Override
+  public void cancel() {
+    cancelled = true;
+  }
+
+  @Override
+  public void shutdown() {
+    cancel();
+    synchronized (listeners) {
+      listeners.clear();
+    }
+  }
+
+  @Override
+  public int getThreadCount() {
+    return 1;
+  }
+
+  @Override
+  public void addOddsCalculatorListener(final OddsCalculatorListener listener) {
+    synchronized (listeners) {
+      listeners.add(listener);
+    }
+  }
+
+  @Override
+  public void removeOddsCalculatorListener(final OddsCalculatorListener listener) {
+    synchronized (listeners) {
+      listeners.remove(listener);
+    }
+  }
+
+  private void notifyListenersGameDataIsSet() {
+    synchronized (listeners) {
+      for (final OddsCalculatorListener listener : listeners) {
+        listener.dataReady();
+      }
+    }
+  }
+}
@@ -6,6 +6,7 @@ import java.util.Map;
 import java.util.Properties;
 
 import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
@@ -129,6 +130,9 @@ public class ObjectiveDummyDelegateBridge implements IDelegateBridge {
     @Override
     public void gameDataChanged(final Change change) {}
 
+    @Override
+    public void gameDataChangesBatched(final CompositeChange changes) {}
+
     @Override
     public void shutDown() {}
 
@@ -24,7 +24,6 @@ import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowListener;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -1740,7 +1739,7 @@ public class TripleAFrame extends MainGameFrame {
         try {
           final File f = TripleAMenuBar.getSaveGameLocation(TripleAFrame.this);
           if (f != null) {
-            try (FileOutputStream fout = new FileOutputStream(f)) {
+            try {
               final GameData datacopy = GameDataUtils.cloneGameData(data, true);
               datacopy.getHistory().gotoNode(historyPanel.getCurrentPopupNode());
               datacopy.getHistory().removeAllHistoryAfterNode(historyPanel.getCurrentPopupNode());
@@ -1769,7 +1768,7 @@ public class TripleAFrame extends MainGameFrame {
                 }
               }
               datacopy.getSequence().setRoundAndStep(round, stepDisplayName, currentPlayer);
-              GameDataManager.saveGame(fout, datacopy);
+              GameDataManager.saveGame(f, datacopy);
               JOptionPane.showMessageDialog(TripleAFrame.this, "Game Saved", "Game Saved",
                   JOptionPane.INFORMATION_MESSAGE);
             } catch (final IOException e) {
@@ -0,0 +1,187 @@
+package games.strategy.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The property accessors of a single class, as used by {@link PropertyUtil}.
+ *
+ * <p>
+ * The public methods of the class are scanned once, and the accessors of each property are resolved and converted to
+ * method handles the first time the property is used. Afterwards, getting, setting or resetting a property is a map
+ * lookup followed by a direct invocation, instead of a scan of all methods and a reflective call.
+ * </p>
+ */
+@ThreadSafe
+final class PropertyAccessors {
+  private static final ClassValue<PropertyAccessors> accessorsByType = new ClassValue<PropertyAccessors>() {
+    @Override
+    protected PropertyAccessors computeValue(final Class<?> type) {
+      return new PropertyAccessors(type);
+    }
+  };
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+  private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+  private static final MethodType RESETTER_TYPE = MethodType.methodType(void.class, Object.class);
+
+  private final Class<?> type;
+  /**
+   * The public methods of the type, by name, in the order of {@link Class#getMethods()}.
+   */
+  private final Map<String, List<Method>> methodsByName;
+  private final ConcurrentMap<String, MethodHandle> getters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Setters> setters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Optional<MethodHandle>> resetters = new ConcurrentHashMap<>();
+
+  private PropertyAccessors(final Class<?> type) {
+    this.type = type;
+    final Map<String, List<Method>> methodsByName = new HashMap<>();
+    for (final Method method : type.getMethods()) {
+      methodsByName.computeIfAbsent(method.getName(), name -> new ArrayList<>()).add(method);
+    }
+    this.methodsByName = methodsByName;
+  }
+
+  static PropertyAccessors of(final Class<?> type) {
+    return accessorsByType.get(type);
+  }
+
+  /**
+   * Returns a handle of type {@code (Object)Object} reading the backing field of the specified property.
+   *
+   * @throws IllegalStateException If the property has no backing field.
+   */
+  MethodHandle getGetter(final String propertyName) {
+    return getters.computeIfAbsent(propertyName, name -> {
+      final Field field = PropertyUtil.getPropertyField(name, type);
+      try {
+        field.setAccessible(true);
+        return MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+      } catch (final IllegalAccessException | RuntimeException e) {
+        throw new IllegalStateException("Could not access field:" + field, e);
+      }
+    });
+  }
+
+  /**
+   * Returns a handle of type {@code (Object, Object)void} invoking the setter of the specified property for the
+   * specified value. The setter whose parameter type is the class of the value is preferred, otherwise the first
+   * setter of the property is used.
+   *
+   * @throws IllegalStateException If the property has no setter, or the setter does not take a single parameter.
+   */
+  MethodHandle getSetter(final String propertyName, final @Nullable Object value) {
+    final Setters setters = this.setters.computeIfAbsent(propertyName, this::newSetters);
+    final @Nullable MethodHandle setter = (value == null)
+        ? setters.first
+        : setters.byParameterType.getOrDefault(value.getClass(), setters.first);
+    if (setter == null) {
+      throw new IllegalStateException("Invalid method called:" + setterName(propertyName) + " on:" + type.getName());
+    }
+    return setter;
+  }
+
+  /**
+   * Indicates whether the specified property has a setter taking a single parameter of exactly the specified type.
+   */
+  boolean hasSetter(final String propertyName, final Class<?> parameterType) {
+    return methodsByName.containsKey(setterName(propertyName))
+        && setters.computeIfAbsent(propertyName, this::newSetters).byParameterType.containsKey(parameterType);
+  }
+
+  /**
+   * Returns a handle of type {@code (Object)void} invoking the resetter of the specified property.
+   *
+   * @throws IllegalStateException If the property has no resetter, or the resetter takes parameters.
+   */
+  MethodHandle getResetter(final String propertyName) {
+    return resetters.computeIfAbsent(propertyName, name -> {
+      final List<Method> methods = getMethods(resetterName(name));
+      final Optional<Method> resetter = methods.stream()
+          .filter(method -> method.getParameterCount() == 0)
+          .findFirst();
+      return unreflect(resetter.orElse(methods.get(0)), RESETTER_TYPE);
+    }).orElseThrow(() -> new IllegalStateException(
+        "Invalid method called:" + resetterName(propertyName) + " on:" + type.getName()));
+  }
+
+  private Setters newSetters(final String propertyName) {
+    final List<Method> methods = getMethods(setterName(propertyName));
+    final Map<Class<?>, MethodHandle> byParameterType = new HashMap<>();
+    @Nullable MethodHandle first = null;
+    for (final Method method : methods) {
+      final @Nullable MethodHandle setter = unreflect(method, SETTER_TYPE).orElse(null);
+      if (method == methods.get(0)) {
+        first = setter;
+      }
+      if (setter != null && (!method.isBridge() || !byParameterType.containsKey(method.getParameterTypes()[0]))) {
+        byParameterType.put(method.getParameterTypes()[0], setter);
+      }
+    }
+    return new Setters(first, byParameterType);
+  }
+
+  private List<Method> getMethods(final String name) {
+    final List<Method> methods = methodsByName.getOrDefault(name, Collections.emptyList());
+    if (methods.isEmpty()) {
+      throw new IllegalStateException("No method called:" + name + " on:" + type.getName());
+    }
+    return methods;
+  }
+
+  /**
+   * Converts the specified method to a handle of the specified type, or returns an empty result if the method does not
+   * match the type, e.g. because it is static or has another number of parameters.
+   */
+  private static Optional<MethodHandle> unreflect(final Method method, final MethodType methodType) {
+    try {
+      method.setAccessible(true);
+      final MethodHandle handle = MethodHandles.lookup().unreflect(method);
+      if (handle.type().parameterCount() != methodType.parameterCount()) {
+        return Optional.empty();
+      }
+      return Optional.of(handle.asType(methodType));
+    } catch (final IllegalAccessException | RuntimeException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static String setterName(final String propertyName) {
+    return "set" + capitalizeFirstLetter(propertyName);
+  }
+
+  private static String resetterName(final String propertyName) {
+    return "reset" + capitalizeFirstLetter(propertyName);
+  }
+
+  private static String capitalizeFirstLetter(final String str) {
+    return Character.toUpperCase(str.charAt(0)) + str.substring(1);
+  }
+
+  private static final class Setters {
+    /**
+     * The setter of the first method named after the property, or {@code null} if it is not a valid setter.
+     */
+    final @Nullable MethodHandle first;
+    final Map<Class<?>, MethodHandle> byParameterType;
+
+    Setters(final @Nullable MethodHandle first, final Map<Class<?>, MethodHandle> byParameterType) {
+      this.first = first;
+      this.byParameterType = byParameterType;
+    }
+  }
+}
@@ -2,20 +2,26 @@ package games.strategy.util;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
+
+import com.google.common.base.Throwables;
 
 /**
  * Utility for getting/setting java bean style properties on an object.
+ *
+ * <p>
+ * The accessors of the properties of each class are only looked up once, see {@link PropertyAccessors}.
+ * </p>
  */
 public class PropertyUtil {
 
   public static void set(final String propertyName, final Object value, final Object subject) {
-    final Method m = getSetter(propertyName, subject, value);
+    final MethodHandle setter = PropertyAccessors.of(subject.getClass()).getSetter(propertyName, value);
     try {
-      m.setAccessible(true);
-      m.invoke(subject, value);
-    } catch (final Exception e) {
+      setter.invokeExact(subject, value);
+    } catch (final Throwable e) {
+      Throwables.throwIfInstanceOf(e, Error.class);
       throw new IllegalStateException(
           "Could not set property:" + propertyName + " subject:" + subject + " new value:" + value, e);
     }
@@ -34,12 +40,23 @@ public class PropertyUtil {
     set(propertyName, value, subject);
   }
 
+  /**
+   * Indicates whether the specified type has a public setter for the specified property taking a single parameter of
+   * exactly the specified type.
+   */
+  public static boolean hasSetter(final String propertyName, final Class<?> parameterType, final Class<?> type) {
+    checkNotNull(propertyName);
+    checkNotNull(parameterType);
+    checkNotNull(type);
+
+    return PropertyAccessors.of(type).hasSetter(propertyName, parameterType);
+  }
+
   public static void reset(final String propertyName, final Object subject) {
     try {
-      final Method c = getResetter(propertyName, subject);
-      c.setAccessible(true);
-      c.invoke(subject);
-    } catch (final Exception e) {
+      PropertyAccessors.of(subject.getClass()).getResetter(propertyName).invokeExact(subject);
+    } catch (final Throwable e) {
+      Throwables.throwIfInstanceOf(e, Error.class);
       throw new IllegalStateException("Could not reset property:" + propertyName + " subject:" + subject, e);
     }
   }
@@ -66,10 +83,9 @@ public class PropertyUtil {
 
   public static Object getPropertyFieldObject(final String propertyName, final Object subject) {
     try {
-      final Field field = getPropertyField(propertyName, subject);
-      field.setAccessible(true);
-      return field.get(subject);
-    } catch (final Exception e) {
+      return (Object) PropertyAccessors.of(subject.getClass()).getGetter(propertyName).invokeExact(subject);
+    } catch (final Throwable e) {
+      Throwables.throwIfInstanceOf(e, Error.class);
       final String msg =
           "No such Property Field named: " + "m_" + propertyName + ", or: " + propertyName + ", for Subject: "
               + subject.toString();
@@ -77,10 +93,6 @@ public class PropertyUtil {
     }
   }
 
-  private static Field getPropertyField(final String propertyName, final Object subject) {
-    return getPropertyField(propertyName, subject.getClass());
-  }
-
   /**
    * Gets the backing field for the property with the specified name in the specified type.
    *
@@ -101,48 +113,4 @@ public class PropertyUtil {
       return getFieldIncludingFromSuperClasses(type, propertyName, false);
     }
   }
-
-  private static String capitalizeFirstLetter(final String str) {
-    char first = str.charAt(0);
-    first = Character.toUpperCase(first);
-    return first + str.substring(1);
-  }
-
-  private static Method getSetter(final String propertyName, final Object subject, final Object value) {
-    final String setterName = "set" + capitalizeFirstLetter(propertyName);
-    // for (final Method m : subject.getClass().getDeclaredMethods())
-    for (final Method m : subject.getClass().getMethods()) {
-      if (m.getName().equals(setterName)) {
-        try {
-          final Class<?> argType = value.getClass();
-          return subject.getClass().getMethod(setterName, argType);
-        } catch (final NoSuchMethodException | NullPointerException e) {
-          // TODO: do not catch NPE, that is control flow by exception handling,
-          // instead detect the null value and return 'm' at that time.
-
-          // Go ahead and try the first one
-          return m;
-        }
-      }
-    }
-    throw new IllegalStateException("No method called:" + setterName + " on:" + subject);
-  }
-
-  private static Method getResetter(final String propertyName, final Object subject) {
-    final String resetterName = "reset" + capitalizeFirstLetter(propertyName);
-    for (final Method c : subject.getClass().getMethods()) {
-      if (c.getName().equals(resetterName)) {
-        try {
-          return subject.getClass().getMethod(resetterName);
-        } catch (final NoSuchMethodException | NullPointerException e) {
-          // TODO: do not catch NPE, that is control flow by exception handling,
-          // instead detect the null value and return 'm' at that time.
-
-          // Go ahead and try the first one
-          return c;
-        }
-      }
-    }
-    throw new IllegalStateException("No method called:" + resetterName + " on:" + subject);
-  }
 }
@@ -0,0 +1,120 @@
+package games.strategy.engine.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.xml.TestMapGameData;
+import games.strategy.util.IntegerMap;
+
+public class ChangeCompactorTest {
+  private GameData gameData;
+  private Territory canada;
+  private Territory greenland;
+  private Territory us;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.TEST.getGameData();
+    canada = gameData.getMap().getTerritory("canada");
+    greenland = gameData.getMap().getTerritory("greenland");
+    us = gameData.getMap().getTerritory("us");
+  }
+
+  private List<Unit> getInfantry(final Territory territory, final int count) {
+    return new ArrayList<>(
+        territory.getUnits().getUnits(gameData.getUnitTypeList().getUnitType(Constants.UNIT_TYPE_INF), count));
+  }
+
+  private Change performAll(final Change... changes) {
+    for (final Change change : changes) {
+      gameData.performChange(change);
+    }
+    return new CompositeChange(changes);
+  }
+
+  private static int size(final Change change) {
+    return ((CompositeChange) change).getChanges().size();
+  }
+
+  @Test
+  public void testMergesUnitMovesIntoOneRemovalAndOneAddition() {
+    final List<Unit> units = getInfantry(canada, 3);
+    final int canadaCount = canada.getUnits().getUnitCount();
+    final int greenlandCount = greenland.getUnits().getUnitCount();
+    final int usCount = us.getUnits().getUnitCount();
+    final Change changes = performAll(
+        ChangeFactory.moveUnits(canada, greenland, units),
+        ChangeFactory.moveUnits(greenland, us, units));
+    gameData.performChange(changes.invert());
+
+    final Change compacted = ChangeCompactor.compact(Arrays.asList(changes));
+    gameData.performChange(compacted);
+
+    assertEquals(2, size(compacted));
+    assertEquals(canadaCount - 3, canada.getUnits().getUnitCount());
+    assertEquals(greenlandCount, greenland.getUnits().getUnitCount());
+    assertEquals(usCount + 3, us.getUnits().getUnitCount());
+
+    gameData.performChange(compacted.invert());
+
+    assertEquals(canadaCount, canada.getUnits().getUnitCount());
+    assertEquals(usCount, us.getUnits().getUnitCount());
+  }
+
+  @Test
+  public void testMergesOwnerChangesFromFirstOldToLastNewOwner() {
+    final PlayerID bush = gameData.getPlayerList().getPlayerId("bush");
+    final PlayerID chretian = canada.getOwner();
+    final Change changes = performAll(
+        ChangeFactory.changeOwner(canada, bush),
+        ChangeFactory.changeOwner(canada, PlayerID.NULL_PLAYERID),
+        ChangeFactory.changeOwner(canada, bush));
+
+    final Change compacted = ChangeCompactor.compact(Arrays.asList(changes));
+
+    assertEquals(1, size(compacted));
+    gameData.performChange(compacted.invert());
+    assertEquals(chretian, canada.getOwner());
+    gameData.performChange(compacted);
+    assertEquals(bush, canada.getOwner());
+  }
+
+  @Test
+  public void testSumsResourceChanges() {
+    final PlayerID bush = gameData.getPlayerList().getPlayerId("bush");
+    final Resource gold = gameData.getResourceList().getResource("gold");
+    final int quantity = bush.getResources().getQuantity(gold);
+
+    final Change compacted = ChangeCompactor.compact(Arrays.asList(
+        ChangeFactory.changeResourcesChange(bush, gold, 5),
+        ChangeFactory.changeResourcesChange(bush, gold, -2)));
+    gameData.performChange(compacted);
+
+    assertEquals(1, size(compacted));
+    assertEquals(quantity + 3, bush.getResources().getQuantity(gold));
+  }
+
+  @Test
+  public void testKeepsChangesThatCannotBeMergedInPlace() {
+    final List<Unit> units = getInfantry(canada, 1);
+    final IntegerMap<Unit> hits = new IntegerMap<>();
+    hits.put(units.get(0), 1);
+    final Change changes = performAll(
+        ChangeFactory.moveUnits(canada, greenland, units),
+        ChangeFactory.unitsHit(hits),
+        ChangeFactory.moveUnits(greenland, us, units));
+
+    final Change compacted = ChangeCompactor.compact(Arrays.asList(changes));
+
+    assertEquals(5, size(compacted));
+    assertEquals(UnitHitsChange.class, ((CompositeChange) compacted).getChanges().get(2).getClass());
+  }
+}
@@ -0,0 +1,72 @@
+package games.strategy.engine.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.xml.TestMapGameData;
+import games.strategy.util.Version;
+
+public class GameHeaderParserTest {
+  private static InputStream openStream(final TestMapGameData testMapGameData) throws Exception {
+    return new FileInputStream(Paths.get("src", "test", "resources", testMapGameData.toString()).toFile());
+  }
+
+  private static GameHeader parse(final String xml) throws Exception {
+    return GameHeaderParser.parse("map", new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  public void testHeaderMatchesShallowParse() throws Exception {
+    for (final TestMapGameData testMapGameData : TestMapGameData.values()) {
+      final GameHeader header;
+      try (InputStream is = openStream(testMapGameData)) {
+        header = GameHeaderParser.parse("map", is);
+      }
+      final GameData data;
+      try (InputStream is = openStream(testMapGameData)) {
+        data = GameParser.parseShallow("map", is);
+      }
+
+      assertEquals(data.getGameName(), header.getGameName(), testMapGameData.toString());
+      assertEquals(data.getGameVersion(), new Version(header.getGameVersion()), testMapGameData.toString());
+      assertEquals(data.getProperties().get(Constants.MAP_NAME), header.getMapName(), testMapGameData.toString());
+      assertEquals(data.getProperties().get("notes"), header.getNotes(), testMapGameData.toString());
+      final List<String> playerNames = data.getPlayerList().getPlayers().stream()
+          .map(PlayerID::getName)
+          .collect(Collectors.toList());
+      assertEquals(playerNames, header.getPlayerNames(), testMapGameData.toString());
+      assertTrue(header.isCompatibleWithEngine());
+    }
+  }
+
+  @Test
+  public void testPropertyValueIsReadFromValueElement() throws Exception {
+    final GameHeader header = parse("<?xml version=\"1.0\"?><!DOCTYPE game SYSTEM \"game.dtd\"><game>"
+        + "<info name=\"name\" version=\"1.2\"/><triplea minimumVersion=\"1.9\"/>"
+        + "<playerList><player name=\"p1\"/><alliance player=\"p1\" alliance=\"a\"/><player name=\"p2\"/></playerList>"
+        + "<propertyList><property name=\"notes\"><value><![CDATA[<b>notes</b>]]></value></property>"
+        + "<property name=\"mapName\" value=\"map name\"><string/></property></propertyList></game>");
+
+    assertEquals(new GameHeader("name", "1.2", "1.9", "map name", "<b>notes</b>", Arrays.asList("p1", "p2")),
+        header);
+  }
+
+  @Test
+  public void testParseFailsWithoutGameElement() {
+    assertThrows(GameParseException.class, () -> parse("<?xml version=\"1.0\"?><other/>"));
+    assertThrows(GameParseException.class, () -> parse("<?xml version=\"1.0\"?><game><other/></game>"));
+  }
+}
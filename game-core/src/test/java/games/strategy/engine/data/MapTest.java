@@ -238,4 +238,30 @@ public class MapTest {
     assertTrue(neighbors.contains(bb));
     assertTrue(neighbors.contains(ca));
   }
+
+  @Test
+  public void testNeighborsWithDistanceCanBeModified() {
+    final Set<Territory> neighbors = map.getNeighbors(aa, 2);
+
+    assertTrue(neighbors.add(nowhere));
+    assertTrue(neighbors.remove(ab));
+    assertEquals(5, neighbors.size());
+    assertEquals(5, map.getNeighbors(aa, 2).size());
+    assertTrue(map.getNeighbors(aa, 2).contains(ab));
+  }
+
+  @Test
+  public void testRouteIsShortestAndValid() {
+    final Route route = map.getRoute(aa, dd);
+    assertEquals(map.getDistance(aa, dd), route.numberOfSteps());
+    assertTrue(map.isValidRoute(route));
+  }
+
+  @Test
+  public void testNewConnectionChangesDistance() {
+    assertEquals(-1, map.getLandDistance(aa, cd));
+    map.addConnection(ad, cd);
+    assertEquals(4, map.getLandDistance(aa, cd));
+    assertEquals(4, map.getLandRoute(aa, cd).numberOfSteps());
+  }
 }
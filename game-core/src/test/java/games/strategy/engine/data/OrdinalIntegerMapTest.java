@@ -0,0 +1,101 @@
+package games.strategy.engine.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.triplea.xml.TestMapGameData;
+import games.strategy.util.IntegerMap;
+
+public class OrdinalIntegerMapTest {
+  private GameData gameData;
+  private UnitType infantry;
+  private UnitType armour;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+    infantry = gameData.getUnitTypeList().getUnitType("infantry");
+    armour = gameData.getUnitTypeList().getUnitType("armour");
+  }
+
+  @Test
+  public void testOrdinalsAreDense() {
+    final List<Integer> ordinals = new ArrayList<>();
+    for (final Territory territory : gameData.getMap().getTerritories()) {
+      ordinals.add(territory.getOrdinal());
+    }
+    for (int i = 0; i < ordinals.size(); i++) {
+      assertEquals(i, (int) ordinals.get(i));
+    }
+    assertTrue(gameData.getUnitTypeList().getAllUnitTypes().stream()
+        .allMatch(type -> type.getOrdinal() >= 0 && type.getOrdinal() < gameData.getUnitTypeList().size()));
+    assertEquals(0, gameData.getPlayerList().getPlayers().get(0).getOrdinal());
+    assertEquals(0, gameData.getResourceList().getResources().get(0).getOrdinal());
+    assertEquals(-1, PlayerID.NULL_PLAYERID.getOrdinal());
+  }
+
+  @Test
+  public void testCopiesKeepOrdinals() {
+    final GameData copy = GameDataUtils.cloneGameData(gameData);
+
+    assertEquals(infantry.getOrdinal(), copy.getUnitTypeList().getUnitType("infantry").getOrdinal());
+    assertEquals(gameData.getMap().getTerritory("Germany").getOrdinal(),
+        copy.getMap().getTerritory("Germany").getOrdinal());
+  }
+
+  @Test
+  public void testAddAndGet() {
+    final OrdinalIntegerMap<UnitType> map = new OrdinalIntegerMap<>(1);
+    map.add(infantry, 3);
+    map.add(infantry, 2);
+    map.put(armour, 7);
+
+    assertEquals(5, map.getInt(infantry));
+    assertEquals(7, map.getInt(armour));
+    assertEquals(0, map.getInt(gameData.getUnitTypeList().getUnitType("fighter")));
+    assertEquals(2, map.size());
+    assertEquals(12, map.totalValues());
+
+    map.removeKey(infantry);
+    assertFalse(map.containsKey(infantry));
+    assertEquals(0, map.getInt(infantry));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  public void testSameResultsAsIntegerMap() {
+    final IntegerMap<UnitType> integerMap = new IntegerMap<>();
+    integerMap.add(infantry, 4);
+    integerMap.add(armour, 1);
+    final OrdinalIntegerMap<UnitType> map = new OrdinalIntegerMap<>(integerMap);
+
+    assertEquals(integerMap, map.toIntegerMap());
+    assertTrue(map.greaterThanOrEqualTo(integerMap));
+    map.subtract(integerMap);
+    assertTrue(map.allValuesEqual(0));
+    assertFalse(map.greaterThanOrEqualTo(integerMap));
+    assertEquals(integerMap.keySet(), map.keySet());
+  }
+
+  @Test
+  public void testKeysWithoutOrdinal() {
+    final OrdinalIntegerMap<PlayerID> map = new OrdinalIntegerMap<>();
+    map.add(PlayerID.NULL_PLAYERID, 1);
+    map.add(gameData.getPlayerList().getPlayerId("Germans"), 2);
+
+    assertEquals(1, map.getInt(PlayerID.NULL_PLAYERID));
+    assertEquals(Arrays.asList(PlayerID.NULL_PLAYERID, gameData.getPlayerList().getPlayerId("Germans")),
+        new ArrayList<>(map.keySet()));
+    assertThrows(IllegalArgumentException.class, () -> map.add(new PlayerID("Other", null), 1));
+  }
+}
@@ -0,0 +1,95 @@
+package games.strategy.engine.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TerritorySetTest {
+  private GameMap map;
+  private Territory first;
+  private Territory second;
+  private Territory third;
+
+  @BeforeEach
+  public void setUp() {
+    map = new GameMap(null);
+    first = new Territory("first", false, null);
+    second = new Territory("second", false, null);
+    third = new Territory("third", true, null);
+    map.addTerritory(first);
+    map.addTerritory(second);
+    map.addTerritory(third);
+  }
+
+  @Test
+  public void testOrdinalsFollowMapOrder() {
+    assertEquals(0, first.getOrdinal());
+    assertEquals(1, second.getOrdinal());
+    assertEquals(2, third.getOrdinal());
+    assertEquals(-1, new Territory("nowhere", false, null).getOrdinal());
+  }
+
+  @Test
+  public void testAddContainsAndRemove() {
+    final TerritorySet set = new TerritorySet(map);
+    assertTrue(set.isEmpty());
+
+    assertTrue(set.add(third));
+    assertFalse(set.add(third));
+    assertTrue(set.add(first));
+
+    assertEquals(2, set.size());
+    assertTrue(set.contains(first));
+    assertFalse(set.contains(second));
+    assertTrue(set.contains(third));
+    assertEquals(Arrays.asList(first, third), Arrays.asList(set.toArray()));
+
+    assertTrue(set.remove(first));
+    assertFalse(set.remove(first));
+    assertEquals(new HashSet<>(Arrays.asList(third)), set);
+  }
+
+  @Test
+  public void testTerritoriesNotOnTheMap() {
+    final TerritorySet set = new TerritorySet(map, Arrays.asList(first, second, third));
+    final Territory nowhere = new Territory("nowhere", false, null);
+
+    assertFalse(set.contains(nowhere));
+    assertFalse(set.remove(nowhere));
+    assertThrows(IllegalArgumentException.class, () -> set.add(nowhere));
+  }
+
+  @Test
+  public void testBulkOperationsWithSameMap() {
+    final TerritorySet set = new TerritorySet(map, Arrays.asList(first, second));
+    final TerritorySet other = new TerritorySet(map, Arrays.asList(second, third));
+
+    assertFalse(set.containsAll(other));
+    assertTrue(set.addAll(other));
+    assertTrue(set.containsAll(other));
+    assertFalse(set.addAll(other));
+    assertTrue(set.removeAll(new TerritorySet(map, Arrays.asList(first))));
+    assertEquals(other, set);
+    assertTrue(set.retainAll(new TerritorySet(map, Arrays.asList(third))));
+    assertEquals(new HashSet<>(Arrays.asList(third)), set);
+  }
+
+  @Test
+  public void testIteratorRemove() {
+    final TerritorySet set = new TerritorySet(map, Arrays.asList(first, second, third));
+    final Iterator<Territory> iterator = set.iterator();
+    iterator.next();
+    iterator.remove();
+    iterator.next();
+
+    assertEquals(new HashSet<>(Arrays.asList(second, third)), set);
+  }
+}
@@ -0,0 +1,162 @@
+package games.strategy.engine.framework;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitType;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.message.RemoteMethodCall;
+import games.strategy.io.IoUtils;
+import games.strategy.net.IObjectStreamFactory;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class CompactGameObjectStreamFactoryTest {
+  private GameData gameData;
+  private Territory canada;
+  private PlayerID chretian;
+  private UnitType infantry;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.TEST.getGameData();
+    canada = gameData.getMap().getTerritory("canada");
+    chretian = gameData.getPlayerList().getPlayerId("chretian");
+    infantry = gameData.getUnitTypeList().getUnitType(Constants.UNIT_TYPE_INF);
+  }
+
+  private static byte[] write(final IObjectStreamFactory factory, final Object object) throws IOException {
+    return IoUtils.writeToMemory(os -> {
+      try (ObjectOutputStream out = factory.create(os)) {
+        out.writeObject(object);
+      }
+    });
+  }
+
+  private byte[] writeCompact(final Object object) throws IOException {
+    return IoUtils.writeToMemory(os -> {
+      try (ObjectOutputStream out = new CompactGameObjectStreamFactory(gameData).createNegotiated(os)) {
+        out.writeObject(object);
+      }
+    });
+  }
+
+  private Object read(final byte[] bytes) throws IOException {
+    return IoUtils.readFromMemory(bytes, is -> {
+      try (ObjectInputStream in = new CompactGameObjectStreamFactory(gameData).create(is)) {
+        return in.readObject();
+      } catch (final ClassNotFoundException e) {
+        throw new IOException(e);
+      }
+    });
+  }
+
+  private Change newChange() {
+    final List<Unit> units = new ArrayList<>(infantry.create(2, chretian));
+    return new CompositeChange(ChangeFactory.changeOwner(canada, chretian), ChangeFactory.addUnits(canada, units));
+  }
+
+  @Test
+  public void testGameObjectsAreReadAsTheObjectsOfTheGameData() throws Exception {
+    final byte[] bytes = writeCompact(Arrays.asList(canada, chretian, infantry));
+
+    assertEquals(Arrays.asList(canada, chretian, infantry), read(bytes));
+    final List<?> read = (List<?>) read(bytes);
+    assertSame(canada, read.get(0));
+    assertSame(chretian, read.get(1));
+    assertSame(infantry, read.get(2));
+  }
+
+  @Test
+  public void testChangeRoundTrip() throws Exception {
+    final Change change = newChange();
+
+    final Change read = (Change) read(writeCompact(change));
+    gameData.performChange(read);
+
+    assertEquals(chretian, canada.getOwner());
+    assertEquals(7, canada.getUnits().getUnitCount());
+  }
+
+  @Test
+  public void testStreamsAreSmallerThanGameObjectStreams() throws Exception {
+    final Change change = newChange();
+    final RemoteMethodCall call = new RemoteMethodCall("games.strategy.engine.framework.ServerGame.GAME_MODIFIED",
+        "gameDataChanged", new Object[] {change}, new Class<?>[] {Change.class}, IGameModifiedChannel.class);
+
+    for (final Object object : Arrays.asList(change, call, canada)) {
+      final int compactSize = writeCompact(object).length;
+      final int size = write(new GameObjectStreamFactory(gameData), object).length;
+      assertTrue(compactSize < size, object + " compact: " + compactSize + " regular: " + size);
+    }
+  }
+
+  @Test
+  public void testStreamsAreNotCompactUnlessNegotiated() throws Exception {
+    final Change change = newChange();
+
+    final byte[] bytes = write(new CompactGameObjectStreamFactory(gameData), change);
+
+    assertArrayEquals(write(new GameObjectStreamFactory(gameData), change), bytes);
+    gameData.performChange((Change) read(bytes));
+    assertEquals(chretian, canada.getOwner());
+  }
+
+  @Test
+  public void testReadingOtherVersionFails() throws Exception {
+    final byte[] bytes = writeCompact(canada);
+    // the version follows the regular four byte stream header
+    bytes[4]++;
+
+    assertThrows(IOException.class, () -> read(bytes));
+  }
+
+  @Test
+  public void testNegotiatedFormatContainsFingerprintOfTheClassList() {
+    final String format = new CompactGameObjectStreamFactory(gameData).getNegotiatedStreamFormat();
+
+    assertEquals(format, new CompactGameObjectStreamFactory(gameData).getNegotiatedStreamFormat());
+    assertTrue(format.endsWith(
+        CompactGameObjectStreamClasses.newFingerprint(CompactGameObjectStreamClasses.getClasses())), format);
+  }
+
+  @Test
+  public void testFingerprintDependsOnTheClassesAndTheirOrder() {
+    final String fingerprint = CompactGameObjectStreamClasses.newFingerprint(Arrays.asList(Unit.class, Change.class));
+
+    assertEquals(fingerprint, CompactGameObjectStreamClasses.newFingerprint(Arrays.asList(Unit.class, Change.class)));
+    assertNotEquals(fingerprint,
+        CompactGameObjectStreamClasses.newFingerprint(Arrays.asList(Change.class, Unit.class)));
+    assertNotEquals(fingerprint,
+        CompactGameObjectStreamClasses.newFingerprint(Arrays.asList(Unit.class, CompositeChange.class)));
+  }
+
+  @Test
+  public void testAllClassesAreSerializable() {
+    for (final Class<?> type : CompactGameObjectStreamClasses.getClasses()) {
+      assertNotNull(ObjectStreamClass.lookup(type), type.getName());
+    }
+  }
+}
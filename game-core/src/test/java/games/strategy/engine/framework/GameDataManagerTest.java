@@ -1,14 +1,32 @@
 package games.strategy.engine.framework;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import javax.swing.tree.DefaultMutableTreeNode;
 
 import org.junit.jupiter.api.Test;
 
+import games.strategy.engine.ClientContext;
+import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.history.EventChild;
+import games.strategy.engine.history.HistoryNode;
+import games.strategy.engine.history.HistoryWriter;
 import games.strategy.io.IoUtils;
+import games.strategy.triplea.delegate.GameDataTestUtil;
 import games.strategy.triplea.settings.AbstractClientSettingTestCase;
+import games.strategy.triplea.xml.TestMapGameData;
 
 public class GameDataManagerTest extends AbstractClientSettingTestCase {
   @Test
@@ -18,4 +36,69 @@ public class GameDataManagerTest extends AbstractClientSettingTestCase {
     final GameData loaded = IoUtils.readFromMemory(bytes, GameDataManager::loadGame);
     assertEquals(loaded.getProperties().get(GameData.GAME_UUID), data.getProperties().get(GameData.GAME_UUID));
   }
+
+  private static GameData newGameDataWithHistory() throws Exception {
+    final GameData data = TestMapGameData.REVISED.getGameData();
+    final Territory germany = data.getMap().getTerritory("Germany");
+    final PlayerID russians = GameDataTestUtil.russians(data);
+    final HistoryWriter writer = data.getHistory().getHistoryWriter();
+    writer.startNextStep("russianCombatMove", "move", russians, "Russian Combat Move");
+    writer.startEvent("Russians conquer Germany");
+    writer.setRenderingData(germany);
+    writer.addChildToEvent(new EventChild("Germany changes owner", russians));
+    final Change change = ChangeFactory.changeOwner(germany, russians);
+    data.performChange(change);
+    writer.addChange(change);
+    return data;
+  }
+
+  private static List<String> getHistoryTitles(final GameData data) {
+    final List<String> titles = new ArrayList<>();
+    final Enumeration<?> enumeration = ((DefaultMutableTreeNode) data.getHistory().getRoot()).preorderEnumeration();
+    while (enumeration.hasMoreElements()) {
+      titles.add(((HistoryNode) enumeration.nextElement()).getTitle());
+    }
+    return titles;
+  }
+
+  private static void assertHistoryIsRestored(final GameData data, final GameData loaded) {
+    assertEquals(getHistoryTitles(data), getHistoryTitles(loaded));
+    final Territory germany = loaded.getMap().getTerritory("Germany");
+    assertEquals(GameDataTestUtil.russians(loaded), germany.getOwner());
+
+    // going back in history must undo the change on the territory of the loaded game data
+    final DefaultMutableTreeNode root = (DefaultMutableTreeNode) loaded.getHistory().getRoot();
+    loaded.getHistory().gotoNode((HistoryNode) root.getFirstLeaf().getParent().getParent());
+    assertEquals(GameDataTestUtil.germans(loaded), germany.getOwner());
+  }
+
+  @Test
+  public void testLoadStoreKeepsHistory() throws Exception {
+    final GameData data = newGameDataWithHistory();
+
+    for (final SaveGameCompression compression : SaveGameCompression.values()) {
+      final byte[] bytes = IoUtils.writeToMemory(os -> GameDataManager.saveGame(os, data, true, compression));
+      final GameData loaded = IoUtils.readFromMemory(bytes, GameDataManager::loadGame);
+
+      assertHistoryIsRestored(data, loaded);
+      assertTrue(loaded.getDelegateList().size() > 0);
+    }
+  }
+
+  @Test
+  public void testLoadsSaveGamesOfThePreviousFormat() throws Exception {
+    final GameData data = newGameDataWithHistory();
+    final byte[] bytes = IoUtils.writeToMemory(os -> {
+      try (ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(os))) {
+        out.writeObject(ClientContext.engineVersion());
+        out.writeObject(data);
+        out.writeObject("<EndDelegateList>");
+      }
+    });
+
+    final GameData loaded = IoUtils.readFromMemory(bytes, GameDataManager::loadGame);
+
+    assertEquals(data.getProperties().get(GameData.GAME_UUID), loaded.getProperties().get(GameData.GAME_UUID));
+    assertHistoryIsRestored(data, loaded);
+  }
 }
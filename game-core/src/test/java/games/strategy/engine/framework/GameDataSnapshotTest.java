@@ -0,0 +1,34 @@
+package games.strategy.engine.framework;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.GameData;
+
+public class GameDataSnapshotTest {
+  @Test
+  public void forkShouldKeepGameUuid() throws IOException {
+    final GameData data = new GameData();
+    final GameDataSnapshot snapshot = GameDataSnapshot.of(data, true);
+
+    final GameData fork = snapshot.fork();
+
+    assertEquals(data.getProperties().get(GameData.GAME_UUID), fork.getProperties().get(GameData.GAME_UUID));
+  }
+
+  @Test
+  public void forkShouldReturnIndependentCopies() throws IOException {
+    final GameData data = new GameData();
+    final GameDataSnapshot snapshot = GameDataSnapshot.of(data, false);
+
+    final GameData first = snapshot.fork();
+    final GameData second = snapshot.fork();
+
+    assertNotSame(first, second);
+    assertNotSame(first.getMap(), second.getMap());
+  }
+}
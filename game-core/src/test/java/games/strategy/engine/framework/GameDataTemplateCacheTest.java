@@ -0,0 +1,53 @@
+package games.strategy.engine.framework;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class GameDataTemplateCacheTest {
+  private static GameData parse(final GameDataTemplateCache cache, final TestMapGameData game) throws Exception {
+    try (InputStream is = new FileInputStream(Paths.get("src", "test", "resources", game.toString()).toFile())) {
+      return cache.parse("game name", is);
+    }
+  }
+
+  @Test
+  public void parseShouldReturnIndependentCopiesOfSameGame() throws Exception {
+    final GameDataTemplateCache cache = new GameDataTemplateCache(4);
+
+    final GameData first = parse(cache, TestMapGameData.REVISED);
+    final GameData second = parse(cache, TestMapGameData.REVISED);
+
+    assertEquals(1, cache.size());
+    assertNotSame(first, second);
+    assertEquals(first.getGameName(), second.getGameName());
+    assertEquals(first.getMap().getTerritories().size(), second.getMap().getTerritories().size());
+    final Territory territory = first.getMap().getTerritory("Germany");
+    final PlayerID originalOwner = territory.getOwner();
+    territory.setOwner(first.getPlayerList().getPlayerId("Russians"));
+    assertEquals(originalOwner.getName(), second.getMap().getTerritory("Germany").getOwner().getName());
+    assertNotEquals(territory.getOwner().getName(), second.getMap().getTerritory("Germany").getOwner().getName());
+  }
+
+  @Test
+  public void parseShouldEvictLeastRecentlyUsedGame() throws Exception {
+    final GameDataTemplateCache cache = new GameDataTemplateCache(1);
+
+    parse(cache, TestMapGameData.REVISED);
+    final GameData data = parse(cache, TestMapGameData.TEST);
+
+    assertEquals(1, cache.size());
+    assertEquals(data.getGameName(), parse(cache, TestMapGameData.TEST).getGameName());
+  }
+}
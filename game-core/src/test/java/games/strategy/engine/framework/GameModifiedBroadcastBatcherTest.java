@@ -0,0 +1,100 @@
+package games.strategy.engine.framework;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+
+import com.example.mockito.MockitoExtension;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+
+@ExtendWith(MockitoExtension.class)
+public class GameModifiedBroadcastBatcherTest {
+  @Mock
+  private IGameModifiedChannel broadcaster;
+  private final List<Change> performedChanges = new ArrayList<>();
+  private boolean batching = true;
+  private GameModifiedBroadcastBatcher batcher;
+
+  @BeforeEach
+  public void setUp() {
+    batcher = new GameModifiedBroadcastBatcher(broadcaster, performedChanges::add, () -> batching);
+  }
+
+  private static List<Change> getBroadcastChanges(final IGameModifiedChannel broadcaster) {
+    final ArgumentCaptor<CompositeChange> captor = ArgumentCaptor.forClass(CompositeChange.class);
+    verify(broadcaster).gameDataChangesBatched(captor.capture());
+    return captor.getValue().getChanges();
+  }
+
+  @Test
+  public void testBatchedChangesArePerformedRightAwayAndBroadcastOnFlush() {
+    final Change first = new CompositeChange();
+    final Change second = new CompositeChange();
+
+    batcher.gameDataChanged(first);
+    batcher.gameDataChanged(second);
+
+    assertEquals(Arrays.asList(first, second), performedChanges);
+    verify(broadcaster, never()).gameDataChangesBatched(any());
+    batcher.flush();
+    assertEquals(Arrays.asList(first, second), getBroadcastChanges(broadcaster));
+    verify(broadcaster, never()).gameDataChanged(any());
+    assertEquals(0, batcher.getPendingChangeCount());
+  }
+
+  @Test
+  public void testPendingChangesAreBroadcastBeforeHistoryEvents() {
+    final Change change = new CompositeChange();
+    batcher.gameDataChanged(change);
+
+    batcher.startHistoryEvent("event");
+
+    final InOrder inOrder = inOrder(broadcaster);
+    inOrder.verify(broadcaster).gameDataChangesBatched(any());
+    inOrder.verify(broadcaster).startHistoryEvent("event");
+  }
+
+  @Test
+  public void testChangesAreBroadcastRightAwayWhenNotBatching() {
+    final Change change = new CompositeChange();
+    batching = false;
+
+    batcher.gameDataChanged(change);
+
+    verify(broadcaster).gameDataChanged(change);
+    assertEquals(0, performedChanges.size());
+  }
+
+  @Test
+  public void testFullBatchIsBroadcast() {
+    for (int i = 0; i < GameModifiedBroadcastBatcher.MAX_BATCH_SIZE; i++) {
+      batcher.gameDataChanged(new CompositeChange());
+    }
+
+    verify(broadcaster, times(1)).gameDataChangesBatched(any());
+    assertEquals(0, batcher.getPendingChangeCount());
+  }
+
+  @Test
+  public void testFlushWithoutPendingChangesBroadcastsNothing() {
+    batcher.flush();
+
+    verify(broadcaster, never()).gameDataChangesBatched(any());
+  }
+}
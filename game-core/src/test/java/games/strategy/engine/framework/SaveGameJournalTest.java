@@ -0,0 +1,151 @@
+package games.strategy.engine.framework;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+import javax.swing.tree.DefaultMutableTreeNode;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.history.EventChild;
+import games.strategy.engine.history.HistoryNode;
+import games.strategy.engine.history.HistoryRecords;
+import games.strategy.engine.history.HistoryWriter;
+import games.strategy.io.IoUtils;
+import games.strategy.triplea.delegate.GameDataTestUtil;
+import games.strategy.triplea.settings.AbstractClientSettingTestCase;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class SaveGameJournalTest extends AbstractClientSettingTestCase {
+  private GameData data;
+  private File checkpointFile;
+  private SaveGameJournal journal;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    data = TestMapGameData.REVISED.getGameData();
+    checkpointFile = File.createTempFile("SaveGameJournalTest", GameDataFileUtils.getExtension());
+    journal = new SaveGameJournal(data, checkpointFile, 10);
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    journal.close();
+    Files.deleteIfExists(checkpointFile.toPath());
+    Files.deleteIfExists(SaveGameJournal.getJournalFile(checkpointFile).toPath());
+  }
+
+  private void conquerGermany() {
+    final Territory germany = data.getMap().getTerritory("Germany");
+    final PlayerID russians = GameDataTestUtil.russians(data);
+    final HistoryWriter writer = data.getHistory().getHistoryWriter();
+    writer.startNextStep("russianCombatMove", "move", russians, "Russian Combat Move");
+    writer.startEvent("Russians conquer Germany");
+    writer.setRenderingData(germany);
+    writer.addChildToEvent(new EventChild("Germany changes owner", russians));
+    final Change change = ChangeFactory.changeOwner(germany, russians);
+    data.performChange(change);
+    writer.addChange(change);
+    data.getSequence().next();
+    data.getSequence().getStep().incrementRunCount();
+  }
+
+  private static List<String> getHistoryTitles(final GameData data) {
+    final List<String> titles = new ArrayList<>();
+    final Enumeration<?> enumeration = ((DefaultMutableTreeNode) data.getHistory().getRoot()).preorderEnumeration();
+    while (enumeration.hasMoreElements()) {
+      titles.add(((HistoryNode) enumeration.nextElement()).getTitle());
+    }
+    return titles;
+  }
+
+  private static PlayerID getOwnerOfGermany(final GameData data) {
+    return data.getMap().getTerritory("Germany").getOwner();
+  }
+
+  @Test
+  public void testLoadGameReplaysJournalOntoCheckpoint() throws Exception {
+    journal.checkpoint();
+    conquerGermany();
+    journal.commit();
+
+    final GameData loaded = GameDataManager.loadGame(checkpointFile);
+
+    assertEquals(GameDataTestUtil.russians(loaded), getOwnerOfGermany(loaded));
+    assertEquals(getHistoryTitles(data), getHistoryTitles(loaded));
+    assertEquals(data.getSequence().getRound(), loaded.getSequence().getRound());
+    assertEquals(data.getSequence().getStepIndex(), loaded.getSequence().getStepIndex());
+    assertEquals(1, loaded.getSequence().getStep().getRunCount());
+
+    // the replayed change must be undone when going back in history
+    final DefaultMutableTreeNode root = (DefaultMutableTreeNode) loaded.getHistory().getRoot();
+    loaded.getHistory().gotoNode((HistoryNode) root.getFirstLeaf().getParent().getParent());
+    assertEquals(GameDataTestUtil.germans(loaded), getOwnerOfGermany(loaded));
+  }
+
+  @Test
+  public void testFirstCommitWritesCheckpoint() throws Exception {
+    conquerGermany();
+    journal.commit();
+
+    assertEquals(GameDataTestUtil.russians(data), getOwnerOfGermany(GameDataManager.loadGame(checkpointFile)));
+  }
+
+  @Test
+  public void testLoadGameIgnoresJournalOfOtherCheckpoint() throws Exception {
+    journal.checkpoint();
+    conquerGermany();
+    journal.commit();
+    GameDataManager.saveGame(checkpointFile, TestMapGameData.REVISED.getGameData());
+
+    final GameData loaded = GameDataManager.loadGame(checkpointFile);
+
+    assertEquals(GameDataTestUtil.germans(loaded), getOwnerOfGermany(loaded));
+  }
+
+  @Test
+  public void testLoadGameIgnoresTruncatedEntry() throws Exception {
+    journal.checkpoint();
+    conquerGermany();
+    journal.commit();
+    try (RandomAccessFile file = new RandomAccessFile(SaveGameJournal.getJournalFile(checkpointFile), "rw")) {
+      file.setLength(file.length() - 1);
+    }
+
+    final GameData loaded = GameDataManager.loadGame(checkpointFile);
+
+    assertEquals(GameDataTestUtil.germans(loaded), getOwnerOfGermany(loaded));
+  }
+
+  @Test
+  public void testWrittenEntryCanBeReplayedOntoSaveGameWhileJournalIsRecording() throws Exception {
+    final byte[] saveGame = IoUtils.writeToMemory(os -> GameDataManager.saveGame(os, data));
+    final HistoryRecords.Recorder recorder = HistoryRecords.record(data.getHistory());
+    conquerGermany();
+    HistoryRecords.stopRecording(data.getHistory(), recorder);
+    journal.commit();
+
+    final GameData loaded = IoUtils.readFromMemory(saveGame, GameDataManager::loadGame);
+    SaveGameJournal.replayEntry(SaveGameJournal.writeEntry(data, recorder), loaded);
+
+    assertEquals(GameDataTestUtil.russians(loaded), getOwnerOfGermany(loaded));
+    assertEquals(getHistoryTitles(data), getHistoryTitles(loaded));
+    assertEquals(data.getSequence().getStepIndex(), loaded.getSequence().getStepIndex());
+    // the journal recorded the same modifications
+    assertEquals(GameDataTestUtil.russians(data), getOwnerOfGermany(GameDataManager.loadGame(checkpointFile)));
+  }
+}
@@ -0,0 +1,143 @@
+package games.strategy.engine.framework.map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MapCatalogueTest {
+  private File folder;
+  private File mapsFolder;
+  private File indexFile;
+  private final List<File> unreadableMaps = Collections.synchronizedList(new ArrayList<>());
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    folder = Files.createTempDirectory("MapCatalogueTest").toFile();
+    mapsFolder = new File(folder, "maps");
+    indexFile = new File(folder, "index");
+    mapsFolder.mkdir();
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    try (Stream<Path> paths = Files.walk(folder.toPath())) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  private static String newGameXml(final String gameName) {
+    return "<?xml version=\"1.0\"?><!DOCTYPE game SYSTEM \"game.dtd\"><game>"
+        + "<info name=\"" + gameName + "\" version=\"1.0\"/>"
+        + "<playerList><player name=\"Germans\"/><player name=\"Russians\"/></playerList>"
+        + "<propertyList><property name=\"mapName\" value=\"map\"/></propertyList></game>";
+  }
+
+  private File writeMapFolder(final String mapName, final String gameName) throws IOException {
+    final File gamesFolder = new File(mapsFolder, mapName + "/map/games");
+    gamesFolder.mkdirs();
+    final File gameFile = new File(gamesFolder, "game.xml");
+    Files.write(gameFile.toPath(), newGameXml(gameName).getBytes(StandardCharsets.UTF_8));
+    return gameFile;
+  }
+
+  private File writeMapZip(final String mapName, final String gameName) throws IOException {
+    final File zip = new File(mapsFolder, mapName + ".zip");
+    try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zip))) {
+      out.putNextEntry(new ZipEntry("games/game.xml"));
+      out.write(newGameXml(gameName).getBytes(StandardCharsets.UTF_8));
+      out.closeEntry();
+    }
+    return zip;
+  }
+
+  private Set<String> listGameNames() {
+    return new MapCatalogue(indexFile).listGames(mapsFolder, (map, e) -> unreadableMaps.add(map)).stream()
+        .map(entry -> entry.getHeader().getGameName())
+        .collect(Collectors.toCollection(TreeSet::new));
+  }
+
+  @Test
+  public void testListsGamesOfMapFoldersAndZips() throws Exception {
+    writeMapFolder("folderMap", "Folder Game");
+    final File zip = writeMapZip("zipMap", "Zip Game");
+
+    final List<MapCatalogue.Entry> entries =
+        new MapCatalogue(indexFile).listGames(mapsFolder, (map, e) -> unreadableMaps.add(map));
+
+    assertEquals(2, entries.size());
+    final MapCatalogue.Entry zipEntry = entries.stream()
+        .filter(entry -> entry.getMap().equals(zip))
+        .findAny()
+        .get();
+    assertEquals("Zip Game", zipEntry.getHeader().getGameName());
+    assertTrue(zipEntry.getUri().toString().startsWith("jar:"));
+    assertEquals(2, zipEntry.getHeader().getPlayerNames().size());
+    assertTrue(indexFile.isFile());
+  }
+
+  @Test
+  public void testUnchangedMapsAreListedFromIndex() throws Exception {
+    final File gameFile = writeMapFolder("folderMap", "Game 1");
+    final long lastModified = gameFile.lastModified();
+    final long gamesFolderLastModified = gameFile.getParentFile().lastModified();
+    listGameNames();
+
+    // same size and last modified time
+    Files.write(gameFile.toPath(), newGameXml("Game 2").getBytes(StandardCharsets.UTF_8));
+    gameFile.setLastModified(lastModified);
+    gameFile.getParentFile().setLastModified(gamesFolderLastModified);
+    assertEquals(Collections.singleton("Game 1"), listGameNames());
+
+    gameFile.setLastModified(lastModified + 2000);
+    assertEquals(Collections.singleton("Game 2"), listGameNames());
+  }
+
+  @Test
+  public void testRemovedMapsAreNotListed() throws Exception {
+    writeMapFolder("folderMap", "Folder Game");
+    final File zip = writeMapZip("zipMap", "Zip Game");
+    listGameNames();
+
+    zip.delete();
+
+    assertEquals(Collections.singleton("Folder Game"), listGameNames());
+  }
+
+  @Test
+  public void testUnreadableZipIsPassedToHandler() throws Exception {
+    final File zip = new File(mapsFolder, "corrupt.zip");
+    Files.write(zip.toPath(), "not a zip".getBytes(StandardCharsets.UTF_8));
+
+    assertTrue(listGameNames().isEmpty());
+    assertEquals(1, unreadableMaps.size());
+    assertEquals(zip, unreadableMaps.get(0));
+  }
+
+  @Test
+  public void testCorruptIndexIsIgnored() throws Exception {
+    writeMapFolder("folderMap", "Folder Game");
+    Files.write(indexFile.toPath(), new byte[] {0, 0, 0, 1, 0});
+
+    assertEquals(Collections.singleton("Folder Game"), listGameNames());
+  }
+}
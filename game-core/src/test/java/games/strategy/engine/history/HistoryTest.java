@@ -0,0 +1,54 @@
+package games.strategy.engine.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class HistoryTest {
+  @Test
+  public void testGotoNodeAcrossCheckpoints() throws Exception {
+    final GameData data = TestMapGameData.TEST.getGameData();
+    final Territory canada = data.getMap().getTerritory("canada");
+    final Territory greenland = data.getMap().getTerritory("greenland");
+    final PlayerID bush = data.getPlayerList().getPlayerId("bush");
+    final Collection<Unit> units =
+        canada.getUnits().getUnits(data.getUnitTypeList().getUnitType(Constants.UNIT_TYPE_INF), 2);
+    final int canadaCount = canada.getUnits().getUnitCount();
+    final History history = data.getHistory();
+    final HistoryWriter writer = history.getHistoryWriter();
+    writer.startNextStep("move", "move", bush, "Move");
+    final HistoryNode start = history.getLastNode();
+
+    // move the units back and forth often enough to span several checkpoint intervals, ending in greenland
+    final int moves = History.CHECKPOINT_INTERVAL * 3 + 1;
+    for (int i = 0; i < moves; i++) {
+      writer.startEvent("Move " + i);
+      final boolean toGreenland = i % 2 == 0;
+      final Territory from = toGreenland ? canada : greenland;
+      final Territory to = toGreenland ? greenland : canada;
+      writer.addChange(ChangeFactory.removeUnits(from, units));
+      data.performChange(ChangeFactory.removeUnits(from, units));
+      writer.addChange(ChangeFactory.addUnits(to, units));
+      data.performChange(ChangeFactory.addUnits(to, units));
+    }
+    final HistoryNode end = history.getLastNode();
+
+    history.gotoNode(start);
+    assertEquals(canadaCount, canada.getUnits().getUnitCount());
+
+    history.gotoNode(end);
+    assertEquals(canadaCount - 2, canada.getUnits().getUnitCount());
+    assertTrue(greenland.getUnits().getUnits().containsAll(units));
+  }
+}
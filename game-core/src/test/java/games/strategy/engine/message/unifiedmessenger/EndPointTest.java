@@ -1,9 +1,19 @@
 package games.strategy.engine.message.unifiedmessenger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
@@ -12,14 +22,108 @@ import games.strategy.engine.message.RemoteMethodCallResults;
 
 public class EndPointTest {
 
+  private static RemoteMethodCall newCompareCall(final Object o1, final Object o2) {
+    return new RemoteMethodCall("", "compare", new Object[] {o1, o2},
+        new Class<?>[] {Object.class, Object.class}, Comparator.class);
+  }
+
   @Test
   public void testEndPoint() {
     final EndPoint endPoint = new EndPoint("", Comparator.class, false);
     endPoint.addImplementor((Comparator<Object>) (o1, o2) -> 2);
-    final RemoteMethodCall call = new RemoteMethodCall("", "compare", new Object[] {"", ""},
-        new Class<?>[] {Object.class, Object.class}, Comparator.class);
-    final List<RemoteMethodCallResults> results = endPoint.invokeLocal(call, endPoint.takeANumber(), null);
+    final RemoteMethodCall call = newCompareCall("", "");
+    final List<RemoteMethodCallResults> results = endPoint.invokeLocal(call, null);
     assertEquals(results.size(), 1);
     assertEquals(2, (results.iterator().next()).getRVal());
   }
+
+  @Test
+  public void testSingleThreadedEndPointRunsAsyncInvocationsOneAtATimeInOrder() throws Exception {
+    final EndPoint endPoint = new EndPoint("", Comparator.class, true);
+    final List<Object> invoked = Collections.synchronizedList(new ArrayList<>());
+    final CountDownLatch firstRunning = new CountDownLatch(1);
+    final CountDownLatch releaseFirst = new CountDownLatch(1);
+    endPoint.addImplementor((Comparator<Object>) (o1, o2) -> {
+      if (invoked.isEmpty()) {
+        firstRunning.countDown();
+        try {
+          releaseFirst.await();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      invoked.add(o1);
+      return 0;
+    });
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final int invocationCount = 20;
+      final CountDownLatch done = new CountDownLatch(invocationCount);
+      for (int i = 0; i < invocationCount; i++) {
+        endPoint.invokeLocalAsync(newCompareCall(i, ""), null, executor, results -> done.countDown());
+        if (i == 0) {
+          assertTrue(firstRunning.await(5, TimeUnit.SECONDS));
+        }
+      }
+
+      assertEquals(invocationCount - 1, endPoint.getStatistics().getQueueDepth());
+      releaseFirst.countDown();
+      assertTrue(done.await(5, TimeUnit.SECONDS));
+      assertEquals(IntStream.range(0, invocationCount).boxed().collect(Collectors.toList()), invoked);
+      final EndPointStatistics statistics = endPoint.getStatistics();
+      assertEquals(0, statistics.getQueueDepth());
+      assertEquals(invocationCount - 1, statistics.getMaxQueueDepth());
+      assertEquals(invocationCount, statistics.getInvocationCount());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testSingleThreadedEndPointRunsLocalInvocationAfterQueuedAsyncInvocations() throws Exception {
+    final EndPoint endPoint = new EndPoint("", Comparator.class, true);
+    final List<Object> invoked = Collections.synchronizedList(new ArrayList<>());
+    final CountDownLatch releaseFirst = new CountDownLatch(1);
+    endPoint.addImplementor((Comparator<Object>) (o1, o2) -> {
+      if ("first".equals(o1)) {
+        try {
+          releaseFirst.await();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      invoked.add(o1);
+      return 0;
+    });
+    final ExecutorService executor = Executors.newCachedThreadPool();
+    try {
+      endPoint.invokeLocalAsync(newCompareCall("first", ""), null, executor, results -> {
+      });
+      endPoint.invokeLocalAsync(newCompareCall("second", ""), null, executor, results -> {
+      });
+      releaseFirst.countDown();
+      endPoint.invokeLocal(newCompareCall("local", ""), null);
+
+      assertEquals(3, invoked.size());
+      assertEquals("local", invoked.get(2));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testSingleThreadedEndPointRunsNextInvocationWhenExecutorRejectsOne() {
+    final EndPoint endPoint = new EndPoint("", Comparator.class, true);
+    endPoint.addImplementor((Comparator<Object>) (o1, o2) -> 0);
+    final List<RemoteMethodCallResults> rejectedResults = new ArrayList<>();
+
+    endPoint.invokeLocalAsync(newCompareCall("rejected", ""), null, command -> {
+      throw new RejectedExecutionException();
+    }, rejectedResults::addAll);
+    final List<RemoteMethodCallResults> results = endPoint.invokeLocal(newCompareCall("local", ""), null);
+
+    assertEquals(1, rejectedResults.size());
+    assertTrue(rejectedResults.get(0).getException() instanceof RejectedExecutionException);
+    assertEquals(0, results.get(0).getRVal());
+  }
 }
@@ -63,4 +63,10 @@ public final class PlainRandomSourceTest {
         assertThrows(IllegalArgumentException.class, () -> plainRandomSource.getRandom(MAX, 0, ANNOTATION));
     assertThat(e.getMessage(), containsString("count"));
   }
+
+  @Test
+  public void getRandom_ShouldReturnSameValuesForSameSeed() {
+    assertThat(new PlainRandomSource(42).getRandom(MAX, 16, ANNOTATION),
+        is(new PlainRandomSource(42).getRandom(MAX, 16, ANNOTATION)));
+  }
 }
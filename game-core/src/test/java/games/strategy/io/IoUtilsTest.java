@@ -2,10 +2,14 @@ package games.strategy.io;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -56,4 +60,34 @@ public final class IoUtilsTest {
   public void writeToMemory_ShouldReturnBytesWrittenByConsumer() throws Exception {
     assertThat(IoUtils.writeToMemory(os -> os.write(bytes)), is(bytes));
   }
+
+  @Test
+  public void writeToFile_ShouldReplaceFileWithBytesWrittenByConsumer() throws Exception {
+    final File file = File.createTempFile("IoUtilsTest", null);
+    try {
+      IoUtils.writeToFile(file, os -> os.write(bytes));
+
+      assertThat(Files.readAllBytes(file.toPath()), is(bytes));
+    } finally {
+      Files.delete(file.toPath());
+    }
+  }
+
+  @Test
+  public void writeToFile_ShouldLeaveFileUnchangedWhenConsumerFails() throws Exception {
+    final File file = File.createTempFile("IoUtilsTest", null);
+    try {
+      Files.write(file.toPath(), bytes);
+
+      assertThrows(IOException.class, () -> IoUtils.writeToFile(file, os -> {
+        os.write(new byte[] {42});
+        throw new IOException();
+      }));
+
+      assertThat(Files.readAllBytes(file.toPath()), is(bytes));
+      assertThat(new File(file.getPath() + ".tmp").exists(), is(false));
+    } finally {
+      Files.delete(file.toPath());
+    }
+  }
 }
@@ -0,0 +1,58 @@
+package games.strategy.net.nio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+public class ByteBufferPoolTest {
+  private final ByteBufferPool pool = new ByteBufferPool();
+
+  @Test
+  public void testAcquireLimitsBufferToRequestedCapacity() {
+    final ByteBuffer buffer = pool.acquire(1500);
+
+    assertTrue(buffer.isDirect());
+    assertEquals(2048, buffer.capacity());
+    assertEquals(0, buffer.position());
+    assertEquals(1500, buffer.limit());
+  }
+
+  @Test
+  public void testReleasedBufferIsReused() {
+    final ByteBuffer buffer = pool.acquire(100);
+    buffer.put((byte) 1);
+    pool.release(buffer);
+    assertEquals(1, pool.getIdleCount());
+
+    final ByteBuffer reused = pool.acquire(200);
+
+    assertSame(buffer, reused);
+    assertEquals(0, reused.position());
+    assertEquals(200, reused.limit());
+    assertEquals(0, pool.getIdleCount());
+  }
+
+  @Test
+  public void testLargeBuffersAreNotPooled() {
+    final ByteBuffer buffer = pool.acquire(ByteBufferPool.MAX_POOLED_CAPACITY + 1);
+    assertFalse(buffer.isDirect());
+
+    pool.release(buffer);
+
+    assertEquals(0, pool.getIdleCount());
+  }
+
+  @Test
+  public void testIdleBuffersAreBounded() {
+    for (int i = 0; i < 10; i++) {
+      pool.release(ByteBuffer.allocateDirect(ByteBufferPool.MAX_POOLED_CAPACITY));
+    }
+
+    assertEquals(4, pool.getIdleCount());
+  }
+}
@@ -0,0 +1,147 @@
+package games.strategy.net.nio;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.io.ByteStreams;
+
+public class SocketDataTest {
+  private final ByteBufferPool pool = new ByteBufferPool();
+  private Pipe pipe;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    pipe = Pipe.open();
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    pipe.sink().close();
+    pipe.source().close();
+  }
+
+  private static byte[] newContent(final int size) {
+    final byte[] content = new byte[size];
+    new Random(size).nextBytes(content);
+    return content;
+  }
+
+  private byte[] read() throws IOException {
+    final SocketReadData packet = new SocketReadData(null, pool);
+    while (!packet.read(pipe.source())) {
+      // the whole packet has already been written
+    }
+    try {
+      return ByteStreams.toByteArray(packet.getInputStream());
+    } finally {
+      packet.release();
+    }
+  }
+
+  @Test
+  public void testPacketRoundTrip() throws IOException {
+    final byte[] content = newContent(3000);
+    final SocketWriteData packet = new SocketWriteData(content, 0, content.length, pool);
+
+    assertEquals(content.length + 4, packet.size());
+    assertTrue(packet.write(pipe.sink()));
+    packet.release();
+
+    assertArrayEquals(content, read());
+  }
+
+  @Test
+  public void testPacketsWrittenAtOnceAreReadSeparately() throws IOException {
+    final byte[] first = newContent(10);
+    final byte[] second = newContent(5000);
+    final SocketWriteData firstPacket = new SocketWriteData(first, 0, first.length, pool);
+    final SocketWriteData secondPacket = new SocketWriteData(second, 0, second.length, pool);
+
+    pipe.sink().write(new ByteBuffer[] {firstPacket.getBuffer(), secondPacket.getBuffer()});
+
+    assertTrue(firstPacket.isDone());
+    assertTrue(secondPacket.isDone());
+    assertArrayEquals(first, read());
+    assertArrayEquals(second, read());
+  }
+
+  @Test
+  public void testPacketKeepsTheWireFormat() throws IOException {
+    final byte[] content = newContent(7);
+    new SocketWriteData(content, 0, content.length, pool).write(pipe.sink());
+
+    final ByteBuffer written = ByteBuffer.allocate(content.length + 4);
+    while (written.hasRemaining()) {
+      pipe.source().read(written);
+    }
+    written.flip();
+
+    assertEquals(content.length ^ SocketReadData.MAGIC, written.getInt());
+    final byte[] writtenContent = new byte[content.length];
+    written.get(writtenContent);
+    assertArrayEquals(content, writtenContent);
+  }
+
+  @Test
+  public void testReadRejectsPacketWithoutMagic() throws IOException {
+    pipe.sink().write((ByteBuffer) ByteBuffer.allocate(4).putInt(10).flip());
+
+    final SocketReadData packet = new SocketReadData(null, pool);
+
+    assertThrows(IOException.class, () -> packet.read(pipe.source()));
+  }
+
+  @Test
+  public void testReadIsIncompleteUntilAllContentArrived() throws IOException {
+    final byte[] content = newContent(100);
+    final SocketWriteData packet = new SocketWriteData(content, 0, content.length, pool);
+    final ByteBuffer buffer = packet.getBuffer();
+    final int limit = buffer.limit();
+    buffer.limit(50);
+    pipe.sink().write(buffer);
+
+    final SocketReadData readPacket = new SocketReadData(null, pool);
+    assertFalse(readPacket.read(pipe.source()));
+
+    buffer.limit(limit);
+    pipe.sink().write(buffer);
+    assertTrue(readPacket.read(pipe.source()));
+    assertArrayEquals(content, ByteStreams.toByteArray(readPacket.getInputStream()));
+  }
+
+  @Test
+  public void testSharedPacketsAreWrittenIndependently() throws IOException {
+    final byte[] content = newContent(2000);
+    final List<SocketWriteData> packets = SocketWriteData.newSharedPackets(content, 0, content.length, pool, 3);
+    assertEquals(3, packets.size());
+
+    for (final SocketWriteData packet : packets) {
+      assertTrue(packet.write(pipe.sink()));
+      assertArrayEquals(content, read());
+    }
+  }
+
+  @Test
+  public void testSharedBufferIsReleasedWithTheLastPacket() {
+    final byte[] content = newContent(20);
+    final List<SocketWriteData> packets = SocketWriteData.newSharedPackets(content, 0, content.length, pool, 2);
+
+    packets.get(0).release();
+    assertEquals(0, pool.getIdleCount());
+    packets.get(1).release();
+    assertEquals(1, pool.getIdleCount());
+  }
+}
@@ -0,0 +1,110 @@
+package games.strategy.net.nio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.net.SocketAddress;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.net.ClientMessenger;
+import games.strategy.net.DefaultObjectStreamFactory;
+import games.strategy.net.ILoginValidator;
+import games.strategy.net.IObjectStreamFactory;
+import games.strategy.net.MacFinder;
+import games.strategy.net.MessengerTestUtils;
+import games.strategy.net.ServerMessenger;
+
+public class StreamFormatNegotiationTest {
+  private ServerMessenger serverMessenger;
+  private ClientMessenger clientMessenger;
+
+  @AfterEach
+  public void tearDown() {
+    MessengerTestUtils.shutDownQuietly(clientMessenger);
+    MessengerTestUtils.shutDownQuietly(serverMessenger);
+  }
+
+  private void connect(final IObjectStreamFactory serverFactory, final IObjectStreamFactory clientFactory)
+      throws IOException {
+    serverMessenger = new ServerMessenger("Server", 0, serverFactory);
+    serverMessenger.setLoginValidator(new ILoginValidator() {
+      @Override
+      public Map<String, String> getChallengeProperties(final String userName, final SocketAddress remoteAddress) {
+        return Collections.singletonMap("Challenge", "true");
+      }
+
+      @Override
+      public String verifyConnection(final Map<String, String> propertiesSentToClient,
+          final Map<String, String> propertiesReadFromClient, final String clientName, final String clientMac,
+          final SocketAddress remoteAddress) {
+        return null;
+      }
+    });
+    serverMessenger.setAcceptNewConnections(true);
+    clientMessenger = new ClientMessenger("localhost", serverMessenger.getLocalNode().getSocketAddress().getPort(),
+        "client", MacFinder.getHashedMacAddress(), clientFactory,
+        challenge -> Collections.singletonMap("Response", "true"));
+  }
+
+  private void assertMessagesAreExchanged() throws Exception {
+    final BlockingQueue<Serializable> serverMessages = new ArrayBlockingQueue<>(1);
+    final BlockingQueue<Serializable> clientMessages = new ArrayBlockingQueue<>(1);
+    serverMessenger.addMessageListener((msg, from) -> serverMessages.add(msg));
+    clientMessenger.addMessageListener((msg, from) -> clientMessages.add(msg));
+
+    clientMessenger.send("to server", serverMessenger.getLocalNode());
+    serverMessenger.broadcast("to clients");
+
+    assertEquals("to server", serverMessages.poll(10, TimeUnit.SECONDS));
+    assertEquals("to clients", clientMessages.poll(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void shouldWriteNegotiatedFormatWhenBothPeersAdvertiseIt() throws Exception {
+    final NegotiatingObjectStreamFactory serverFactory = new NegotiatingObjectStreamFactory();
+    final NegotiatingObjectStreamFactory clientFactory = new NegotiatingObjectStreamFactory();
+    connect(serverFactory, clientFactory);
+
+    assertMessagesAreExchanged();
+
+    assertTrue(serverFactory.negotiatedStreams.get() > 0);
+    assertTrue(clientFactory.negotiatedStreams.get() > 0);
+  }
+
+  @Test
+  public void shouldNotWriteNegotiatedFormatToPeerThatDoesNotAdvertiseIt() throws Exception {
+    final NegotiatingObjectStreamFactory serverFactory = new NegotiatingObjectStreamFactory();
+    connect(serverFactory, new DefaultObjectStreamFactory());
+
+    assertMessagesAreExchanged();
+
+    assertEquals(0, serverFactory.negotiatedStreams.get());
+  }
+
+  private static final class NegotiatingObjectStreamFactory extends DefaultObjectStreamFactory {
+    final AtomicInteger negotiatedStreams = new AtomicInteger();
+
+    @Override
+    public String getNegotiatedStreamFormat() {
+      return "Test";
+    }
+
+    @Override
+    public ObjectOutputStream createNegotiated(final OutputStream stream) throws IOException {
+      negotiatedStreams.incrementAndGet();
+      return create(stream);
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package games.strategy.triplea.ai.proAI;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class ProDataTest {
+  private GameData gameData;
+  private PlayerID germans;
+  private PlayerID russians;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.WW2V3_1941.getGameData();
+    germans = germans(gameData);
+    russians = russians(gameData);
+  }
+
+  @Test
+  public void shouldKeepDataOfEachAiSeparately() {
+    final ProAi germanAi = new ProAi("Germans", "Hard (AI)");
+    final ProAi russianAi = new ProAi("Russians", "Hard (AI)");
+    assertNotSame(germanAi.getProData(), russianAi.getProData());
+
+    germanAi.getProData().initializeSimulation(germanAi, gameData, germans);
+    russianAi.getProData().initializeSimulation(russianAi, gameData, russians);
+
+    assertSame(germanAi, germanAi.getProData().getProAi());
+    assertSame(germans, germanAi.getProData().getPlayer());
+    assertEquals(territory("Germany", gameData), germanAi.getProData().getMyCapital());
+    assertTrue(germanAi.getProData().isSimulation());
+    assertSame(russianAi, russianAi.getProData().getProAi());
+    assertSame(russians, russianAi.getProData().getPlayer());
+    assertEquals(territory("Russia", gameData), russianAi.getProData().getMyCapital());
+  }
+}
@@ -0,0 +1,88 @@
+package games.strategy.triplea.ai.proAI.data;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Territory;
+import games.strategy.triplea.ai.proAI.ProAi;
+import games.strategy.triplea.ai.proAI.ProData;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class ProTerritoryManagerTest {
+  private ProAi proAi;
+  private ProData proData;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    final GameData gameData = TestMapGameData.WW2V3_1941.getGameData();
+    proAi = new ProAi("Germans", "Hard (AI)");
+    proData = proAi.getProData();
+    proData.initializeSimulation(proAi, gameData, germans(gameData));
+  }
+
+  private ProTerritoryManager populateOptions() {
+    final ProTerritoryManager territoryManager = new ProTerritoryManager(proAi.getCalc(), proData);
+    territoryManager.populateAttackOptions();
+    territoryManager.populateDefenseOptions(new ArrayList<>());
+    territoryManager.populateEnemyAttackOptions(new ArrayList<>(), new ArrayList<>());
+    return territoryManager;
+  }
+
+  private static void assertSameOptions(final ProMyMoveOptions expected, final ProMyMoveOptions actual) {
+    assertEquals(new ArrayList<>(expected.getTerritoryMap().keySet()),
+        new ArrayList<>(actual.getTerritoryMap().keySet()));
+    for (final Map.Entry<Territory, ProTerritory> entry : expected.getTerritoryMap().entrySet()) {
+      final ProTerritory actualTerritory = actual.getTerritoryMap().get(entry.getKey());
+      assertEquals(entry.getValue().getMaxUnits(), actualTerritory.getMaxUnits());
+      assertEquals(entry.getValue().getMaxAmphibUnits(), actualTerritory.getMaxAmphibUnits());
+      assertEquals(entry.getValue().getMaxBombardUnits(), actualTerritory.getMaxBombardUnits());
+    }
+    assertEquals(expected.getUnitMoveMap(), actual.getUnitMoveMap());
+    assertEquals(expected.getTransportMoveMap(), actual.getTransportMoveMap());
+    assertEquals(expected.getBombardMap(), actual.getBombardMap());
+    final List<ProTransport> expectedTransports = expected.getTransportList();
+    final List<ProTransport> actualTransports = actual.getTransportList();
+    assertEquals(expectedTransports.size(), actualTransports.size());
+    for (int i = 0; i < expectedTransports.size(); i++) {
+      assertEquals(expectedTransports.get(i).getTransport(), actualTransports.get(i).getTransport());
+      assertEquals(expectedTransports.get(i).getTransportMap(), actualTransports.get(i).getTransportMap());
+      assertEquals(expectedTransports.get(i).getSeaTransportMap(), actualTransports.get(i).getSeaTransportMap());
+    }
+  }
+
+  @Test
+  public void parallelSearchShouldFindSameOptionsAsSerialSearch() throws Exception {
+    final ForkJoinPool serialPool = new ForkJoinPool(1);
+    final ProTerritoryManager serial;
+    try {
+      serial = serialPool.submit(this::populateOptions).get();
+    } finally {
+      serialPool.shutdown();
+    }
+
+    final ProTerritoryManager parallel = populateOptions();
+
+    assertFalse(serial.getAttackOptions().getTerritoryMap().isEmpty());
+    assertSameOptions(serial.getAttackOptions(), parallel.getAttackOptions());
+    assertSameOptions(serial.getDefendOptions(), parallel.getDefendOptions());
+    for (final Territory t : proData.getData().getMap().getTerritories()) {
+      final ProTerritory expected = serial.getEnemyAttackOptions().getMax(t);
+      final ProTerritory actual = parallel.getEnemyAttackOptions().getMax(t);
+      assertEquals(expected == null, actual == null);
+      if (expected != null) {
+        assertEquals(expected.getMaxUnits(), actual.getMaxUnits());
+        assertEquals(expected.getMaxAmphibUnits(), actual.getMaxAmphibUnits());
+      }
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package games.strategy.triplea.ai.proAI.simulate;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.delegate.AbstractMoveDelegate;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class ProSimulationSandboxTest {
+  private GameData gameData;
+  private ProSimulationSandbox sandbox;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.WW2V3_1941.getGameData();
+    sandbox = new ProSimulationSandbox(gameData);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    sandbox.close();
+  }
+
+  @Test
+  public void checkoutShouldReplayChangesOfGameData() {
+    final GameData sandboxData = sandbox.checkout();
+    sandbox.rollback();
+    assertNotSame(gameData, sandboxData);
+
+    gameData.performChange(ChangeFactory.changeOwner(territory("Ukraine", gameData), germans(gameData)));
+    gameData.performChange(
+        ChangeFactory.addUnits(territory("Germany", gameData), infantry(gameData).create(2, russians(gameData))));
+
+    assertSame(sandboxData, sandbox.checkout());
+    assertEquals(germans(sandboxData), territory("Ukraine", sandboxData).getOwner());
+    assertEquals(territory("Germany", gameData).getUnits().getUnitCount(),
+        territory("Germany", sandboxData).getUnits().getUnitCount());
+  }
+
+  @Test
+  public void checkoutShouldCopyStepAndDelegateStates() {
+    sandbox.checkout();
+    sandbox.rollback();
+
+    gameData.getSequence().setRoundAndStepIndex(2, 3);
+    AbstractMoveDelegate.getBattleTracker(gameData).getConquered().add(territory("Ukraine", gameData));
+
+    final GameData sandboxData = sandbox.checkout();
+    assertEquals(2, sandboxData.getSequence().getRound());
+    assertEquals(3, sandboxData.getSequence().getStepIndex());
+    assertTrue(AbstractMoveDelegate.getBattleTracker(sandboxData).wasConquered(territory("Ukraine", sandboxData)));
+  }
+
+  @Test
+  public void rollbackShouldUndoSimulatedChanges() {
+    final GameData sandboxData = sandbox.checkout();
+    final int unitCount = territory("Germany", sandboxData).getUnits().getUnitCount();
+    sandboxData.performChange(ChangeFactory.changeOwner(territory("Ukraine", sandboxData), germans(sandboxData)));
+    sandboxData.performChange(ChangeFactory.addUnits(territory("Germany", sandboxData),
+        infantry(sandboxData).create(2, russians(sandboxData))));
+
+    sandbox.rollback();
+
+    assertEquals(russians(sandboxData), territory("Ukraine", sandboxData).getOwner());
+    assertEquals(unitCount, territory("Germany", sandboxData).getUnits().getUnitCount());
+    assertEquals(russians(gameData), territory("Ukraine", gameData).getOwner());
+  }
+
+  @Test
+  public void shouldNotBeCheckedOutTwice() {
+    sandbox.checkout();
+
+    assertThrows(IllegalStateException.class, sandbox::checkout);
+  }
+
+  @Test
+  public void pendingChangesShouldBeBoundedWithoutCheckout() {
+    final ProSimulationSandbox boundedSandbox = new ProSimulationSandbox(gameData, 4096);
+    try {
+      boundedSandbox.checkout();
+      boundedSandbox.rollback();
+
+      for (int i = 0; i < 200; i++) {
+        gameData.performChange(ChangeFactory.changeOwner(territory("Ukraine", gameData),
+            (i % 2 == 0) ? germans(gameData) : russians(gameData)));
+        assertTrue(boundedSandbox.getPendingBytes() <= 4096);
+      }
+      assertEquals(0, boundedSandbox.getPendingBytes());
+
+      gameData.performChange(ChangeFactory.changeOwner(territory("Ukraine", gameData), germans(gameData)));
+      final GameData sandboxData = boundedSandbox.checkout();
+      assertEquals(germans(sandboxData), territory("Ukraine", sandboxData).getOwner());
+    } finally {
+      boundedSandbox.close();
+    }
+  }
+}
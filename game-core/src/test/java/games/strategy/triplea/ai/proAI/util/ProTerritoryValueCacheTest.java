@@ -0,0 +1,107 @@
+package games.strategy.triplea.ai.proAI.util;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.ai.proAI.ProAi;
+import games.strategy.triplea.ai.proAI.ProData;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class ProTerritoryValueCacheTest {
+  private GameData gameData;
+  private PlayerID germans;
+  private PlayerID russians;
+  private Territory ukraine;
+  private Territory germany;
+  private Territory seaZone;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.WW2V3_1941.getGameData();
+    germans = germans(gameData);
+    russians = russians(gameData);
+    ukraine = territory("Ukraine", gameData);
+    germany = territory("Germany", gameData);
+    seaZone = territory("5 Sea Zone", gameData);
+  }
+
+  @Test
+  public void shouldComputeAgainOnlyValuesDependingOnChangedTerritories() {
+    final ProTerritoryValueCache cache = new ProTerritoryValueCache(gameData);
+    final AtomicInteger computations = new AtomicInteger();
+    cache.update("state");
+    getValue(cache, ukraine, computations);
+    getValue(cache, germany, computations);
+    assertEquals(2, cache.size());
+
+    gameData.performChange(ChangeFactory.changeOwner(ukraine, germans));
+    cache.update("state");
+
+    assertEquals(1, cache.size());
+    getValue(cache, ukraine, computations);
+    getValue(cache, germany, computations);
+    assertEquals(3, computations.get());
+  }
+
+  @Test
+  public void shouldComputeAgainAllValuesWhenGlobalStateChanges() {
+    final ProTerritoryValueCache cache = new ProTerritoryValueCache(gameData);
+    cache.update("state");
+    getValue(cache, ukraine, new AtomicInteger());
+    getValue(cache, germany, new AtomicInteger());
+
+    cache.update("other state");
+
+    assertEquals(0, cache.size());
+  }
+
+  private static int getValue(final ProTerritoryValueCache cache, final Territory t, final AtomicInteger computations) {
+    return cache.get("inputs", t, null, dependencies -> {
+      dependencies.addOwner(t);
+      return computations.incrementAndGet();
+    });
+  }
+
+  @Test
+  public void cachedValuesShouldEqualValuesComputedAfterChanges() {
+    final ProData proData = newProData();
+    findValues(proData);
+
+    gameData.performChange(ChangeFactory.changeOwner(ukraine, germans));
+    gameData.performChange(ChangeFactory.addUnits(germany, infantry(gameData).create(3, russians)));
+    gameData.performChange(ChangeFactory.addUnits(seaZone, infantry(gameData).create(1, russians)));
+
+    assertEquals(findValues(newProData()), findValues(proData));
+  }
+
+  private ProData newProData() {
+    final ProAi proAi = new ProAi("Germans", "Hard (AI)");
+    final ProData proData = proAi.getProData();
+    proData.initializeSimulation(proAi, gameData, germans);
+    return proData;
+  }
+
+  private List<Map<Territory, Double>> findValues(final ProData proData) {
+    final List<Map<Territory, Double>> values = new ArrayList<>();
+    values.add(ProTerritoryValueUtils.findTerritoryValues(proData, germans, Collections.emptyList(),
+        Collections.singletonList(territory("Belorussia", gameData))));
+    values.add(ProTerritoryValueUtils.findSeaTerritoryValues(proData, germans, Collections.emptyList()));
+    return values;
+  }
+}
@@ -0,0 +1,67 @@
+package games.strategy.triplea.ai.tournament;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.openjson.JSONObject;
+
+import games.strategy.triplea.ai.tournament.AiGameResult.PhaseMetrics;
+
+public class AiTournamentReportTest {
+  private final List<AiGameResult> results = Arrays.asList(
+      newResult(0, Collections.singletonList("Germans"), null),
+      newResult(1, Collections.emptyList(), "java.lang.IllegalStateException: step, \"move\""));
+
+  private static AiGameResult newResult(final int gameNumber, final List<String> winners, final String error) {
+    final Map<String, PhaseMetrics> phases = new LinkedHashMap<>();
+    phases.put("Purchase", new PhaseMetrics(2_000_000, 3, 100).plus(new PhaseMetrics(500_000, 1, 50)));
+    phases.put("CombatMove", new PhaseMetrics(1_000_000, 0, -1));
+    return new AiGameResult(gameNumber, 42 + gameNumber, 3, winners, error, 4_000_000, phases);
+  }
+
+  @Test
+  public void writeCsvShouldWriteOneRowPerPhaseAndTotalOfEachGame() throws Exception {
+    final StringWriter writer = new StringWriter();
+
+    AiTournamentReport.writeCsv(results, writer);
+
+    assertEquals(
+        "game,seed,rounds,winners,error,phase,steps,wallTimeMillis,oddsCalculations,allocatedBytes\n"
+            + "0,42,3,Germans,,Purchase,2,2.500,4,150\n"
+            + "0,42,3,Germans,,CombatMove,1,1.000,0,-1\n"
+            + "0,42,3,Germans,,Total,3,4.000,4,-1\n"
+            + "1,43,3,,\"java.lang.IllegalStateException: step, \"\"move\"\"\",Purchase,2,2.500,4,150\n"
+            + "1,43,3,,\"java.lang.IllegalStateException: step, \"\"move\"\"\",CombatMove,1,1.000,0,-1\n"
+            + "1,43,3,,\"java.lang.IllegalStateException: step, \"\"move\"\"\",Total,3,4.000,4,-1\n",
+        writer.toString());
+  }
+
+  @Test
+  public void writeJsonShouldWriteResultsAndPhasesOfEachGame() throws Exception {
+    final StringWriter writer = new StringWriter();
+
+    AiTournamentReport.writeJson("map", results, writer);
+
+    final JSONObject json = new JSONObject(writer.toString());
+    assertEquals("map", json.getString("map"));
+    assertEquals(2, json.getJSONArray("games").length());
+    final JSONObject game = json.getJSONArray("games").getJSONObject(0);
+    assertEquals(42, game.getLong("seed"));
+    assertEquals("Germans", game.getJSONArray("winners").getString(0));
+    assertTrue(game.isNull("error"));
+    assertEquals(4, game.getLong("oddsCalculations"));
+    final JSONObject purchase = game.getJSONObject("phases").getJSONObject("Purchase");
+    assertEquals(2, purchase.getInt("steps"));
+    assertEquals(2.5, purchase.getDouble("wallTimeMillis"));
+    assertEquals(150, purchase.getLong("allocatedBytes"));
+  }
+}
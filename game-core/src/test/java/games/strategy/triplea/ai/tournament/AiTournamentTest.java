@@ -0,0 +1,70 @@
+package games.strategy.triplea.ai.tournament;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.PlayerID;
+import games.strategy.triplea.TripleA;
+import games.strategy.triplea.ai.AbstractAi;
+import games.strategy.triplea.settings.AbstractClientSettingTestCase;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class AiTournamentTest extends AbstractClientSettingTestCase {
+  private byte[] gameXml;
+  private final Map<String, String> playerTypes = new HashMap<>();
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    AbstractAi.setPauseEnabled(false);
+    gameXml = Files.readAllBytes(Paths.get("src", "test", "resources", TestMapGameData.WW2V3_1941.toString()));
+    for (final PlayerID player : TestMapGameData.WW2V3_1941.getGameData().getPlayerList().getPlayers()) {
+      playerTypes.put(player.getName(), TripleA.WEAK_COMPUTER_PLAYER_TYPE);
+    }
+  }
+
+  @AfterEach
+  public void tearDown() {
+    AbstractAi.setPauseEnabled(true);
+  }
+
+  @Test
+  public void runShouldPlayEachGameUntilRoundLimit() throws Exception {
+    final List<AiGameResult> results = new AiTournament("WW2V3_1941", gameXml, playerTypes, 2, 2, 1, 42).run();
+
+    assertEquals(2, results.size());
+    for (int i = 0; i < results.size(); i++) {
+      final AiGameResult result = results.get(i);
+      assertEquals(i, result.getGameNumber());
+      assertEquals(42 + i, result.getSeed());
+      assertEquals(1, result.getRounds());
+      assertEquals(Collections.emptyList(), result.getWinners());
+      assertNull(result.getError());
+      assertTrue(result.getPhases().keySet().containsAll(
+          Arrays.asList("Purchase", "CombatMove", "Battle", "NonCombatMove", "Place")),
+          result.getPhases().keySet().toString());
+      assertTrue(result.getWallTimeNanos() > 0);
+    }
+  }
+
+  @Test
+  public void shouldNotAcceptHumanPlayers() {
+    playerTypes.put("Germans", TripleA.HUMAN_PLAYER_TYPE);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> new AiTournament("WW2V3_1941", gameXml, playerTypes, 1, 1, 1, 0));
+  }
+}
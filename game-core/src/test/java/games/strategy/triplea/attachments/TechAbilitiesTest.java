@@ -0,0 +1,79 @@
+package games.strategy.triplea.attachments;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.fighter;
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.UnitType;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.xml.TestMapGameData;
+import games.strategy.util.IntegerMap;
+
+public class TechAbilitiesTest {
+  private GameData gameData;
+  private PlayerID germans;
+  private UnitType fighter;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.WW2V3_1941.getGameData();
+    germans = germans(gameData);
+    fighter = fighter(gameData);
+  }
+
+  @Test
+  public void shouldBeKeptWhileTechsAreUnchanged() {
+    final TechAbilities techAbilities = TechAbilities.of(germans, gameData);
+
+    assertSame(techAbilities, TechAbilities.of(germans, gameData));
+  }
+
+  @Test
+  public void shouldBeComputedAgainWhenPlayerGainsTech() {
+    final TechAbilities techAbilities = TechAbilities.of(germans, gameData);
+    final int movementBonus = TechAbilityAttachment.getMovementBonus(fighter, germans, gameData);
+
+    TechAttachment.get(germans).setLongRangeAir(true);
+
+    assertNotSame(techAbilities, TechAbilities.of(germans, gameData));
+    assertEquals(movementBonus + 2, TechAbilityAttachment.getMovementBonus(fighter, germans, gameData));
+  }
+
+  @Test
+  public void shouldBeComputedAgainWhenTechChangeIsPerformedAndUndone() {
+    final int movementBonus = TechAbilityAttachment.getMovementBonus(fighter, germans, gameData);
+    final Change change = ChangeFactory.attachmentPropertyChange(TechAttachment.get(germans), "true", "longRangeAir");
+
+    gameData.performChange(change);
+    final int movementBonusWithTech = TechAbilityAttachment.getMovementBonus(fighter, germans, gameData);
+    gameData.performChange(change.invert());
+
+    assertEquals(movementBonus + 2, movementBonusWithTech);
+    assertEquals(movementBonus, TechAbilityAttachment.getMovementBonus(fighter, germans, gameData));
+  }
+
+  @Test
+  public void collectionsShouldBeCopiedForCallers() {
+    final Set<UnitType> airborneTypes = TechAbilityAttachment.getAirborneTypes(germans, gameData);
+    final Set<UnitType> expectedAirborneTypes = new HashSet<>(airborneTypes);
+    final IntegerMap<UnitType> airborneCapacity = TechAbilityAttachment.getAirborneCapacity(germans, gameData);
+    final IntegerMap<UnitType> expectedAirborneCapacity = new IntegerMap<>(airborneCapacity);
+
+    airborneTypes.add(fighter);
+    airborneCapacity.add(fighter, 1);
+
+    assertEquals(expectedAirborneTypes, TechAbilityAttachment.getAirborneTypes(germans, gameData));
+    assertEquals(expectedAirborneCapacity, TechAbilityAttachment.getAirborneCapacity(germans, gameData));
+  }
+}
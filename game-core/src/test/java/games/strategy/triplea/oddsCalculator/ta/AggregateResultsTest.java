@@ -0,0 +1,66 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.delegate.GameDataTestUtil;
+import games.strategy.triplea.delegate.IBattle.WhoWon;
+import games.strategy.triplea.xml.TestMapGameData;
+import games.strategy.util.Tuple;
+
+public class AggregateResultsTest {
+  private GameData gameData;
+  private List<Unit> survivors;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+    survivors = GameDataTestUtil.infantry(gameData).create(1, GameDataTestUtil.germans(gameData));
+  }
+
+  private AggregateResults newAggregateResults(final int attackerWins, final int defenderWins) {
+    final AggregateResults results = new AggregateResults(attackerWins + defenderWins);
+    for (int i = 0; i < attackerWins; i++) {
+      results.addResult(new BattleResults(1, survivors, Collections.emptyList(), WhoWon.ATTACKER, gameData));
+    }
+    for (int i = 0; i < defenderWins; i++) {
+      results.addResult(new BattleResults(1, Collections.emptyList(), survivors, WhoWon.DEFENDER, gameData));
+    }
+    return results;
+  }
+
+  @Test
+  public void getAttackerWinPercentConfidenceIntervalShouldBeUnknownWithoutResults() {
+    final AggregateResults results = newAggregateResults(0, 0);
+
+    assertEquals(Tuple.of(0.0, 1.0), results.getAttackerWinPercentConfidenceInterval());
+    assertEquals(1.0, results.getAttackerWinPercentMarginOfError());
+  }
+
+  @Test
+  public void getAttackerWinPercentConfidenceIntervalShouldMatchWilsonScoreInterval() {
+    final AggregateResults results = newAggregateResults(50, 50);
+
+    final Tuple<Double, Double> interval = results.getAttackerWinPercentConfidenceInterval();
+    assertEquals(0.404, interval.getFirst(), 0.001);
+    assertEquals(0.596, interval.getSecond(), 0.001);
+    assertEquals(0.096, results.getAttackerWinPercentMarginOfError(), 0.001);
+  }
+
+  @Test
+  public void isAttackerWinPercentWithinShouldRequireEnoughRuns() {
+    assertFalse(newAggregateResults(10, 0).isAttackerWinPercentWithin(0.5));
+    assertTrue(newAggregateResults(100, 0).isAttackerWinPercentWithin(0.05));
+    assertFalse(newAggregateResults(50, 50).isAttackerWinPercentWithin(0.05));
+    assertFalse(newAggregateResults(100, 0).isAttackerWinPercentWithin(0));
+  }
+}
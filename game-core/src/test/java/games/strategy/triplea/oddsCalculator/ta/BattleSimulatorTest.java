@@ -0,0 +1,65 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitType;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.random.IRandomSource;
+import games.strategy.triplea.Properties;
+import games.strategy.triplea.attachments.UnitAttachment;
+import games.strategy.triplea.delegate.DiceRoll;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class BattleSimulatorTest {
+  // misses the roll for the remainder of a low luck roll
+  private static final IRandomSource highestRandomSource = new IRandomSource() {
+    @Override
+    public int getRandom(final int max, final String annotation) {
+      return max - 1;
+    }
+
+    @Override
+    public int[] getRandom(final int max, final int count, final String annotation) {
+      final int[] random = new int[count];
+      Arrays.fill(random, max - 1);
+      return random;
+    }
+  };
+
+  @Test
+  public void testLowLuckHitsMatchDiceRollForMultipleRollBombers() throws Exception {
+    final GameData data = TestMapGameData.TWW.getGameData();
+    assertTrue(Properties.getLowLuck(data));
+    assertEquals(12, data.getDiceSides());
+    final UnitType bomber = data.getUnitTypeList().getUnitType("germanStrategicBomber");
+    final UnitAttachment bomberAttachment = UnitAttachment.get(bomber);
+    data.performChange(ChangeFactory.attachmentPropertyChange(bomberAttachment, "3", "attackRolls"));
+    data.performChange(ChangeFactory.attachmentPropertyChange(bomberAttachment, "true", "chooseBestRoll"));
+    final PlayerID germany = data.getPlayerList().getPlayerId("Germany");
+    final PlayerID russia = data.getPlayerList().getPlayerId("Russia");
+    final Territory poland = data.getMap().getTerritory("Poland");
+    final List<Unit> attacking = bomber.create(5, germany);
+    final List<Unit> defending = data.getUnitTypeList().getUnitType("russianInfantry").create(20, russia);
+
+    final int power = DiceRoll.getTotalPower(DiceRoll.getUnitPowerAndRollsForNormalBattles(attacking, defending,
+        false, false, data, poland, Collections.emptyList(), false, Collections.emptyList()), data);
+    final BattleSimulator simulator = new BattleSimulator(data, highestRandomSource, poland, attacking, defending,
+        Collections.emptyList(), Collections.emptyList(), false, Collections.emptyList(), Collections.emptyList(),
+        false, 1, -1, false);
+    final BattleResults results = simulator.fight();
+
+    assertEquals(1, results.getBattleRoundsFought());
+    assertEquals(defending.size() - power / data.getDiceSides(), results.getRemainingDefendingUnits().size());
+  }
+}
@@ -0,0 +1,119 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.RelationshipType;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.delegate.GameDataTestUtil;
+import games.strategy.triplea.delegate.TerritoryEffectHelper;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class CachingOddsCalculatorTest {
+  private GameData gameData;
+  private PlayerID russians;
+  private PlayerID germans;
+  private Territory germany;
+  private CachingOddsCalculator calculator;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+    russians = GameDataTestUtil.russians(gameData);
+    germans = GameDataTestUtil.germans(gameData);
+    germany = gameData.getMap().getTerritory("Germany");
+    calculator = new CachingOddsCalculator(new SimulatedOddsCalculator());
+    calculator.setGameData(gameData);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    calculator.shutdown();
+  }
+
+  private AggregateResults calculateAttackOnGermany(final int infantryCount) {
+    return calculateAttackOnGermany(GameDataTestUtil.infantry(gameData).create(infantryCount, russians));
+  }
+
+  private AggregateResults calculateAttackOnGermany(final List<Unit> attackingUnits) {
+    final Collection<Unit> defendingUnits = new ArrayList<>(germany.getUnits().getUnits());
+    return calculator.setCalculateDataAndCalculate(russians, germans, germany, attackingUnits, defendingUnits,
+        Collections.emptyList(), TerritoryEffectHelper.getEffects(germany), 50);
+  }
+
+  @Test
+  public void testSameArmiesAreCached() {
+    final AggregateResults results = calculateAttackOnGermany(10);
+
+    final AggregateResults cachedResults = calculateAttackOnGermany(10);
+
+    assertEquals(1, calculator.getMissCount());
+    assertEquals(1, calculator.getHitCount());
+    assertNotSame(results, cachedResults);
+    assertEquals(results.getRollCount(), cachedResults.getRollCount());
+    assertEquals(results.getAttackerWinPercent(), cachedResults.getAttackerWinPercent());
+    assertEquals(results.getAverageBattleRoundsFought(), cachedResults.getAverageBattleRoundsFought());
+    assertEquals(results.getAverageAttackingUnitsRemaining().size(),
+        cachedResults.getAverageAttackingUnitsRemaining().size());
+  }
+
+  @Test
+  public void testOtherArmiesOrSettingsAreNotCached() {
+    calculateAttackOnGermany(10);
+    calculateAttackOnGermany(11);
+    calculator.setRetreatAfterRound(1);
+    calculateAttackOnGermany(10);
+
+    assertEquals(3, calculator.getMissCount());
+    assertEquals(0, calculator.getHitCount());
+    assertEquals(3, calculator.size());
+  }
+
+  @Test
+  public void testRelationshipChangeInvalidatesCache() {
+    calculateAttackOnGermany(10);
+    final RelationshipType currentRelation = gameData.getRelationshipTracker().getRelationshipType(russians, germans);
+    final RelationshipType newRelation = gameData.getRelationshipTypeList().getDefaultAlliedRelationship();
+    gameData.performChange(ChangeFactory.relationshipChange(russians, germans, currentRelation, newRelation));
+    gameData.performChange(ChangeFactory.relationshipChange(russians, germans, newRelation, currentRelation));
+    calculateAttackOnGermany(10);
+    gameData.performChange(ChangeFactory.relationshipChange(russians, germans, currentRelation, newRelation));
+    calculateAttackOnGermany(10);
+
+    // reverting the change does not need to invalidate the cache, only the actual change does
+    assertEquals(1, calculator.getHitCount());
+    assertEquals(2, calculator.getMissCount());
+    assertEquals(1, calculator.size());
+  }
+
+  @Test
+  public void testCachedRemainingUnitsAreUnitsOfBattle() {
+    final List<Unit> attackingUnits = GameDataTestUtil.infantry(gameData).create(30, russians);
+    calculateAttackOnGermany(attackingUnits);
+    final List<Unit> otherAttackingUnits = GameDataTestUtil.infantry(gameData).create(30, russians);
+
+    final AggregateResults cachedResults = calculateAttackOnGermany(attackingUnits);
+    final AggregateResults otherCachedResults = calculateAttackOnGermany(otherAttackingUnits);
+
+    assertEquals(2, calculator.getHitCount());
+    assertFalse(cachedResults.getAverageAttackingUnitsRemaining().isEmpty());
+    assertTrue(attackingUnits.containsAll(cachedResults.getAverageAttackingUnitsRemaining()));
+    assertTrue(otherAttackingUnits.containsAll(otherCachedResults.getAverageAttackingUnitsRemaining()));
+    assertTrue(germany.getUnits().getUnits().containsAll(cachedResults.getAverageDefendingUnitsRemaining()));
+  }
+}
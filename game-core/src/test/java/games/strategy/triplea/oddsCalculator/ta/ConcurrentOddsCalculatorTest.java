@@ -0,0 +1,82 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.delegate.GameDataTestUtil;
+import games.strategy.triplea.delegate.TerritoryEffectHelper;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class ConcurrentOddsCalculatorTest {
+  private GameData gameData;
+  private ConcurrentOddsCalculator calculator;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+    calculator = new ConcurrentOddsCalculator("Test");
+    calculator.setGameData(gameData);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    calculator.shutdown();
+  }
+
+  private BattleSpec newGermanyBattle(final int infantryCount, final int runCount) {
+    final Territory germany = gameData.getMap().getTerritory("Germany");
+    final Collection<Unit> defendingUnits = new ArrayList<>(germany.getUnits().getUnits());
+    final PlayerID russians = GameDataTestUtil.russians(gameData);
+    final PlayerID germans = GameDataTestUtil.germans(gameData);
+    final List<Unit> attackingUnits = GameDataTestUtil.infantry(gameData).create(infantryCount, russians);
+    return new BattleSpec(russians, germans, germany, attackingUnits, defendingUnits, Collections.emptyList(),
+        TerritoryEffectHelper.getEffects(germany), runCount);
+  }
+
+  @Test
+  public void testCalculate() {
+    final BattleSpec battle = newGermanyBattle(100, 200);
+    final AggregateResults results = calculator.setCalculateDataAndCalculate(battle.getAttacker(),
+        battle.getDefender(), battle.getLocation(), battle.getAttacking(), battle.getDefending(),
+        battle.getBombarding(), battle.getTerritoryEffects(), battle.getRunCount());
+    assertEquals(200, calculator.getRunCount());
+    assertTrue(results.getRollCount() >= 200 - calculator.getThreadCount());
+    assertTrue(results.getAttackerWinPercent() > 0.99);
+  }
+
+  @Test
+  public void testCalculateAllWithoutTolerance() {
+    final List<CompletableFuture<AggregateResults>> results =
+        calculator.calculateAll(Arrays.asList(newGermanyBattle(100, 100), newGermanyBattle(1, 50)), 0);
+    assertEquals(2, results.size());
+    final AggregateResults strongAttack = results.get(0).join();
+    final AggregateResults weakAttack = results.get(1).join();
+    assertEquals(100, strongAttack.getRollCount());
+    assertTrue(strongAttack.getAttackerWinPercent() > 0.99);
+    assertEquals(50, weakAttack.getRollCount());
+    assertEquals(0.0, weakAttack.getAttackerWinPercent());
+  }
+
+  @Test
+  public void testCalculateAllStopsEarlyWithinTolerance() {
+    final AggregateResults results =
+        calculator.calculateAll(Collections.singletonList(newGermanyBattle(100, 2000)), 0.05).get(0).join();
+    assertTrue(results.getRollCount() < 2000);
+    assertTrue(results.getAttackerWinPercent() > 0.95);
+  }
+}
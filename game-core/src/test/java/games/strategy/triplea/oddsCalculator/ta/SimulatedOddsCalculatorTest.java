@@ -0,0 +1,82 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.delegate.GameDataTestUtil;
+import games.strategy.triplea.delegate.TerritoryEffectHelper;
+import games.strategy.triplea.xml.TestMapGameData;
+
+public class SimulatedOddsCalculatorTest {
+  private GameData gameData;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+  }
+
+  @Test
+  public void testUnbalancedFight() {
+    final Territory germany = gameData.getMap().getTerritory("Germany");
+    final Collection<Unit> defendingUnits = new ArrayList<>(germany.getUnits().getUnits());
+    final PlayerID russians = GameDataTestUtil.russians(gameData);
+    final PlayerID germans = GameDataTestUtil.germans(gameData);
+    final List<Unit> attackingUnits = GameDataTestUtil.infantry(gameData).create(100, russians);
+    final IOddsCalculator calculator = new SimulatedOddsCalculator();
+    calculator.setGameData(gameData);
+    final AggregateResults results = calculator.setCalculateDataAndCalculate(russians, germans, germany, attackingUnits,
+        defendingUnits, Collections.emptyList(), TerritoryEffectHelper.getEffects(germany), 200);
+    calculator.shutdown();
+    assertEquals(200, results.getRollCount());
+    assertTrue(results.getAttackerWinPercent() > 0.99);
+    assertTrue(results.getDefenderWinPercent() < 0.1);
+    assertTrue(results.getDrawPercent() < 0.1);
+  }
+
+  @Test
+  public void testKeepOneAttackingLand() {
+    final PlayerID germans = GameDataTestUtil.germans(gameData);
+    final PlayerID british = GameDataTestUtil.british(gameData);
+    final Territory eastCanada = gameData.getMap().getTerritory("Eastern Canada");
+    final List<Unit> defendingUnits = GameDataTestUtil.fighter(gameData).create(1, british, false);
+    final List<Unit> attackingUnits = GameDataTestUtil.infantry(gameData).create(1, germans, false);
+    attackingUnits.addAll(GameDataTestUtil.bomber(gameData).create(1, germans, false));
+    final IOddsCalculator calculator = new SimulatedOddsCalculator();
+    calculator.setGameData(gameData);
+    calculator.setKeepOneAttackingLandUnit(true);
+    final AggregateResults results = calculator.setCalculateDataAndCalculate(germans, british, eastCanada,
+        attackingUnits, defendingUnits, Collections.emptyList(), TerritoryEffectHelper.getEffects(eastCanada), 1000);
+    calculator.shutdown();
+    assertEquals(0.8, results.getAttackerWinPercent(), 0.10);
+    assertEquals(0.16, results.getDefenderWinPercent(), 0.10);
+  }
+
+  @Test
+  public void testRetreatAfterFirstRound() {
+    final Territory germany = gameData.getMap().getTerritory("Germany");
+    final Collection<Unit> defendingUnits = new ArrayList<>(germany.getUnits().getUnits());
+    final PlayerID russians = GameDataTestUtil.russians(gameData);
+    final PlayerID germans = GameDataTestUtil.germans(gameData);
+    final List<Unit> attackingUnits = GameDataTestUtil.infantry(gameData).create(1, russians);
+    final IOddsCalculator calculator = new SimulatedOddsCalculator();
+    calculator.setGameData(gameData);
+    calculator.setRetreatAfterRound(1);
+    final AggregateResults results = calculator.setCalculateDataAndCalculate(russians, germans, germany, attackingUnits,
+        defendingUnits, Collections.emptyList(), TerritoryEffectHelper.getEffects(germany), 100);
+    calculator.shutdown();
+    assertEquals(0.0, results.getAttackerWinPercent());
+    assertEquals(1.0, results.getAverageBattleRoundsFought());
+  }
+}
@@ -80,6 +80,38 @@ public class PropertyUtilTest {
         testClass.bar, is("default"));
   }
 
+  @Test
+  public void testSetPrefersSetterTakingClassOfValue() {
+    final OverloadedSetterClass testClass = new OverloadedSetterClass();
+    PropertyUtil.set(BAR, 3, testClass);
+    assertThat(testClass.bar, is("int:3"));
+    PropertyUtil.set(BAR, NEW_VALUE, testClass);
+    assertThat(testClass.bar, is(NEW_VALUE));
+  }
+
+  @Test
+  public void testReset() {
+    final OverloadedSetterClass testClass = new OverloadedSetterClass();
+    PropertyUtil.set(BAR, NEW_VALUE, testClass);
+    PropertyUtil.reset(BAR, testClass);
+    assertThat(PropertyUtil.getPropertyFieldObject(BAR, testClass), is(DEFAULT));
+    assertThrows(IllegalStateException.class, () -> PropertyUtil.reset(BAR, new PropertyClass()));
+  }
+
+  @Test
+  public void testHasSetter() {
+    assertThat(PropertyUtil.hasSetter(BAR, String.class, OverloadedSetterClass.class), is(true));
+    assertThat(PropertyUtil.hasSetter(BAR, Integer.class, OverloadedSetterClass.class), is(true));
+    assertThat(PropertyUtil.hasSetter(BAR, Object.class, OverloadedSetterClass.class), is(false));
+    assertThat(PropertyUtil.hasSetter(BAR, String.class, InvalidSetterClass.class), is(false));
+    assertThat(PropertyUtil.hasSetter(BAR, String.class, NoSetterClass.class), is(false));
+  }
+
+  @Test
+  public void testErrorCaseWithNoField() {
+    assertThrows(IllegalStateException.class, () -> PropertyUtil.getPropertyFieldObject("foo", new PropertyClass()));
+  }
+
   private static class NoSetterClass {
 
     @SuppressWarnings("unused")
@@ -111,6 +143,25 @@ public class PropertyUtilTest {
     }
   }
 
+  private static class OverloadedSetterClass {
+    private String bar = PropertyUtilTest.DEFAULT;
+
+    @SuppressWarnings("unused")
+    public void setBar(final String newValue) {
+      bar = newValue;
+    }
+
+    @SuppressWarnings("unused")
+    public void setBar(final Integer newValue) {
+      bar = "int:" + newValue;
+    }
+
+    @SuppressWarnings("unused")
+    public void resetBar() {
+      bar = PropertyUtilTest.DEFAULT;
+    }
+  }
+
   private static class UnderBarClass {
 
     @SuppressWarnings("unused")